@@ -1,8 +1,10 @@
 package com.smartprogrammingbaddies;
 
+import com.smartprogrammingbaddies.logger.TransactionLog;
 import io.github.cdimascio.dotenv.Dotenv;
 import io.github.cdimascio.dotenv.DotenvEntry;
 import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -12,6 +14,9 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 */
 @SpringBootApplication
 public class App implements CommandLineRunner {
+  @Autowired(required = false)
+  private TransactionLog transactionLog;
+
   /**
   * Main method to run the application. It loads the environment variables from the .env file.
   *
@@ -32,8 +37,15 @@ public class App implements CommandLineRunner {
     // Startup logic
   }
 
+  /**
+  * Shutdown logic for the application. Transactions still queued in the transaction log are
+  * written before the database connections close.
+  */
   @PreDestroy
   public void onTermination() {
+    if (transactionLog != null) {
+      transactionLog.close();
+    }
     System.out.println("Terminated the application");
   }
 }
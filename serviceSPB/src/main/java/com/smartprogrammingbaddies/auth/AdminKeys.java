@@ -0,0 +1,40 @@
+package com.smartprogrammingbaddies.auth;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The AdminKeys class holds the API keys allowed to call operational endpoints, such as the
+ * API key cache statistics. Admin keys are ordinary API keys that are also listed in the
+ * configuration; with none listed, every admin endpoint is refused.
+ */
+public class AdminKeys {
+  private final Set<String> apiKeys = new HashSet<>();
+
+  /**
+   * Constructs the admin keys from a configured list.
+   *
+   * @param apiKeys the admin API keys, separated by commas
+   */
+  public AdminKeys(String apiKeys) {
+    if (apiKeys == null) {
+      return;
+    }
+
+    for (String apiKey : apiKeys.split(",")) {
+      if (!apiKey.isBlank()) {
+        this.apiKeys.add(apiKey.trim());
+      }
+    }
+  }
+
+  /**
+   * Checks if a verified caller may use admin endpoints.
+   *
+   * @param principal the caller of the request, or null if the request had no API key
+   * @return true if the caller's API key is an admin key, false otherwise
+   */
+  public boolean isAdmin(AuthPrincipal principal) {
+    return principal != null && apiKeys.contains(principal.getApiKey());
+  }
+}
@@ -15,9 +15,12 @@ public class ApiKey {
   @GeneratedValue(strategy = GenerationType.AUTO)
   private Long id;
 
-  @Column(unique = true, nullable = false)
+  @Column(unique = true)
   private String apiKey;
 
+  @Column(name = "api_key_bin", unique = true, columnDefinition = "BINARY(16)")
+  private byte[] apiKeyBin;
+
   /**
     * Default constructor for JPA.
     */
@@ -32,6 +35,7 @@ public class ApiKey {
     */
   public ApiKey(String apiKey) {
     this.apiKey = apiKey;
+    this.apiKeyBin = ApiKeyCodec.toBytes(apiKey);
   }
 
   /**
@@ -49,7 +53,7 @@ public class ApiKey {
     * @return the API key
     */
   public String getApiKey() {
-    return apiKey;
+    return apiKey != null || apiKeyBin == null ? apiKey : ApiKeyCodec.fromBytes(apiKeyBin);
   }
 
   /**
@@ -59,6 +63,32 @@ public class ApiKey {
     */
   public void setApiKey(String apiKey) {
     this.apiKey = apiKey;
+    this.apiKeyBin = ApiKeyCodec.toBytes(apiKey);
+  }
+
+  /**
+    * Fills in the binary form of the API key, for rows saved before it was stored.
+    *
+    * @return true if the API key could be encoded, false otherwise
+    */
+  public boolean encodeApiKey() {
+    if (apiKey == null) {
+      return apiKeyBin != null;
+    }
+    this.apiKeyBin = ApiKeyCodec.toBytes(apiKey);
+    return apiKeyBin != null;
+  }
+
+  /**
+    * Stops storing the string form of the API key, keeping only its binary form.
+    *
+    * @throws IllegalStateException if the API key has no binary form
+    */
+  public void dropStringKey() {
+    if (apiKeyBin == null) {
+      throw new IllegalStateException("API key has no binary form.");
+    }
+    this.apiKey = null;
   }
 
   @Override
@@ -66,7 +96,7 @@ public class ApiKey {
     return "ApiKey{"
             + "id=" + id
             + ", apiKey='"
-            + apiKey + '\''
+            + getApiKey() + '\''
             + '}';
   }
 }
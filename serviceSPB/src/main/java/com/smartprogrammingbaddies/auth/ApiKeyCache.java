@@ -0,0 +1,194 @@
+package com.smartprogrammingbaddies.auth;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, concurrent cache of API key verification results. Both valid and
+ * known-invalid keys are cached, each with their own time to live, so that repeated
+ * checks of the same key do not require a database round trip. Every invalidation moves the
+ * cache to a new generation, and a result read from the database is only cached if no
+ * invalidation happened while it was being read, so a key removed mid-lookup is never put
+ * back as valid.
+ */
+public class ApiKeyCache {
+  private final ApiKeyLookup apiKeyLookup;
+  private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+  private final int maxEntries;
+  private final long validTtlMillis;
+  private final long invalidTtlMillis;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final AtomicLong generation = new AtomicLong();
+
+  /**
+   * Constructs a new ApiKeyCache backed by the given lookup.
+   *
+   * @param apiKeyLookup the lookup used when a key is not cached
+   * @param maxEntries the maximum number of keys held by the cache
+   * @param validTtlSeconds how long a valid key is remembered, in seconds
+   * @param invalidTtlSeconds how long an invalid key is remembered, in seconds
+   * @throws IllegalArgumentException if any of the limits are not positive
+   */
+  public ApiKeyCache(ApiKeyLookup apiKeyLookup, int maxEntries,
+      long validTtlSeconds, long invalidTtlSeconds) {
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("Max entries must be greater than 0.");
+    }
+
+    if (validTtlSeconds <= 0 || invalidTtlSeconds <= 0) {
+      throw new IllegalArgumentException("Cache TTLs must be greater than 0.");
+    }
+
+    this.apiKeyLookup = apiKeyLookup;
+    this.maxEntries = maxEntries;
+    this.validTtlMillis = validTtlSeconds * 1000;
+    this.invalidTtlMillis = invalidTtlSeconds * 1000;
+  }
+
+  /**
+   * Checks if an API key is valid, consulting the database only when the key is not
+   * cached or its cached result has expired.
+   *
+   * @param apiKey the API key to verify
+   * @return true if the API key exists, false otherwise
+   */
+  public boolean isValid(String apiKey) {
+    if (apiKey == null || apiKey.isBlank()) {
+      return false;
+    }
+
+    long now = System.currentTimeMillis();
+    CacheEntry entry = entries.get(apiKey);
+    if (entry != null && entry.expiresAt > now) {
+      hits.increment();
+      return entry.valid;
+    }
+
+    misses.increment();
+    long observed = generation.get();
+    boolean valid = apiKeyLookup.exists(apiKey);
+    put(apiKey, valid, now, observed);
+    return valid;
+  }
+
+  /**
+   * Records an API key as valid, for example right after it has been saved.
+   *
+   * @param apiKey the API key that is now valid
+   */
+  public void markValid(String apiKey) {
+    put(apiKey, true, System.currentTimeMillis(), generation.get());
+  }
+
+  /**
+   * Removes any cached result for an API key so that the next check reads the database.
+   *
+   * @param apiKey the API key to invalidate
+   */
+  public void invalidate(String apiKey) {
+    if (apiKey != null) {
+      generation.incrementAndGet();
+      entries.remove(apiKey);
+    }
+  }
+
+  /**
+   * Removes every cached result.
+   */
+  public void clear() {
+    generation.incrementAndGet();
+    entries.clear();
+  }
+
+  /**
+   * Gets the number of checks that were answered from the cache.
+   *
+   * @return the number of cache hits
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Gets the number of checks that had to query the database.
+   *
+   * @return the number of cache misses
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Gets the number of entries removed to keep the cache within its bound.
+   *
+   * @return the number of evicted entries
+   */
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  /**
+   * Gets the number of keys currently cached.
+   *
+   * @return the size of the cache
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Caches a result, unless the cache was invalidated after the given generation was read.
+   * The check and the write happen atomically for the key, so an invalidation either runs
+   * before and is seen, or runs after and removes the entry.
+   */
+  private void put(String apiKey, boolean valid, long now, long observed) {
+    if (apiKey == null) {
+      return;
+    }
+
+    if (entries.size() >= maxEntries && !entries.containsKey(apiKey)) {
+      evict(now);
+    }
+
+    long ttl = valid ? validTtlMillis : invalidTtlMillis;
+    entries.compute(apiKey, (key, current) -> generation.get() == observed
+        ? new CacheEntry(valid, now + ttl) : current);
+  }
+
+  /**
+   * Drops expired entries first, then arbitrary entries until the cache is back
+   * under ninety percent of its bound.
+   */
+  private void evict(long now) {
+    entries.entrySet().removeIf(e -> {
+      boolean expired = e.getValue().expiresAt <= now;
+      if (expired) {
+        evictions.increment();
+      }
+      return expired;
+    });
+
+    int target = maxEntries - Math.max(1, maxEntries / 10);
+    Iterator<String> keys = entries.keySet().iterator();
+    while (entries.size() > target && keys.hasNext()) {
+      keys.next();
+      keys.remove();
+      evictions.increment();
+    }
+  }
+
+  private static final class CacheEntry {
+    private final boolean valid;
+    private final long expiresAt;
+
+    private CacheEntry(boolean valid, long expiresAt) {
+      this.valid = valid;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
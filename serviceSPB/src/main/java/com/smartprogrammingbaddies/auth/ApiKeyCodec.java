@@ -0,0 +1,59 @@
+package com.smartprogrammingbaddies.auth;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * The ApiKeyCodec abstract class converts API keys between their UUID string form and the
+ * 16 byte binary form they are indexed by.
+ */
+public abstract class ApiKeyCodec {
+  /**
+   * The number of bytes in a binary API key.
+   */
+  public static final int KEY_BYTES = 16;
+
+  /**
+   * Converts an API key to its binary form.
+   *
+   * @param apiKey the API key in canonical UUID form
+   * @return the 16 byte binary key, or null if the key is not a canonical UUID
+   */
+  public static byte[] toBytes(String apiKey) {
+    if (apiKey == null || apiKey.length() != 36) {
+      return null;
+    }
+
+    UUID uuid;
+    try {
+      uuid = UUID.fromString(apiKey);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+
+    if (!uuid.toString().equals(apiKey)) {
+      return null;
+    }
+
+    return ByteBuffer.allocate(KEY_BYTES)
+        .putLong(uuid.getMostSignificantBits())
+        .putLong(uuid.getLeastSignificantBits())
+        .array();
+  }
+
+  /**
+   * Converts a binary API key back to its UUID string form.
+   *
+   * @param bytes the 16 byte binary key
+   * @return the API key in canonical UUID form
+   * @throws IllegalArgumentException if the key is not 16 bytes long
+   */
+  public static String fromBytes(byte[] bytes) {
+    if (bytes == null || bytes.length != KEY_BYTES) {
+      throw new IllegalArgumentException("Binary API keys must be " + KEY_BYTES + " bytes.");
+    }
+
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    return new UUID(buffer.getLong(), buffer.getLong()).toString();
+  }
+}
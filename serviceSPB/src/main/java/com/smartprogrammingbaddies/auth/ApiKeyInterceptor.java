@@ -0,0 +1,57 @@
+package com.smartprogrammingbaddies.auth;
+
+import com.google.gson.JsonObject;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * The ApiKeyInterceptor verifies the {@code apiKey} parameter of a request once, before any
+ * controller work is done. Requests with an invalid key are rejected with a HTTP 403 response,
+ * and requests with a valid key have an {@link AuthPrincipal} attached to them.
+ */
+public class ApiKeyInterceptor implements HandlerInterceptor {
+  /**
+   * The name of the request parameter holding the API key.
+   */
+  public static final String API_KEY_PARAMETER = "apiKey";
+
+  private final ApiKeyCache apiKeyCache;
+  private final ApiKeyLookup apiKeyLookup;
+
+  /**
+   * Constructs an interceptor that verifies keys against the given cache.
+   *
+   * @param apiKeyCache the cache used to verify API keys
+   * @param apiKeyLookup the lookup used to load the client of a key
+   */
+  public ApiKeyInterceptor(ApiKeyCache apiKeyCache, ApiKeyLookup apiKeyLookup) {
+    this.apiKeyCache = apiKeyCache;
+    this.apiKeyLookup = apiKeyLookup;
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+      Object handler) throws IOException {
+    String apiKey = request.getParameter(API_KEY_PARAMETER);
+    if (apiKey == null) {
+      return true;
+    }
+
+    if (!apiKeyCache.isValid(apiKey)) {
+      JsonObject json = new JsonObject();
+      json.addProperty("error", "Invalid API key");
+      response.setStatus(HttpStatus.FORBIDDEN.value());
+      response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+      response.getWriter().write(json.toString());
+      return false;
+    }
+
+    AuthPrincipal principal = new AuthPrincipal(apiKey, () -> apiKeyLookup.findClient(apiKey));
+    request.setAttribute(AuthPrincipal.ATTRIBUTE, principal);
+    return true;
+  }
+}
@@ -0,0 +1,204 @@
+package com.smartprogrammingbaddies.auth;
+
+import com.smartprogrammingbaddies.client.Client;
+import com.smartprogrammingbaddies.client.ClientRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The ApiKeyLookup class is the single path used to look up API keys and the clients
+ * they belong to. Depending on the storage mode, keys are probed through their string
+ * column or through the fixed width binary column. In binary mode only canonical UUID keys
+ * exist: other keys are rejected, and new rows store only the binary form. Until no row is
+ * left without a binary key, which is read from the database, lookups fall back to the
+ * string column.
+ */
+public class ApiKeyLookup {
+  /**
+   * The StorageMode enum represents the column API keys are looked up by.
+   */
+  public enum StorageMode {
+    STRING,
+    BINARY
+  }
+
+  private final ApiKeyRepository apiKeyRepository;
+  private final ClientRepository clientRepository;
+  private final StorageMode mode;
+  private volatile boolean migrated;
+
+  /**
+   * Constructs a new ApiKeyLookup.
+   *
+   * @param apiKeyRepository the repository of API keys
+   * @param clientRepository the repository of clients
+   * @param mode the column keys are looked up by
+   * @throws IllegalArgumentException if the mode is null
+   */
+  public ApiKeyLookup(ApiKeyRepository apiKeyRepository, ClientRepository clientRepository,
+      StorageMode mode) {
+    if (mode == null) {
+      throw new IllegalArgumentException("Storage mode must not be null.");
+    }
+
+    this.apiKeyRepository = apiKeyRepository;
+    this.clientRepository = clientRepository;
+    this.mode = mode;
+  }
+
+  /**
+   * Gets the storage mode of the lookup.
+   *
+   * @return the storage mode
+   */
+  public StorageMode getMode() {
+    return mode;
+  }
+
+  /**
+   * Checks if every API key and client row has a binary key. The answer is read from the
+   * database until it is true, so every instance sees a migration finished by any of them.
+   *
+   * @return true if no row is left without a binary key, false otherwise
+   */
+  public boolean isMigrated() {
+    if (!migrated && !apiKeyRepository.existsByApiKeyBinIsNull()
+        && !clientRepository.existsByApiKeyBinIsNull()) {
+      migrated = true;
+    }
+    return migrated;
+  }
+
+  /**
+   * Creates the entry of a new API key in the form the storage mode keeps it.
+   *
+   * @param apiKey the new API key
+   * @return the API key entry to save
+   * @throws IllegalArgumentException if the mode is binary and the key is not a UUID
+   */
+  public ApiKey newApiKey(String apiKey) {
+    ApiKey entry = new ApiKey(apiKey);
+    if (mode == StorageMode.BINARY) {
+      requireBinary(apiKey);
+      entry.dropStringKey();
+    }
+    return entry;
+  }
+
+  /**
+   * Creates a new client in the form the storage mode keeps its API key.
+   *
+   * @param apiKey the API key of the client
+   * @return the client to save
+   * @throws IllegalArgumentException if the mode is binary and the key is not a UUID
+   */
+  public Client newClient(String apiKey) {
+    Client client = new Client(apiKey);
+    if (mode == StorageMode.BINARY) {
+      requireBinary(apiKey);
+      client.dropStringKey();
+    }
+    return client;
+  }
+
+  /**
+   * Finds which of the given API keys already exist, with one query per column.
+   *
+   * @param apiKeys the API keys to look up
+   * @return the API keys that exist
+   */
+  public Collection<String> findExisting(Collection<String> apiKeys) {
+    if (mode == StorageMode.STRING) {
+      return apiKeyRepository.findExistingApiKeys(apiKeys);
+    }
+
+    List<byte[]> bins = new ArrayList<>(apiKeys.size());
+    for (String apiKey : apiKeys) {
+      byte[] bytes = ApiKeyCodec.toBytes(apiKey);
+      if (bytes != null) {
+        bins.add(bytes);
+      }
+    }
+    Set<String> existing = new HashSet<>();
+    for (byte[] bytes : apiKeyRepository.findExistingApiKeyBins(bins)) {
+      existing.add(ApiKeyCodec.fromBytes(bytes));
+    }
+    if (!isMigrated()) {
+      existing.addAll(apiKeyRepository.findExistingApiKeys(apiKeys));
+    }
+    return existing;
+  }
+
+  /**
+   * Checks if an API key exists.
+   *
+   * @param apiKey the API key to look up
+   * @return true if the API key exists, false otherwise
+   */
+  public boolean exists(String apiKey) {
+    if (mode == StorageMode.STRING) {
+      return apiKeyRepository.existsByApiKey(apiKey);
+    }
+
+    byte[] bytes = ApiKeyCodec.toBytes(apiKey);
+    if (bytes == null) {
+      return false;
+    }
+    return apiKeyRepository.existsByApiKeyBin(bytes)
+        || !isMigrated() && apiKeyRepository.existsByApiKey(apiKey);
+  }
+
+  /**
+   * Finds the stored entry of an API key.
+   *
+   * @param apiKey the API key to look up
+   * @return the API key entry, or empty if the key does not exist
+   */
+  public Optional<ApiKey> findApiKey(String apiKey) {
+    if (mode == StorageMode.STRING) {
+      return apiKeyRepository.findByApiKey(apiKey);
+    }
+
+    byte[] bytes = ApiKeyCodec.toBytes(apiKey);
+    if (bytes == null) {
+      return Optional.empty();
+    }
+    Optional<ApiKey> entry = apiKeyRepository.findByApiKeyBin(bytes);
+    if (entry.isEmpty() && !isMigrated()) {
+      entry = apiKeyRepository.findByApiKey(apiKey);
+    }
+    return entry;
+  }
+
+  /**
+   * Finds the client registered with an API key.
+   *
+   * @param apiKey the API key to look up
+   * @return the client, or null if no client has the API key
+   */
+  public Client findClient(String apiKey) {
+    if (mode == StorageMode.STRING) {
+      return clientRepository.findByApiKey(apiKey);
+    }
+
+    byte[] bytes = ApiKeyCodec.toBytes(apiKey);
+    if (bytes == null) {
+      return null;
+    }
+    Client client = clientRepository.findByApiKeyBin(bytes);
+    if (client == null && !isMigrated()) {
+      client = clientRepository.findByApiKey(apiKey);
+    }
+    return client;
+  }
+
+  private static void requireBinary(String apiKey) {
+    if (ApiKeyCodec.toBytes(apiKey) == null) {
+      throw new IllegalArgumentException("API keys must be UUIDs in binary storage mode.");
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package com.smartprogrammingbaddies.auth;
+
+import com.smartprogrammingbaddies.client.Client;
+import com.smartprogrammingbaddies.client.ClientRepository;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * The ApiKeyMigration class converts existing API key and client rows to the binary key
+ * format at startup when the binary storage mode is enabled. Rows are converted in pages
+ * ordered by ID: each row gets its binary key and its string key is cleared, so once the
+ * migration finishes the string column and its unique index only hold nulls. Whether it has
+ * finished is read from the tables themselves, so every instance agrees on it.
+ *
+ * <p>Keys that are not canonical UUIDs have no binary form and cannot be looked up in binary
+ * mode. They are left as they are and startup fails until they are revoked, or the service
+ * is run in string mode. Clearing the string column is one way: once converted, the service
+ * must stay in binary mode.</p>
+ */
+@Component
+public class ApiKeyMigration implements ApplicationRunner {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ApiKeyMigration.class);
+
+  static final String TABLE = "ApiKey";
+  static final String STRING_COLUMN = "apiKey";
+
+  @Autowired
+  private ApiKeyLookup apiKeyLookup;
+
+  @Autowired
+  private ApiKeyRepository apiKeyRepository;
+
+  @Autowired
+  private ClientRepository clientRepository;
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Override
+  public void run(ApplicationArguments args) throws SQLException {
+    if (apiKeyLookup.getMode() != ApiKeyLookup.StorageMode.BINARY) {
+      return;
+    }
+
+    allowNullStringKeys();
+    int keys = migrateApiKeys();
+    int clients = migrateClients();
+    if (!apiKeyLookup.isMigrated()) {
+      throw new IllegalStateException("Some API keys are not UUIDs and cannot be stored in "
+          + "binary form. Revoke them, or set auth.key-storage=STRING.");
+    }
+    if (keys > 0 || clients > 0) {
+      LOGGER.info("Converted {} API keys and {} clients to binary keys.", keys, clients);
+    }
+  }
+
+  /**
+   * Makes the string key column of the API key table nullable, for tables created when it
+   * was required. Schema updates never relax an existing column.
+   *
+   * @throws SQLException if the table's metadata cannot be read
+   */
+  void allowNullStringKeys() throws SQLException {
+    try (Connection connection = dataSource.getConnection()) {
+      DatabaseMetaData metaData = connection.getMetaData();
+      boolean upperCase = metaData.storesUpperCaseIdentifiers();
+      String table = upperCase ? TABLE.toUpperCase() : TABLE;
+      String column = upperCase ? STRING_COLUMN.toUpperCase() : STRING_COLUMN;
+      try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, table,
+          column)) {
+        if (!columns.next() || columns.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls) {
+          return;
+        }
+
+        new JdbcTemplate(dataSource).execute("ALTER TABLE " + TABLE + " MODIFY "
+            + STRING_COLUMN + " VARCHAR(" + columns.getInt("COLUMN_SIZE") + ") NULL");
+        LOGGER.info("Made the string API key column nullable.");
+      }
+    }
+  }
+
+  /**
+   * Moves every API key row that still has a string key to its binary key.
+   *
+   * @return the number of rows converted
+   */
+  public int migrateApiKeys() {
+    int converted = 0;
+    long lastId = 0;
+    List<ApiKey> page = apiKeyRepository
+        .findTop500ByApiKeyIsNotNullAndIdGreaterThanOrderByIdAsc(lastId);
+    while (!page.isEmpty()) {
+      for (ApiKey apiKey : page) {
+        if (apiKey.encodeApiKey()) {
+          apiKey.dropStringKey();
+          converted++;
+        }
+        lastId = apiKey.getId();
+      }
+      apiKeyRepository.saveAll(page);
+      page = apiKeyRepository.findTop500ByApiKeyIsNotNullAndIdGreaterThanOrderByIdAsc(lastId);
+    }
+    return converted;
+  }
+
+  /**
+   * Moves every client row that still has a string key to its binary key.
+   *
+   * @return the number of rows converted
+   */
+  public int migrateClients() {
+    int converted = 0;
+    int lastId = 0;
+    List<Client> page = clientRepository
+        .findTop500ByApiKeyIsNotNullAndIdGreaterThanOrderByIdAsc(lastId);
+    while (!page.isEmpty()) {
+      for (Client client : page) {
+        if (client.encodeApiKey()) {
+          client.dropStringKey();
+          converted++;
+        }
+        lastId = client.getId();
+      }
+      clientRepository.saveAll(page);
+      page = clientRepository.findTop500ByApiKeyIsNotNullAndIdGreaterThanOrderByIdAsc(lastId);
+    }
+    return converted;
+  }
+}
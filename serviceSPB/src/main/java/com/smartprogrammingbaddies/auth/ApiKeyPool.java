@@ -0,0 +1,162 @@
+package com.smartprogrammingbaddies.auth;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A pool of pre-minted API keys that are already known not to exist in the database.
+ * Keys are minted in batches, with a single lookup per batch, and the pool is refilled
+ * in the background once it drops below its low watermark.
+ */
+public class ApiKeyPool {
+  private final ApiKeyLookup apiKeyLookup;
+  private final BlockingQueue<String> keys;
+  private final int capacity;
+  private final int lowWatermark;
+  private final ExecutorService refiller;
+  private final AtomicBoolean refilling = new AtomicBoolean();
+
+  /**
+   * Constructs a new ApiKeyPool.
+   *
+   * @param apiKeyLookup the lookup used to check minted keys are unique
+   * @param capacity the maximum number of keys held by the pool
+   * @param lowWatermark the pool is refilled once it holds fewer keys than this
+   * @throws IllegalArgumentException if the capacity or watermark are invalid
+   */
+  public ApiKeyPool(ApiKeyLookup apiKeyLookup, int capacity, int lowWatermark) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be greater than 0.");
+    }
+
+    if (lowWatermark < 0 || lowWatermark > capacity) {
+      throw new IllegalArgumentException("Low watermark must be between 0 and the capacity.");
+    }
+
+    this.apiKeyLookup = apiKeyLookup;
+    this.capacity = capacity;
+    this.lowWatermark = lowWatermark;
+    this.keys = new ArrayBlockingQueue<>(capacity);
+    this.refiller = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "api-key-pool-refill");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Takes a single unused API key from the pool.
+   *
+   * @return an API key that does not exist in the database
+   */
+  public String take() {
+    return take(1).get(0);
+  }
+
+  /**
+   * Takes unused API keys from the pool, minting any the pool cannot supply.
+   *
+   * @param count the number of keys to take
+   * @return a list of API keys that do not exist in the database
+   * @throws IllegalArgumentException if the count is not positive
+   */
+  public List<String> take(int count) {
+    if (count <= 0) {
+      throw new IllegalArgumentException("Count must be greater than 0.");
+    }
+
+    List<String> taken = new ArrayList<>(count);
+    keys.drainTo(taken, count);
+    if (taken.size() < count) {
+      taken.addAll(mint(count - taken.size()));
+    }
+
+    if (keys.size() < lowWatermark) {
+      requestRefill();
+    }
+    return taken;
+  }
+
+  /**
+   * Gets the number of keys waiting in the pool.
+   *
+   * @return the number of available keys
+   */
+  public int available() {
+    return keys.size();
+  }
+
+  /**
+   * Asks the background thread to top the pool up, unless a refill is already running.
+   */
+  public void requestRefill() {
+    if (!refilling.compareAndSet(false, true)) {
+      return;
+    }
+
+    try {
+      refiller.execute(() -> {
+        try {
+          refill();
+        } catch (Exception e) {
+          System.err.println("Failed to refill API key pool: " + e.getMessage());
+        } finally {
+          refilling.set(false);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      refilling.set(false);
+    }
+  }
+
+  /**
+   * Tops the pool up to its capacity on the calling thread.
+   */
+  public void refill() {
+    int missing = capacity - keys.size();
+    if (missing <= 0) {
+      return;
+    }
+
+    for (String key : mint(missing)) {
+      if (!keys.offer(key)) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Stops the background refill thread.
+   */
+  public void shutdown() {
+    refiller.shutdownNow();
+  }
+
+  /**
+   * Mints new keys, discarding any that already exist with one query per batch.
+   */
+  private List<String> mint(int count) {
+    Set<String> minted = new LinkedHashSet<>();
+    while (minted.size() < count) {
+      Set<String> batch = new LinkedHashSet<>();
+      while (batch.size() < count - minted.size()) {
+        batch.add(UUID.randomUUID().toString());
+      }
+
+      Collection<String> existing = apiKeyLookup.findExisting(batch);
+      batch.removeAll(existing);
+      minted.addAll(batch);
+    }
+    return new ArrayList<>(minted);
+  }
+}
@@ -1,7 +1,11 @@
 package com.smartprogrammingbaddies.auth;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Repository interface for managing ApiKey entities.
@@ -10,4 +14,18 @@ public interface ApiKeyRepository extends JpaRepository<ApiKey, Long> {
   boolean existsByApiKey(String apiKey);
 
   Optional<ApiKey> findByApiKey(String apiKey);
-}
\ No newline at end of file
+
+  boolean existsByApiKeyBin(byte[] apiKeyBin);
+
+  Optional<ApiKey> findByApiKeyBin(byte[] apiKeyBin);
+
+  boolean existsByApiKeyBinIsNull();
+
+  List<ApiKey> findTop500ByApiKeyIsNotNullAndIdGreaterThanOrderByIdAsc(Long id);
+
+  @Query("SELECT a.apiKey FROM ApiKey a WHERE a.apiKey IN :apiKeys")
+  List<String> findExistingApiKeys(@Param("apiKeys") Collection<String> apiKeys);
+
+  @Query("SELECT a.apiKeyBin FROM ApiKey a WHERE a.apiKeyBin IN :apiKeyBins")
+  List<byte[]> findExistingApiKeyBins(@Param("apiKeyBins") Collection<byte[]> apiKeyBins);
+}
@@ -0,0 +1,126 @@
+package com.smartprogrammingbaddies.auth;
+
+import com.smartprogrammingbaddies.client.ClientRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * This class contains the AuthConfig class, which registers the request pipeline that
+ * authenticates and rate limits API keys.
+ */
+@Configuration
+public class AuthConfig implements WebMvcConfigurer {
+  /**
+   * Routes that issue or check API keys themselves and are not authenticated. They are still
+   * rate limited by the address of the client that calls them.
+   */
+  static final String[] PUBLIC_ROUTES = {
+    "/generateApiKey", "/verifyApiKey", "/registerClient"
+  };
+
+  @Autowired
+  private ApiKeyRepository apiKeyRepository;
+
+  @Autowired
+  private ClientRepository clientRepository;
+
+  @Value("${auth.cache.max-entries:10000}")
+  private int maxEntries;
+
+  @Value("${auth.cache.valid-ttl-seconds:300}")
+  private long validTtlSeconds;
+
+  @Value("${auth.cache.invalid-ttl-seconds:30}")
+  private long invalidTtlSeconds;
+
+  @Value("${auth.key-storage:STRING}")
+  private ApiKeyLookup.StorageMode keyStorageMode;
+
+  @Value("${auth.key-pool.capacity:256}")
+  private int keyPoolCapacity;
+
+  @Value("${auth.key-pool.low-watermark:64}")
+  private int keyPoolLowWatermark;
+
+  @Value("${auth.admin-keys:}")
+  private String adminKeys;
+
+  @Value("${auth.rate-limit.enabled:true}")
+  private boolean rateLimitEnabled;
+
+  @Value("${auth.rate-limit.capacity:60}")
+  private int rateLimitCapacity;
+
+  @Value("${auth.rate-limit.per-second:20}")
+  private double rateLimitPerSecond;
+
+  @Value("${auth.rate-limit.endpoints:}")
+  private String rateLimitEndpoints;
+
+  @Value("${auth.rate-limit.max-buckets:10000}")
+  private int rateLimitMaxBuckets;
+
+  /**
+   * Creates the lookup path shared by every API key and client lookup.
+   *
+   * @return the API key lookup
+   */
+  @Bean
+  public ApiKeyLookup apiKeyLookup() {
+    return new ApiKeyLookup(apiKeyRepository, clientRepository, keyStorageMode);
+  }
+
+  /**
+   * Creates the shared API key verification cache.
+   *
+   * @return the API key cache
+   */
+  @Bean
+  public ApiKeyCache apiKeyCache() {
+    return new ApiKeyCache(apiKeyLookup(), maxEntries, validTtlSeconds, invalidTtlSeconds);
+  }
+
+  /**
+   * Creates the pool of pre-minted API keys.
+   *
+   * @return the API key pool
+   */
+  @Bean
+  public ApiKeyPool apiKeyPool() {
+    return new ApiKeyPool(apiKeyLookup(), keyPoolCapacity, keyPoolLowWatermark);
+  }
+
+  /**
+   * Creates the set of API keys allowed to call admin endpoints.
+   *
+   * @return the admin keys
+   */
+  @Bean
+  public AdminKeys adminKeys() {
+    return new AdminKeys(adminKeys);
+  }
+
+  /**
+   * Creates the per API key rate limiter.
+   *
+   * @return the rate limiter
+   */
+  @Bean
+  public RateLimiter rateLimiter() {
+    return new RateLimiter(new RateLimiter.Budget(rateLimitCapacity, rateLimitPerSecond),
+        RateLimiter.parseBudgets(rateLimitEndpoints), rateLimitMaxBuckets);
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new ApiKeyInterceptor(apiKeyCache(), apiKeyLookup()))
+        .excludePathPatterns(PUBLIC_ROUTES);
+    if (rateLimitEnabled) {
+      registry.addInterceptor(new RateLimitInterceptor(rateLimiter()));
+    }
+  }
+}
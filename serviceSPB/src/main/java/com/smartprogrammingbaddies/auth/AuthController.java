@@ -1,11 +1,12 @@
 package com.smartprogrammingbaddies.auth;
 
+import com.google.gson.JsonObject;
 import java.util.Optional;
-import java.util.UUID;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -18,6 +19,18 @@ public class AuthController {
   @Autowired
   private ApiKeyRepository apiKeyRepository;
 
+  @Autowired
+  private ApiKeyCache apiKeyCache;
+
+  @Autowired
+  private ApiKeyPool apiKeyPool;
+
+  @Autowired
+  private ApiKeyLookup apiKeyLookup;
+
+  @Autowired
+  private AdminKeys adminKeys;
+
   /**
     * Generates a unique API key for a client.
     *
@@ -27,11 +40,9 @@ public class AuthController {
   @GetMapping("/generateApiKey")
   public ResponseEntity<?> generateApiKey() {
     try {
-      String apiKey = UUID.randomUUID().toString();
-      while (apiKeyRepository.existsByApiKey(apiKey)) {
-        apiKey = UUID.randomUUID().toString();
-      }
-      apiKeyRepository.save(new ApiKey(apiKey));
+      String apiKey = apiKeyPool.take();
+      apiKeyRepository.save(apiKeyLookup.newApiKey(apiKey));
+      apiKeyCache.markValid(apiKey);
       return ResponseEntity.ok(apiKey);
     } catch (Exception e) {
       String message = "Error generating API key: " + e.getMessage();
@@ -50,7 +61,7 @@ public class AuthController {
   @GetMapping("/verifyApiKey")
   public ResponseEntity<?> verifyApiKey(@RequestParam("apiKey") String apiKey) {
     try {
-      if (apiKeyRepository.existsByApiKey(apiKey)) {
+      if (apiKeyCache.isValid(apiKey)) {
         return ResponseEntity.ok("API key is valid");
       }
 
@@ -62,6 +73,30 @@ public class AuthController {
     }
   }
 
+  /**
+   * Reports the API key cache statistics.
+   *
+   * @param principal the caller of the request, attached when an API key was given
+   * @return A {@code ResponseEntity} containing the cache hits, misses, evictions,
+   *     and size with a HTTP 200 status code, or a HTTP 403 status code if the caller
+   *     is not an admin.
+   */
+  @GetMapping("/apiKeyCacheStats")
+  public ResponseEntity<?> apiKeyCacheStats(
+      @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false)
+      AuthPrincipal principal) {
+    if (!adminKeys.isAdmin(principal)) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Admin API key required");
+    }
+
+    JsonObject json = new JsonObject();
+    json.addProperty("hits", apiKeyCache.getHitCount());
+    json.addProperty("misses", apiKeyCache.getMissCount());
+    json.addProperty("evictions", apiKeyCache.getEvictionCount());
+    json.addProperty("size", apiKeyCache.size());
+    return ResponseEntity.ok(json.toString());
+  }
+
   /**
    * Enrolls a client into the database.
    *
@@ -70,8 +105,9 @@ public class AuthController {
    */
   public boolean enrollClient(String apiKey) {
     try {
-      if (!apiKeyRepository.existsByApiKey(apiKey)) {
-        apiKeyRepository.save(new ApiKey(apiKey));
+      if (!apiKeyLookup.exists(apiKey)) {
+        apiKeyRepository.save(apiKeyLookup.newApiKey(apiKey));
+        apiKeyCache.markValid(apiKey);
         System.out.println("API key added successfully!");
       } else {
         System.out.println("API key already exists!");
@@ -92,7 +128,7 @@ public class AuthController {
    */
   public boolean verifyClient(String apiKey) {
     try {
-      boolean exists = apiKeyRepository.existsByApiKey(apiKey);
+      boolean exists = apiKeyCache.isValid(apiKey);
       if (exists) {
         System.out.println("API key exists in the database.");
       } else {
@@ -114,9 +150,10 @@ public class AuthController {
    */
   public boolean removeClient(String apiKey) {
     try {
-      Optional<ApiKey> apiKeyEntry = apiKeyRepository.findByApiKey(apiKey);
+      Optional<ApiKey> apiKeyEntry = apiKeyLookup.findApiKey(apiKey);
       if (apiKeyEntry.isPresent()) {
         apiKeyRepository.delete(apiKeyEntry.get());
+        apiKeyCache.invalidate(apiKey);
         System.out.println("API key deleted successfully!");
         return true;
       } else {
@@ -0,0 +1,74 @@
+package com.smartprogrammingbaddies.auth;
+
+import com.smartprogrammingbaddies.client.Client;
+import com.smartprogrammingbaddies.organization.Organization;
+import java.util.function.Supplier;
+
+/**
+ * The AuthPrincipal class represents the caller of a request once its API key has been
+ * verified. The client and its organization are only loaded the first time they are needed,
+ * and at most once per request.
+ */
+public class AuthPrincipal {
+  /**
+   * The request attribute the principal is stored under.
+   */
+  public static final String ATTRIBUTE = "authPrincipal";
+
+  private final String apiKey;
+  private final Supplier<Client> clientLoader;
+  private Client client;
+  private boolean clientLoaded;
+
+  /**
+   * Constructs a principal for a verified API key.
+   *
+   * @param apiKey the verified API key
+   * @param clientLoader loads the client registered with the API key
+   * @throws IllegalArgumentException if the API key or loader is null
+   */
+  public AuthPrincipal(String apiKey, Supplier<Client> clientLoader) {
+    if (apiKey == null || apiKey.isBlank()) {
+      throw new IllegalArgumentException("API key must not be null or empty.");
+    }
+
+    if (clientLoader == null) {
+      throw new IllegalArgumentException("Client loader must not be null.");
+    }
+
+    this.apiKey = apiKey;
+    this.clientLoader = clientLoader;
+  }
+
+  /**
+   * Gets the verified API key.
+   *
+   * @return the API key
+   */
+  public String getApiKey() {
+    return apiKey;
+  }
+
+  /**
+   * Gets the client registered with the API key.
+   *
+   * @return the client, or null if the key was not issued to a registered client
+   */
+  public Client getClient() {
+    if (!clientLoaded) {
+      client = clientLoader.get();
+      clientLoaded = true;
+    }
+    return client;
+  }
+
+  /**
+   * Gets the organization of the client registered with the API key.
+   *
+   * @return the organization, or null if there is no client or organization
+   */
+  public Organization getOrganization() {
+    Client client = getClient();
+    return client == null ? null : client.getOrganization();
+  }
+}
@@ -0,0 +1,53 @@
+package com.smartprogrammingbaddies.auth;
+
+import com.google.gson.JsonObject;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * The RateLimitInterceptor limits how often each API key may call the service. It runs after
+ * the {@link ApiKeyInterceptor}, so requests with a verified key are counted against that key,
+ * and requests without one against the address of the client that sent them. Requests over
+ * budget are rejected with a HTTP 429 response and a {@code Retry-After} header.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+  private static final String ADDRESS_PREFIX = "address:";
+
+  private final RateLimiter rateLimiter;
+
+  /**
+   * Constructs an interceptor that takes tokens from the given limiter.
+   *
+   * @param rateLimiter the limiter holding each API key's budget
+   */
+  public RateLimitInterceptor(RateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+      Object handler) throws IOException {
+    Object principal = request.getAttribute(AuthPrincipal.ATTRIBUTE);
+    String caller = principal instanceof AuthPrincipal
+        ? ((AuthPrincipal) principal).getApiKey() : ADDRESS_PREFIX + request.getRemoteAddr();
+    long waitNanos = rateLimiter.tryAcquire(caller, request.getRequestURI());
+    if (waitNanos <= 0) {
+      return true;
+    }
+
+    long retryAfter = Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+    JsonObject json = new JsonObject();
+    json.addProperty("error", "Rate limit exceeded");
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.getWriter().write(json.toString());
+    return false;
+  }
+}
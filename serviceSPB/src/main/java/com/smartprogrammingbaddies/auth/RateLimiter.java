@@ -0,0 +1,175 @@
+package com.smartprogrammingbaddies.auth;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A token bucket rate limiter keyed by API key, or by client address for requests made
+ * without one. Every key gets a default budget, and endpoints listed with their own budget
+ * get a separate bucket per key. Each bucket is a single {@link AtomicLong} holding the time
+ * its next token becomes available, so a check is one compare-and-set and never takes a lock.
+ */
+public class RateLimiter {
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+  private static final String DEFAULT_ENDPOINT = "*";
+
+  private final Budget defaultBudget;
+  private final Map<String, Budget> endpointBudgets;
+  private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+  private final int maxBuckets;
+  private final LongAdder rejections = new LongAdder();
+
+  /**
+   * Constructs a new RateLimiter.
+   *
+   * @param defaultBudget the budget of endpoints without their own budget
+   * @param endpointBudgets the budgets of individual endpoints, keyed by path
+   * @param maxBuckets the number of buckets kept before idle buckets are dropped
+   * @throws IllegalArgumentException if a budget is missing or the bucket bound is not positive
+   */
+  public RateLimiter(Budget defaultBudget, Map<String, Budget> endpointBudgets, int maxBuckets) {
+    if (defaultBudget == null) {
+      throw new IllegalArgumentException("Default budget must not be null.");
+    }
+
+    if (maxBuckets <= 0) {
+      throw new IllegalArgumentException("Max buckets must be greater than 0.");
+    }
+
+    this.defaultBudget = defaultBudget;
+    this.endpointBudgets = endpointBudgets == null
+        ? Collections.emptyMap() : new HashMap<>(endpointBudgets);
+    this.maxBuckets = maxBuckets;
+  }
+
+  /**
+   * Takes a token for a request made with an API key.
+   *
+   * @param apiKey the API key making the request
+   * @param endpoint the path of the requested endpoint
+   * @return 0 if the request is allowed, otherwise the number of nanoseconds until it would be
+   */
+  public long tryAcquire(String apiKey, String endpoint) {
+    return tryAcquire(apiKey, endpoint, System.nanoTime());
+  }
+
+  /**
+   * Takes a token at the given time, see {@link #tryAcquire(String, String)}.
+   */
+  long tryAcquire(String apiKey, String endpoint, long now) {
+    Budget budget = endpointBudgets.get(endpoint);
+    String bucketKey = apiKey + " " + (budget == null ? DEFAULT_ENDPOINT : endpoint);
+    if (budget == null) {
+      budget = defaultBudget;
+    }
+
+    AtomicLong bucket = buckets.get(bucketKey);
+    if (bucket == null) {
+      if (buckets.size() >= maxBuckets) {
+        evictIdle(now);
+      }
+      bucket = buckets.computeIfAbsent(bucketKey, k -> new AtomicLong(Long.MIN_VALUE));
+    }
+
+    while (true) {
+      long nextFree = bucket.get();
+      long start = nextFree == Long.MIN_VALUE || nextFree - now < 0 ? now : nextFree;
+      long wait = start - now - budget.burstNanos;
+      if (wait > 0) {
+        rejections.increment();
+        return wait;
+      }
+
+      if (bucket.compareAndSet(nextFree, start + budget.intervalNanos)) {
+        return 0;
+      }
+    }
+  }
+
+  /**
+   * Gets the number of requests that were rejected.
+   *
+   * @return the number of rejected requests
+   */
+  public long getRejectionCount() {
+    return rejections.sum();
+  }
+
+  /**
+   * Gets the number of buckets currently tracked.
+   *
+   * @return the number of buckets
+   */
+  public int size() {
+    return buckets.size();
+  }
+
+  /**
+   * Drops buckets that have refilled completely, since they behave like new buckets.
+   */
+  private void evictIdle(long now) {
+    buckets.values().removeIf(bucket -> {
+      long nextFree = bucket.get();
+      return nextFree == Long.MIN_VALUE || nextFree - now <= 0;
+    });
+  }
+
+  /**
+   * Parses endpoint budgets written as {@code /path=capacity:perSecond}, separated by commas.
+   *
+   * @param spec the budgets to parse, may be blank
+   * @return the budgets keyed by path
+   * @throws IllegalArgumentException if an entry is malformed
+   */
+  public static Map<String, Budget> parseBudgets(String spec) {
+    Map<String, Budget> budgets = new HashMap<>();
+    if (spec == null || spec.isBlank()) {
+      return budgets;
+    }
+
+    for (String entry : spec.split(",")) {
+      String[] pathAndBudget = entry.trim().split("=");
+      String[] limits = pathAndBudget.length == 2 ? pathAndBudget[1].split(":") : new String[0];
+      if (limits.length != 2) {
+        throw new IllegalArgumentException("Rate limit budget must be /path=capacity:perSecond.");
+      }
+
+      budgets.put(pathAndBudget[0].trim(), new Budget(
+          Integer.parseInt(limits[0].trim()), Double.parseDouble(limits[1].trim())));
+    }
+    return budgets;
+  }
+
+  /**
+   * A token bucket budget: the number of requests allowed in a burst, and the rate at which
+   * the bucket refills.
+   */
+  public static final class Budget {
+    private final long intervalNanos;
+    private final long burstNanos;
+
+    /**
+     * Constructs a new Budget.
+     *
+     * @param capacity the number of requests allowed in a burst
+     * @param perSecond the number of requests per second the bucket refills by
+     * @throws IllegalArgumentException if the capacity or rate are not positive
+     */
+    public Budget(int capacity, double perSecond) {
+      if (capacity <= 0) {
+        throw new IllegalArgumentException("Capacity must be greater than 0.");
+      }
+
+      if (perSecond <= 0) {
+        throw new IllegalArgumentException("Refill rate must be greater than 0.");
+      }
+
+      this.intervalNanos = Math.max(1, (long) (NANOS_PER_SECOND / perSecond));
+      this.burstNanos = intervalNanos * (capacity - 1);
+    }
+  }
+}
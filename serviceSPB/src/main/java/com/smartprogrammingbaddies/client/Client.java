@@ -1,24 +1,31 @@
 package com.smartprogrammingbaddies.client;
 
+import com.smartprogrammingbaddies.auth.ApiKeyCodec;
 import com.smartprogrammingbaddies.organization.Organization;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
 
 /**
  * The client class represents a client, their client API Key,
  * and their organization associated with them.
  */
 @Entity
+@Table(indexes = @Index(name = "idx_client_api_key_bin", columnList = "api_key_bin"))
 public class Client {
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private int id;
   private String apiKey;
+  @Column(name = "api_key_bin", columnDefinition = "BINARY(16)")
+  private byte[] apiKeyBin;
   @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
   @JoinColumn(name = "organization_id")
   private Organization organization;
@@ -35,6 +42,7 @@ public class Client {
    */
   public Client(String apiKey) {
     this.apiKey = apiKey;
+    this.apiKeyBin = ApiKeyCodec.toBytes(apiKey);
     this.organization = null;
   }
 
@@ -62,7 +70,7 @@ public class Client {
    * @return apiKey the API key to get.
    */
   public String getApiKey() {
-    return apiKey;
+    return apiKey != null || apiKeyBin == null ? apiKey : ApiKeyCodec.fromBytes(apiKeyBin);
   }
 
   /**
@@ -72,6 +80,32 @@ public class Client {
    */
   public void setApiKey(String apiKey) {
     this.apiKey = apiKey;
+    this.apiKeyBin = ApiKeyCodec.toBytes(apiKey);
+  }
+
+  /**
+   * Fills in the binary form of the API key, for rows saved before it was stored.
+   *
+   * @return true if the API key could be encoded, false otherwise
+   */
+  public boolean encodeApiKey() {
+    if (apiKey == null) {
+      return apiKeyBin != null;
+    }
+    this.apiKeyBin = ApiKeyCodec.toBytes(apiKey);
+    return apiKeyBin != null;
+  }
+
+  /**
+   * Stops storing the string form of the API key, keeping only its binary form.
+   *
+   * @throws IllegalStateException if the API key has no binary form
+   */
+  public void dropStringKey() {
+    if (apiKeyBin == null) {
+      throw new IllegalStateException("API key has no binary form.");
+    }
+    this.apiKey = null;
   }
 
   /**
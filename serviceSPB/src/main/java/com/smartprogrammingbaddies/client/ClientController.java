@@ -1,11 +1,16 @@
 package com.smartprogrammingbaddies.client;
 
+import com.smartprogrammingbaddies.auth.AdminKeys;
 import com.smartprogrammingbaddies.auth.ApiKey;
-import com.smartprogrammingbaddies.auth.ApiKeyRepository;
-import java.util.UUID;
+import com.smartprogrammingbaddies.auth.ApiKeyCache;
+import com.smartprogrammingbaddies.auth.AuthPrincipal;
+import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -14,24 +19,25 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 public class ClientController {
   @Autowired
-  private ClientRepository clientRepository;
+  private ClientRegistrationService registrationService;
 
   @Autowired
-  private ApiKeyRepository apiKeyRepository;
+  private ApiKeyCache apiKeyCache;
+
+  @Autowired
+  private AdminKeys adminKeys;
 
   /**
-   * Generates a unique API key for a client.
+   * Registers a client with a unique API key.
    *
-   * @return A {@code String} representing the generated API key.
+   * @return A {@code ResponseEntity} containing the client's API key.
    */
   @PostMapping("/registerClient")
   public ResponseEntity<?> addClient() {
     try {
-      String apiKey = generateApiKey();
-      Client client = new Client(apiKey);
-      clientRepository.save(client);
-      ApiKey apiKeyEntity = apiKeyRepository.findByApiKey(apiKey).orElseThrow();
-      return ResponseEntity.ok(apiKeyEntity);
+      ApiKey apiKey = registrationService.registerClients(1).get(0);
+      apiKeyCache.markValid(apiKey.getApiKey());
+      return ResponseEntity.ok(apiKey);
 
     } catch (Exception e) {
       return ResponseEntity.status(500).body("Error adding client: " + e.getMessage());
@@ -39,16 +45,34 @@ public class ClientController {
   }
 
   /**
-   * Generates a unique API key.
+   * Registers many clients at once, for example when a partner onboards several sites. Only
+   * admins may register clients in bulk.
    *
-   * @return A {@code String} representing the generated API key.
+   * @param count An {@code int} representing the number of clients to register.
+   * @param principal The verified caller of the request, or null if it had no API key.
+   * @return A {@code ResponseEntity} containing the clients' API keys and a HTTP 200 response,
+   *     HTTP 400 response if the count is out of range, HTTP 403 response if the caller is not
+   *     an admin, or HTTP 500 response if an error occurred.
    */
-  private String generateApiKey() {
-    String apiKey = UUID.randomUUID().toString();
-    while (apiKeyRepository.existsByApiKey(apiKey)) {
-      apiKey = UUID.randomUUID().toString();
+  @PostMapping("/registerClients")
+  public ResponseEntity<?> addClients(@RequestParam("count") int count,
+      @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false)
+      AuthPrincipal principal) {
+    if (!adminKeys.isAdmin(principal)) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Admin API key required");
+    }
+
+    try {
+      List<ApiKey> apiKeys = registrationService.registerClients(count);
+      for (ApiKey apiKey : apiKeys) {
+        apiKeyCache.markValid(apiKey.getApiKey());
+      }
+      return ResponseEntity.ok(apiKeys);
+
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body("Error adding clients: " + e.getMessage());
+    } catch (Exception e) {
+      return ResponseEntity.status(500).body("Error adding clients: " + e.getMessage());
     }
-    apiKeyRepository.save(new ApiKey(apiKey));
-    return apiKey;
   }
 }
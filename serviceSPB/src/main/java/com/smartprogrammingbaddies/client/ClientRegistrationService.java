@@ -0,0 +1,65 @@
+package com.smartprogrammingbaddies.client;
+
+import com.smartprogrammingbaddies.auth.ApiKey;
+import com.smartprogrammingbaddies.auth.ApiKeyLookup;
+import com.smartprogrammingbaddies.auth.ApiKeyPool;
+import com.smartprogrammingbaddies.auth.ApiKeyRepository;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * The ClientRegistrationService registers clients using keys from the {@link ApiKeyPool},
+ * writing every {@code ApiKey} and {@code Client} row of a registration in one transaction.
+ * The {@code ApiKey} rows are written with JDBC batching; {@code Client} IDs come from an
+ * identity column, which Hibernate has to read back after each insert, so client rows are
+ * inserted one statement at a time.
+ */
+@Service
+public class ClientRegistrationService {
+  /**
+   * The maximum number of clients that can be registered at once.
+   */
+  public static final int MAX_BATCH_SIZE = 500;
+
+  @Autowired
+  private ApiKeyPool apiKeyPool;
+
+  @Autowired
+  private ApiKeyLookup apiKeyLookup;
+
+  @Autowired
+  private ApiKeyRepository apiKeyRepository;
+
+  @Autowired
+  private ClientRepository clientRepository;
+
+  /**
+   * Registers a batch of clients, each with their own API key.
+   *
+   * @param count the number of clients to register
+   * @return the saved API keys, one per registered client
+   * @throws IllegalArgumentException if the count is not between 1 and the max batch size
+   */
+  @Transactional
+  public List<ApiKey> registerClients(int count) {
+    if (count <= 0 || count > MAX_BATCH_SIZE) {
+      throw new IllegalArgumentException(
+          "Count must be between 1 and " + MAX_BATCH_SIZE + ".");
+    }
+
+    List<String> keys = apiKeyPool.take(count);
+    List<ApiKey> apiKeys = new ArrayList<>(count);
+    List<Client> clients = new ArrayList<>(count);
+    for (String key : keys) {
+      apiKeys.add(apiKeyLookup.newApiKey(key));
+      clients.add(apiKeyLookup.newClient(key));
+    }
+
+    List<ApiKey> savedKeys = apiKeyRepository.saveAll(apiKeys);
+    clientRepository.saveAll(clients);
+    return savedKeys;
+  }
+}
@@ -1,5 +1,6 @@
 package com.smartprogrammingbaddies.client;
 
+import java.util.List;
 import org.springframework.data.repository.CrudRepository;
 
 /**
@@ -9,4 +10,10 @@ public interface ClientRepository extends CrudRepository<Client, Integer> {
   boolean existsByApiKey(String apiKey);
 
   Client findByApiKey(String apiKey);
+
+  Client findByApiKeyBin(byte[] apiKeyBin);
+
+  boolean existsByApiKeyBinIsNull();
+
+  List<Client> findTop500ByApiKeyIsNotNullAndIdGreaterThanOrderByIdAsc(int id);
 }
@@ -1,6 +1,6 @@
 package com.smartprogrammingbaddies.event;
 
-import com.smartprogrammingbaddies.auth.AuthController;
+import com.smartprogrammingbaddies.auth.AuthPrincipal;
 import com.smartprogrammingbaddies.storagecenter.StorageCenter;
 import com.smartprogrammingbaddies.storagecenter.StorageCenterRepository;
 import com.smartprogrammingbaddies.utils.TimeSlot;
@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -35,9 +36,6 @@ public class EventController {
   @Autowired
   VolunteerRepository volunteerRepository;
 
-  @Autowired
-  private AuthController auth;
-
   /**
    * Enrolls an event into the database.
    * This method creates a new event with the provided details, including the
@@ -47,8 +45,8 @@ public class EventController {
    * It validates the API key and checks the validity of the provided storage
    * center ID.
    *
-   * @param apiKey          A {@code String} representing the API key for
-   *                        authentication.
+   * @param principal       The authenticated caller, resolved from the
+   *                        apiKey parameter.
    * @param name            A {@code String} representing the event's name.
    * @param description     A {@code String} representing the event's description.
    * @param date            A {@code String} representing the event's date in the
@@ -71,7 +69,8 @@ public class EventController {
    *         or an HTTP 500 response if an error occurs.
    */
   @PostMapping("/createEvent")
-  public ResponseEntity<?> createEvent(@RequestParam("apiKey") String apiKey,
+  public ResponseEntity<?> createEvent(
+      @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
       @RequestParam("name") String name,
       @RequestParam("description") String description,
       @RequestParam("date") String date,
@@ -81,10 +80,6 @@ public class EventController {
       @RequestParam("storageCenterId") int storageCenterId,
       @RequestParam("organizationId") int organizationId) {
     try {
-      if (auth.verifyApiKey(apiKey).getStatusCode() != HttpStatus.OK) {
-        return new ResponseEntity<>("Invalid API key", HttpStatus.UNAUTHORIZED);
-      }
-
       DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
       LocalTime parsedStartTime = LocalTime.parse(startTime, timeFormatter);
       LocalTime parsedEndTime = LocalTime.parse(endTime, timeFormatter);
@@ -111,8 +106,8 @@ public class EventController {
   /**
    * Adds a volunteer to an event.
    *
-   * @param apiKey      A {@code String} representing the API key for
-   *                    authentication.
+   * @param principal   The authenticated caller, resolved from the
+   *                    apiKey parameter.
    * @param eventId     A {@code int} representing the ID of the event.
    * @param volunteerId A {@code int} representing the ID of the volunteer to add.
    *
@@ -121,14 +116,10 @@ public class EventController {
    *         or an error message if the event or volunteer is not found.
    */
   @PostMapping("/addVolunteerToEvent")
-  public ResponseEntity<?> addVolunteerToEvent(@RequestParam("apiKey") String apiKey,
+  public ResponseEntity<?> addVolunteerToEvent(
+      @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
       @RequestParam("eventId") int eventId,
       @RequestParam("volunteerId") int volunteerId) {
-    // Validate API key
-    if (auth.verifyApiKey(apiKey).getStatusCode() != HttpStatus.OK) {
-      return new ResponseEntity<>("Invalid API key", HttpStatus.UNAUTHORIZED);
-    }
-
     Event event = eventRepository.findById(eventId).orElse(null);
     if (event == null) {
       return new ResponseEntity<>("Event not found with ID: " + eventId, HttpStatus.NOT_FOUND);
@@ -149,7 +140,7 @@ public class EventController {
   /**
    * Lists all events in the database.
    *
-   * @param apiKey A {@code String} representing the API key for authentication.
+   * @param principal The authenticated caller, resolved from the apiKey parameter.
    *
    * @return A {@code ResponseEntity} containing a list of all events
    *         if the API key is valid, along with an HTTP 200 response.
@@ -157,10 +148,8 @@ public class EventController {
    *         invalid.
    */
   @GetMapping("/listEvents")
-  public ResponseEntity<?> listEvents(@RequestParam("apiKey") String apiKey) {
-    if (auth.verifyApiKey(apiKey).getStatusCode() != HttpStatus.OK) {
-      return new ResponseEntity<>("Invalid API key", HttpStatus.NOT_FOUND);
-    }
+  public ResponseEntity<?> listEvents(
+      @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal) {
     return new ResponseEntity<>(eventRepository.findAll(), HttpStatus.OK);
   }
 
@@ -175,11 +164,9 @@ public class EventController {
    *         found.
    */
   @GetMapping("/retrieveEvent")
-  public ResponseEntity<?> retrieveEvent(@RequestParam("apiKey") String apiKey,
+  public ResponseEntity<?> retrieveEvent(
+      @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
       @RequestParam("eventId") String eventId) {
-    if (auth.verifyApiKey(apiKey).getStatusCode() != HttpStatus.OK) {
-      return new ResponseEntity<>("Invalid API key", HttpStatus.UNAUTHORIZED);
-    }
     Event event = eventRepository.findById(Integer.parseInt(eventId)).orElse(null);
     if (event == null) {
       return new ResponseEntity<>("Event not found with ID: " + eventId, HttpStatus.NOT_FOUND);
@@ -198,12 +185,10 @@ public class EventController {
    *         found.
    */
   @DeleteMapping("/removeEvent")
-  public ResponseEntity<?> removeEvent(@RequestParam("apiKey") String apiKey,
+  public ResponseEntity<?> removeEvent(
+      @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
       @RequestParam("eventId") String eventId) {
     try {
-      if (auth.verifyApiKey(apiKey).getStatusCode() != HttpStatus.OK) {
-        return new ResponseEntity<>("Invalid API key", HttpStatus.UNAUTHORIZED);
-      }
       if (!eventRepository.existsById(Integer.parseInt(eventId))) {
         String message = "Event with ID: " + eventId + " does not exist";
         return new ResponseEntity<>(message, HttpStatus.NOT_FOUND);
@@ -221,7 +206,7 @@ public class EventController {
   /**
    * Searches for all events on a particular date.
    *
-   * @param apiKey A {@code String} representing the API key for authentication.
+   * @param principal The authenticated caller, resolved from the apiKey parameter.
    * @param date   A {@code String} representing the date to search for events.
    *
    * @return A {@code ResponseEntity} containing a list of events on the specified
@@ -232,13 +217,10 @@ public class EventController {
    *         or if no events are found on the specified date.
    */
   @GetMapping("/searchEventsByDate")
-  public ResponseEntity<?> searchEventsByDate(@RequestParam("apiKey") String apiKey,
+  public ResponseEntity<?> searchEventsByDate(
+      @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
       @RequestParam("date") String date) {
     try {
-      // Validate API key
-      if (auth.verifyApiKey(apiKey).getStatusCode() != HttpStatus.OK) {
-        return new ResponseEntity<>("Invalid API key", HttpStatus.NOT_FOUND);
-      }
       var events = eventRepository.findByDate(date);
 
       if (events.isEmpty()) {
@@ -254,7 +236,7 @@ public class EventController {
   /**
    * Searches for all events on a particular date.
    *
-   * @param apiKey   A {@code String} representing the API key for authentication.
+   * @param principal The authenticated caller, resolved from the apiKey parameter.
    * @param location A {@code String} representing the location to search for
    *                 events.
    *
@@ -266,14 +248,10 @@ public class EventController {
    *         or if no events are found on the specified date.
    */
   @GetMapping("/searchEventsByLocation")
-  public ResponseEntity<?> searchEventsByLocation(@RequestParam("apiKey") String apiKey,
+  public ResponseEntity<?> searchEventsByLocation(
+      @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
       @RequestParam("location") String location) {
     try {
-      // Validate API key
-      if (auth.verifyApiKey(apiKey).getStatusCode() != HttpStatus.OK) {
-        return new ResponseEntity<>("Invalid API key", HttpStatus.NOT_FOUND);
-      }
-
       // Fetch events by location
       var events = eventRepository.findByLocationContainingIgnoreCase(location);
 
@@ -1,31 +1,51 @@
 package com.smartprogrammingbaddies.item;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.smartprogrammingbaddies.storagecenter.StorageCenter;
 import com.smartprogrammingbaddies.utils.DateParser;
 import jakarta.persistence.Column;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import java.text.ParseException;
 import java.time.LocalDate;
+import org.springframework.data.domain.Persistable;
 import org.springframework.format.annotation.DateTimeFormat;
 
 /**
  * Represents an item that can be donated. This item can be a food item, toiletries, clothes, etc.
+ * Items are keyed by their storage center, type and name, so each storage center keeps its own
+ * inventory. Items report whether they have been saved yet, so new items are inserted directly
+ * instead of being looked up by their assigned ID first.
  */
 @Entity
-public class Item {
+@Table(indexes = {
+    @Index(name = "idx_item_center_expiration",
+        columnList = "storage_center_id, expiration_date")
+})
+public class Item implements Persistable<ItemKey> {
   @EmbeddedId
-  private ItemId itemType;
+  private ItemKey id;
   @Column(nullable = false)
   private int quantity;
   @ManyToOne
-  @JoinColumn(name = "storage_center_id", nullable = false)
+  @JoinColumn(name = "storage_center_id", nullable = false, insertable = false,
+      updatable = false)
   private StorageCenter storageCenter;
   @DateTimeFormat(pattern = "yyyy-MM-dd")
   @Column(name = "expiration_date")
   private LocalDate expirationDate;
+  @Version
+  private long version;
+  @Transient
+  private boolean isNew = true;
 
   /**
    * Constructs a new Item with the specified name, type, and quantity,
@@ -52,7 +72,7 @@ public class Item {
       throw new IllegalArgumentException("Item type must not be null.");
     }
 
-    this.itemType = itemType;
+    this.id = new ItemKey(storageCenter.getDatabaseId(), itemType);
     this.quantity = quantity;
     this.storageCenter = storageCenter;
 
@@ -76,7 +96,44 @@ public class Item {
    * @return the item ID
    */
   public ItemId getItemId() {
-    return itemType;
+    return id.getItemId();
+  }
+
+  /**
+   * Gets the key used by the repository, which includes the storage center.
+   *
+   * @return the item key
+   */
+  @Override
+  @JsonIgnore
+  public ItemKey getId() {
+    return id;
+  }
+
+  /**
+   * Checks if the item has not been saved yet.
+   *
+   * @return true if the item has not been saved or loaded from the database, false otherwise
+   */
+  @Override
+  @JsonIgnore
+  public boolean isNew() {
+    return isNew;
+  }
+
+  @PostLoad
+  @PostPersist
+  private void markNotNew() {
+    isNew = false;
+  }
+
+  /**
+   * Gets the version of the item, which changes every time its quantity does.
+   *
+   * @return the version of the item
+   */
+  public long getVersion() {
+    return version;
   }
 
   /**
@@ -94,7 +151,7 @@ public class Item {
    * @return the String name of the item
    */
   public String getName() {
-    return itemType.getName();
+    return id.getItemId().getName();
   }
 
   /**
@@ -103,7 +160,7 @@ public class Item {
    * @return the type of the item
    */
   public String getType() {
-    return itemType.getType();
+    return id.getItemId().getType();
   }
 
   /**
@@ -154,15 +211,21 @@ public class Item {
   }
 
   /**
-   * Sets the storage center where the item is stored.
+   * Sets the storage center where the item is stored. The storage center is part of the
+   * item's key, so only items that have not been saved yet can be moved.
    *
    * @param storageCenter the new storage center where the item is stored
     * @throws IllegalArgumentException if the storage center is null
+   * @throws IllegalStateException if the item has already been saved
    */
   public void setStorageCenter(StorageCenter storageCenter) {
     if (storageCenter == null) {
       throw new IllegalArgumentException("Storage center must not be null.");
     }
+    if (!isNew) {
+      throw new IllegalStateException("A saved item cannot be moved to another storage center.");
+    }
+    this.id = new ItemKey(storageCenter.getDatabaseId(), id.getItemId());
     this.storageCenter = storageCenter;
   }
 
@@ -187,7 +250,7 @@ public class Item {
       return false;
     }
     Item item = (Item) otherItem;
-    return itemType.equals(item.itemType)
+    return id.equals(item.id)
         && storageCenter.equals(item.storageCenter)
         && expirationDate.equals(item.expirationDate);
   }
@@ -199,7 +262,7 @@ public class Item {
    */
   @Override
   public int hashCode() {
-    return itemType.hashCode() + storageCenter.hashCode() + expirationDate.hashCode();
+    return id.hashCode() + storageCenter.hashCode() + expirationDate.hashCode();
   }
 
   /**
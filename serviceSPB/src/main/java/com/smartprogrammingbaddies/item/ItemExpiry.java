@@ -0,0 +1,19 @@
+package com.smartprogrammingbaddies.item;
+
+import java.time.LocalDate;
+
+/**
+ * A read-only view of where an item is stored and when it expires, used to index
+ * expiration dates without loading items as entities.
+ */
+public interface ItemExpiry {
+  int getStorageCenterId();
+
+  ItemId.ItemType getType();
+
+  String getName();
+
+  int getQuantity();
+
+  LocalDate getExpirationDate();
+}
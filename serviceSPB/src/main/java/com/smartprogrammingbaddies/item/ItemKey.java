@@ -0,0 +1,85 @@
+package com.smartprogrammingbaddies.item;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Embedded;
+import java.util.Objects;
+
+/**
+ * The ItemKey class is the primary key of an item: the storage center holding it together
+ * with its type and name, so every storage center keeps its own row for each item. The
+ * key's columns are ordered by attribute name, which puts the storage center first, so
+ * lookups and updates of one center's items are range scans of the primary key index.
+ */
+@Embeddable
+public class ItemKey {
+  @Column(name = "storage_center_id")
+  private int centerId;
+  @Embedded
+  private ItemId itemId;
+
+  /**
+   * Empty constructor needed for JPA.
+   */
+  public ItemKey() {
+    // Empty constructor needed for JPA
+  }
+
+  /**
+   * Constructs an ItemKey for an item in a storage center.
+   *
+   * @param centerId the ID of the storage center holding the item
+   * @param itemId the type and name of the item
+   * @throws IllegalArgumentException if the item ID is null
+   */
+  public ItemKey(int centerId, ItemId itemId) {
+    if (itemId == null) {
+      throw new IllegalArgumentException("Item ID must not be null.");
+    }
+
+    this.centerId = centerId;
+    this.itemId = itemId;
+  }
+
+  /**
+   * Gets the ID of the storage center holding the item.
+   *
+   * @return the storage center ID
+   */
+  public int getCenterId() {
+    return centerId;
+  }
+
+  /**
+   * Gets the type and name of the item.
+   *
+   * @return the item ID
+   */
+  public ItemId getItemId() {
+    return itemId;
+  }
+
+  /**
+   * Equals method to compare two ItemKey objects.
+   *
+   * @param otherKey the other ItemKey object to compare
+   */
+  @Override
+  public boolean equals(Object otherKey) {
+    if (otherKey == null || getClass() != otherKey.getClass()) {
+      return false;
+    }
+    ItemKey key = (ItemKey) otherKey;
+    return centerId == key.centerId && itemId.equals(key.itemId);
+  }
+
+  /**
+   * Generates a hash code for the ItemKey object.
+   *
+   * @return the int hash value of the ItemKey object
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(centerId, itemId);
+  }
+}
@@ -0,0 +1,120 @@
+package com.smartprogrammingbaddies.item;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * The ItemKeyMigration class moves an existing item table to the storage center scoped
+ * primary key at startup. Schema updates add new columns and indexes but never change a
+ * primary key, so a table created when items were keyed by type and name alone, or keyed by
+ * storage center in a different column order, is re-keyed here once to the columns Hibernate
+ * generates for {@link ItemKey}. The index on the same columns that older tables carry is
+ * dropped, since the primary key now serves its lookups. If either change fails, startup
+ * fails rather than running on the old key.
+ */
+@Component
+public class ItemKeyMigration implements ApplicationRunner {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ItemKeyMigration.class);
+
+  static final String TABLE = "Item";
+  static final List<String> KEY_COLUMNS = List.of("storage_center_id", "name", "type");
+  static final String OLD_INDEX = "idx_item_center_name";
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Override
+  public void run(ApplicationArguments args) throws SQLException {
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    List<String> primaryKey = readPrimaryKey();
+    if (!primaryKey.isEmpty() && !isKeyedBy(primaryKey, KEY_COLUMNS)) {
+      jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PRIMARY KEY, ADD PRIMARY KEY ("
+          + String.join(", ", KEY_COLUMNS) + ")");
+      LOGGER.info("Re-keyed items by storage center, name and type.");
+    }
+
+    if (hasIndex(OLD_INDEX)) {
+      jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP INDEX " + OLD_INDEX);
+      LOGGER.info("Dropped the item index duplicating the primary key.");
+    }
+  }
+
+  /**
+   * Checks if a primary key has exactly the given columns in the given order.
+   *
+   * @param primaryKey the primary key columns, in key order
+   * @param columns the expected columns, in key order
+   * @return true if the key matches the columns, ignoring case, false otherwise
+   */
+  static boolean isKeyedBy(List<String> primaryKey, List<String> columns) {
+    if (primaryKey.size() != columns.size()) {
+      return false;
+    }
+
+    for (int i = 0; i < columns.size(); i++) {
+      if (!columns.get(i).equalsIgnoreCase(primaryKey.get(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks if the item table has an index with the given name.
+   *
+   * @param index the name of the index
+   * @return true if the index exists, false otherwise
+   * @throws SQLException if the table's metadata cannot be read
+   */
+  boolean hasIndex(String index) throws SQLException {
+    try (Connection connection = dataSource.getConnection()) {
+      DatabaseMetaData metaData = connection.getMetaData();
+      String table = metaData.storesUpperCaseIdentifiers() ? TABLE.toUpperCase() : TABLE;
+      try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), null, table,
+          false, false)) {
+        while (indexes.next()) {
+          if (index.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Reads the columns of the item table's primary key in key order.
+   *
+   * @return the primary key columns, or an empty list if the table does not exist
+   * @throws SQLException if the table's metadata cannot be read
+   */
+  List<String> readPrimaryKey() throws SQLException {
+    try (Connection connection = dataSource.getConnection()) {
+      DatabaseMetaData metaData = connection.getMetaData();
+      String table = metaData.storesUpperCaseIdentifiers() ? TABLE.toUpperCase() : TABLE;
+      List<String> columns = new ArrayList<>();
+      try (ResultSet keys = metaData.getPrimaryKeys(connection.getCatalog(), null, table)) {
+        while (keys.next()) {
+          int position = keys.getShort("KEY_SEQ") - 1;
+          while (columns.size() <= position) {
+            columns.add(null);
+          }
+          columns.set(position, keys.getString("COLUMN_NAME"));
+        }
+      }
+      return columns;
+    }
+  }
+}
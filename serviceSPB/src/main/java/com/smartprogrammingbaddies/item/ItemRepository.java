@@ -1,9 +1,126 @@
 package com.smartprogrammingbaddies.item;
 
+import jakarta.persistence.LockModeType;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 /**
  * The ItemRepository interface is used to store and manage items that can be donated.
+ * Quantities are changed with single conditional UPDATE statements, so concurrent check-ins
+ * and check-outs never overwrite each other. Every change bumps the item's version, and
+ * conditional changes only apply to the version the client last saw. Items are keyed by
+ * storage center first, so every inventory query is a range scan over one center's part of
+ * the primary key, the (storage center, name, type) index, or the (storage center,
+ * expiration date) index.
  */
-public interface ItemRepository extends CrudRepository<Item, ItemId> {
+public interface ItemRepository extends CrudRepository<Item, ItemKey> {
+  @Modifying
+  @Query("UPDATE Item i SET i.quantity = i.quantity + :quantity, i.version = i.version + 1 "
+      + "WHERE i.id = :key")
+  int addQuantity(@Param("key") ItemKey key, @Param("quantity") int quantity);
+
+  @Modifying
+  @Query("UPDATE Item i SET i.quantity = i.quantity - :quantity, i.version = i.version + 1 "
+      + "WHERE i.id = :key AND i.quantity >= :quantity")
+  int removeQuantity(@Param("key") ItemKey key, @Param("quantity") int quantity);
+
+  @Modifying
+  @Query("UPDATE Item i SET i.quantity = i.quantity + :quantity, i.version = i.version + 1 "
+      + "WHERE i.id = :key AND i.version = :version")
+  int addQuantityIfVersion(@Param("key") ItemKey key, @Param("quantity") int quantity,
+      @Param("version") long version);
+
+  @Modifying
+  @Query("UPDATE Item i SET i.quantity = i.quantity - :quantity, i.version = i.version + 1 "
+      + "WHERE i.id = :key AND i.quantity >= :quantity AND i.version = :version")
+  int removeQuantityIfVersion(@Param("key") ItemKey key, @Param("quantity") int quantity,
+      @Param("version") long version);
+
+  @Query("SELECT i.version FROM Item i WHERE i.id = :key")
+  Optional<Long> findVersion(@Param("key") ItemKey key);
+
+  @Modifying
+  @Query("DELETE FROM Item i WHERE i.id = :key AND i.quantity = 0")
+  int deleteIfEmpty(@Param("key") ItemKey key);
+
+  @Query("SELECT i FROM Item i WHERE i.id.centerId = :centerId "
+      + "ORDER BY i.id.itemId.name, i.id.itemId.type")
+  List<Item> findPageByCenter(@Param("centerId") int centerId, Pageable pageable);
+
+  @Query("SELECT i FROM Item i WHERE i.id.centerId = :centerId "
+      + "AND (i.id.itemId.name > :name OR (i.id.itemId.name = :name AND i.id.itemId.type > :type)) "
+      + "ORDER BY i.id.itemId.name, i.id.itemId.type")
+  List<Item> findPageByCenterAfter(@Param("centerId") int centerId, @Param("name") String name,
+      @Param("type") ItemId.ItemType type, Pageable pageable);
+
+  @Query("SELECT i.id.itemId.type AS type, i.id.itemId.name AS name, i.quantity AS quantity, "
+      + "i.expirationDate AS expirationDate FROM Item i WHERE i.id.centerId = :centerId "
+      + "AND (i.id.itemId.name > :name "
+      + "OR (i.id.itemId.name = :name AND i.id.itemId.type > :type)) "
+      + "ORDER BY i.id.itemId.name, i.id.itemId.type")
+  List<ItemSummary> findSummariesByCenterAfter(@Param("centerId") int centerId,
+      @Param("name") String name, @Param("type") ItemId.ItemType type, Pageable pageable);
+
+  @Query("SELECT i FROM Item i WHERE i.id.centerId = :centerId "
+      + "AND i.expirationDate < :today ORDER BY i.expirationDate")
+  List<Item> findExpiredByCenter(@Param("centerId") int centerId,
+      @Param("today") LocalDate today);
+
+  @Query("SELECT i FROM Item i WHERE i.id.centerId = :centerId "
+      + "AND i.expirationDate >= :from AND i.expirationDate <= :until ORDER BY i.expirationDate")
+  List<Item> findExpiringByCenter(@Param("centerId") int centerId,
+      @Param("from") LocalDate from, @Param("until") LocalDate until);
+
+  @Query("SELECT i.id.centerId AS storageCenterId, i.id.itemId.type AS type, "
+      + "i.id.itemId.name AS name, i.quantity AS quantity, i.expirationDate AS expirationDate "
+      + "FROM Item i WHERE i.expirationDate >= :today AND (i.id.centerId > :centerId "
+      + "OR (i.id.centerId = :centerId AND (i.id.itemId.name > :name "
+      + "OR (i.id.itemId.name = :name AND i.id.itemId.type > :type)))) "
+      + "ORDER BY i.id.centerId, i.id.itemId.name, i.id.itemId.type")
+  List<ItemExpiry> findExpiriesAfter(@Param("today") LocalDate today,
+      @Param("centerId") int centerId, @Param("name") String name,
+      @Param("type") ItemId.ItemType type, Pageable pageable);
+
+  @Query("SELECT i.id.centerId AS storageCenterId, i.id.itemId.type AS type, "
+      + "i.id.itemId.name AS name, i.quantity AS quantity FROM Item i "
+      + "WHERE i.id.centerId > :centerId OR (i.id.centerId = :centerId "
+      + "AND (i.id.itemId.type > :type "
+      + "OR (i.id.itemId.type = :type AND i.id.itemId.name > :name))) "
+      + "ORDER BY i.id.centerId, i.id.itemId.type, i.id.itemId.name")
+  List<ItemStock> findStockAfter(@Param("centerId") int centerId,
+      @Param("type") ItemId.ItemType type, @Param("name") String name, Pageable pageable);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT i FROM Item i WHERE i.id.centerId = :centerId "
+      + "AND i.expirationDate < :today")
+  List<Item> findExpiredByCenterForUpdate(@Param("centerId") int centerId,
+      @Param("today") LocalDate today);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT i FROM Item i WHERE i.id.centerId = :centerId "
+      + "AND i.expirationDate < :today ORDER BY i.expirationDate")
+  List<Item> findExpiredBatchForUpdate(@Param("centerId") int centerId,
+      @Param("today") LocalDate today, Pageable pageable);
+
+  @Modifying
+  @Query("DELETE FROM Item i WHERE i.id.centerId = :centerId "
+      + "AND i.expirationDate < :today")
+  int deleteExpiredByCenter(@Param("centerId") int centerId, @Param("today") LocalDate today);
+
+  @Query("SELECT i.id.centerId AS storageCenterId, i.id.itemId.type AS type, "
+      + "SUM(i.quantity) AS quantity FROM Item i GROUP BY i.id.centerId, i.id.itemId.type")
+  List<ItemTypeTotal> sumQuantitiesByCenterAndType();
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT i FROM Item i WHERE i.id.centerId = :centerId AND i.id.itemId.name IN :names")
+  List<Item> findAllByCenterAndNameForUpdate(@Param("centerId") int centerId,
+      @Param("names") Collection<String> names);
 }
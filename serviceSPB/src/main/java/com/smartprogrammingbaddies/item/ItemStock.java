@@ -0,0 +1,15 @@
+package com.smartprogrammingbaddies.item;
+
+/**
+ * A read-only view of how much of an item a storage center holds, used to index stock
+ * without loading items as entities.
+ */
+public interface ItemStock {
+  int getStorageCenterId();
+
+  ItemId.ItemType getType();
+
+  String getName();
+
+  int getQuantity();
+}
@@ -0,0 +1,17 @@
+package com.smartprogrammingbaddies.item;
+
+import java.time.LocalDate;
+
+/**
+ * A read-only view of an item's columns, used when items are read in bulk without
+ * loading them as entities.
+ */
+public interface ItemSummary {
+  ItemId.ItemType getType();
+
+  String getName();
+
+  int getQuantity();
+
+  LocalDate getExpirationDate();
+}
@@ -0,0 +1,12 @@
+package com.smartprogrammingbaddies.item;
+
+/**
+ * The number of units a storage center holds of one item type.
+ */
+public interface ItemTypeTotal {
+  int getStorageCenterId();
+
+  ItemId.ItemType getType();
+
+  long getQuantity();
+}
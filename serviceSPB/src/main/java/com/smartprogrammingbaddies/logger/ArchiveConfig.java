@@ -0,0 +1,79 @@
+package com.smartprogrammingbaddies.logger;
+
+import com.smartprogrammingbaddies.storagecenter.StorageCenterRepository;
+import com.smartprogrammingbaddies.storagecenter.SweepLeaseRepository;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class contains the ArchiveConfig class, which creates the archive that old
+ * transactions are moved to and the history that moves and searches them. Archiving is
+ * refused at startup unless the archive directory is marked as shared, since every instance
+ * must read the days another instance archived.
+ */
+@Configuration
+public class ArchiveConfig {
+  @Autowired
+  private TransactionRepository transactionRepository;
+
+  @Autowired
+  private StorageCenterRepository storageCenterRepository;
+
+  @Autowired
+  private SweepLeaseRepository sweepLeaseRepository;
+
+  @Value("${logger.archive.directory:archive}")
+  private String directory;
+
+  @Value("${logger.archive.retention-days:0}")
+  private int retentionDays;
+
+  @Value("${logger.archive.batch-size:500}")
+  private int batchSize;
+
+  @Value("${logger.archive.shared:false}")
+  private boolean shared;
+
+  @Value("${logger.archive.lease-seconds:3600}")
+  private long leaseSeconds;
+
+  @Value("${GAE_INSTANCE:}")
+  private String instanceId;
+
+  /**
+   * Creates the transaction archive.
+   *
+   * @return the transaction archive
+   * @throws IOException if the archive directory cannot be created
+   */
+  @Bean
+  public TransactionArchive transactionArchive() throws IOException {
+    return new TransactionArchive(Path.of(directory));
+  }
+
+  /**
+   * Creates the transaction history.
+   *
+   * @return the transaction history
+   * @throws IOException if the archive directory cannot be created
+   * @throws IllegalStateException if archiving is turned on without a shared directory
+   */
+  @Bean
+  public TransactionHistory transactionHistory() throws IOException {
+    if (retentionDays > 0 && !shared) {
+      throw new IllegalStateException("Transaction archiving needs the archive directory on "
+          + "storage every instance shares. Mount it and set logger.archive.shared=true.");
+    }
+
+    String owner = instanceId.isBlank() ? UUID.randomUUID().toString() : instanceId;
+    return new TransactionHistory(transactionRepository, storageCenterRepository,
+        sweepLeaseRepository, transactionArchive(), retentionDays, batchSize,
+        Duration.ofSeconds(leaseSeconds), owner);
+  }
+}
@@ -0,0 +1,49 @@
+package com.smartprogrammingbaddies.logger;
+
+import com.smartprogrammingbaddies.storagecenter.StorageCenterRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * This class contains the RollupConfig class, which creates the job that rebuilds the
+ * daily transaction rollups from the transaction log.
+ */
+@Configuration
+public class RollupConfig {
+  @Autowired
+  private TransactionRepository transactionRepository;
+
+  @Autowired
+  private TransactionRollupRepository rollupRepository;
+
+  @Autowired
+  private StorageCenterRepository storageCenterRepository;
+
+  @Autowired
+  private TransactionArchive transactionArchive;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Value("${logger.rollups.backfill-threads:4}")
+  private int backfillThreads;
+
+  @Value("${logger.rollups.backfill-chunk-days:31}")
+  private int backfillChunkDays;
+
+  /**
+   * Creates the rollup backfill job.
+   *
+   * @return the rollup backfill
+   */
+  @Bean
+  public TransactionRollupBackfill transactionRollupBackfill() {
+    return new TransactionRollupBackfill(transactionRepository, rollupRepository,
+        storageCenterRepository, transactionArchive, new TransactionTemplate(transactionManager),
+        backfillThreads, backfillChunkDays);
+  }
+}
@@ -0,0 +1,118 @@
+package com.smartprogrammingbaddies.logger;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * The RollupKey class is the primary key of a transaction rollup: the storage center, the
+ * day, and the item type and action of the transactions it counts.
+ */
+@Embeddable
+public class RollupKey {
+  @Column(name = "storage_center_id")
+  private int centerId;
+  private LocalDate date;
+  private String itemType;
+  private String action;
+
+  /**
+   * Empty constructor needed for JPA.
+   */
+  public RollupKey() {
+    // Empty constructor needed for JPA
+  }
+
+  /**
+   * Constructs a RollupKey.
+   *
+   * @param centerId the ID of the storage center
+   * @param date the day the transactions occurred
+   * @param itemType the type of the items involved
+   * @param action the action that occurred
+   * @throws IllegalArgumentException if the date, item type or action is missing
+   */
+  public RollupKey(int centerId, LocalDate date, String itemType, String action) {
+    if (date == null || itemType == null || action == null) {
+      throw new IllegalArgumentException("Date, item type and action must not be null.");
+    }
+
+    this.centerId = centerId;
+    this.date = date;
+    this.itemType = itemType;
+    this.action = action;
+  }
+
+  /**
+   * Gets the key of the rollup a transaction is counted in.
+   *
+   * @param transaction the transaction
+   * @return the rollup key
+   */
+  public static RollupKey of(Transaction transaction) {
+    return new RollupKey(transaction.getStorageCenter(), transaction.getDate(),
+        transaction.getItemType(), transaction.getAction());
+  }
+
+  /**
+   * Gets the ID of the storage center.
+   *
+   * @return the storage center ID
+   */
+  public int getCenterId() {
+    return centerId;
+  }
+
+  /**
+   * Gets the day the transactions occurred.
+   *
+   * @return the day
+   */
+  public LocalDate getDate() {
+    return date;
+  }
+
+  /**
+   * Gets the type of the items involved.
+   *
+   * @return the item type
+   */
+  public String getItemType() {
+    return itemType;
+  }
+
+  /**
+   * Gets the action that occurred.
+   *
+   * @return the action
+   */
+  public String getAction() {
+    return action;
+  }
+
+  /**
+   * Equals method to compare two RollupKey objects.
+   *
+   * @param otherKey the other RollupKey object to compare
+   */
+  @Override
+  public boolean equals(Object otherKey) {
+    if (otherKey == null || getClass() != otherKey.getClass()) {
+      return false;
+    }
+    RollupKey key = (RollupKey) otherKey;
+    return centerId == key.centerId && date.equals(key.date) && itemType.equals(key.itemType)
+        && action.equals(key.action);
+  }
+
+  /**
+   * Generates a hash code for the RollupKey object.
+   *
+   * @return the int hash value of the RollupKey object
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(centerId, date, itemType, action);
+  }
+}
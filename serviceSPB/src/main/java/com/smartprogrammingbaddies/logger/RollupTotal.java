@@ -0,0 +1,15 @@
+package com.smartprogrammingbaddies.logger;
+
+/**
+ * A read-only view of the transactions of one item type and action added up over a range of
+ * days.
+ */
+public interface RollupTotal {
+  String getItemType();
+
+  String getAction();
+
+  long getTransactionCount();
+
+  long getTotalQuantity();
+}
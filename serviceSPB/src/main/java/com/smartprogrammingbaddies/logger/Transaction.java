@@ -7,15 +7,31 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
 /**
  * The TransactionLogger class is used to log transactions that occur in the StorageCenter class.
+ * Searches of a center's transactions by time read the (storage center, date, time) index,
+ * which also holds the action and item type so those filters never read the rows, and
+ * searches by item name read the (storage center, item name, date, time) index. The storage
+ * center's ID is read when the transaction is made, so a transaction saved or printed by
+ * the log's background thread never loads its storage center outside the change's session.
  */
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_transaction_center_id", columnList = "storage_center_id, transaction_id"),
+    @Index(name = "idx_transaction_center_time",
+        columnList = "storage_center_id, date, timestamp, transaction_id, action, itemType"),
+    @Index(name = "idx_transaction_center_name",
+        columnList = "storage_center_id, itemName, date, timestamp, transaction_id"),
+    @Index(name = "idx_transaction_journal_record", columnList = "journal_id, journal_position",
+        unique = true)
+})
 public class Transaction {
   @Id
   @GeneratedValue(strategy = GenerationType.AUTO)
@@ -28,6 +44,8 @@ public class Transaction {
   @ManyToOne
   @JoinColumn(name = "storage_center_id", nullable = false)
   private StorageCenter storageCenter;
+  @Column(name = "storage_center_id", insertable = false, updatable = false)
+  private int storageCenterId;
   @Column(nullable = false)
   private String itemName;
   @Column(nullable = false)
@@ -36,6 +54,10 @@ public class Transaction {
   private int quantity;
   @Column(nullable = false)
   private String action;
+  @Column(name = "journal_id", length = 36)
+  private String journalId;
+  @Column(name = "journal_position")
+  private Long journalPosition;
 
   /**
    * Transaction instantiated from a Item object.
@@ -48,13 +70,30 @@ public class Transaction {
    *        the item is null, or the action is null or empty
    */
   public Transaction(StorageCenter storageCenter, Item item, int quantity, String action) {
+    this(storageCenter, requireItem(item).getType(), item.getName(), quantity, action);
+  }
+
+  /**
+   * Transaction instantiated from an item's type and name, for when the item itself
+   * has not been loaded.
+   *
+   * @param storageCenter the storage center where the transaction occurred
+   * @param itemType the type of the item involved in the transaction
+   * @param itemName the name of the item involved in the transaction
+   * @param quantity the quantity of the item involved in the transaction
+   * @param action the action that occurred in the transaction
+   * @throws IllegalArgumentException if the storage center is null, the item type or
+   *        name is null or empty, or the action is null or empty
+   */
+  public Transaction(StorageCenter storageCenter, String itemType, String itemName,
+      int quantity, String action) {
     if (storageCenter == null) {
       throw new IllegalArgumentException("Storage center must not be null.");
     }
     if (quantity < 0) {
       throw new IllegalArgumentException("Quantity must be greater than or equal to 0.");
     }
-    if (item == null) {
+    if (itemType == null || itemType.isBlank() || itemName == null || itemName.isBlank()) {
       throw new IllegalArgumentException("Item must not be null.");
     }
     if (action == null || action.isBlank()) {
@@ -62,14 +101,60 @@ public class Transaction {
     }
 
     this.storageCenter = storageCenter;
-    this.itemName = item.getName();
-    this.itemType = item.getType();
+    this.storageCenterId = storageCenter.getDatabaseId();
+    this.itemName = itemName;
+    this.itemType = itemType;
     this.quantity = quantity;
     this.action = action;
     this.timestamp = LocalTime.now();
     this.date = LocalDate.now();
   }
 
+  /**
+   * Transaction read back from the transaction journal, keeping the date and time it
+   * occurred and the journal ID and position of its journal record.
+   *
+   * @param storageCenter the storage center where the transaction occurred
+   * @param itemType the type of the item involved in the transaction
+   * @param itemName the name of the item involved in the transaction
+   * @param quantity the quantity of the item involved in the transaction
+   * @param action the action that occurred in the transaction
+   * @param date the date the transaction occurred
+   * @param timestamp the time the transaction occurred
+   * @param journalId the ID of the journal holding the transaction's record
+   * @param journalPosition the position of the transaction's journal record
+   */
+  Transaction(StorageCenter storageCenter, String itemType, String itemName, int quantity,
+      String action, LocalDate date, LocalTime timestamp, String journalId,
+      long journalPosition) {
+    this(storageCenter, itemType, itemName, quantity, action);
+    this.date = date;
+    this.timestamp = timestamp;
+    this.journalId = journalId;
+    this.journalPosition = journalPosition;
+  }
+
+  /**
+   * Transaction read back from the transaction archive, keeping its database ID and the date
+   * and time it occurred.
+   *
+   * @param storageCenter the storage center where the transaction occurred
+   * @param id the database ID the transaction had
+   * @param date the date the transaction occurred
+   * @param timestamp the time the transaction occurred
+   * @param itemType the type of the item involved in the transaction
+   * @param itemName the name of the item involved in the transaction
+   * @param quantity the quantity of the item involved in the transaction
+   * @param action the action that occurred in the transaction
+   */
+  Transaction(StorageCenter storageCenter, int id, LocalDate date, LocalTime timestamp,
+      String itemType, String itemName, int quantity, String action) {
+    this(storageCenter, itemType, itemName, quantity, action);
+    this.id = id;
+    this.date = date;
+    this.timestamp = timestamp;
+  }
+
   /**
    * Empty constructor needed for JPA.
    */
@@ -110,7 +195,7 @@ public class Transaction {
    * @return the storage center of the transaction
    */
   public int getStorageCenter() {
-    return storageCenter.getDatabaseId();
+    return storageCenterId;
   }
 
   /**
@@ -149,6 +234,26 @@ public class Transaction {
     return action;
   }
 
+  /**
+   * Gets the ID of the journal holding the transaction's record, if it was written through
+   * the transaction journal.
+   *
+   * @return the journal ID, or null if the transaction was not journaled
+   */
+  public String getJournalId() {
+    return journalId;
+  }
+
+  /**
+   * Gets the position of the transaction's journal record, if it was written through the
+   * transaction journal.
+   *
+   * @return the journal position, or null if the transaction was not journaled
+   */
+  public Long getJournalPosition() {
+    return journalPosition;
+  }
+
   /**
    * Equals method for Transaction.
    *
@@ -173,4 +278,11 @@ public class Transaction {
   public int hashCode() {
     return id;
   }
+
+  private static Item requireItem(Item item) {
+    if (item == null) {
+      throw new IllegalArgumentException("Item must not be null.");
+    }
+    return item;
+  }
 }
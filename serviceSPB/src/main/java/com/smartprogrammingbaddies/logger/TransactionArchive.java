@@ -0,0 +1,222 @@
+package com.smartprogrammingbaddies.logger;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.smartprogrammingbaddies.storagecenter.StorageCenter;
+import com.smartprogrammingbaddies.utils.ExportWriter;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The TransactionArchive class keeps transactions that were moved out of the database in
+ * compressed files on local disk. Each storage center has a directory holding one gzip
+ * compressed file of newline-delimited JSON per day, with the day's transactions in (time,
+ * ID) order, so a range of days is read by opening only the files of those days. Files are
+ * written to a temporary file and moved into place, so a crash never leaves a file half
+ * written. Each center also records the last day it is archived through: every transaction
+ * of that day or earlier is read from the archive, and later ones from the database.
+ */
+public class TransactionArchive {
+  private static final String SUFFIX = ".ndjson.gz";
+  private static final String ARCHIVED_THROUGH = "archived-through";
+  private static final Comparator<Transaction> ORDER = Comparator
+      .comparing(Transaction::getTimestamp).thenComparingInt(Transaction::getDatabaseId);
+
+  private final Path directory;
+  private final Map<Integer, Optional<LocalDate>> archivedThrough = new ConcurrentHashMap<>();
+
+  /**
+   * Opens the archive in a directory.
+   *
+   * @param directory the directory holding each storage center's archive
+   * @throws IOException if the directory cannot be created
+   */
+  public TransactionArchive(Path directory) throws IOException {
+    this.directory = directory;
+    Files.createDirectories(directory);
+  }
+
+  /**
+   * Writes a day of a storage center's transactions, keeping any already archived for that
+   * day that are not among them.
+   *
+   * @param center the storage center
+   * @param date the day the transactions occurred
+   * @param transactions the transactions to archive
+   * @return the number of transactions in the day's file
+   * @throws IOException if the file cannot be read or written
+   */
+  public int write(StorageCenter center, LocalDate date, Collection<Transaction> transactions)
+      throws IOException {
+    Map<Integer, Transaction> byId = new HashMap<>();
+    for (Transaction transaction : read(center, date)) {
+      byId.put(transaction.getDatabaseId(), transaction);
+    }
+    for (Transaction transaction : transactions) {
+      byId.put(transaction.getDatabaseId(), transaction);
+    }
+    List<Transaction> rows = new ArrayList<>(byId.values());
+    rows.sort(ORDER);
+
+    Path centerDirectory = Files.createDirectories(
+        directory.resolve(String.valueOf(center.getDatabaseId())));
+    Path file = centerDirectory.resolve(date + SUFFIX);
+    Path temporary = centerDirectory.resolve(date + SUFFIX + ".tmp");
+    try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temporary))) {
+      ExportWriter writer = new ExportWriter(out, ExportWriter.Format.NDJSON,
+          "id", "date", "timestamp", "itemType", "itemName", "quantity", "action");
+      for (Transaction row : rows) {
+        writer.write(row.getDatabaseId(), row.getDate(), row.getTimestamp(), row.getItemType(),
+            row.getItemName(), row.getQuantity(), row.getAction());
+      }
+      writer.flush();
+    }
+    Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    return rows.size();
+  }
+
+  /**
+   * Reads a day of a storage center's archived transactions, in (time, ID) order.
+   *
+   * @param center the storage center
+   * @param date the day to read
+   * @return the archived transactions, or an empty list if the day has no file
+   * @throws IOException if the file cannot be read
+   */
+  public List<Transaction> read(StorageCenter center, LocalDate date) throws IOException {
+    Path file = directory.resolve(String.valueOf(center.getDatabaseId()))
+        .resolve(date + SUFFIX);
+    List<Transaction> transactions = new ArrayList<>();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+        new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        JsonObject row = JsonParser.parseString(line).getAsJsonObject();
+        transactions.add(new Transaction(center, row.get("id").getAsInt(),
+            LocalDate.parse(row.get("date").getAsString()),
+            LocalTime.parse(row.get("timestamp").getAsString()),
+            row.get("itemType").getAsString(), row.get("itemName").getAsString(),
+            row.get("quantity").getAsInt(), row.get("action").getAsString()));
+      }
+    } catch (NoSuchFileException e) {
+      return List.of();
+    }
+    return transactions;
+  }
+
+  /**
+   * Lists the days of a storage center that have an archive file within a range.
+   *
+   * @param centerId the ID of the storage center
+   * @param from the first day to include
+   * @param to the last day to include
+   * @return the archived days, oldest first
+   * @throws IOException if the center's directory cannot be listed
+   */
+  public List<LocalDate> findDays(int centerId, LocalDate from, LocalDate to)
+      throws IOException {
+    Path centerDirectory = directory.resolve(String.valueOf(centerId));
+    if (!Files.isDirectory(centerDirectory)) {
+      return List.of();
+    }
+
+    List<LocalDate> days = new ArrayList<>();
+    try (Stream<Path> files = Files.list(centerDirectory)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        String name = file.getFileName().toString();
+        if (name.endsWith(SUFFIX)) {
+          LocalDate day = LocalDate.parse(name.substring(0, name.length() - SUFFIX.length()));
+          if (!day.isBefore(from) && !day.isAfter(to)) {
+            days.add(day);
+          }
+        }
+      }
+    }
+    days.sort(null);
+    return days;
+  }
+
+  /**
+   * Gets the last day a storage center is archived through. Every transaction of that day
+   * or earlier is in the archive.
+   *
+   * @param centerId the ID of the storage center
+   * @return the last archived day, or null if nothing is archived
+   */
+  public LocalDate getArchivedThrough(int centerId) {
+    return archivedThrough.computeIfAbsent(centerId, id -> {
+      try {
+        Path file = directory.resolve(String.valueOf(id)).resolve(ARCHIVED_THROUGH);
+        return Optional.of(LocalDate.parse(Files.readString(file).trim()));
+      } catch (NoSuchFileException e) {
+        return Optional.empty();
+      } catch (IOException | DateTimeParseException e) {
+        System.err.println("Failed to read the archive of Storage Center " + id + ".");
+        return Optional.empty();
+      }
+    }).orElse(null);
+  }
+
+  /**
+   * Records that every transaction of a storage center up to and including a day is in the
+   * archive. Only ever moves forward.
+   *
+   * @param centerId the ID of the storage center
+   * @param date the last archived day
+   * @throws IOException if the record cannot be written
+   */
+  public synchronized void setArchivedThrough(int centerId, LocalDate date) throws IOException {
+    LocalDate current = getArchivedThrough(centerId);
+    if (current != null && !date.isAfter(current)) {
+      return;
+    }
+
+    Path centerDirectory = Files.createDirectories(directory.resolve(String.valueOf(centerId)));
+    Path temporary = centerDirectory.resolve(ARCHIVED_THROUGH + ".tmp");
+    Files.writeString(temporary, date.toString());
+    Files.move(temporary, centerDirectory.resolve(ARCHIVED_THROUGH),
+        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    archivedThrough.put(centerId, Optional.of(date));
+  }
+
+  /**
+   * Deletes a storage center's archive.
+   *
+   * @param centerId the ID of the storage center
+   * @throws IOException if a file cannot be deleted
+   */
+  public synchronized void remove(int centerId) throws IOException {
+    Path centerDirectory = directory.resolve(String.valueOf(centerId));
+    if (Files.isDirectory(centerDirectory)) {
+      try (Stream<Path> files = Files.list(centerDirectory)) {
+        for (Path file : (Iterable<Path>) files::iterator) {
+          Files.delete(file);
+        }
+      }
+      Files.delete(centerDirectory);
+    }
+    archivedThrough.remove(centerId);
+  }
+}
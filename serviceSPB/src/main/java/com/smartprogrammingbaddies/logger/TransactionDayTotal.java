@@ -0,0 +1,19 @@
+package com.smartprogrammingbaddies.logger;
+
+import java.time.LocalDate;
+
+/**
+ * A read-only view of the transactions of one day, item type and action added up from the
+ * transaction log, used to rebuild rollups.
+ */
+public interface TransactionDayTotal {
+  LocalDate getDate();
+
+  String getItemType();
+
+  String getAction();
+
+  long getTransactionCount();
+
+  long getTotalQuantity();
+}
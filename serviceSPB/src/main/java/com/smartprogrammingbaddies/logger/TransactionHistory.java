@@ -0,0 +1,343 @@
+package com.smartprogrammingbaddies.logger;
+
+import com.google.gson.JsonObject;
+import com.smartprogrammingbaddies.storagecenter.StorageCenter;
+import com.smartprogrammingbaddies.storagecenter.StorageCenterRepository;
+import com.smartprogrammingbaddies.storagecenter.SweepLease;
+import com.smartprogrammingbaddies.storagecenter.SweepLeaseRepository;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * The TransactionHistory class keeps the transaction table to a window of recent days and
+ * searches every transaction, whether it is still in the database or archived. Transactions
+ * older than the retention window are moved one storage center and day at a time: the day
+ * is written to the {@link TransactionArchive}, the center is marked as archived through
+ * that day, and only then are the day's rows deleted from the database in batches. A crash
+ * at any point leaves every transaction readable, and the next run picks up where it
+ * stopped. Searches read the days a center is archived through from the archive and the
+ * rest from the database, in the same (date, time, ID) order. A lease in the database makes
+ * sure only one application instance archives at a time.
+ */
+public class TransactionHistory {
+  /**
+   * The name of the lease held while transactions are archived.
+   */
+  static final String LEASE_NAME = "transaction-archive";
+
+  private final TransactionRepository transactionRepository;
+  private final StorageCenterRepository storageCenterRepository;
+  private final SweepLeaseRepository leaseRepository;
+  private final TransactionArchive archive;
+  private final int retentionDays;
+  private final int batchSize;
+  private final Duration leaseDuration;
+  private final String owner;
+
+  /**
+   * Constructs a new TransactionHistory.
+   *
+   * @param transactionRepository the repository recent transactions are kept in
+   * @param storageCenterRepository the repository used to list storage centers
+   * @param leaseRepository the repository holding the archive lease
+   * @param archive the archive older transactions are moved to
+   * @param retentionDays the number of days transactions stay in the database, or 0 to never
+   *     archive them
+   * @param batchSize the number of archived transactions deleted per database transaction
+   * @param leaseDuration how long a run may hold the lease
+   * @param owner the name of this application instance
+   * @throws IllegalArgumentException if the retention days are negative, or the batch size
+   *     or lease duration is not positive
+   */
+  public TransactionHistory(TransactionRepository transactionRepository,
+      StorageCenterRepository storageCenterRepository, SweepLeaseRepository leaseRepository,
+      TransactionArchive archive, int retentionDays, int batchSize, Duration leaseDuration,
+      String owner) {
+    if (retentionDays < 0) {
+      throw new IllegalArgumentException("Retention days must be greater than or equal to 0.");
+    }
+
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be greater than 0.");
+    }
+
+    if (leaseDuration == null || leaseDuration.isNegative() || leaseDuration.isZero()) {
+      throw new IllegalArgumentException("Lease duration must be greater than 0.");
+    }
+
+    this.transactionRepository = transactionRepository;
+    this.storageCenterRepository = storageCenterRepository;
+    this.leaseRepository = leaseRepository;
+    this.archive = archive;
+    this.retentionDays = retentionDays;
+    this.batchSize = batchSize;
+    this.leaseDuration = leaseDuration;
+    this.owner = owner;
+  }
+
+  /**
+   * Checks if transactions older than the retention window are archived.
+   *
+   * @return true if archiving is turned on, false otherwise
+   */
+  public boolean isArchiving() {
+    return retentionDays > 0;
+  }
+
+  /**
+   * Archives old transactions on the configured schedule, if archiving is turned on.
+   */
+  @Scheduled(cron = "${logger.archive.cron:0 30 3 * * *}")
+  public void scheduledArchive() {
+    if (!isArchiving()) {
+      return;
+    }
+
+    try {
+      Report report = archive();
+      if (report != null) {
+        System.out.println("Transaction archive: " + report.toJson());
+      }
+    } catch (Exception e) {
+      System.err.println("Transaction archive failed: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Moves every transaction older than the retention window from the database to the
+   * archive, unless another instance is already archiving. A storage center that fails stops
+   * at the day that failed and is retried on the next run.
+   *
+   * @return the report of the run, or null if another instance holds the lease
+   * @throws IllegalStateException if archiving is turned off
+   */
+  public synchronized Report archive() {
+    if (!isArchiving()) {
+      throw new IllegalStateException("Transaction archiving is turned off.");
+    }
+
+    if (!acquireLease()) {
+      return null;
+    }
+
+    try {
+      return archiveAll();
+    } finally {
+      leaseRepository.release(LEASE_NAME, owner, Instant.now());
+    }
+  }
+
+  private Report archiveAll() {
+    Instant started = Instant.now();
+    LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+    List<Integer> centerIds = storageCenterRepository.findAllIds();
+    int days = 0;
+    int transactions = 0;
+    int failed = 0;
+    for (int centerId : centerIds) {
+      try {
+        Optional<StorageCenter> center = storageCenterRepository.findById(centerId);
+        if (center.isEmpty()) {
+          continue;
+        }
+
+        for (LocalDate day : transactionRepository.findDaysBefore(centerId, cutoff)) {
+          transactions += archiveDay(center.get(), day);
+          days++;
+        }
+        archive.setArchivedThrough(centerId, cutoff.minusDays(1));
+      } catch (Exception e) {
+        failed++;
+        System.err.println("Failed to archive transactions of Storage Center " + centerId
+            + ": " + e.getMessage());
+      }
+    }
+
+    return new Report(started, centerIds.size(), days, transactions, failed,
+        Duration.between(started, Instant.now()));
+  }
+
+  private boolean acquireLease() {
+    Instant now = Instant.now();
+    Instant until = now.plus(leaseDuration);
+    if (leaseRepository.takeOver(LEASE_NAME, owner, now, until) > 0) {
+      return true;
+    }
+
+    if (leaseRepository.existsById(LEASE_NAME)) {
+      return false;
+    }
+
+    try {
+      leaseRepository.save(new SweepLease(LEASE_NAME, owner, until));
+      return true;
+    } catch (DataIntegrityViolationException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Searches a storage center's transactions within a range of days, oldest first, reading
+   * archived days from the archive and later days from the database.
+   *
+   * @param center the storage center
+   * @param from the first day to include
+   * @param to the last day to include
+   * @param afterDate the date of the last transaction of the previous page
+   * @param afterTime the time of the last transaction of the previous page
+   * @param afterId the ID of the last transaction of the previous page
+   * @param action the action to keep, or null to keep every action
+   * @param itemType the item type to keep, or null to keep every type
+   * @param itemName the item name to keep, or null to keep every name
+   * @param limit the largest number of transactions to return
+   * @return the matching transactions after the previous page, in (date, time, ID) order
+   * @throws IOException if an archive file cannot be read
+   */
+  public List<Transaction> search(StorageCenter center, LocalDate from, LocalDate to,
+      LocalDate afterDate, LocalTime afterTime, int afterId, String action, String itemType,
+      String itemName, int limit) throws IOException {
+    int centerId = center.getDatabaseId();
+    List<Transaction> found = new ArrayList<>();
+    LocalDate archivedThrough = archive.getArchivedThrough(centerId);
+    LocalDate hotFrom = from;
+    if (archivedThrough != null) {
+      hotFrom = from.isAfter(archivedThrough) ? from : archivedThrough.plusDays(1);
+      LocalDate archivedTo = to.isBefore(archivedThrough) ? to : archivedThrough;
+      LocalDate firstDay = afterDate.isBefore(from) ? from : afterDate;
+      for (LocalDate day : archive.findDays(centerId, firstDay, archivedTo)) {
+        for (Transaction transaction : archive.read(center, day)) {
+          if (isAfter(transaction, afterDate, afterTime, afterId)
+              && matches(transaction, action, itemType, itemName)) {
+            found.add(transaction);
+            if (found.size() == limit) {
+              return found;
+            }
+          }
+        }
+      }
+    }
+
+    if (hotFrom.isAfter(to)) {
+      return found;
+    }
+    boolean startsInDatabase = !afterDate.isBefore(hotFrom);
+    Pageable page = PageRequest.ofSize(limit - found.size());
+    List<Integer> ids = transactionRepository.findIdsMatching(centerId, hotFrom, to,
+        startsInDatabase ? afterDate : hotFrom.minusDays(1),
+        startsInDatabase ? afterTime : LocalTime.MIN, startsInDatabase ? afterId : 0, action,
+        itemType, itemName, page);
+    if (!ids.isEmpty()) {
+      found.addAll(transactionRepository.findAllByIdOrdered(ids));
+    }
+    return found;
+  }
+
+  /**
+   * Archives one day of a storage center's transactions and deletes them from the database.
+   *
+   * @return the number of transactions archived
+   */
+  private int archiveDay(StorageCenter center, LocalDate day) throws IOException {
+    int centerId = center.getDatabaseId();
+    List<Transaction> transactions = new ArrayList<>();
+    Pageable page = PageRequest.ofSize(batchSize);
+    int afterId = 0;
+    List<TransactionSummary> rows;
+    do {
+      rows = transactionRepository.findSummariesByCenterAndDate(centerId, day, afterId, page);
+      for (TransactionSummary row : rows) {
+        transactions.add(new Transaction(center, row.getId(), row.getDate(),
+            row.getTimestamp(), row.getItemType(), row.getItemName(), row.getQuantity(),
+            row.getAction()));
+        afterId = row.getId();
+      }
+    } while (rows.size() == batchSize);
+
+    archive.write(center, day, transactions);
+    archive.setArchivedThrough(centerId, day);
+    List<Integer> ids = new ArrayList<>(transactions.size());
+    transactions.forEach(transaction -> ids.add(transaction.getDatabaseId()));
+    for (int start = 0; start < ids.size(); start += batchSize) {
+      transactionRepository.deleteAllByIds(
+          ids.subList(start, Math.min(start + batchSize, ids.size())));
+    }
+    return transactions.size();
+  }
+
+  private static boolean isAfter(Transaction transaction, LocalDate afterDate,
+      LocalTime afterTime, int afterId) {
+    int byDate = transaction.getDate().compareTo(afterDate);
+    if (byDate != 0) {
+      return byDate > 0;
+    }
+    int byTime = transaction.getTimestamp().compareTo(afterTime);
+    return byTime > 0 || (byTime == 0 && transaction.getDatabaseId() > afterId);
+  }
+
+  private static boolean matches(Transaction transaction, String action, String itemType,
+      String itemName) {
+    return (action == null || action.equals(transaction.getAction()))
+        && (itemType == null || itemType.equals(transaction.getItemType()))
+        && (itemName == null || itemName.equals(transaction.getItemName()));
+  }
+
+  /**
+   * The metrics of a single archive run.
+   */
+  public static final class Report {
+    private final Instant startedAt;
+    private final int centersScanned;
+    private final int daysArchived;
+    private final int transactionsArchived;
+    private final int centersFailed;
+    private final Duration duration;
+
+    Report(Instant startedAt, int centersScanned, int daysArchived, int transactionsArchived,
+        int centersFailed, Duration duration) {
+      this.startedAt = startedAt;
+      this.centersScanned = centersScanned;
+      this.daysArchived = daysArchived;
+      this.transactionsArchived = transactionsArchived;
+      this.centersFailed = centersFailed;
+      this.duration = duration;
+    }
+
+    public int getDaysArchived() {
+      return daysArchived;
+    }
+
+    public int getTransactionsArchived() {
+      return transactionsArchived;
+    }
+
+    public int getCentersFailed() {
+      return centersFailed;
+    }
+
+    /**
+     * Converts the report into json format.
+     *
+     * @return a json object of the report
+     */
+    public JsonObject toJson() {
+      JsonObject json = new JsonObject();
+      json.addProperty("startedAt", startedAt.toString());
+      json.addProperty("centersScanned", centersScanned);
+      json.addProperty("daysArchived", daysArchived);
+      json.addProperty("transactionsArchived", transactionsArchived);
+      json.addProperty("centersFailed", centersFailed);
+      json.addProperty("durationMillis", duration.toMillis());
+      return json;
+    }
+  }
+}
@@ -0,0 +1,387 @@
+package com.smartprogrammingbaddies.logger;
+
+import com.smartprogrammingbaddies.storagecenter.StorageCenter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * The TransactionJournal class is a write-ahead journal of transactions on local disk, so
+ * inventory changes are recorded durably even while the database is slow or down. Records
+ * are appended to fixed size segment files mapped into memory. Each record is its length,
+ * the encoded transaction and a checksum, and the length is written last, so a record torn
+ * by a crash ends its segment instead of being read back. Records are read in order from
+ * the oldest one not yet acknowledged, and a segment file is deleted once every record in
+ * it is acknowledged. Every record has a position, made of its segment's number and its
+ * offset, that grows with each record. Positions start over whenever a journal is opened
+ * on a directory without segments, such as on a new instance, so each such journal is
+ * given a new random ID, kept in the directory next to its segments. A record is
+ * identified by its journal's ID together with its position.
+ */
+public class TransactionJournal {
+  private static final String PREFIX = "journal-";
+  private static final String SUFFIX = ".log";
+  private static final String ID_FILE = "journal.id";
+  private static final int HEADER_BYTES = Integer.BYTES;
+  private static final int CHECKSUM_BYTES = Long.BYTES;
+
+  private final Path directory;
+  private final int segmentBytes;
+  private final int maxSegments;
+  private final boolean force;
+  private final String journalId;
+  private final TreeMap<Long, MappedByteBuffer> segments = new TreeMap<>();
+  private long writeSegment;
+  private int writeOffset;
+  private long readSegment;
+  private int readOffset;
+
+  /**
+   * Opens the journal in a directory, keeping the segments left by an earlier run so their
+   * records are read again under the same journal ID, and starts a new segment to append to.
+   * Without such segments, the journal gets a new ID.
+   *
+   * @param directory the directory holding the segment files
+   * @param segmentBytes the size of each segment file
+   * @param maxSegments the number of segments after which the journal is full
+   * @param force whether each append is forced to disk before it returns
+   * @throws IOException if the directory or a segment cannot be opened
+   * @throws IllegalArgumentException if the segment size or number of segments is not
+   *     positive
+   */
+  public TransactionJournal(Path directory, int segmentBytes, int maxSegments, boolean force)
+      throws IOException {
+    if (segmentBytes <= HEADER_BYTES + CHECKSUM_BYTES || maxSegments <= 0) {
+      throw new IllegalArgumentException("Segment size and count must be greater than 0.");
+    }
+
+    this.directory = directory;
+    this.segmentBytes = segmentBytes;
+    this.maxSegments = maxSegments;
+    this.force = force;
+    Files.createDirectories(directory);
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        String name = file.getFileName().toString();
+        if (name.startsWith(PREFIX) && name.endsWith(SUFFIX)) {
+          long number = Long.parseLong(name.substring(PREFIX.length(),
+              name.length() - SUFFIX.length()));
+          segments.put(number, map(file));
+        }
+      }
+    }
+
+    Path idFile = directory.resolve(ID_FILE);
+    if (!segments.isEmpty() && Files.exists(idFile)) {
+      journalId = Files.readString(idFile).trim();
+    } else {
+      journalId = UUID.randomUUID().toString();
+      Files.writeString(idFile, journalId);
+    }
+
+    writeSegment = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+    segments.put(writeSegment, map(segmentPath(writeSegment)));
+    readSegment = segments.firstKey();
+    readOffset = 0;
+  }
+
+  /**
+   * Appends transactions to the journal.
+   *
+   * @param transactions the transactions to append
+   * @throws IllegalArgumentException if a transaction is too large for a segment
+   * @throws UncheckedIOException if a new segment cannot be created
+   */
+  public synchronized void append(List<Transaction> transactions) {
+    MappedByteBuffer segment = segments.get(writeSegment);
+    for (Transaction transaction : transactions) {
+      byte[] payload = encode(transaction);
+      int size = HEADER_BYTES + payload.length + CHECKSUM_BYTES;
+      if (size > segmentBytes) {
+        throw new IllegalArgumentException("Transaction is too large for the journal.");
+      }
+      if (writeOffset + size > segmentBytes) {
+        segment = roll();
+      }
+
+      CRC32 checksum = new CRC32();
+      checksum.update(payload);
+      segment.put(writeOffset + HEADER_BYTES, payload);
+      segment.putLong(writeOffset + HEADER_BYTES + payload.length, checksum.getValue());
+      segment.putInt(writeOffset, payload.length);
+      writeOffset += size;
+    }
+    if (force) {
+      segment.force();
+    }
+  }
+
+  /**
+   * Reads the oldest records that have not been acknowledged.
+   *
+   * @param limit the largest number of records to read
+   * @return the records in the order they were appended
+   */
+  public synchronized List<Entry> read(int limit) {
+    List<Entry> entries = new ArrayList<>();
+    long segment = readSegment;
+    int offset = readOffset;
+    while (entries.size() < limit) {
+      Entry entry = readAt(segment, offset);
+      if (entry != null) {
+        entries.add(entry);
+        offset = offsetOf(entry.nextPosition);
+      } else if (segment == writeSegment) {
+        break;
+      } else {
+        segment = segments.higherKey(segment);
+        offset = 0;
+      }
+    }
+    return entries;
+  }
+
+  /**
+   * Acknowledges a record and every record before it, deleting the segments that hold
+   * nothing else.
+   *
+   * @param entry the last record that no longer needs to be kept
+   */
+  public synchronized void acknowledge(Entry entry) {
+    readSegment = segmentOf(entry.nextPosition);
+    readOffset = offsetOf(entry.nextPosition);
+    while (readSegment != writeSegment && readAt(readSegment, readOffset) == null) {
+      readSegment = segments.higherKey(readSegment);
+      readOffset = 0;
+    }
+
+    Map<Long, MappedByteBuffer> done = segments.headMap(readSegment);
+    for (Long number : new ArrayList<>(done.keySet())) {
+      try {
+        Files.deleteIfExists(segmentPath(number));
+      } catch (IOException e) {
+        System.err.println("Failed to delete journal segment " + number + ".");
+      }
+      done.remove(number);
+    }
+  }
+
+  /**
+   * Gets the ID of the journal, which together with a record's position identifies it.
+   *
+   * @return the journal ID
+   */
+  public String getJournalId() {
+    return journalId;
+  }
+
+  /**
+   * Checks whether the journal holds as many segments as it may.
+   *
+   * @return true if no more transactions should be appended until some are acknowledged
+   */
+  public synchronized boolean isFull() {
+    return segments.size() >= maxSegments;
+  }
+
+  /**
+   * Gets the number of segment files in the journal.
+   *
+   * @return the number of segments
+   */
+  public synchronized int getSegmentCount() {
+    return segments.size();
+  }
+
+  /**
+   * Forces the segment being appended to onto disk.
+   */
+  public synchronized void close() {
+    segments.get(writeSegment).force();
+  }
+
+  private MappedByteBuffer roll() {
+    segments.get(writeSegment).force();
+    writeSegment++;
+    writeOffset = 0;
+    try {
+      MappedByteBuffer segment = map(segmentPath(writeSegment));
+      segments.put(writeSegment, segment);
+      return segment;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to create journal segment.", e);
+    }
+  }
+
+  /**
+   * Reads the record at an offset of a segment.
+   *
+   * @return the record, or null if the segment ends there
+   */
+  private Entry readAt(long number, int offset) {
+    MappedByteBuffer segment = segments.get(number);
+    int end = number == writeSegment ? writeOffset : segmentBytes;
+    if (offset + HEADER_BYTES > end) {
+      return null;
+    }
+    int length = segment.getInt(offset);
+    int size = HEADER_BYTES + length + CHECKSUM_BYTES;
+    if (length <= 0 || offset + size > end) {
+      return null;
+    }
+
+    byte[] payload = new byte[length];
+    segment.get(offset + HEADER_BYTES, payload);
+    CRC32 checksum = new CRC32();
+    checksum.update(payload);
+    if (checksum.getValue() != segment.getLong(offset + HEADER_BYTES + length)) {
+      return null;
+    }
+    return decode(payload, position(number, offset), position(number, offset + size));
+  }
+
+  private MappedByteBuffer map(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+    }
+  }
+
+  private Path segmentPath(long number) {
+    return directory.resolve(String.format("%s%020d%s", PREFIX, number, SUFFIX));
+  }
+
+  private static long position(long segment, int offset) {
+    return (segment << 32) | offset;
+  }
+
+  private static long segmentOf(long position) {
+    return position >>> 32;
+  }
+
+  private static int offsetOf(long position) {
+    return (int) position;
+  }
+
+  private static byte[] encode(Transaction transaction) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(transaction.getStorageCenter());
+      out.writeLong(transaction.getDate().toEpochDay());
+      out.writeLong(transaction.getTimestamp().toNanoOfDay());
+      out.writeUTF(transaction.getItemType());
+      out.writeUTF(transaction.getItemName());
+      out.writeInt(transaction.getQuantity());
+      out.writeUTF(transaction.getAction());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private Entry decode(byte[] payload, long position, long nextPosition) {
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+      return new Entry(journalId, position, nextPosition, in.readInt(),
+          LocalDate.ofEpochDay(in.readLong()), LocalTime.ofNanoOfDay(in.readLong()),
+          in.readUTF(), in.readUTF(), in.readInt(), in.readUTF());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * A transaction read back from the journal.
+   */
+  public static final class Entry {
+    private final String journalId;
+    private final long position;
+    private final long nextPosition;
+    private final int storageCenterId;
+    private final LocalDate date;
+    private final LocalTime timestamp;
+    private final String itemType;
+    private final String itemName;
+    private final int quantity;
+    private final String action;
+
+    private Entry(String journalId, long position, long nextPosition, int storageCenterId,
+        LocalDate date, LocalTime timestamp, String itemType, String itemName, int quantity,
+        String action) {
+      this.journalId = journalId;
+      this.position = position;
+      this.nextPosition = nextPosition;
+      this.storageCenterId = storageCenterId;
+      this.date = date;
+      this.timestamp = timestamp;
+      this.itemType = itemType;
+      this.itemName = itemName;
+      this.quantity = quantity;
+      this.action = action;
+    }
+
+    /**
+     * Gets the ID of the journal holding the record.
+     *
+     * @return the journal ID
+     */
+    public String getJournalId() {
+      return journalId;
+    }
+
+    /**
+     * Gets the position of the record in the journal.
+     *
+     * @return the position, greater than that of every earlier record
+     */
+    public long getPosition() {
+      return position;
+    }
+
+    /**
+     * Gets the ID of the storage center where the transaction occurred.
+     *
+     * @return the storage center ID
+     */
+    public int getStorageCenterId() {
+      return storageCenterId;
+    }
+
+    /**
+     * Gets the name of the item involved in the transaction.
+     *
+     * @return the item name
+     */
+    public String getItemName() {
+      return itemName;
+    }
+
+    /**
+     * Rebuilds the transaction for a storage center, keeping its original date and time
+     * and recording its journal ID and position.
+     *
+     * @param storageCenter the storage center where the transaction occurred
+     * @return the transaction
+     */
+    public Transaction toTransaction(StorageCenter storageCenter) {
+      return new Transaction(storageCenter, itemType, itemName, quantity, action, date,
+          timestamp, journalId, position);
+    }
+  }
+}
@@ -0,0 +1,576 @@
+package com.smartprogrammingbaddies.logger;
+
+import com.smartprogrammingbaddies.storagecenter.StorageCenter;
+import com.smartprogrammingbaddies.storagecenter.StorageCenterRepository;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The TransactionLog class writes the transactions of inventory changes. With SYNC
+ * durability they are saved in the change's own database transaction. With GROUP_COMMIT
+ * they are queued once the change commits and whoever made the change waits until a batch
+ * holding them is saved, once it has left the storage center's write lane, and with ASYNC
+ * they are queued without waiting. Queued transactions are saved by one background thread
+ * in batches, once enough are queued or the oldest has waited long enough, so many changes
+ * share one insert batch. The queue is bounded: a change
+ * waits a short time for space and is then rejected before it commits. With JOURNAL
+ * durability they are appended to a {@link TransactionJournal} on local disk once the
+ * change commits, and the background thread saves the journal's records in batches,
+ * so they survive a restart while the database is slow or down. A batch that fails to save
+ * is tried again a few times, waiting longer each time, so a short database outage loses
+ * nothing; while it waits the queue fills and new changes are rejected. Only SYNC and
+ * JOURNAL keep transactions through a crash. Closing the log saves everything queued.
+ */
+public class TransactionLog {
+  /**
+   * How transactions are written.
+   */
+  public enum Durability {
+    SYNC,
+    GROUP_COMMIT,
+    ASYNC,
+    JOURNAL
+  }
+
+  /**
+   * Queued after everything else when the log closes, to stop the background thread.
+   */
+  private static final Pending CLOSE = new Pending(List.of(), 0);
+
+  /**
+   * How many times a batch is saved before it is split into its changes.
+   */
+  private static final int SAVE_ATTEMPTS = 5;
+
+  /**
+   * The wait before the first retry of a failed batch, doubled for each later retry.
+   */
+  private static final long RETRY_DELAY_MILLIS = 100;
+
+  private final TransactionRepository transactionRepository;
+  private final StorageCenterRepository storageCenterRepository;
+  private final TransactionJournal journal;
+  private final TransactionRollups rollups;
+  private final Durability durability;
+  private final int capacity;
+  private final int batchSize;
+  private final long flushMillis;
+  private final long offerTimeoutMillis;
+  private final Semaphore space;
+  private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+  private final AtomicLong writtenCount = new AtomicLong();
+  private final AtomicLong failedCount = new AtomicLong();
+  private final Thread flusher;
+  private volatile boolean closed;
+
+  /**
+   * The saves that GROUP_COMMIT changes committed on each thread wait for, until taken.
+   */
+  private final ThreadLocal<List<CompletableFuture<Void>>> unsaved =
+      ThreadLocal.withInitial(ArrayList::new);
+
+  /**
+   * Constructs a TransactionLog and starts its background thread unless it is synchronous.
+   *
+   * @param transactionRepository the repository transactions are saved with
+   * @param durability how transactions are written
+   * @param capacity the largest number of transactions queued at once
+   * @param batchSize the number of queued transactions that are saved together
+   * @param flushMillis the longest a queued transaction waits for a batch to fill
+   * @param offerTimeoutMillis the longest a change waits for space in a full queue
+   * @throws IllegalArgumentException if the capacity or batch size is not positive, or
+   *     the flush or offer timeout is negative
+   */
+  public TransactionLog(TransactionRepository transactionRepository, Durability durability,
+      int capacity, int batchSize, long flushMillis, long offerTimeoutMillis) {
+    this(transactionRepository, null, null, null, durability, capacity, batchSize, flushMillis,
+        offerTimeoutMillis);
+  }
+
+  /**
+   * Constructs a TransactionLog that can write through a journal, and starts its background
+   * thread unless it is synchronous.
+   *
+   * @param transactionRepository the repository transactions are saved with
+   * @param storageCenterRepository the repository storage centers of journaled transactions
+   *     are read from
+   * @param journal the journal transactions are appended to with JOURNAL durability
+   * @param rollups the daily rollups transactions are added to as they are saved, or null
+   * @param durability how transactions are written
+   * @param capacity the largest number of transactions queued at once
+   * @param batchSize the number of queued or journaled transactions that are saved together
+   * @param flushMillis the longest a queued transaction waits for a batch to fill, and how
+   *     often the journal is read
+   * @param offerTimeoutMillis the longest a change waits for space in a full queue
+   * @throws IllegalArgumentException if the capacity or batch size is not positive, the
+   *     flush or offer timeout is negative, or the durability is JOURNAL without a journal
+   */
+  public TransactionLog(TransactionRepository transactionRepository,
+      StorageCenterRepository storageCenterRepository, TransactionJournal journal,
+      TransactionRollups rollups, Durability durability, int capacity, int batchSize,
+      long flushMillis, long offerTimeoutMillis) {
+    if (durability == Durability.JOURNAL && (journal == null || storageCenterRepository == null)) {
+      throw new IllegalArgumentException("Journal durability needs a journal.");
+    }
+    if (capacity <= 0 || batchSize <= 0) {
+      throw new IllegalArgumentException("Capacity and batch size must be greater than 0.");
+    }
+    if (flushMillis < 0 || offerTimeoutMillis < 0) {
+      throw new IllegalArgumentException("Timeouts must be greater than or equal to 0.");
+    }
+
+    this.transactionRepository = transactionRepository;
+    this.storageCenterRepository = storageCenterRepository;
+    this.journal = journal;
+    this.rollups = rollups;
+    this.durability = durability;
+    this.capacity = capacity;
+    this.batchSize = batchSize;
+    this.flushMillis = flushMillis;
+    this.offerTimeoutMillis = offerTimeoutMillis;
+    this.space = new Semaphore(capacity);
+    if (durability == Durability.SYNC) {
+      this.flusher = null;
+    } else {
+      this.flusher = new Thread(durability == Durability.JOURNAL ? this::replay : this::run,
+          "transaction-log");
+      this.flusher.setDaemon(true);
+      this.flusher.start();
+    }
+  }
+
+  /**
+   * Records the transaction of an inventory change.
+   *
+   * @param transaction the transaction to record
+   * @throws RejectedExecutionException if the queue stays full
+   * @throws IllegalStateException if the log is closed
+   */
+  public void record(Transaction transaction) {
+    if (durability == Durability.SYNC) {
+      transactionRepository.save(transaction);
+      if (rollups != null) {
+        rollups.add(List.of(transaction));
+      }
+    } else {
+      append(List.of(transaction));
+    }
+  }
+
+  /**
+   * Records the transactions of an inventory change.
+   *
+   * @param transactions the transactions to record
+   * @throws RejectedExecutionException if the queue stays full
+   * @throws IllegalStateException if the log is closed
+   */
+  public void recordAll(List<Transaction> transactions) {
+    if (durability == Durability.SYNC) {
+      transactionRepository.saveAll(transactions);
+      if (rollups != null) {
+        rollups.add(transactions);
+      }
+    } else if (!transactions.isEmpty()) {
+      append(List.copyOf(transactions));
+    }
+  }
+
+  /**
+   * Stops taking transactions and saves every queued transaction. Calling it again does
+   * nothing.
+   */
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+
+    closed = true;
+    if (flusher != null) {
+      queue.add(CLOSE);
+      try {
+        flusher.join(flushMillis + TimeUnit.SECONDS.toMillis(30));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    List<Pending> remaining = new ArrayList<>();
+    queue.drainTo(remaining);
+    remaining.remove(CLOSE);
+    if (!remaining.isEmpty()) {
+      write(remaining);
+    }
+    if (journal != null) {
+      journal.close();
+    }
+    System.out.println("Transaction log closed after writing " + writtenCount.get()
+        + " transactions; " + failedCount.get() + " failed.");
+  }
+
+  /**
+   * Takes the saves of the transactions of changes committed on this thread since it was
+   * last called. A change does not wait for its transactions when it commits, so it does
+   * not hold its storage center's write lane while a batch is saved; it takes them on the
+   * lane and waits for them with {@link #awaitSaved} once it is off the lane.
+   *
+   * @return a future that completes once the transactions are saved
+   */
+  public CompletableFuture<Void> takeUnsaved() {
+    List<CompletableFuture<Void>> saves = unsaved.get();
+    CompletableFuture<Void> all = CompletableFuture.allOf(saves.toArray(CompletableFuture[]::new));
+    saves.clear();
+    return all;
+  }
+
+  /**
+   * Waits for taken saves with GROUP_COMMIT durability, at most the flush time and 30
+   * seconds more. The changes have already committed, so a save that fails is only printed.
+   *
+   * @param saved the saves taken with {@link #takeUnsaved}
+   */
+  public void awaitSaved(CompletableFuture<Void> saved) {
+    if (durability != Durability.GROUP_COMMIT) {
+      return;
+    }
+
+    try {
+      saved.get(flushMillis + TimeUnit.SECONDS.toMillis(30), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      System.err.println("Transaction was committed but its log entry was not saved.");
+    }
+  }
+
+  /**
+   * Gets the durability of the log.
+   *
+   * @return how transactions are written
+   */
+  public Durability getDurability() {
+    return durability;
+  }
+
+  /**
+   * Gets the number of transactions waiting in the queue.
+   *
+   * @return the number of queued transactions
+   */
+  public int getQueuedCount() {
+    return capacity - space.availablePermits();
+  }
+
+  /**
+   * Gets the number of queued transactions that have been saved.
+   *
+   * @return the number of saved transactions
+   */
+  public long getWrittenCount() {
+    return writtenCount.get();
+  }
+
+  /**
+   * Gets the number of queued transactions that could not be saved.
+   *
+   * @return the number of failed transactions
+   */
+  public long getFailedCount() {
+    return failedCount.get();
+  }
+
+  private void append(List<Transaction> transactions) {
+    if (closed) {
+      throw new IllegalStateException("Transaction log is closed.");
+    }
+    if (durability == Durability.JOURNAL) {
+      appendToJournal(transactions);
+      return;
+    }
+
+    // A change larger than the whole queue takes all of it rather than waiting forever.
+    int permits = Math.min(transactions.size(), capacity);
+    try {
+      if (!space.tryAcquire(permits, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        throw new RejectedExecutionException("Transaction log is full, try again later.");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RejectedExecutionException("Interrupted waiting for the transaction log.");
+    }
+
+    Pending pending = new Pending(transactions, permits);
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      enqueue(pending);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        if (status == STATUS_COMMITTED) {
+          enqueue(pending);
+        } else {
+          space.release(pending.permits);
+        }
+      }
+    });
+  }
+
+  private void enqueue(Pending pending) {
+    if (closed) {
+      write(List.of(pending));
+      return;
+    }
+
+    queue.add(pending);
+    if (durability == Durability.GROUP_COMMIT) {
+      // Saves nobody takes, such as those of sweeps, are dropped here once they are done.
+      List<CompletableFuture<Void>> saves = unsaved.get();
+      saves.removeIf(CompletableFuture::isDone);
+      saves.add(pending.done);
+    }
+  }
+
+  /**
+   * Appends transactions to the journal once the change commits. The change is rejected
+   * instead if the journal is full, which happens while the database cannot keep up.
+   */
+  private void appendToJournal(List<Transaction> transactions) {
+    if (journal.isFull()) {
+      throw new RejectedExecutionException("Transaction journal is full, try again later.");
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      journal.append(transactions);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        try {
+          journal.append(transactions);
+        } catch (Exception e) {
+          failedCount.addAndGet(transactions.size());
+          System.err.println("Transaction was committed but could not be journaled.");
+          e.printStackTrace();
+        }
+      }
+    });
+  }
+
+  /**
+   * Saves journaled transactions until the log closes, reading the journal whenever the
+   * flush time passes.
+   */
+  private void replay() {
+    boolean closing = false;
+    while (!closing) {
+      try {
+        closing = queue.poll(flushMillis, TimeUnit.MILLISECONDS) == CLOSE;
+      } catch (InterruptedException e) {
+        // Only closing the log stops this thread.
+      }
+
+      List<TransactionJournal.Entry> entries = journal.read(batchSize);
+      while (!entries.isEmpty() && ship(entries)) {
+        entries = journal.read(batchSize);
+      }
+    }
+  }
+
+  /**
+   * Saves a batch of journaled transactions and acknowledges them. Transactions whose
+   * journal position is already saved under this journal's ID, because an earlier run saved
+   * them but stopped before acknowledging them, are skipped, so each is saved exactly once.
+   *
+   * @return true if the batch was saved, or false if it stays in the journal to be retried
+   */
+  private boolean ship(List<TransactionJournal.Entry> entries) {
+    try {
+      TransactionJournal.Entry last = entries.get(entries.size() - 1);
+      Long saved = transactionRepository.findLastJournalPosition(last.getJournalId(),
+          entries.get(0).getPosition(), last.getPosition());
+      Map<Integer, Optional<StorageCenter>> centers = new HashMap<>();
+      List<Transaction> transactions = new ArrayList<>();
+      for (TransactionJournal.Entry entry : entries) {
+        if (saved != null && entry.getPosition() <= saved) {
+          continue;
+        }
+
+        Optional<StorageCenter> center = centers.computeIfAbsent(entry.getStorageCenterId(),
+            storageCenterRepository::findById);
+        if (center.isPresent()) {
+          transactions.add(entry.toTransaction(center.get()));
+        } else {
+          failedCount.incrementAndGet();
+          System.err.println("Dropped journaled transaction of deleted Storage Center "
+              + entry.getStorageCenterId() + ".");
+        }
+      }
+
+      saveBatch(transactions);
+      journal.acknowledge(last);
+      writtenCount.addAndGet(transactions.size());
+      return true;
+    } catch (Exception e) {
+      System.err.println("Failed to save journaled transactions; they will be retried.");
+      e.printStackTrace();
+      return false;
+    }
+  }
+
+  /**
+   * Saves transactions written by the background thread, together with their rollups when
+   * the log keeps rollups.
+   */
+  private void saveBatch(List<Transaction> transactions) {
+    if (rollups != null) {
+      rollups.saveAll(transactions);
+    } else {
+      transactionRepository.saveAll(transactions);
+    }
+  }
+
+  private void run() {
+    List<Pending> batch = new ArrayList<>();
+    boolean closing = false;
+    while (!closing) {
+      try {
+        Pending first = queue.take();
+        closing = first == CLOSE;
+        int count = closing ? batchSize : first.transactions.size();
+        if (!closing) {
+          batch.add(first);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushMillis);
+        while (count < batchSize) {
+          Pending next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+          if (next == null || next == CLOSE) {
+            closing = next == CLOSE;
+            break;
+          }
+          batch.add(next);
+          count += next.transactions.size();
+        }
+      } catch (InterruptedException e) {
+        // Only closing the log stops this thread; whatever was taken is still written.
+      }
+
+      if (!batch.isEmpty()) {
+        try {
+          write(batch);
+        } catch (RuntimeException e) {
+          // Keep the thread alive and give the batch's queue space back.
+          batch.stream().filter(pending -> !pending.done.isDone())
+              .forEach(pending -> finish(pending, e));
+          e.printStackTrace();
+        }
+        batch.clear();
+      }
+    }
+  }
+
+  /**
+   * Saves a batch of queued changes together, trying again if it fails. If every attempt
+   * fails, each change is saved on its own so one bad row does not lose the others, and the
+   * transactions of a change that still fails are printed so they can be restored by hand.
+   */
+  private void write(List<Pending> batch) {
+    List<Transaction> transactions = new ArrayList<>();
+    batch.forEach(pending -> transactions.addAll(pending.transactions));
+    Exception failure = saveWithRetries(transactions);
+    if (failure == null) {
+      batch.forEach(pending -> finish(pending, null));
+      return;
+    }
+
+    if (batch.size() > 1) {
+      for (Pending pending : batch) {
+        try {
+          saveBatch(pending.transactions);
+          finish(pending, null);
+        } catch (Exception e) {
+          lose(pending, e);
+        }
+      }
+      return;
+    }
+    lose(batch.get(0), failure);
+  }
+
+  /**
+   * Saves transactions, trying again after a growing wait while it fails.
+   *
+   * @return null if the transactions were saved, or the failure of the last attempt
+   */
+  private Exception saveWithRetries(List<Transaction> transactions) {
+    long delay = RETRY_DELAY_MILLIS;
+    for (int attempt = 1; ; attempt++) {
+      try {
+        saveBatch(transactions);
+        return null;
+      } catch (Exception e) {
+        if (attempt >= SAVE_ATTEMPTS) {
+          return e;
+        }
+      }
+
+      try {
+        Thread.sleep(delay);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      delay *= 2;
+    }
+  }
+
+  private void lose(Pending pending, Exception failure) {
+    System.err.println("Failed to save " + pending.transactions.size() + " transactions.");
+    failure.printStackTrace();
+    for (Transaction transaction : pending.transactions) {
+      System.err.println("Lost transaction: Storage Center " + transaction.getStorageCenter()
+          + ", " + transaction.getAction() + " " + transaction.getQuantity() + " "
+          + transaction.getItemType() + " " + transaction.getItemName() + " on "
+          + transaction.getDate() + " at " + transaction.getTimestamp() + ".");
+    }
+    finish(pending, failure);
+  }
+
+  private void finish(Pending pending, Exception failure) {
+    space.release(pending.permits);
+    if (failure == null) {
+      writtenCount.addAndGet(pending.transactions.size());
+      pending.done.complete(null);
+    } else {
+      failedCount.addAndGet(pending.transactions.size());
+      pending.done.completeExceptionally(failure);
+    }
+  }
+
+  /**
+   * The transactions of one change, waiting to be saved.
+   */
+  private static final class Pending {
+    private final List<Transaction> transactions;
+    private final int permits;
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    private Pending(List<Transaction> transactions, int permits) {
+      this.transactions = transactions;
+      this.permits = permits;
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package com.smartprogrammingbaddies.logger;
+
+import com.smartprogrammingbaddies.storagecenter.StorageCenterRepository;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class contains the TransactionLogConfig class, which creates the log that writes
+ * the transactions of inventory changes and, with JOURNAL durability, the journal they are
+ * written through.
+ */
+@Configuration
+public class TransactionLogConfig {
+  @Autowired
+  private TransactionRepository transactionRepository;
+
+  @Autowired
+  private StorageCenterRepository storageCenterRepository;
+
+  @Autowired
+  private TransactionRollups transactionRollups;
+
+  @Value("${logger.durability:SYNC}")
+  private TransactionLog.Durability durability;
+
+  @Value("${logger.buffer-capacity:10000}")
+  private int bufferCapacity;
+
+  @Value("${logger.batch-size:200}")
+  private int batchSize;
+
+  @Value("${logger.flush-ms:50}")
+  private long flushMillis;
+
+  @Value("${logger.offer-timeout-ms:100}")
+  private long offerTimeoutMillis;
+
+  @Value("${logger.journal.directory:journal}")
+  private String journalDirectory;
+
+  @Value("${logger.journal.segment-bytes:16777216}")
+  private int journalSegmentBytes;
+
+  @Value("${logger.journal.max-segments:64}")
+  private int journalMaxSegments;
+
+  @Value("${logger.journal.force:false}")
+  private boolean journalForce;
+
+  /**
+   * Creates the transaction log.
+   *
+   * @return the transaction log
+   * @throws IOException if the journal cannot be opened
+   */
+  @Bean(destroyMethod = "close")
+  public TransactionLog transactionLog() throws IOException {
+    TransactionJournal journal = null;
+    if (durability == TransactionLog.Durability.JOURNAL) {
+      journal = new TransactionJournal(Path.of(journalDirectory), journalSegmentBytes,
+          journalMaxSegments, journalForce);
+    }
+    return new TransactionLog(transactionRepository, storageCenterRepository, journal,
+        transactionRollups, durability, bufferCapacity, batchSize, flushMillis,
+        offerTimeoutMillis);
+  }
+}
@@ -1,9 +1,78 @@
 package com.smartprogrammingbaddies.logger;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
- * This class contains the TransactionRepository interface.
+ * This class contains the TransactionRepository interface. Transactions matching a search
+ * are found in two steps: the IDs of one page are read from an index in (date, time, ID)
+ * order, then only those rows are loaded by primary key. Transactions older than the
+ * retention window are read one storage center and day at a time to be archived, and then
+ * deleted in batches by ID.
  */
 public interface TransactionRepository extends CrudRepository<Transaction, Integer> {
+  @Query("SELECT t FROM Transaction t WHERE t.storageCenter.id = :centerId AND t.id > :afterId "
+      + "ORDER BY t.id")
+  List<Transaction> findPageByCenter(@Param("centerId") int centerId,
+      @Param("afterId") int afterId, Pageable pageable);
+
+  @Query("SELECT t.id AS id, t.date AS date, t.timestamp AS timestamp, t.itemType AS itemType, "
+      + "t.itemName AS itemName, t.quantity AS quantity, t.action AS action FROM Transaction t "
+      + "WHERE t.storageCenter.id = :centerId AND t.id > :afterId ORDER BY t.id")
+  List<TransactionSummary> findSummariesByCenter(@Param("centerId") int centerId,
+      @Param("afterId") int afterId, Pageable pageable);
+
+  @Query("SELECT t.id FROM Transaction t WHERE t.storageCenter.id = :centerId "
+      + "AND t.date >= :from AND t.date <= :to "
+      + "AND (t.date > :afterDate OR (t.date = :afterDate AND (t.timestamp > :afterTime "
+      + "OR (t.timestamp = :afterTime AND t.id > :afterId)))) "
+      + "AND (:action IS NULL OR t.action = :action) "
+      + "AND (:itemType IS NULL OR t.itemType = :itemType) "
+      + "AND (:itemName IS NULL OR t.itemName = :itemName) "
+      + "ORDER BY t.date, t.timestamp, t.id")
+  List<Integer> findIdsMatching(@Param("centerId") int centerId, @Param("from") LocalDate from,
+      @Param("to") LocalDate to, @Param("afterDate") LocalDate afterDate,
+      @Param("afterTime") LocalTime afterTime, @Param("afterId") int afterId,
+      @Param("action") String action, @Param("itemType") String itemType,
+      @Param("itemName") String itemName, Pageable pageable);
+
+  @Query("SELECT t FROM Transaction t WHERE t.id IN :ids ORDER BY t.date, t.timestamp, t.id")
+  List<Transaction> findAllByIdOrdered(@Param("ids") Collection<Integer> ids);
+
+  @Query("SELECT t.date AS date, t.itemType AS itemType, t.action AS action, "
+      + "COUNT(t) AS transactionCount, SUM(t.quantity) AS totalQuantity FROM Transaction t "
+      + "WHERE t.storageCenter.id = :centerId AND t.date >= :from AND t.date <= :to "
+      + "GROUP BY t.date, t.itemType, t.action")
+  List<TransactionDayTotal> sumByCenterAndDay(@Param("centerId") int centerId,
+      @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+  @Query("SELECT MAX(t.journalPosition) FROM Transaction t WHERE t.journalId = :journalId "
+      + "AND t.journalPosition >= :from AND t.journalPosition <= :to")
+  Long findLastJournalPosition(@Param("journalId") String journalId, @Param("from") long from,
+      @Param("to") long to);
+
+  @Query("SELECT DISTINCT t.date FROM Transaction t WHERE t.storageCenter.id = :centerId "
+      + "AND t.date < :before ORDER BY t.date")
+  List<LocalDate> findDaysBefore(@Param("centerId") int centerId,
+      @Param("before") LocalDate before);
+
+  @Query("SELECT t.id AS id, t.date AS date, t.timestamp AS timestamp, t.itemType AS itemType, "
+      + "t.itemName AS itemName, t.quantity AS quantity, t.action AS action FROM Transaction t "
+      + "WHERE t.storageCenter.id = :centerId AND t.date = :date AND t.id > :afterId "
+      + "ORDER BY t.id")
+  List<TransactionSummary> findSummariesByCenterAndDate(@Param("centerId") int centerId,
+      @Param("date") LocalDate date, @Param("afterId") int afterId, Pageable pageable);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM Transaction t WHERE t.id IN :ids")
+  int deleteAllByIds(@Param("ids") Collection<Integer> ids);
 }
@@ -0,0 +1,95 @@
+package com.smartprogrammingbaddies.logger;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * The TransactionRollup class counts the transactions of one storage center, day, item type
+ * and action, and adds up their quantities. Rollups are kept up to date as transactions are
+ * written, so reports read a few rows per day instead of every transaction.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_rollup_center_date", columnList = "storage_center_id, date"))
+public class TransactionRollup implements Persistable<RollupKey> {
+  @EmbeddedId
+  private RollupKey id;
+  @Column(nullable = false)
+  private long transactionCount;
+  @Column(nullable = false)
+  private long totalQuantity;
+  @Transient
+  private boolean isNew = true;
+
+  /**
+   * Empty constructor needed for JPA.
+   */
+  public TransactionRollup() {
+    // Empty constructor needed for JPA
+  }
+
+  /**
+   * Constructs a TransactionRollup.
+   *
+   * @param id the storage center, day, item type and action counted
+   * @param transactionCount the number of transactions
+   * @param totalQuantity the sum of their quantities
+   */
+  public TransactionRollup(RollupKey id, long transactionCount, long totalQuantity) {
+    this.id = id;
+    this.transactionCount = transactionCount;
+    this.totalQuantity = totalQuantity;
+  }
+
+  /**
+   * Gets the storage center, day, item type and action counted.
+   *
+   * @return the rollup key
+   */
+  @Override
+  public RollupKey getId() {
+    return id;
+  }
+
+  /**
+   * Gets the number of transactions.
+   *
+   * @return the number of transactions
+   */
+  public long getTransactionCount() {
+    return transactionCount;
+  }
+
+  /**
+   * Gets the sum of the transactions' quantities.
+   *
+   * @return the total quantity
+   */
+  public long getTotalQuantity() {
+    return totalQuantity;
+  }
+
+  /**
+   * Checks if the rollup has not been saved yet, so saving it inserts it without reading it
+   * first.
+   *
+   * @return true if the rollup has not been saved or loaded from the database, false
+   *     otherwise
+   */
+  @Override
+  public boolean isNew() {
+    return isNew;
+  }
+
+  @PostLoad
+  @PostPersist
+  private void markNotNew() {
+    isNew = false;
+  }
+}
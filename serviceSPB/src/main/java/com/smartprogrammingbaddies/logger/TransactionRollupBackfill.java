@@ -0,0 +1,187 @@
+package com.smartprogrammingbaddies.logger;
+
+import com.google.gson.JsonObject;
+import com.smartprogrammingbaddies.storagecenter.StorageCenterRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The TransactionRollupBackfill class rebuilds the daily transaction rollups from the
+ * transaction log. The days to rebuild are split into chunks of each storage center's
+ * transactions over a few days, and chunks are rebuilt in parallel on a bounded pool of
+ * threads. Each chunk replaces its rollups in one database transaction, so a report never
+ * sees a chunk half rebuilt. Today is never rebuilt, since its transactions are still being
+ * added to the rollups as they are written, and neither are days already moved to the
+ * transaction archive, whose rollups were kept when their transactions left the database.
+ */
+public class TransactionRollupBackfill {
+  private final TransactionRepository transactionRepository;
+  private final TransactionRollupRepository rollupRepository;
+  private final StorageCenterRepository storageCenterRepository;
+  private final TransactionArchive archive;
+  private final TransactionTemplate transactionTemplate;
+  private final int threads;
+  private final int chunkDays;
+
+  /**
+   * Constructs a new TransactionRollupBackfill.
+   *
+   * @param transactionRepository the repository transactions are added up from
+   * @param rollupRepository the repository rollups are replaced in
+   * @param storageCenterRepository the repository used to list storage centers
+   * @param archive the archive of old transactions, or null if nothing is archived
+   * @param transactionTemplate the template each chunk's database transaction runs in
+   * @param threads the number of chunks rebuilt at the same time
+   * @param chunkDays the number of days of one storage center rebuilt together
+   * @throws IllegalArgumentException if the threads or chunk days are not positive
+   */
+  public TransactionRollupBackfill(TransactionRepository transactionRepository,
+      TransactionRollupRepository rollupRepository,
+      StorageCenterRepository storageCenterRepository, TransactionArchive archive,
+      TransactionTemplate transactionTemplate, int threads, int chunkDays) {
+    if (threads <= 0 || chunkDays <= 0) {
+      throw new IllegalArgumentException("Threads and chunk days must be greater than 0.");
+    }
+
+    this.transactionRepository = transactionRepository;
+    this.rollupRepository = rollupRepository;
+    this.storageCenterRepository = storageCenterRepository;
+    this.archive = archive;
+    this.transactionTemplate = transactionTemplate;
+    this.threads = threads;
+    this.chunkDays = chunkDays;
+  }
+
+  /**
+   * Rebuilds the rollups of every storage center for a range of days, up to yesterday and
+   * skipping each center's archived days.
+   *
+   * @param from the first day to rebuild
+   * @param to the last day to rebuild
+   * @return the report of the backfill
+   * @throws IllegalArgumentException if the range is empty or starts today or later
+   * @throws InterruptedException if the backfill is interrupted while waiting for chunks
+   */
+  public Report backfill(LocalDate from, LocalDate to) throws InterruptedException {
+    LocalDate last = to.isBefore(LocalDate.now()) ? to : LocalDate.now().minusDays(1);
+    if (from.isAfter(last)) {
+      throw new IllegalArgumentException("From must not be after to or yesterday.");
+    }
+
+    Instant started = Instant.now();
+    List<Integer> centerIds = storageCenterRepository.findAllIds();
+    AtomicInteger rows = new AtomicInteger();
+    AtomicInteger failed = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "rollup-backfill");
+      thread.setDaemon(true);
+      return thread;
+    });
+    List<Future<?>> futures = new ArrayList<>();
+    try {
+      for (int centerId : centerIds) {
+        LocalDate archivedThrough = archive == null ? null : archive.getArchivedThrough(centerId);
+        LocalDate first = archivedThrough == null || from.isAfter(archivedThrough)
+            ? from : archivedThrough.plusDays(1);
+        for (LocalDate start = first; !start.isAfter(last); start = start.plusDays(chunkDays)) {
+          LocalDate chunkStart = start;
+          LocalDate chunkEnd = start.plusDays(chunkDays - 1L).isAfter(last)
+              ? last : start.plusDays(chunkDays - 1L);
+          futures.add(executor.submit(
+              () -> rows.addAndGet(rebuild(centerId, chunkStart, chunkEnd))));
+        }
+      }
+
+      for (Future<?> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          failed.incrementAndGet();
+          System.err.println("Failed to rebuild rollups: " + e.getCause().getMessage());
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    return new Report(started, futures.size(), rows.get(), failed.get(),
+        Duration.between(started, Instant.now()));
+  }
+
+  /**
+   * Replaces one storage center's rollups for a range of days with totals added up from
+   * its transactions.
+   *
+   * @return the number of rollups written
+   */
+  int rebuild(int centerId, LocalDate from, LocalDate to) {
+    return transactionTemplate.execute(status -> {
+      rollupRepository.deleteByCenterAndDates(centerId, from, to);
+      List<TransactionRollup> rollups = new ArrayList<>();
+      for (TransactionDayTotal total : transactionRepository.sumByCenterAndDay(centerId, from,
+          to)) {
+        rollups.add(new TransactionRollup(new RollupKey(centerId, total.getDate(),
+            total.getItemType(), total.getAction()), total.getTransactionCount(),
+            total.getTotalQuantity()));
+      }
+      rollupRepository.saveAll(rollups);
+      return rollups.size();
+    });
+  }
+
+  /**
+   * The metrics of a single backfill.
+   */
+  public static final class Report {
+    private final Instant startedAt;
+    private final int chunks;
+    private final int rollupsWritten;
+    private final int chunksFailed;
+    private final Duration duration;
+
+    Report(Instant startedAt, int chunks, int rollupsWritten, int chunksFailed,
+        Duration duration) {
+      this.startedAt = startedAt;
+      this.chunks = chunks;
+      this.rollupsWritten = rollupsWritten;
+      this.chunksFailed = chunksFailed;
+      this.duration = duration;
+    }
+
+    public int getChunks() {
+      return chunks;
+    }
+
+    public int getRollupsWritten() {
+      return rollupsWritten;
+    }
+
+    public int getChunksFailed() {
+      return chunksFailed;
+    }
+
+    /**
+     * Converts the report into json format.
+     *
+     * @return a json object of the report
+     */
+    public JsonObject toJson() {
+      JsonObject json = new JsonObject();
+      json.addProperty("startedAt", startedAt.toString());
+      json.addProperty("chunks", chunks);
+      json.addProperty("rollupsWritten", rollupsWritten);
+      json.addProperty("chunksFailed", chunksFailed);
+      json.addProperty("durationMillis", duration.toMillis());
+      return json;
+    }
+  }
+}
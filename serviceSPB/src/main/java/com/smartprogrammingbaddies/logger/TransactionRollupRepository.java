@@ -0,0 +1,48 @@
+package com.smartprogrammingbaddies.logger;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * This class contains the TransactionRollupRepository interface. Rollups are added to with
+ * single UPDATE statements and read by storage center and range of days through the
+ * (storage center, date) index.
+ */
+public interface TransactionRollupRepository
+    extends CrudRepository<TransactionRollup, RollupKey> {
+  @Modifying
+  @Query("UPDATE TransactionRollup r SET r.transactionCount = r.transactionCount + :count, "
+      + "r.totalQuantity = r.totalQuantity + :quantity WHERE r.id = :key")
+  int addToRollup(@Param("key") RollupKey key, @Param("count") long count,
+      @Param("quantity") long quantity);
+
+  @Modifying
+  @Query("DELETE FROM TransactionRollup r WHERE r.id.centerId = :centerId "
+      + "AND r.id.date >= :from AND r.id.date <= :to")
+  int deleteByCenterAndDates(@Param("centerId") int centerId, @Param("from") LocalDate from,
+      @Param("to") LocalDate to);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM TransactionRollup r WHERE r.id.centerId = :centerId")
+  int deleteByCenter(@Param("centerId") int centerId);
+
+  @Query("SELECT r FROM TransactionRollup r WHERE r.id.centerId = :centerId "
+      + "AND r.id.date >= :from AND r.id.date <= :to "
+      + "ORDER BY r.id.date, r.id.itemType, r.id.action")
+  List<TransactionRollup> findByCenterAndDates(@Param("centerId") int centerId,
+      @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+  @Query("SELECT r.id.itemType AS itemType, r.id.action AS action, "
+      + "SUM(r.transactionCount) AS transactionCount, SUM(r.totalQuantity) AS totalQuantity "
+      + "FROM TransactionRollup r WHERE r.id.centerId = :centerId "
+      + "AND r.id.date >= :from AND r.id.date <= :to "
+      + "GROUP BY r.id.itemType, r.id.action ORDER BY r.id.itemType, r.id.action")
+  List<RollupTotal> sumByCenterAndDates(@Param("centerId") int centerId,
+      @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
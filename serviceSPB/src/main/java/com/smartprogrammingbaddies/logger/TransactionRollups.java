@@ -0,0 +1,58 @@
+package com.smartprogrammingbaddies.logger;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * The TransactionRollups class keeps the daily transaction rollups up to date as
+ * transactions are written. The transactions written together are first added up by
+ * rollup, so each rollup they touch is updated once. Every change to a storage center's
+ * inventory runs on the center's write lane, and queued transactions are written by one
+ * thread, so a rollup row is only ever created by one writer at a time.
+ */
+@Component
+public class TransactionRollups {
+  @Autowired
+  private TransactionRepository transactionRepository;
+
+  @Autowired
+  private TransactionRollupRepository rollupRepository;
+
+  /**
+   * Saves transactions and adds them to their rollups in one database transaction.
+   *
+   * @param transactions the transactions to save
+   */
+  @Transactional
+  public void saveAll(List<Transaction> transactions) {
+    transactionRepository.saveAll(transactions);
+    add(transactions);
+  }
+
+  /**
+   * Adds transactions to their rollups, creating the rollups that do not exist yet. Runs in
+   * the caller's database transaction.
+   *
+   * @param transactions the transactions that were saved
+   */
+  public void add(List<Transaction> transactions) {
+    Map<RollupKey, long[]> sums = new LinkedHashMap<>();
+    for (Transaction transaction : transactions) {
+      long[] sum = sums.computeIfAbsent(RollupKey.of(transaction), key -> new long[2]);
+      sum[0]++;
+      sum[1] += transaction.getQuantity();
+    }
+
+    for (Map.Entry<RollupKey, long[]> entry : sums.entrySet()) {
+      long count = entry.getValue()[0];
+      long quantity = entry.getValue()[1];
+      if (rollupRepository.addToRollup(entry.getKey(), count, quantity) == 0) {
+        rollupRepository.save(new TransactionRollup(entry.getKey(), count, quantity));
+      }
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package com.smartprogrammingbaddies.logger;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A read-only view of a transaction's columns, used when transactions are read in bulk
+ * without loading them as entities.
+ */
+public interface TransactionSummary {
+  int getId();
+
+  LocalDate getDate();
+
+  LocalTime getTimestamp();
+
+  String getItemType();
+
+  String getItemName();
+
+  int getQuantity();
+
+  String getAction();
+}
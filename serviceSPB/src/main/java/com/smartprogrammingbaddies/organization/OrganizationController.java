@@ -2,6 +2,7 @@ package com.smartprogrammingbaddies.organization;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import com.smartprogrammingbaddies.auth.AuthPrincipal;
 import com.smartprogrammingbaddies.client.Client;
 import com.smartprogrammingbaddies.client.ClientRepository;
 import com.smartprogrammingbaddies.event.Event;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -43,7 +45,7 @@ public class OrganizationController {
    *
    * @param orgName the name of the Organization.
    * @param orgType the type of the Organization.
-   * @param apiKey the API key of the client.
+   * @param principal the authenticated client, resolved from the apiKey parameter.
    * @return A {@code ResponseEntity} A message if the Organization was
    *      successfully created and a HTTP 200 response or,
    *      HTTP 500 reponse if an error occurred,
@@ -53,9 +55,9 @@ public class OrganizationController {
   public ResponseEntity<?> createOrganization(
        @RequestParam("orgName") String orgName,
        @RequestParam("orgType") String orgType,
-       @RequestParam("apiKey") String apiKey) {
+       @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal) {
     try {
-      Client client = clientRepository.findByApiKey(apiKey);
+      Client client = principal.getClient();
       if (client == null) {
         return new ResponseEntity<>("Invalid API Key", HttpStatus.FORBIDDEN);
       }
@@ -71,17 +73,17 @@ public class OrganizationController {
   /**
    * Retrieves the organization information.
    *
-   * @param apiKey the API key of the client.
+   * @param principal the authenticated client, resolved from the apiKey parameter.
    * @param orgId  the id of the organization.
    * @return A {@code ResponseEntity} A message if the Organization was successfully created
    *     and a HTTP 200 response or, HTTP 500 reponse if an error occurred.
    */
   @GetMapping("/getOrganization")
   public ResponseEntity<?> getOrganization(
-        @RequestParam("apiKey") String apiKey,
+        @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
         @RequestParam("orgId") int orgId) {
     try {
-      verifyApiKey(apiKey, orgId);
+      verifyOrganization(principal, orgId);
       Organization organization = organizationRepository.findById(orgId).orElseThrow();
 
       json = organization.toJson();
@@ -107,17 +109,17 @@ public class OrganizationController {
   /**
    * Changes an organization's subscription status to event notifications.
    *
-   * @param apiKey the API key of the client.
+   * @param principal the authenticated client, resolved from the apiKey parameter.
    * @param orgId the id of the organization.
    * @return A {@code ResponseEntity} A message if the Organization was successfully found
    *     and status was update with a HTTP 200 response or, HTTP 500 reponse if an error occurred.
    */
   @PatchMapping("/changeSubscriptionStatus")
   public ResponseEntity<?> changeSubscriptionStatus(
-          @RequestParam("apiKey") String apiKey,
+          @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
           @RequestParam("orgId") int orgId) {
     try {
-      verifyApiKey(apiKey, orgId);
+      verifyOrganization(principal, orgId);
       Organization organization = organizationRepository.findById(orgId).orElseThrow();
       boolean status = organization.getSubscriptionStatus();
       organization.changeSubscriptionStatus();
@@ -138,18 +140,18 @@ public class OrganizationController {
   /**
    * Deletes an organization.
    *
-   * @param apiKey the API key of the client.
+   * @param principal the authenticated client, resolved from the apiKey parameter.
    * @param orgId  the id of the organization.
    * @return A {@code ResponseEntity} A message if the Organization was successfully deleted
    *     and a HTTP 200 response or, HTTP 500 reponse if an error occurred.
    */
   @DeleteMapping("/deleteOrganization")
   public ResponseEntity<?> deleteOrganization(
-          @RequestParam("apiKey") String apiKey,
+          @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
           @RequestParam("orgId") int orgId) {
     try {
-      verifyApiKey(apiKey, orgId);
-      Client client = clientRepository.findByApiKey(apiKey);
+      verifyOrganization(principal, orgId);
+      Client client = principal.getClient();
       organizationRepository.deleteById(orgId);
       client.setOrganization(null);
       clientRepository.save(client);
@@ -166,7 +168,7 @@ public class OrganizationController {
   /**
    * register an event to an organization.
    *
-   * @param apiKey the API key of the client.
+   * @param principal the authenticated client, resolved from the apiKey parameter.
    * @param orgId the id of the organization.
    * @param eventId the id of the event.
    * @return A {@code ResponseEntity} A message if the event was successfully registered
@@ -174,11 +176,11 @@ public class OrganizationController {
    */
   @PostMapping("/registerEvent")
   public ResponseEntity<?> registerEvent(
-          @RequestParam("apiKey") String apiKey,
+          @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
           @RequestParam("orgId") int orgId,
           @RequestParam("eventId") int eventId) {
     try {
-      verifyApiKey(apiKey, orgId);
+      verifyOrganization(principal, orgId);
       Organization organization = organizationRepository.findById(orgId).orElseThrow();
       Event event = eventRepository.findById(eventId).orElseThrow();
       if (event.getOrganizer() != null) {
@@ -199,7 +201,7 @@ public class OrganizationController {
   /**
    * Unregisters an event from an organization.
    *
-   * @param apiKey the API key of the client.
+   * @param principal the authenticated client, resolved from the apiKey parameter.
    * @param orgId the id of the organization.
    * @param eventId the id of the event.
    * @return A {@code ResponseEntity} A message if the event was successfully unregistered
@@ -207,11 +209,11 @@ public class OrganizationController {
    */
   @DeleteMapping("/unregisterEvent")
   public ResponseEntity<?> unregisterEvent(
-          @RequestParam("apiKey") String apiKey,
+          @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
           @RequestParam("orgId") int orgId,
           @RequestParam("eventId") int eventId) {
     try {
-      verifyApiKey(apiKey, orgId);
+      verifyOrganization(principal, orgId);
       Event event = eventRepository.findById(eventId).orElseThrow();
       if (event.getOrganizer() == null) {
         throw new IllegalArgumentException("Event not registered to an organization");
@@ -232,17 +234,17 @@ public class OrganizationController {
   /**
    * Lists all events registered to an organization.
    *
-   * @param apiKey the API key of the client.
+   * @param principal the authenticated client, resolved from the apiKey parameter.
    * @param orgId the id of the organization.
    * @return A {@code ResponseEntity} A message if the events were successfully listed
    *     and a HTTP 200 response or, HTTP 500 reponse if an error occurred.
    */
   @GetMapping("/listOrganizationEvents")
   public ResponseEntity<?> listOrganizationEvents(
-          @RequestParam("apiKey") String apiKey,
+          @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
           @RequestParam("orgId") int orgId) {
     try {
-      verifyApiKey(apiKey, orgId);
+      verifyOrganization(principal, orgId);
       Organization organization = organizationRepository.findById(orgId).orElseThrow();
       return new ResponseEntity<>(organization.getEvents(), HttpStatus.OK);
 
@@ -254,7 +256,7 @@ public class OrganizationController {
   /**
    * Link a storage center to an organization.
    *
-   * @param apiKey the API key of the client.
+   * @param principal the authenticated client, resolved from the apiKey parameter.
    * @param orgId the id of the organization.
    * @param storageId the id of the storage center.
    * @return A {@code ResponseEntity} A message if the storage center was successfully linked
@@ -262,11 +264,11 @@ public class OrganizationController {
    */
   @PostMapping("/linkStorageCenter")
   public ResponseEntity<?> linkStorageCenter(
-          @RequestParam("apiKey") String apiKey,
+          @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
           @RequestParam("orgId") int orgId,
           @RequestParam("storageId") int storageId) {
     try {
-      verifyApiKey(apiKey, orgId);
+      verifyOrganization(principal, orgId);
       Organization organization = organizationRepository.findById(orgId).orElseThrow();
       StorageCenter storage = storageCenterRepository.findById(storageId).orElseThrow();
       storage.setOrganization(organization);
@@ -283,17 +285,17 @@ public class OrganizationController {
   /**
    * Get the storage center id linked to an organization.
    *
-   * @param apiKey the API key of the client.
+   * @param principal the authenticated client, resolved from the apiKey parameter.
    * @param orgId the id of the organization.
    * @return A {@code ResponseEntity} A message if the storage center was retrieved successfully
    *     and a HTTP 200 response or, HTTP 500 reponse if an error occurred.
    */
   @GetMapping("/getStorageCenter")
   public ResponseEntity<?> getStorageCenter(
-          @RequestParam("apiKey") String apiKey,
+          @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
           @RequestParam("orgId") int orgId) {
     try {
-      verifyApiKey(apiKey, orgId);
+      verifyOrganization(principal, orgId);
       Organization organization = organizationRepository.findById(orgId).orElseThrow();
       StorageCenter storage = organization.getStorage();
       json.addProperty("id", storage.getDatabaseId());
@@ -325,8 +327,8 @@ public class OrganizationController {
     return new ResponseEntity<>(json.toString(), HttpStatus.INTERNAL_SERVER_ERROR);
   }
 
-  private void verifyApiKey(String apiKey, int orgId) {
-    Client client = clientRepository.findByApiKey(apiKey);
+  private void verifyOrganization(AuthPrincipal principal, int orgId) {
+    Client client = principal.getClient();
     if (client == null) {
       throw new IllegalArgumentException("Invalid API Key");
     }
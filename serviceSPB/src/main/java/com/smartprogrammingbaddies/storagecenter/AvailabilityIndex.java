@@ -0,0 +1,220 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.smartprogrammingbaddies.item.ItemId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * The AvailabilityIndex class answers which storage centers hold a product and how much.
+ * It maps each item type and normalized item name to the quantity every center holds, so
+ * finding the centers with the most of a product reads one entry per center holding it
+ * instead of every center's inventory. Names are normalized by trimming, collapsing
+ * whitespace and ignoring case. The index is updated by the same code that changes item
+ * quantities and is filled from the database at startup.
+ */
+@Component
+public class AvailabilityIndex {
+  /**
+   * The largest number of centers returned by one search.
+   */
+  public static final int MAX_RESULTS = 100;
+
+  private static final Comparator<Map.Entry<Integer, Long>> MOST_FIRST =
+      Map.Entry.<Integer, Long>comparingByValue().reversed()
+          .thenComparing(Map.Entry.comparingByKey());
+
+  private volatile Map<String, Map<Integer, Long>> products = new ConcurrentHashMap<>();
+
+  /**
+   * Changes the quantity a storage center holds of an item.
+   *
+   * @param centerId the ID of the storage center
+   * @param itemId the type and name of the item
+   * @param delta the change in quantity
+   */
+  public void add(int centerId, ItemId itemId, long delta) {
+    addHolding(products, centerId, itemId.getType(), itemId.getName(), delta);
+  }
+
+  /**
+   * Finds the storage centers holding the most of a product.
+   *
+   * @param type the type of the item, or null to search every type
+   * @param name the name of the item, matched after normalizing
+   * @param limit the largest number of centers to return
+   * @return the centers holding the product and their quantities, most first
+   * @throws IllegalArgumentException if the name is blank or the limit is not positive
+   */
+  public List<Map.Entry<Integer, Long>> findTop(ItemId.ItemType type, String name, int limit) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0.");
+    }
+
+    String normalized = normalize(name);
+    Map<Integer, Long> holdings;
+    if (type != null) {
+      holdings = products.getOrDefault(key(type.name(), normalized), Map.of());
+    } else {
+      holdings = new HashMap<>();
+      for (ItemId.ItemType each : ItemId.ItemType.values()) {
+        products.getOrDefault(key(each.name(), normalized), Map.of())
+            .forEach((centerId, quantity) -> holdings.merge(centerId, quantity, Long::sum));
+      }
+    }
+
+    int size = Math.min(limit, MAX_RESULTS);
+    PriorityQueue<Map.Entry<Integer, Long>> top = new PriorityQueue<>(size + 1,
+        MOST_FIRST.reversed());
+    for (Map.Entry<Integer, Long> entry : holdings.entrySet()) {
+      top.offer(Map.entry(entry.getKey(), entry.getValue()));
+      if (top.size() > size) {
+        top.poll();
+      }
+    }
+
+    List<Map.Entry<Integer, Long>> result = new ArrayList<>(top);
+    result.sort(MOST_FIRST);
+    return result;
+  }
+
+  /**
+   * Converts the result of a search into json format.
+   *
+   * @param centers the centers and quantities found by {@link #findTop}
+   * @return a json array with the storage center ID and quantity of each center
+   */
+  public static JsonArray toJson(List<Map.Entry<Integer, Long>> centers) {
+    JsonArray json = new JsonArray();
+    for (Map.Entry<Integer, Long> center : centers) {
+      JsonObject entry = new JsonObject();
+      entry.addProperty("storageCenterId", center.getKey());
+      entry.addProperty("quantity", center.getValue());
+      json.add(entry);
+    }
+    return json;
+  }
+
+  /**
+   * Forgets everything a storage center holds.
+   *
+   * @param centerId the ID of the storage center
+   */
+  public void remove(int centerId) {
+    Map<String, Map<Integer, Long>> current = products;
+    for (String key : current.keySet()) {
+      current.computeIfPresent(key, (k, holdings) -> {
+        holdings.remove(centerId);
+        return holdings.isEmpty() ? null : holdings;
+      });
+    }
+  }
+
+  /**
+   * Replaces the contents of the index.
+   *
+   * @param stock the quantity each storage center holds of each item, as
+   *     (center ID, type, name, quantity) rows
+   */
+  public void rebuild(Iterable<Stock> stock) {
+    Map<String, Map<Integer, Long>> rebuilt = new ConcurrentHashMap<>();
+    for (Stock row : stock) {
+      addHolding(rebuilt, row.centerId, row.type, row.name, row.quantity);
+    }
+    products = rebuilt;
+  }
+
+  /**
+   * Gets the number of products held by at least one storage center.
+   *
+   * @return the number of products
+   */
+  public int size() {
+    return products.size();
+  }
+
+  /**
+   * Normalizes an item name for matching.
+   *
+   * @param name the name of the item
+   * @return the name trimmed, with single spaces and in lower case
+   * @throws IllegalArgumentException if the name is null or blank
+   */
+  static String normalize(String name) {
+    if (name == null || name.isBlank()) {
+      throw new IllegalArgumentException("Name must not be null or empty.");
+    }
+    return name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+  }
+
+  private static void addHolding(Map<String, Map<Integer, Long>> products, int centerId,
+      String type, String name, long delta) {
+    if (delta == 0) {
+      return;
+    }
+
+    products.compute(key(type, normalize(name)), (key, holdings) -> {
+      Map<Integer, Long> updated = holdings == null ? new ConcurrentHashMap<>() : holdings;
+      updated.compute(centerId, (id, quantity) -> {
+        long total = (quantity == null ? 0 : quantity) + delta;
+        return total <= 0 ? null : total;
+      });
+      return updated.isEmpty() ? null : updated;
+    });
+  }
+
+  private static String key(String type, String normalizedName) {
+    return type + ":" + normalizedName;
+  }
+
+  /**
+   * The quantity a storage center holds of an item, used to fill the index.
+   */
+  public static final class Stock {
+    private final int centerId;
+    private final String type;
+    private final String name;
+    private final long quantity;
+
+    /**
+     * Constructs a new Stock row.
+     *
+     * @param centerId the ID of the storage center
+     * @param type the type of the item
+     * @param name the name of the item
+     * @param quantity the quantity held
+     */
+    public Stock(int centerId, String type, String name, long quantity) {
+      this.centerId = centerId;
+      this.type = type;
+      this.name = name;
+      this.quantity = quantity;
+    }
+
+    /**
+     * Gets the ID of the storage center.
+     *
+     * @return the storage center ID
+     */
+    int getCenterId() {
+      return centerId;
+    }
+
+    /**
+     * Gets the name of the item.
+     *
+     * @return the item name
+     */
+    String getName() {
+      return name;
+    }
+  }
+}
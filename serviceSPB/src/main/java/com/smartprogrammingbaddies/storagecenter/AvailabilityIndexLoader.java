@@ -0,0 +1,82 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import com.smartprogrammingbaddies.item.ItemId;
+import com.smartprogrammingbaddies.item.ItemRepository;
+import com.smartprogrammingbaddies.item.ItemStock;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * The AvailabilityIndexLoader class fills the availability index and the item name index at
+ * startup with every item in every storage center. Items are read once, in primary key
+ * order, a page at a time, without loading them as entities. Inventory changes are held on
+ * their write lanes while the items are read and the indexes are replaced, so none is lost
+ * or counted twice.
+ */
+@Component
+public class AvailabilityIndexLoader implements ApplicationRunner {
+  /**
+   * The number of items read per query.
+   */
+  static final int LOAD_PAGE_SIZE = 500;
+
+  @Autowired
+  private AvailabilityIndex availabilityIndex;
+
+  @Autowired
+  private ItemNameIndex itemNameIndex;
+
+  @Autowired
+  private ItemRepository itemRepository;
+
+  @Autowired
+  private CenterWriteLanes writeLanes;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    try {
+      writeLanes.callExclusive(() -> {
+        List<AvailabilityIndex.Stock> stock = loadStock();
+        availabilityIndex.rebuild(stock);
+        itemNameIndex.rebuild(stock);
+        return null;
+      });
+      System.out.println("Indexed availability of " + availabilityIndex.size()
+          + " products and " + itemNameIndex.size() + " item names.");
+    } catch (Exception e) {
+      System.err.println("Failed to index item availability.");
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Reads the quantity every storage center holds of every item.
+   *
+   * @return the stock to index
+   */
+  public List<AvailabilityIndex.Stock> loadStock() {
+    List<AvailabilityIndex.Stock> stock = new ArrayList<>();
+    Pageable page = PageRequest.ofSize(LOAD_PAGE_SIZE);
+    int afterCenter = 0;
+    ItemId.ItemType afterType = ItemId.ItemType.FOOD;
+    String afterName = "";
+    List<ItemStock> rows;
+    do {
+      rows = itemRepository.findStockAfter(afterCenter, afterType, afterName, page);
+      for (ItemStock row : rows) {
+        stock.add(new AvailabilityIndex.Stock(row.getStorageCenterId(), row.getType().name(),
+            row.getName(), row.getQuantity()));
+        afterCenter = row.getStorageCenterId();
+        afterType = row.getType();
+        afterName = row.getName();
+      }
+    } while (rows.size() == LOAD_PAGE_SIZE);
+    return stock;
+  }
+}
@@ -0,0 +1,169 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The CenterWriteLanes class runs inventory changes on a fixed set of single-threaded lanes.
+ * Every storage center is mapped to one lane, so changes to the same center run one at a
+ * time instead of fighting over the same item rows, while different centers are spread
+ * across the lanes. Each lane has a bounded queue; once it is full, new changes are
+ * rejected so callers can back off instead of piling up. Work that must see no change in
+ * progress, such as filling the in-memory indexes from the database, can hold every lane
+ * for its duration.
+ */
+public class CenterWriteLanes {
+  private static final ThreadLocal<Integer> CURRENT_LANE = new ThreadLocal<>();
+
+  private final ThreadPoolExecutor[] lanes;
+  private final LongAdder rejected = new LongAdder();
+  private final ReadWriteLock gate = new ReentrantReadWriteLock();
+
+  /**
+   * Constructs a new CenterWriteLanes.
+   *
+   * @param laneCount the number of lanes
+   * @param queueCapacity the number of changes that may wait in each lane
+   * @throws IllegalArgumentException if the lane count or queue capacity is not positive
+   */
+  public CenterWriteLanes(int laneCount, int queueCapacity) {
+    if (laneCount <= 0) {
+      throw new IllegalArgumentException("Lane count must be greater than 0.");
+    }
+
+    if (queueCapacity <= 0) {
+      throw new IllegalArgumentException("Queue capacity must be greater than 0.");
+    }
+
+    lanes = new ThreadPoolExecutor[laneCount];
+    for (int i = 0; i < laneCount; i++) {
+      final int lane = i;
+      lanes[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+          new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(() -> {
+              CURRENT_LANE.set(lane);
+              runnable.run();
+            }, "center-writer-" + lane);
+            thread.setDaemon(true);
+            return thread;
+          });
+    }
+  }
+
+  /**
+   * Runs a change on the lane of a storage center and waits for it to finish. A change made
+   * from inside the same lane runs right away, so nested changes cannot wait on themselves.
+   *
+   * @param <T> the type of the change's result
+   * @param storageCenterId the ID of the storage center being changed
+   * @param change the change to run
+   * @return the result of the change
+   * @throws RejectedExecutionException if the lane's queue is full or the lanes are shut down
+   * @throws Exception if the change fails
+   */
+  public <T> T call(int storageCenterId, Callable<T> change) throws Exception {
+    int lane = laneOf(storageCenterId);
+    Integer current = CURRENT_LANE.get();
+    if (current != null && current == lane) {
+      return change.call();
+    }
+
+    Future<T> future;
+    try {
+      future = lanes[lane].submit(() -> {
+        gate.readLock().lock();
+        try {
+          return change.call();
+        } finally {
+          gate.readLock().unlock();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      throw new RejectedExecutionException("Storage Center " + storageCenterId
+          + " is busy. Try again shortly.", e);
+    }
+
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof Exception) {
+        throw (Exception) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Runs a task while no change runs on any lane. Changes already running finish first, and
+   * changes submitted meanwhile wait in their lane's queue until the task is done.
+   *
+   * @param <T> the type of the task's result
+   * @param task the task to run
+   * @return the result of the task
+   * @throws Exception if the task fails
+   */
+  public <T> T callExclusive(Callable<T> task) throws Exception {
+    gate.writeLock().lock();
+    try {
+      return task.call();
+    } finally {
+      gate.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Gets the lane a storage center's changes run on.
+   *
+   * @param storageCenterId the ID of the storage center
+   * @return the index of the lane
+   */
+  int laneOf(int storageCenterId) {
+    return Math.floorMod(storageCenterId, lanes.length);
+  }
+
+  /**
+   * Gets the number of changes waiting on a storage center's lane.
+   *
+   * @param storageCenterId the ID of the storage center
+   * @return the number of waiting changes, including those of other centers on the lane
+   */
+  public int getQueuedCount(int storageCenterId) {
+    return lanes[laneOf(storageCenterId)].getQueue().size();
+  }
+
+  /**
+   * Gets the number of changes rejected because a lane was full.
+   *
+   * @return the number of rejected changes
+   */
+  public long getRejectedCount() {
+    return rejected.sum();
+  }
+
+  /**
+   * Stops accepting changes and waits briefly for queued changes to finish.
+   *
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public void shutdown() throws InterruptedException {
+    for (ThreadPoolExecutor lane : lanes) {
+      lane.shutdown();
+    }
+    for (ThreadPoolExecutor lane : lanes) {
+      lane.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
+}
@@ -0,0 +1,247 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import com.smartprogrammingbaddies.item.ItemId;
+import com.smartprogrammingbaddies.logger.TransactionLog;
+import com.smartprogrammingbaddies.utils.RetryPolicy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.dao.ConcurrencyFailureException;
+
+/**
+ * The CheckInCoalescer merges check-ins of the same item that arrive close together. The
+ * first check-in of an item waits for a short window, then writes every check-in that
+ * arrived in the meantime with one UPDATE of the item's row and one batch of transactions.
+ * Each caller is answered once that write commits. If the merged write fails, each
+ * check-in is written on its own so every caller gets its own outcome.
+ */
+public class CheckInCoalescer {
+  private final InventoryService inventoryService;
+  private final CenterWriteLanes writeLanes;
+  private final RetryPolicy retryPolicy;
+  private final TransactionLog transactionLog;
+  private final long windowMillis;
+  private final ConcurrentHashMap<Key, Batch> pending = new ConcurrentHashMap<>();
+  private final LongAdder checkIns = new LongAdder();
+  private final LongAdder writes = new LongAdder();
+
+  /**
+   * Constructs a new CheckInCoalescer.
+   *
+   * @param inventoryService the service that writes check-ins
+   * @param writeLanes the lanes check-ins are written on
+   * @param retryPolicy the policy used to retry writes that lose a race
+   * @param transactionLog the log whose saves a write waits for once it is off its lane
+   * @param windowMillis how long to collect check-ins of an item, or 0 to write each at once
+   * @throws IllegalArgumentException if the window is negative
+   */
+  public CheckInCoalescer(InventoryService inventoryService, CenterWriteLanes writeLanes,
+      RetryPolicy retryPolicy, TransactionLog transactionLog, long windowMillis) {
+    if (windowMillis < 0) {
+      throw new IllegalArgumentException("Window must not be negative.");
+    }
+
+    this.inventoryService = inventoryService;
+    this.writeLanes = writeLanes;
+    this.retryPolicy = retryPolicy;
+    this.transactionLog = transactionLog;
+    this.windowMillis = windowMillis;
+  }
+
+  /**
+   * Adds a quantity of an item to a storage center, merging it with other check-ins of the
+   * same item that arrive within the window.
+   *
+   * @param storageCenterId the ID of the storage center
+   * @param itemId the type and name of the item
+   * @param quantity the quantity to add
+   * @param expirationDate the expiration date used if the item is new, in yyyy-MM-dd format
+   * @return {@code ADDED} if this check-in created the item, {@code UPDATED} otherwise, with
+   *     the item's version after the merged write
+   * @throws IllegalArgumentException if the quantity is not positive
+   * @throws Exception if the check-in could not be written
+   */
+  public InventoryService.Change checkIn(int storageCenterId, ItemId itemId, int quantity,
+      String expirationDate) throws Exception {
+    if (quantity <= 0) {
+      throw new IllegalArgumentException("Quantity must be greater than 0.");
+    }
+
+    checkIns.increment();
+    if (windowMillis == 0) {
+      writes.increment();
+      return writeOne(storageCenterId, itemId, quantity, expirationDate);
+    }
+
+    Key key = new Key(storageCenterId, itemId);
+    Pending checkIn = new Pending(quantity, expirationDate);
+    Batch batch = pending.compute(key, (k, current) -> {
+      Batch joined = current == null ? new Batch(checkIn) : current;
+      joined.checkIns.add(checkIn);
+      return joined;
+    });
+
+    if (batch.leader == checkIn) {
+      try {
+        Thread.sleep(windowMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        pending.remove(key, batch);
+        flush(key, batch);
+      }
+    }
+
+    try {
+      return checkIn.result.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw (Exception) cause;
+    }
+  }
+
+  /**
+   * Gets the number of check-ins received.
+   *
+   * @return the number of check-ins
+   */
+  public long getCheckInCount() {
+    return checkIns.sum();
+  }
+
+  /**
+   * Gets the number of merged writes made for the check-ins received.
+   *
+   * @return the number of writes
+   */
+  public long getWriteCount() {
+    return writes.sum();
+  }
+
+  private void flush(Key key, Batch batch) {
+    List<Pending> batched = batch.checkIns;
+    List<Integer> quantities = new ArrayList<>(batched.size());
+    for (Pending checkIn : batched) {
+      quantities.add(checkIn.quantity);
+    }
+
+    writes.increment();
+    InventoryService.Change merged;
+    try {
+      merged = write(key.storageCenterId, () ->
+          inventoryService.checkInMerged(key.storageCenterId, key.itemId, quantities,
+              batched.get(0).expirationDate));
+    } catch (RejectedExecutionException | ConcurrencyFailureException
+        | NoSuchElementException e) {
+      batched.forEach(checkIn -> checkIn.result.completeExceptionally(e));
+      return;
+    } catch (Error e) {
+      batched.forEach(checkIn -> checkIn.result.completeExceptionally(e));
+      throw e;
+    } catch (Exception e) {
+      if (batched.size() == 1) {
+        batched.get(0).result.completeExceptionally(e);
+        return;
+      }
+      for (Pending checkIn : batched) {
+        writes.increment();
+        try {
+          checkIn.result.complete(writeOne(key.storageCenterId, key.itemId, checkIn.quantity,
+              checkIn.expirationDate));
+        } catch (Exception failure) {
+          checkIn.result.completeExceptionally(failure);
+        }
+      }
+      return;
+    }
+
+    batched.get(0).result.complete(merged);
+    InventoryService.Change updated =
+        new InventoryService.Change(InventoryService.Result.UPDATED, merged.getVersion());
+    for (int i = 1; i < batched.size(); i++) {
+      batched.get(i).result.complete(updated);
+    }
+  }
+
+  private InventoryService.Change writeOne(int storageCenterId, ItemId itemId, int quantity,
+      String expirationDate) throws Exception {
+    return write(storageCenterId, () ->
+        inventoryService.checkIn(storageCenterId, itemId, quantity, expirationDate, null));
+  }
+
+  /**
+   * Runs a write on the storage center's write lane, retrying it there if it loses a race,
+   * then waits off the lane for its transactions to be saved when the transaction log asks
+   * for that.
+   */
+  private <T> T write(int storageCenterId, Callable<T> change) throws Exception {
+    AtomicReference<CompletableFuture<Void>> saved = new AtomicReference<>();
+    T result = writeLanes.call(storageCenterId, () -> {
+      try {
+        return retryPolicy.call(change);
+      } finally {
+        saved.set(transactionLog.takeUnsaved());
+      }
+    });
+    transactionLog.awaitSaved(saved.get());
+    return result;
+  }
+
+  private static final class Key {
+    private final int storageCenterId;
+    private final ItemId itemId;
+
+    Key(int storageCenterId, ItemId itemId) {
+      this.storageCenterId = storageCenterId;
+      this.itemId = itemId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return storageCenterId == other.storageCenterId && itemId.equals(other.itemId);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(storageCenterId, itemId);
+    }
+  }
+
+  private static final class Pending {
+    private final int quantity;
+    private final String expirationDate;
+    private final CompletableFuture<InventoryService.Change> result = new CompletableFuture<>();
+
+    Pending(int quantity, String expirationDate) {
+      this.quantity = quantity;
+      this.expirationDate = expirationDate;
+    }
+  }
+
+  private static final class Batch {
+    private final Pending leader;
+    private final List<Pending> checkIns = new ArrayList<>();
+
+    Batch(Pending leader) {
+      this.leader = leader;
+    }
+  }
+}
@@ -0,0 +1,427 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.smartprogrammingbaddies.item.ItemId;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * An in-memory index of when the items of every storage center expire. Items are kept in
+ * a timing wheel with one bucket per day for the next {@code horizonDays} days, and items
+ * expiring later wait in an overflow map until their day comes within the horizon. Finding
+ * what a center has expiring in the next N days reads at most N buckets, so it costs time
+ * in proportion to N and the size of the answer rather than the size of the inventory.
+ *
+ * <p>An alert is sent when an item comes within {@code alertDays} of expiring, either
+ * because it was checked in that close to its expiration date or because the day moved on.
+ */
+public class ExpiryIndex {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ExpiryIndex.class);
+
+  /**
+   * Receives an alert for each item that comes within the alert window.
+   */
+  public interface AlertListener {
+    /**
+     * Called once an item is about to expire.
+     *
+     * @param item the item about to expire
+     */
+    void onExpiringSoon(ExpiringItem item);
+  }
+
+  private final int horizonDays;
+  private final int alertDays;
+  private final Clock clock;
+  private final AlertListener listener;
+  private final List<Map<Integer, Map<ItemId, Entry>>> slots;
+  private final NavigableMap<LocalDate, Map<Integer, Map<ItemId, Entry>>> overflow =
+      new TreeMap<>();
+  private final Map<Integer, Map<ItemId, Entry>> entries = new HashMap<>();
+  private LocalDate today;
+
+  /**
+   * Constructs a new, empty ExpiryIndex.
+   *
+   * @param horizonDays the number of days that get their own bucket
+   * @param alertDays an alert is sent once an item expires within this many days
+   * @param clock the clock that decides the current day
+   * @param listener the listener that receives alerts
+   * @throws IllegalArgumentException if the horizon is not positive, the alert window is
+   *     negative or not shorter than the horizon, or the listener is null
+   */
+  public ExpiryIndex(int horizonDays, int alertDays, Clock clock, AlertListener listener) {
+    if (horizonDays <= 0) {
+      throw new IllegalArgumentException("Horizon must be greater than 0.");
+    }
+
+    if (alertDays < 0 || alertDays >= horizonDays) {
+      throw new IllegalArgumentException("Alert days must be between 0 and the horizon.");
+    }
+
+    if (listener == null) {
+      throw new IllegalArgumentException("Listener must not be null.");
+    }
+
+    this.horizonDays = horizonDays;
+    this.alertDays = alertDays;
+    this.clock = clock;
+    this.listener = listener;
+    this.slots = new ArrayList<>(horizonDays);
+    for (int i = 0; i < horizonDays; i++) {
+      slots.add(new HashMap<>());
+    }
+    this.today = LocalDate.now(clock);
+  }
+
+  /**
+   * Adds an item, replacing any earlier entry for it. Items without an expiration date
+   * or quantity are not indexed.
+   *
+   * @param centerId the ID of the storage center holding the item
+   * @param itemId the type and name of the item
+   * @param expirationDate the item's expiration date
+   * @param quantity the quantity held
+   */
+  public void add(int centerId, ItemId itemId, LocalDate expirationDate, int quantity) {
+    List<ExpiringItem> alerts = new ArrayList<>();
+    synchronized (this) {
+      advance(alerts);
+      put(centerId, itemId, expirationDate, quantity, alerts);
+    }
+    send(alerts);
+  }
+
+  /**
+   * Changes the quantity of an indexed item, removing it once none is left. Items that
+   * are not indexed are ignored.
+   *
+   * @param centerId the ID of the storage center holding the item
+   * @param itemId the type and name of the item
+   * @param delta the change in quantity
+   */
+  public void adjust(int centerId, ItemId itemId, int delta) {
+    List<ExpiringItem> alerts = new ArrayList<>();
+    synchronized (this) {
+      advance(alerts);
+      Entry entry = entries.getOrDefault(centerId, Map.of()).get(itemId);
+      if (entry != null) {
+        entry.quantity += delta;
+        if (entry.quantity <= 0) {
+          delete(entry);
+        }
+      }
+    }
+    send(alerts);
+  }
+
+  /**
+   * Removes an item.
+   *
+   * @param centerId the ID of the storage center holding the item
+   * @param itemId the type and name of the item
+   */
+  public void remove(int centerId, ItemId itemId) {
+    List<ExpiringItem> alerts = new ArrayList<>();
+    synchronized (this) {
+      advance(alerts);
+      Entry entry = entries.getOrDefault(centerId, Map.of()).get(itemId);
+      if (entry != null) {
+        delete(entry);
+      }
+    }
+    send(alerts);
+  }
+
+  /**
+   * Removes every item of a storage center.
+   *
+   * @param centerId the ID of the storage center
+   */
+  public synchronized void remove(int centerId) {
+    Map<ItemId, Entry> centerEntries = entries.get(centerId);
+    if (centerEntries != null) {
+      for (Entry entry : new ArrayList<>(centerEntries.values())) {
+        delete(entry);
+      }
+    }
+  }
+
+  /**
+   * Replaces the contents of the index without sending alerts.
+   *
+   * @param items the items to index
+   */
+  public synchronized void rebuild(Iterable<ExpiringItem> items) {
+    entries.clear();
+    overflow.clear();
+    slots.forEach(Map::clear);
+    today = LocalDate.now(clock);
+    for (ExpiringItem item : items) {
+      put(item.getCenterId(), item.getItemId(), item.getExpirationDate(), item.getQuantity(),
+          null);
+    }
+  }
+
+  /**
+   * Lists the items of a storage center that expire between today and the given number of
+   * days from now, soonest first.
+   *
+   * @param centerId the ID of the storage center
+   * @param days the number of days to look ahead
+   * @return the expiring items
+   * @throws IllegalArgumentException if the number of days is negative
+   */
+  public List<ExpiringItem> expiringWithin(int centerId, int days) {
+    if (days < 0) {
+      throw new IllegalArgumentException("Days must be greater than or equal to 0.");
+    }
+
+    List<ExpiringItem> alerts = new ArrayList<>();
+    List<ExpiringItem> result = new ArrayList<>();
+    synchronized (this) {
+      advance(alerts);
+      for (int day = 0; day <= days && day < horizonDays; day++) {
+        addSnapshots(slot(today.plusDays(day)).get(centerId), result);
+      }
+
+      if (days >= horizonDays) {
+        LocalDate from = today.plusDays(horizonDays);
+        LocalDate until = today.plusDays(days);
+        for (Map<Integer, Map<ItemId, Entry>> bucket
+            : overflow.subMap(from, true, until, true).values()) {
+          addSnapshots(bucket.get(centerId), result);
+        }
+      }
+    }
+    send(alerts);
+    return result;
+  }
+
+  /**
+   * Gets the number of indexed items.
+   *
+   * @return the number of indexed items
+   */
+  public synchronized int size() {
+    return entries.values().stream().mapToInt(Map::size).sum();
+  }
+
+  /**
+   * Moves the index on to the current day, sending alerts for items that came within the
+   * alert window. Runs shortly after midnight so alerts go out without waiting for traffic.
+   */
+  @Scheduled(cron = "${inventory.expiry-index.tick-cron:5 0 0 * * *}")
+  public void tick() {
+    List<ExpiringItem> alerts = new ArrayList<>();
+    synchronized (this) {
+      advance(alerts);
+    }
+    send(alerts);
+  }
+
+  private void put(int centerId, ItemId itemId, LocalDate expirationDate, int quantity,
+      List<ExpiringItem> alerts) {
+    Entry existing = entries.getOrDefault(centerId, Map.of()).get(itemId);
+    if (existing != null) {
+      delete(existing);
+    }
+
+    if (expirationDate == null || quantity <= 0) {
+      return;
+    }
+
+    Entry entry = new Entry(centerId, itemId, expirationDate, quantity);
+    entries.computeIfAbsent(centerId, id -> new HashMap<>()).put(itemId, entry);
+    Map<Integer, Map<ItemId, Entry>> bucket = bucket(expirationDate, true);
+    if (bucket != null) {
+      bucket.computeIfAbsent(centerId, id -> new HashMap<>()).put(itemId, entry);
+    }
+
+    boolean inWindow = !expirationDate.isBefore(today)
+        && !expirationDate.isAfter(today.plusDays(alertDays));
+    if (alerts != null && inWindow) {
+      alerts.add(entry.snapshot());
+    }
+  }
+
+  private void delete(Entry entry) {
+    Map<ItemId, Entry> centerEntries = entries.get(entry.centerId);
+    centerEntries.remove(entry.itemId);
+    if (centerEntries.isEmpty()) {
+      entries.remove(entry.centerId);
+    }
+
+    Map<Integer, Map<ItemId, Entry>> bucket = bucket(entry.expirationDate, false);
+    if (bucket == null) {
+      return;
+    }
+
+    Map<ItemId, Entry> bucketEntries = bucket.get(entry.centerId);
+    if (bucketEntries != null) {
+      bucketEntries.remove(entry.itemId);
+      if (bucketEntries.isEmpty()) {
+        bucket.remove(entry.centerId);
+      }
+    }
+
+    if (bucket.isEmpty() && !entry.expirationDate.isBefore(today.plusDays(horizonDays))) {
+      overflow.remove(entry.expirationDate);
+    }
+  }
+
+  /**
+   * Moves the wheel on to the current day. Buckets of days that have passed are emptied and
+   * reused for the days entering the horizon, which are filled from the overflow map.
+   */
+  private void advance(List<ExpiringItem> alerts) {
+    LocalDate now = LocalDate.now(clock);
+    if (!now.isAfter(today)) {
+      return;
+    }
+
+    final LocalDate oldWindowEnd = today.plusDays(alertDays);
+    for (LocalDate day = today; day.isBefore(now) && day.isBefore(today.plusDays(horizonDays));
+        day = day.plusDays(1)) {
+      slot(day).clear();
+    }
+    today = now;
+
+    LocalDate horizonEnd = today.plusDays(horizonDays);
+    while (!overflow.isEmpty() && overflow.firstKey().isBefore(horizonEnd)) {
+      Map.Entry<LocalDate, Map<Integer, Map<ItemId, Entry>>> day = overflow.pollFirstEntry();
+      if (!day.getKey().isBefore(today)) {
+        slot(day.getKey()).putAll(day.getValue());
+      }
+    }
+
+    LocalDate firstNew = oldWindowEnd.plusDays(1).isBefore(today)
+        ? today : oldWindowEnd.plusDays(1);
+    for (LocalDate day = firstNew; !day.isAfter(today.plusDays(alertDays));
+        day = day.plusDays(1)) {
+      for (Map<ItemId, Entry> centerEntries : slot(day).values()) {
+        addSnapshots(centerEntries, alerts);
+      }
+    }
+  }
+
+  /**
+   * Gets the bucket holding a day, or null if the day has already passed.
+   */
+  private Map<Integer, Map<ItemId, Entry>> bucket(LocalDate date, boolean create) {
+    if (date.isBefore(today)) {
+      return null;
+    }
+
+    if (date.isBefore(today.plusDays(horizonDays))) {
+      return slot(date);
+    }
+    return create ? overflow.computeIfAbsent(date, day -> new HashMap<>()) : overflow.get(date);
+  }
+
+  private Map<Integer, Map<ItemId, Entry>> slot(LocalDate date) {
+    return slots.get((int) Math.floorMod(date.toEpochDay(), (long) horizonDays));
+  }
+
+  private static void addSnapshots(Map<ItemId, Entry> bucketEntries,
+      List<ExpiringItem> result) {
+    if (bucketEntries != null) {
+      for (Entry entry : bucketEntries.values()) {
+        result.add(entry.snapshot());
+      }
+    }
+  }
+
+  private void send(List<ExpiringItem> alerts) {
+    for (ExpiringItem alert : alerts) {
+      try {
+        listener.onExpiringSoon(alert);
+      } catch (Exception e) {
+        LOGGER.warn("Failed to send expiry alert: {}", e.getMessage());
+      }
+    }
+  }
+
+  private static final class Entry {
+    private final int centerId;
+    private final ItemId itemId;
+    private final LocalDate expirationDate;
+    private int quantity;
+
+    private Entry(int centerId, ItemId itemId, LocalDate expirationDate, int quantity) {
+      this.centerId = centerId;
+      this.itemId = itemId;
+      this.expirationDate = expirationDate;
+      this.quantity = quantity;
+    }
+
+    private ExpiringItem snapshot() {
+      return new ExpiringItem(centerId, itemId, expirationDate, quantity);
+    }
+  }
+
+  /**
+   * An item of a storage center and when it expires.
+   */
+  public static final class ExpiringItem {
+    private final int centerId;
+    private final ItemId itemId;
+    private final LocalDate expirationDate;
+    private final int quantity;
+
+    /**
+     * Constructs a new ExpiringItem.
+     *
+     * @param centerId the ID of the storage center holding the item
+     * @param itemId the type and name of the item
+     * @param expirationDate the item's expiration date
+     * @param quantity the quantity held
+     */
+    public ExpiringItem(int centerId, ItemId itemId, LocalDate expirationDate, int quantity) {
+      this.centerId = centerId;
+      this.itemId = itemId;
+      this.expirationDate = expirationDate;
+      this.quantity = quantity;
+    }
+
+    public int getCenterId() {
+      return centerId;
+    }
+
+    @JsonIgnore
+    public ItemId getItemId() {
+      return itemId;
+    }
+
+    public String getType() {
+      return itemId.getType();
+    }
+
+    public String getName() {
+      return itemId.getName();
+    }
+
+    public LocalDate getExpirationDate() {
+      return expirationDate;
+    }
+
+    public int getQuantity() {
+      return quantity;
+    }
+
+    @Override
+    public String toString() {
+      return quantity + " " + itemId.getName() + " (" + itemId.getType() + ") in storage center "
+          + centerId + " expire on " + expirationDate;
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import java.time.Clock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class contains the ExpiryIndexConfig class, which creates the in-memory index of
+ * item expiration dates. Alerts are written to the log.
+ */
+@Configuration
+public class ExpiryIndexConfig {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ExpiryIndex.class);
+
+  @Value("${inventory.expiry-index.horizon-days:64}")
+  private int horizonDays;
+
+  @Value("${inventory.expiry-index.alert-days:3}")
+  private int alertDays;
+
+  /**
+   * Creates the expiry index.
+   *
+   * @return the expiry index
+   */
+  @Bean
+  public ExpiryIndex expiryIndex() {
+    return new ExpiryIndex(horizonDays, alertDays, Clock.systemDefaultZone(),
+        item -> LOGGER.info("Expiring soon: {}", item));
+  }
+}
@@ -0,0 +1,78 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import com.smartprogrammingbaddies.item.ItemExpiry;
+import com.smartprogrammingbaddies.item.ItemId;
+import com.smartprogrammingbaddies.item.ItemRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * The ExpiryIndexLoader class fills the expiry index at startup with every item that has
+ * not expired yet. Items are read in pages ordered by storage center, name and type,
+ * without loading them as entities. Inventory changes are held on their write lanes while
+ * the items are read and the index is replaced, so none is lost or counted twice.
+ */
+@Component
+public class ExpiryIndexLoader implements ApplicationRunner {
+  /**
+   * The number of items read per query.
+   */
+  static final int LOAD_PAGE_SIZE = 500;
+
+  @Autowired
+  private ExpiryIndex expiryIndex;
+
+  @Autowired
+  private ItemRepository itemRepository;
+
+  @Autowired
+  private CenterWriteLanes writeLanes;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    try {
+      writeLanes.callExclusive(() -> {
+        expiryIndex.rebuild(loadItems());
+        return null;
+      });
+      System.out.println("Indexed expiration dates of " + expiryIndex.size() + " items.");
+    } catch (Exception e) {
+      System.err.println("Failed to index item expiration dates.");
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Reads every item that has not expired yet.
+   *
+   * @return the items to index
+   */
+  public List<ExpiryIndex.ExpiringItem> loadItems() {
+    List<ExpiryIndex.ExpiringItem> items = new ArrayList<>();
+    LocalDate today = LocalDate.now();
+    Pageable page = PageRequest.ofSize(LOAD_PAGE_SIZE);
+    int afterCenter = 0;
+    String afterName = "";
+    ItemId.ItemType afterType = ItemId.ItemType.FOOD;
+    List<ItemExpiry> rows;
+    do {
+      rows = itemRepository.findExpiriesAfter(today, afterCenter, afterName, afterType, page);
+      for (ItemExpiry row : rows) {
+        items.add(new ExpiryIndex.ExpiringItem(row.getStorageCenterId(),
+            new ItemId(row.getType(), row.getName()), row.getExpirationDate(),
+            row.getQuantity()));
+        afterCenter = row.getStorageCenterId();
+        afterName = row.getName();
+        afterType = row.getType();
+      }
+    } while (rows.size() == LOAD_PAGE_SIZE);
+    return items;
+  }
+}
@@ -0,0 +1,248 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import com.google.gson.JsonObject;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * The ExpirySweeper removes expired items from every storage center in the background.
+ * Centers are swept in parallel on a bounded pool of threads, and each center is emptied
+ * of expired items in fixed-size batches, each run on the center's write lane so it does not
+ * race with check-ins and check-outs. A lease in the database makes sure only one
+ * application instance runs each sweep.
+ */
+public class ExpirySweeper {
+  /**
+   * The name of the lease held while a sweep runs.
+   */
+  static final String LEASE_NAME = "expiry-sweep";
+
+  private final InventoryService inventoryService;
+  private final StorageCenterRepository storageCenterRepository;
+  private final SweepLeaseRepository leaseRepository;
+  private final CenterWriteLanes writeLanes;
+  private final int threads;
+  private final int batchSize;
+  private final Duration leaseDuration;
+  private final String owner;
+  private volatile Report lastReport;
+
+  /**
+   * Constructs a new ExpirySweeper.
+   *
+   * @param inventoryService the service used to remove expired items
+   * @param storageCenterRepository the repository used to list storage centers
+   * @param leaseRepository the repository holding the sweep lease
+   * @param writeLanes the lanes each center's batches run on
+   * @param threads the number of centers swept at the same time
+   * @param batchSize the number of items removed per database transaction
+   * @param leaseDuration how long a sweep may hold the lease
+   * @param owner the name of this application instance
+   * @throws IllegalArgumentException if the threads, batch size, or lease duration are invalid
+   */
+  public ExpirySweeper(InventoryService inventoryService,
+      StorageCenterRepository storageCenterRepository, SweepLeaseRepository leaseRepository,
+      CenterWriteLanes writeLanes, int threads, int batchSize, Duration leaseDuration,
+      String owner) {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Threads must be greater than 0.");
+    }
+
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be greater than 0.");
+    }
+
+    if (leaseDuration == null || leaseDuration.isNegative() || leaseDuration.isZero()) {
+      throw new IllegalArgumentException("Lease duration must be greater than 0.");
+    }
+
+    this.inventoryService = inventoryService;
+    this.storageCenterRepository = storageCenterRepository;
+    this.leaseRepository = leaseRepository;
+    this.writeLanes = writeLanes;
+    this.threads = threads;
+    this.batchSize = batchSize;
+    this.leaseDuration = leaseDuration;
+    this.owner = owner;
+  }
+
+  /**
+   * Runs a sweep on the configured schedule.
+   */
+  @Scheduled(cron = "${inventory.sweeper.cron:0 0 3 * * *}")
+  public void scheduledSweep() {
+    try {
+      Report report = sweep();
+      if (report != null) {
+        System.out.println("Expiry sweep: " + report.toJson());
+      }
+    } catch (Exception e) {
+      System.err.println("Expiry sweep failed: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Removes every expired item from every storage center, unless another instance is
+   * already sweeping.
+   *
+   * @return the report of the sweep, or null if another instance holds the lease
+   * @throws InterruptedException if the sweep is interrupted while waiting for centers
+   */
+  public Report sweep() throws InterruptedException {
+    if (!acquireLease()) {
+      return null;
+    }
+
+    try {
+      Report report = sweepAll();
+      lastReport = report;
+      return report;
+    } finally {
+      leaseRepository.release(LEASE_NAME, owner, Instant.now());
+    }
+  }
+
+  /**
+   * Gets the report of the last sweep run by this instance.
+   *
+   * @return the last report, or null if this instance has not swept yet
+   */
+  public Report getLastReport() {
+    return lastReport;
+  }
+
+  private Report sweepAll() throws InterruptedException {
+    Instant started = Instant.now();
+    LocalDate today = LocalDate.now();
+    List<Integer> centerIds = storageCenterRepository.findAllIds();
+    AtomicInteger removed = new AtomicInteger();
+    AtomicInteger failed = new AtomicInteger();
+
+    ExecutorService executor = Executors.newFixedThreadPool(
+        Math.min(threads, Math.max(centerIds.size(), 1)), runnable -> {
+          Thread thread = new Thread(runnable, "expiry-sweeper");
+          thread.setDaemon(true);
+          return thread;
+        });
+    try {
+      List<Future<?>> futures = new ArrayList<>(centerIds.size());
+      for (int centerId : centerIds) {
+        futures.add(executor.submit(() -> removed.addAndGet(sweepCenter(centerId, today))));
+      }
+
+      for (Future<?> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          failed.incrementAndGet();
+          System.err.println("Failed to sweep storage center: " + e.getCause().getMessage());
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    return new Report(started, centerIds.size(), removed.get(), failed.get(),
+        Duration.between(started, Instant.now()));
+  }
+
+  private int sweepCenter(int centerId, LocalDate today) throws Exception {
+    int removed = 0;
+    int batch;
+    try {
+      do {
+        batch = writeLanes.call(centerId,
+            () -> inventoryService.removeExpiredBatch(centerId, today, batchSize));
+        removed += batch;
+      } while (batch == batchSize);
+    } catch (NoSuchElementException e) {
+      // The center was deleted while the sweep was running.
+    }
+    return removed;
+  }
+
+  private boolean acquireLease() {
+    Instant now = Instant.now();
+    Instant until = now.plus(leaseDuration);
+    if (leaseRepository.takeOver(LEASE_NAME, owner, now, until) > 0) {
+      return true;
+    }
+
+    if (leaseRepository.existsById(LEASE_NAME)) {
+      return false;
+    }
+
+    try {
+      leaseRepository.save(new SweepLease(LEASE_NAME, owner, until));
+      return true;
+    } catch (DataIntegrityViolationException e) {
+      return false;
+    }
+  }
+
+  /**
+   * The metrics of a single sweep.
+   */
+  public static final class Report {
+    private final Instant startedAt;
+    private final int centersScanned;
+    private final int itemsRemoved;
+    private final int centersFailed;
+    private final Duration duration;
+
+    Report(Instant startedAt, int centersScanned, int itemsRemoved, int centersFailed,
+        Duration duration) {
+      this.startedAt = startedAt;
+      this.centersScanned = centersScanned;
+      this.itemsRemoved = itemsRemoved;
+      this.centersFailed = centersFailed;
+      this.duration = duration;
+    }
+
+    public Instant getStartedAt() {
+      return startedAt;
+    }
+
+    public int getCentersScanned() {
+      return centersScanned;
+    }
+
+    public int getItemsRemoved() {
+      return itemsRemoved;
+    }
+
+    public int getCentersFailed() {
+      return centersFailed;
+    }
+
+    public Duration getDuration() {
+      return duration;
+    }
+
+    /**
+     * Converts the report into json format.
+     *
+     * @return a json object of the report
+     */
+    public JsonObject toJson() {
+      JsonObject json = new JsonObject();
+      json.addProperty("startedAt", startedAt.toString());
+      json.addProperty("centersScanned", centersScanned);
+      json.addProperty("itemsRemoved", itemsRemoved);
+      json.addProperty("centersFailed", centersFailed);
+      json.addProperty("durationMillis", duration.toMillis());
+      return json;
+    }
+  }
+}
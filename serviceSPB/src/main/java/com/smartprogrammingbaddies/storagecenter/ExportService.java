@@ -0,0 +1,89 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import com.smartprogrammingbaddies.item.ItemId;
+import com.smartprogrammingbaddies.item.ItemRepository;
+import com.smartprogrammingbaddies.item.ItemSummary;
+import com.smartprogrammingbaddies.logger.TransactionRepository;
+import com.smartprogrammingbaddies.logger.TransactionSummary;
+import com.smartprogrammingbaddies.utils.ExportWriter;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * The ExportService streams a storage center's inventory or transaction history. Rows are
+ * read a page at a time with a forward-only keyset cursor and written out before the next
+ * page is read, so memory use does not grow with the size of the export.
+ */
+@Service
+public class ExportService {
+  /**
+   * The number of rows read from the database per query.
+   */
+  static final int EXPORT_PAGE_SIZE = 500;
+
+  @Autowired
+  private ItemRepository itemRepository;
+
+  @Autowired
+  private TransactionRepository transactionRepository;
+
+  /**
+   * Creates a response body that writes every item of a storage center, ordered by name
+   * and type.
+   *
+   * @param storageCenterId the ID of the storage center
+   * @param format the format to write rows in
+   * @return the streaming response body
+   */
+  public StreamingResponseBody exportInventory(int storageCenterId, ExportWriter.Format format) {
+    return out -> {
+      ExportWriter writer = new ExportWriter(out, format,
+          "type", "name", "quantity", "expirationDate");
+      Pageable page = PageRequest.ofSize(EXPORT_PAGE_SIZE);
+      String afterName = "";
+      ItemId.ItemType afterType = ItemId.ItemType.FOOD;
+      List<ItemSummary> rows;
+      do {
+        rows = itemRepository.findSummariesByCenterAfter(storageCenterId, afterName, afterType,
+            page);
+        for (ItemSummary row : rows) {
+          writer.write(row.getType(), row.getName(), row.getQuantity(), row.getExpirationDate());
+          afterName = row.getName();
+          afterType = row.getType();
+        }
+        writer.flush();
+      } while (rows.size() == EXPORT_PAGE_SIZE);
+    };
+  }
+
+  /**
+   * Creates a response body that writes every transaction of a storage center, oldest first.
+   *
+   * @param storageCenterId the ID of the storage center
+   * @param format the format to write rows in
+   * @return the streaming response body
+   */
+  public StreamingResponseBody exportTransactions(int storageCenterId,
+      ExportWriter.Format format) {
+    return out -> {
+      ExportWriter writer = new ExportWriter(out, format,
+          "id", "date", "timestamp", "itemType", "itemName", "quantity", "action");
+      Pageable page = PageRequest.ofSize(EXPORT_PAGE_SIZE);
+      int afterId = 0;
+      List<TransactionSummary> rows;
+      do {
+        rows = transactionRepository.findSummariesByCenter(storageCenterId, afterId, page);
+        for (TransactionSummary row : rows) {
+          writer.write(row.getId(), row.getDate(), row.getTimestamp(), row.getItemType(),
+              row.getItemName(), row.getQuantity(), row.getAction());
+          afterId = row.getId();
+        }
+        writer.flush();
+      } while (rows.size() == EXPORT_PAGE_SIZE);
+    };
+  }
+}
@@ -0,0 +1,32 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Thrown when a check-out order asks for more of one or more items than the storage center
+ * holds. It records the quantity available for every short line, keyed by line number.
+ */
+public class InsufficientInventoryException extends IllegalArgumentException {
+  private final Map<Integer, Integer> available;
+
+  /**
+   * Constructs a new InsufficientInventoryException.
+   *
+   * @param available the quantity available for each short line, keyed by line number
+   */
+  public InsufficientInventoryException(Map<Integer, Integer> available) {
+    super("Not enough inventory for " + available.size() + " line(s) of the order.");
+    this.available = Collections.unmodifiableMap(new TreeMap<>(available));
+  }
+
+  /**
+   * Gets the quantity available for each short line.
+   *
+   * @return the available quantities, keyed by line number
+   */
+  public Map<Integer, Integer> getAvailable() {
+    return available;
+  }
+}
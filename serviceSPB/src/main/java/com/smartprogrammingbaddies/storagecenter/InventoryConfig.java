@@ -0,0 +1,72 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import com.smartprogrammingbaddies.logger.TransactionLog;
+import com.smartprogrammingbaddies.utils.RetryPolicy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class contains the InventoryConfig class, which creates the retry policy used for
+ * inventory and storage center updates that lose a race with another writer, the lanes
+ * that run each storage center's inventory changes one at a time, and the coalescer that
+ * merges bursts of check-ins of the same item.
+ */
+@Configuration
+public class InventoryConfig {
+  @Autowired
+  private InventoryService inventoryService;
+
+  @Autowired
+  private TransactionLog transactionLog;
+
+  @Value("${inventory.retry.max-attempts:4}")
+  private int maxAttempts;
+
+  @Value("${inventory.retry.base-delay-ms:10}")
+  private long baseDelayMillis;
+
+  @Value("${inventory.retry.max-delay-ms:200}")
+  private long maxDelayMillis;
+
+  @Value("${inventory.lanes.count:8}")
+  private int laneCount;
+
+  @Value("${inventory.lanes.queue-capacity:256}")
+  private int laneQueueCapacity;
+
+  @Value("${inventory.coalesce.window-ms:0}")
+  private long coalesceWindowMillis;
+
+  /**
+   * Creates the retry policy for inventory updates.
+   *
+   * @return the retry policy
+   */
+  @Bean
+  public RetryPolicy inventoryRetryPolicy() {
+    return new RetryPolicy(maxAttempts, baseDelayMillis, maxDelayMillis);
+  }
+
+  /**
+   * Creates the lanes that inventory changes run on.
+   *
+   * @return the storage center write lanes
+   */
+  @Bean(destroyMethod = "shutdown")
+  public CenterWriteLanes centerWriteLanes() {
+    return new CenterWriteLanes(laneCount, laneQueueCapacity);
+  }
+
+  /**
+   * Creates the coalescer for check-ins.
+   *
+   * @return the check-in coalescer
+   */
+  @Bean
+  public CheckInCoalescer checkInCoalescer() {
+    return new CheckInCoalescer(inventoryService, centerWriteLanes(), inventoryRetryPolicy(),
+        transactionLog, coalesceWindowMillis);
+  }
+}
@@ -0,0 +1,289 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.smartprogrammingbaddies.item.ItemId;
+import com.smartprogrammingbaddies.utils.DateParser;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The InventoryManifest class holds the lines of a donation manifest or distribution order,
+ * read from either a JSON array or CSV rows of type, name, quantity and expiration date.
+ * Lines that cannot be read keep their error so they can be reported individually, as do
+ * the lines of an item whose quantities add up to more than a quantity can hold.
+ */
+public class InventoryManifest {
+  /**
+   * The maximum number of lines in a single manifest.
+   */
+  public static final int MAX_LINES = 20000;
+
+  private final List<Line> lines;
+
+  private InventoryManifest(List<Line> lines) {
+    if (lines.isEmpty()) {
+      throw new IllegalArgumentException("Manifest must contain at least one line.");
+    }
+
+    if (lines.size() > MAX_LINES) {
+      throw new IllegalArgumentException("Manifest must not contain more than "
+          + MAX_LINES + " lines.");
+    }
+    this.lines = Collections.unmodifiableList(rejectOverflowingItems(lines));
+  }
+
+  /**
+   * Reads a manifest from a JSON array of objects with type, name, quantity and
+   * expirationDate properties.
+   *
+   * @param body the JSON array
+   * @return the manifest
+   * @throws IllegalArgumentException if the body is not a JSON array or has too many lines
+   */
+  public static InventoryManifest fromJson(String body) {
+    JsonElement root;
+    try {
+      root = JsonParser.parseString(body == null ? "" : body);
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Manifest must be a JSON array.");
+    }
+
+    if (!root.isJsonArray()) {
+      throw new IllegalArgumentException("Manifest must be a JSON array.");
+    }
+
+    JsonArray array = root.getAsJsonArray();
+    List<Line> lines = new ArrayList<>(array.size());
+    int number = 1;
+    for (JsonElement element : array) {
+      if (!element.isJsonObject()) {
+        lines.add(Line.invalid(number++, "Line must be a JSON object."));
+        continue;
+      }
+
+      JsonObject object = element.getAsJsonObject();
+      lines.add(Line.parse(number++, text(object, "type"), text(object, "name"),
+          text(object, "quantity"), text(object, "expirationDate")));
+    }
+    return new InventoryManifest(lines);
+  }
+
+  /**
+   * Reads a manifest from CSV rows of type, name, quantity and expiration date. A header row
+   * starting with {@code type} is skipped, and fields may be wrapped in double quotes.
+   *
+   * @param body the CSV rows
+   * @return the manifest
+   * @throws IllegalArgumentException if the body has no rows or too many rows
+   */
+  public static InventoryManifest fromCsv(String body) {
+    List<Line> lines = new ArrayList<>();
+    if (body == null) {
+      return new InventoryManifest(lines);
+    }
+
+    int number = 0;
+    for (String row : body.split("\r?\n")) {
+      if (row.isBlank()) {
+        continue;
+      }
+
+      List<String> fields = splitCsv(row);
+      if (number == 0 && "type".equalsIgnoreCase(fields.get(0).trim())) {
+        continue;
+      }
+
+      number++;
+      if (fields.size() < 3 || fields.size() > 4) {
+        lines.add(Line.invalid(number, "Line must have a type, name, quantity and "
+            + "an optional expiration date."));
+        continue;
+      }
+
+      lines.add(Line.parse(number, fields.get(0), fields.get(1), fields.get(2),
+          fields.size() == 4 ? fields.get(3) : null));
+    }
+    return new InventoryManifest(lines);
+  }
+
+  /**
+   * Gets the lines of the manifest in their original order.
+   *
+   * @return the manifest lines
+   */
+  public List<Line> getLines() {
+    return lines;
+  }
+
+  /**
+   * Checks if every line of the manifest could be read.
+   *
+   * @return true if all lines are valid, false otherwise
+   */
+  public boolean isValid() {
+    return lines.stream().allMatch(Line::isValid);
+  }
+
+  /**
+   * Marks every line of an item as invalid if the item's lines add up to more than a single
+   * quantity can hold, since they are merged into one.
+   */
+  private static List<Line> rejectOverflowingItems(List<Line> lines) {
+    Map<ItemId, Long> totals = new HashMap<>();
+    for (Line line : lines) {
+      if (line.isValid()) {
+        totals.merge(line.getItemId(), (long) line.getQuantity(), Long::sum);
+      }
+    }
+    if (totals.values().stream().noneMatch(total -> total > Integer.MAX_VALUE)) {
+      return lines;
+    }
+
+    List<Line> checked = new ArrayList<>(lines.size());
+    for (Line line : lines) {
+      if (line.isValid() && totals.get(line.getItemId()) > Integer.MAX_VALUE) {
+        checked.add(Line.invalid(line.getNumber(), "Total quantity of the item must not be "
+            + "more than " + Integer.MAX_VALUE + "."));
+      } else {
+        checked.add(line);
+      }
+    }
+    return checked;
+  }
+
+  private static String text(JsonObject object, String property) {
+    JsonElement value = object.get(property);
+    return value == null || value.isJsonNull() ? null : value.getAsString();
+  }
+
+  private static List<String> splitCsv(String row) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < row.length(); i++) {
+      char c = row.charAt(i);
+      if (c == '"') {
+        if (quoted && i + 1 < row.length() && row.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else {
+          quoted = !quoted;
+        }
+      } else if (c == ',' && !quoted) {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+
+  /**
+   * A single line of a manifest. A line is either valid, with an item, quantity and
+   * expiration date, or holds the error that made it invalid.
+   */
+  public static final class Line {
+    private final int number;
+    private final ItemId itemId;
+    private final int quantity;
+    private final String expirationDate;
+    private final String error;
+
+    private Line(int number, ItemId itemId, int quantity, String expirationDate, String error) {
+      this.number = number;
+      this.itemId = itemId;
+      this.quantity = quantity;
+      this.expirationDate = expirationDate;
+      this.error = error;
+    }
+
+    static Line invalid(int number, String error) {
+      return new Line(number, null, 0, null, error);
+    }
+
+    static Line parse(int number, String type, String name, String quantity,
+        String expirationDate) {
+      try {
+        ItemId itemId = new ItemId(type == null ? null : type.trim(),
+            name == null ? null : name.trim());
+        int parsedQuantity = Integer.parseInt(quantity == null ? "" : quantity.trim());
+        if (parsedQuantity <= 0) {
+          throw new IllegalArgumentException("Quantity must be greater than 0.");
+        }
+
+        String date = expirationDate == null || expirationDate.isBlank()
+            ? null : expirationDate.trim();
+        if (date != null) {
+          DateParser.stringToNumericDate(date);
+        }
+        return new Line(number, itemId, parsedQuantity, date, null);
+      } catch (NumberFormatException e) {
+        return invalid(number, "Quantity must be a whole number.");
+      } catch (RuntimeException e) {
+        return invalid(number, e.getMessage());
+      }
+    }
+
+    /**
+     * Gets the 1-based position of the line in the manifest.
+     *
+     * @return the line number
+     */
+    public int getNumber() {
+      return number;
+    }
+
+    /**
+     * Gets the item of the line.
+     *
+     * @return the item ID, or null if the line is invalid
+     */
+    public ItemId getItemId() {
+      return itemId;
+    }
+
+    /**
+     * Gets the quantity of the line.
+     *
+     * @return the quantity
+     */
+    public int getQuantity() {
+      return quantity;
+    }
+
+    /**
+     * Gets the expiration date of the line.
+     *
+     * @return the expiration date in yyyy-MM-dd format, or null if there is none
+     */
+    public String getExpirationDate() {
+      return expirationDate;
+    }
+
+    /**
+     * Gets the reason the line could not be read.
+     *
+     * @return the error, or null if the line is valid
+     */
+    public String getError() {
+      return error;
+    }
+
+    /**
+     * Checks if the line could be read.
+     *
+     * @return true if the line is valid, false otherwise
+     */
+    public boolean isValid() {
+      return error == null;
+    }
+  }
+}
@@ -0,0 +1,564 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import com.smartprogrammingbaddies.item.Item;
+import com.smartprogrammingbaddies.item.ItemId;
+import com.smartprogrammingbaddies.item.ItemKey;
+import com.smartprogrammingbaddies.item.ItemRepository;
+import com.smartprogrammingbaddies.logger.Transaction;
+import com.smartprogrammingbaddies.logger.TransactionLog;
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The InventoryService changes item quantities in a storage center. Each check-in or
+ * check-out is a single conditional UPDATE on the item row, and its {@code Transaction} is
+ * handed to the transaction log, which writes it in the same database transaction or in a
+ * batch after the change commits. Items are keyed by storage center, so each center's
+ * inventory is separate; the storage center is only loaded to create an item.
+ * Manifests and orders of many items are applied with one locking read per chunk of item
+ * names and batched writes. The expiry index, inventory totals, availability index and item
+ * name index are updated once each change commits.
+ */
+@Service
+public class InventoryService {
+  /**
+   * The outcome of a single inventory change.
+   */
+  public enum Result {
+    ADDED,
+    UPDATED,
+    CHECKED_OUT,
+    REMOVED,
+    NOT_FOUND
+  }
+
+  /**
+   * The outcome of a single inventory change and the item's version after it.
+   */
+  public static final class Change {
+    private final Result result;
+    private final Long version;
+
+    Change(Result result, Long version) {
+      this.result = result;
+      this.version = version;
+    }
+
+    public Result getResult() {
+      return result;
+    }
+
+    /**
+     * Gets the item's version after the change.
+     *
+     * @return the version, or null if the item is no longer in inventory
+     */
+    public Long getVersion() {
+      return version;
+    }
+  }
+
+  /**
+   * The number of item names looked up per query when applying a manifest.
+   */
+  static final int LOOKUP_CHUNK_SIZE = 500;
+
+  @Autowired
+  private StorageCenterRepository storageCenterRepository;
+
+  @Autowired
+  private ItemRepository itemRepository;
+
+  @Autowired
+  private TransactionLog transactionLog;
+
+  @Autowired
+  private ExpiryIndex expiryIndex;
+
+  @Autowired
+  private InventoryTotals inventoryTotals;
+
+  @Autowired
+  private AvailabilityIndex availabilityIndex;
+
+  @Autowired
+  private ItemNameIndex itemNameIndex;
+
+  /**
+   * Adds a quantity of an item to a storage center, creating the item if it is new.
+   *
+   * @param storageCenterId the ID of the storage center
+   * @param itemId the type and name of the item
+   * @param quantity the quantity to add
+   * @param expirationDate the expiration date used if the item is new, in yyyy-MM-dd format
+   * @param ifMatch the version the item must be at, or null to apply the change to any version
+   * @return {@code ADDED} if the item was created, {@code UPDATED} otherwise, with the
+   *     item's new version
+   * @throws NoSuchElementException if the storage center does not exist
+   * @throws IllegalArgumentException if the quantity is not positive
+   * @throws PreconditionFailedException if the item is not at the required version
+   * @throws ParseException if the expiration date is not in the correct format
+   */
+  @Transactional
+  public Change checkIn(int storageCenterId, ItemId itemId, int quantity,
+      String expirationDate, Long ifMatch) throws ParseException {
+    StorageCenter center = findCenter(storageCenterId);
+    ItemKey key = new ItemKey(storageCenterId, itemId);
+    if (quantity <= 0) {
+      throw new IllegalArgumentException("Quantity must be greater than 0.");
+    }
+
+    Result result = Result.UPDATED;
+    Long version;
+    if (ifMatch != null) {
+      if (itemRepository.addQuantityIfVersion(key, quantity, ifMatch) == 0) {
+        throw new PreconditionFailedException("Item is not at version " + ifMatch + ".");
+      }
+      version = ifMatch + 1;
+      afterCommit(() -> expiryIndex.adjust(storageCenterId, itemId, quantity));
+    } else if (itemRepository.addQuantity(key, quantity) == 0) {
+      // A concurrent check-in may insert the item first. This insert then fails with a
+      // duplicate key, and the retry policy runs the check-in again as an update.
+      Item item = new Item(itemId, quantity, center, expirationDate);
+      itemRepository.save(item);
+      result = Result.ADDED;
+      version = item.getVersion();
+      afterCommit(() -> expiryIndex.add(storageCenterId, itemId, item.getExpirationDate(),
+          quantity));
+    } else {
+      version = itemRepository.findVersion(key).orElse(null);
+      afterCommit(() -> expiryIndex.adjust(storageCenterId, itemId, quantity));
+    }
+    afterCommit(() -> updateTotals(storageCenterId, itemId, quantity));
+
+    transactionLog.record(new Transaction(center, itemId.getType(), itemId.getName(),
+        quantity, "Check In"));
+    return new Change(result, version);
+  }
+
+  /**
+   * Adds several check-ins of the same item with one UPDATE of its row. A "Check In"
+   * transaction is still written for every check-in, as one batch.
+   *
+   * @param storageCenterId the ID of the storage center
+   * @param itemId the type and name of the item
+   * @param quantities the quantity of each check-in, each greater than 0
+   * @param expirationDate the expiration date used if the item is new, in yyyy-MM-dd format
+   * @return {@code ADDED} if the item was created, {@code UPDATED} otherwise, with the
+   *     item's new version
+   * @throws NoSuchElementException if the storage center does not exist
+   * @throws IllegalArgumentException if there are no check-ins or a quantity is not positive
+   * @throws ParseException if the expiration date is not in the correct format
+   */
+  @Transactional
+  public Change checkInMerged(int storageCenterId, ItemId itemId, List<Integer> quantities,
+      String expirationDate) throws ParseException {
+    StorageCenter center = findCenter(storageCenterId);
+    ItemKey key = new ItemKey(storageCenterId, itemId);
+    if (quantities.isEmpty()) {
+      throw new IllegalArgumentException("At least one check-in is required.");
+    }
+
+    int total = 0;
+    List<Transaction> transactions = new ArrayList<>(quantities.size());
+    for (int quantity : quantities) {
+      if (quantity <= 0) {
+        throw new IllegalArgumentException("Quantity must be greater than 0.");
+      }
+      total = Math.addExact(total, quantity);
+      transactions.add(new Transaction(center, itemId.getType(), itemId.getName(), quantity,
+          "Check In"));
+    }
+
+    final int added = total;
+    Result result = Result.UPDATED;
+    Long version;
+    if (itemRepository.addQuantity(key, added) == 0) {
+      Item item = new Item(itemId, added, center, expirationDate);
+      itemRepository.save(item);
+      result = Result.ADDED;
+      version = item.getVersion();
+      afterCommit(() -> expiryIndex.add(storageCenterId, itemId, item.getExpirationDate(),
+          added));
+    } else {
+      version = itemRepository.findVersion(key).orElse(null);
+      afterCommit(() -> expiryIndex.adjust(storageCenterId, itemId, added));
+    }
+    afterCommit(() -> updateTotals(storageCenterId, itemId, added));
+
+    transactionLog.recordAll(transactions);
+    return new Change(result, version);
+  }
+
+  /**
+   * Removes a quantity of an item from a storage center, deleting the item once none is left.
+   *
+   * @param storageCenterId the ID of the storage center
+   * @param itemId the type and name of the item
+   * @param quantity the quantity to remove
+   * @param ifMatch the version the item must be at, or null to apply the change to any version
+   * @return {@code REMOVED} if the item was deleted, {@code CHECKED_OUT} if some is left,
+   *     or {@code NOT_FOUND} if the item is not in inventory, with the item's new version
+   *     if it is still in inventory
+   * @throws NoSuchElementException if the storage center does not exist
+   * @throws IllegalArgumentException if the quantity is not positive or more than is available
+   * @throws PreconditionFailedException if the item is not at the required version
+   */
+  @Transactional
+  public Change checkOut(int storageCenterId, ItemId itemId, int quantity, Long ifMatch) {
+    if (quantity <= 0) {
+      throw new IllegalArgumentException("Quantity must be greater than 0.");
+    }
+
+    StorageCenter center = findCenter(storageCenterId);
+    ItemKey key = new ItemKey(storageCenterId, itemId);
+    int updated = ifMatch == null
+        ? itemRepository.removeQuantity(key, quantity)
+        : itemRepository.removeQuantityIfVersion(key, quantity, ifMatch);
+    if (updated == 0) {
+      Optional<Long> current = itemRepository.findVersion(key);
+      if (current.isEmpty()) {
+        return new Change(Result.NOT_FOUND, null);
+      }
+      if (ifMatch != null && current.get().longValue() != ifMatch) {
+        throw new PreconditionFailedException("Item is not at version " + ifMatch + ".");
+      }
+      throw new IllegalArgumentException("Quantity must be less than or equal to the quantity.");
+    }
+
+    Result result = Result.CHECKED_OUT;
+    String action = "Check Out";
+    if (itemRepository.deleteIfEmpty(key) > 0) {
+      result = Result.REMOVED;
+      action = "Removed from inventory";
+    }
+
+    transactionLog.record(new Transaction(center, itemId.getType(), itemId.getName(),
+        quantity, action));
+    Long version = null;
+    if (result == Result.REMOVED) {
+      afterCommit(() -> expiryIndex.remove(storageCenterId, itemId));
+    } else {
+      version = ifMatch != null ? ifMatch + 1 : itemRepository.findVersion(key).orElse(null);
+      afterCommit(() -> expiryIndex.adjust(storageCenterId, itemId, -quantity));
+    }
+    afterCommit(() -> updateTotals(storageCenterId, itemId, -quantity));
+    return new Change(result, version);
+  }
+
+  /**
+   * Checks in every valid line of a manifest. Lines for the same item are merged, so each
+   * item is written once with a single "Check In" transaction for its total quantity.
+   *
+   * @param storageCenterId the ID of the storage center
+   * @param manifest the manifest to check in
+   * @return the outcome of each valid line, keyed by line number
+   * @throws NoSuchElementException if the storage center does not exist
+   * @throws IllegalArgumentException if an item's lines would make its quantity more than
+   *     it can hold
+   * @throws ParseException if an expiration date is not in the correct format
+   */
+  @Transactional
+  public Map<Integer, Result> bulkCheckIn(int storageCenterId, InventoryManifest manifest)
+      throws ParseException {
+    StorageCenter center = findCenter(storageCenterId);
+    Map<ItemId, List<InventoryManifest.Line>> merged = mergeLines(manifest);
+    Map<ItemId, Item> existing = lockItems(storageCenterId, merged.keySet());
+
+    Map<Integer, Result> results = new HashMap<>();
+    List<Item> items = new ArrayList<>(merged.size());
+    List<Transaction> transactions = new ArrayList<>(merged.size());
+    List<Runnable> indexUpdates = new ArrayList<>(merged.size());
+    for (Map.Entry<ItemId, List<InventoryManifest.Line>> entry : merged.entrySet()) {
+      ItemId itemId = entry.getKey();
+      List<InventoryManifest.Line> lines = entry.getValue();
+      int quantity = totalQuantity(lines);
+
+      Item item = existing.get(itemId);
+      Result result = Result.UPDATED;
+      if (item != null && item.getQuantity() > Integer.MAX_VALUE - quantity) {
+        throw new IllegalArgumentException("Line(s) " + lineNumbers(lines) + " would make "
+            + itemId.getName() + " more than " + Integer.MAX_VALUE + ".");
+      }
+      if (item == null) {
+        item = new Item(itemId, quantity, center, lines.get(0).getExpirationDate());
+        result = Result.ADDED;
+        LocalDate expiration = item.getExpirationDate();
+        indexUpdates.add(() -> expiryIndex.add(storageCenterId, itemId, expiration, quantity));
+      } else {
+        item.incrementQuantity(quantity);
+        indexUpdates.add(() -> expiryIndex.adjust(storageCenterId, itemId, quantity));
+      }
+      indexUpdates.add(() -> updateTotals(storageCenterId, itemId, quantity));
+
+      items.add(item);
+      transactions.add(new Transaction(center, itemId.getType(), itemId.getName(),
+          quantity, "Check In"));
+      for (InventoryManifest.Line line : lines) {
+        results.put(line.getNumber(), result);
+      }
+    }
+
+    itemRepository.saveAll(items);
+    transactionLog.recordAll(transactions);
+    afterCommit(() -> indexUpdates.forEach(Runnable::run));
+    return results;
+  }
+
+  /**
+   * Checks out every line of a distribution order as one unit. Availability of every item
+   * is checked with one locking read before anything is written, and if any line is short
+   * nothing is checked out.
+   *
+   * @param storageCenterId the ID of the storage center
+   * @param order the order to check out, which must only contain valid lines
+   * @return the outcome of each line, keyed by line number
+   * @throws NoSuchElementException if the storage center does not exist
+   * @throws IllegalArgumentException if the order contains invalid lines
+   * @throws InsufficientInventoryException if any item is missing or short
+   */
+  @Transactional
+  public Map<Integer, Result> bulkCheckOut(int storageCenterId, InventoryManifest order) {
+    StorageCenter center = findCenter(storageCenterId);
+    if (!order.isValid()) {
+      throw new IllegalArgumentException("Order must only contain valid lines.");
+    }
+
+    Map<ItemId, List<InventoryManifest.Line>> merged = mergeLines(order);
+    Map<ItemId, Item> existing = lockItems(storageCenterId, merged.keySet());
+    Map<Integer, Integer> shortages = new HashMap<>();
+    for (Map.Entry<ItemId, List<InventoryManifest.Line>> entry : merged.entrySet()) {
+      Item item = existing.get(entry.getKey());
+      int available = item == null ? 0 : item.getQuantity();
+      boolean isShort;
+      try {
+        isShort = totalQuantity(entry.getValue()) > available;
+      } catch (IllegalArgumentException e) {
+        // More than any item can hold is more than this one holds.
+        isShort = true;
+      }
+      if (isShort) {
+        for (InventoryManifest.Line line : entry.getValue()) {
+          shortages.put(line.getNumber(), available);
+        }
+      }
+    }
+
+    if (!shortages.isEmpty()) {
+      throw new InsufficientInventoryException(shortages);
+    }
+
+    Map<Integer, Result> results = new HashMap<>();
+    List<Item> emptied = new ArrayList<>();
+    List<Transaction> transactions = new ArrayList<>(merged.size());
+    List<Runnable> indexUpdates = new ArrayList<>(merged.size());
+    for (Map.Entry<ItemId, List<InventoryManifest.Line>> entry : merged.entrySet()) {
+      ItemId itemId = entry.getKey();
+      Item item = existing.get(itemId);
+      int quantity = totalQuantity(entry.getValue());
+      item.decrementQuantity(quantity);
+
+      Result result = Result.CHECKED_OUT;
+      String action = "Check Out";
+      if (item.getQuantity() == 0) {
+        emptied.add(item);
+        result = Result.REMOVED;
+        action = "Removed from inventory";
+        indexUpdates.add(() -> expiryIndex.remove(storageCenterId, itemId));
+      } else {
+        indexUpdates.add(() -> expiryIndex.adjust(storageCenterId, itemId, -quantity));
+      }
+      indexUpdates.add(() -> updateTotals(storageCenterId, itemId, -quantity));
+
+      transactions.add(new Transaction(center, itemId.getType(), itemId.getName(),
+          quantity, action));
+      for (InventoryManifest.Line line : entry.getValue()) {
+        results.put(line.getNumber(), result);
+      }
+    }
+
+    itemRepository.deleteAll(emptied);
+    transactionLog.recordAll(transactions);
+    afterCommit(() -> indexUpdates.forEach(Runnable::run));
+    return results;
+  }
+
+  /**
+   * Removes every expired item from a storage center. The expired rows are locked with one
+   * indexed range read, a "Remove Expired Item" transaction is written for each of them in
+   * batches, and the rows are then removed with a single DELETE.
+   *
+   * @param storageCenterId the ID of the storage center
+   * @return the items that were removed
+   * @throws NoSuchElementException if the storage center does not exist
+   */
+  @Transactional
+  public List<Item> removeExpired(int storageCenterId) {
+    StorageCenter center = findCenter(storageCenterId);
+    LocalDate today = LocalDate.now();
+    List<Item> expired = itemRepository.findExpiredByCenterForUpdate(storageCenterId, today);
+    if (expired.isEmpty()) {
+      return expired;
+    }
+
+    List<Transaction> transactions = new ArrayList<>(expired.size());
+    for (Item item : expired) {
+      transactions.add(new Transaction(center, item, item.getQuantity(), "Remove Expired Item"));
+    }
+
+    transactionLog.recordAll(transactions);
+    itemRepository.deleteExpiredByCenter(storageCenterId, today);
+    afterCommit(() -> expired.forEach(item -> {
+      expiryIndex.remove(storageCenterId, item.getItemId());
+      updateTotals(storageCenterId, item.getItemId(), -item.getQuantity());
+    }));
+    return expired;
+  }
+
+  /**
+   * Removes up to a batch of expired items from a storage center, writing a
+   * "Remove Expired Item" transaction for each of them. Each batch is its own database
+   * transaction, so a long purge never holds locks on the whole center.
+   *
+   * @param storageCenterId the ID of the storage center
+   * @param today the date items must expire before to be removed
+   * @param batchSize the largest number of items to remove
+   * @return the number of items removed
+   * @throws NoSuchElementException if the storage center does not exist
+   * @throws IllegalArgumentException if the batch size is not positive
+   */
+  @Transactional
+  public int removeExpiredBatch(int storageCenterId, LocalDate today, int batchSize) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be greater than 0.");
+    }
+
+    StorageCenter center = findCenter(storageCenterId);
+    List<Item> expired = itemRepository.findExpiredBatchForUpdate(storageCenterId, today,
+        PageRequest.ofSize(batchSize));
+    if (expired.isEmpty()) {
+      return 0;
+    }
+
+    List<Transaction> transactions = new ArrayList<>(expired.size());
+    for (Item item : expired) {
+      transactions.add(new Transaction(center, item, item.getQuantity(), "Remove Expired Item"));
+    }
+
+    transactionLog.recordAll(transactions);
+    itemRepository.deleteAll(expired);
+    afterCommit(() -> expired.forEach(item -> {
+      expiryIndex.remove(storageCenterId, item.getItemId());
+      updateTotals(storageCenterId, item.getItemId(), -item.getQuantity());
+    }));
+    return expired.size();
+  }
+
+  /**
+   * Groups the valid lines of a manifest by item, keeping the order items first appear in.
+   */
+  private Map<ItemId, List<InventoryManifest.Line>> mergeLines(InventoryManifest manifest) {
+    Map<ItemId, List<InventoryManifest.Line>> merged = new LinkedHashMap<>();
+    for (InventoryManifest.Line line : manifest.getLines()) {
+      if (line.isValid()) {
+        merged.computeIfAbsent(line.getItemId(), id -> new ArrayList<>()).add(line);
+      }
+    }
+    return merged;
+  }
+
+  /**
+   * Reads and locks the given items of a storage center with one query per chunk of item
+   * names.
+   */
+  private Map<ItemId, Item> lockItems(int storageCenterId, Collection<ItemId> itemIds) {
+    Map<ItemId, Item> items = new HashMap<>();
+    List<String> names = itemIds.stream().map(ItemId::getName).distinct().toList();
+    for (int i = 0; i < names.size(); i += LOOKUP_CHUNK_SIZE) {
+      List<String> chunk = names.subList(i, Math.min(i + LOOKUP_CHUNK_SIZE, names.size()));
+      for (Item item : itemRepository.findAllByCenterAndNameForUpdate(storageCenterId, chunk)) {
+        items.put(item.getItemId(), item);
+      }
+    }
+    return items;
+  }
+
+  /**
+   * Records a change in the quantity a storage center holds of an item in the in-memory
+   * totals and availability index, and the item's name if it was checked in.
+   */
+  private void updateTotals(int storageCenterId, ItemId itemId, long delta) {
+    inventoryTotals.add(storageCenterId, itemId, delta);
+    availabilityIndex.add(storageCenterId, itemId, delta);
+    if (delta > 0) {
+      itemNameIndex.add(storageCenterId, itemId.getName());
+    }
+  }
+
+  /**
+   * Adds up the quantities of an item's lines.
+   *
+   * @throws IllegalArgumentException if the total is more than a quantity can hold, naming
+   *     the lines
+   */
+  private static int totalQuantity(List<InventoryManifest.Line> lines) {
+    int total = 0;
+    try {
+      for (InventoryManifest.Line line : lines) {
+        total = Math.addExact(total, line.getQuantity());
+      }
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("Line(s) " + lineNumbers(lines)
+          + " add up to more than " + Integer.MAX_VALUE + ".");
+    }
+    return total;
+  }
+
+  private static String lineNumbers(List<InventoryManifest.Line> lines) {
+    return lines.stream().map(line -> String.valueOf(line.getNumber()))
+        .collect(Collectors.joining(", "));
+  }
+
+  /**
+   * Runs an update of the in-memory inventory views once the current database transaction
+   * commits, so they never show changes that were rolled back.
+   */
+  private static void afterCommit(Runnable update) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      update.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        update.run();
+      }
+    });
+  }
+
+  /**
+   * Gets a reference to a storage center without loading it.
+   */
+  private StorageCenter findCenter(int storageCenterId) {
+    if (!storageCenterRepository.existsById(storageCenterId)) {
+      throw new NoSuchElementException("Storage Center not found.");
+    }
+    return storageCenterRepository.getReferenceById(storageCenterId);
+  }
+}
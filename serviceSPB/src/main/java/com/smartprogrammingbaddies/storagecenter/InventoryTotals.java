@@ -0,0 +1,172 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import com.google.gson.JsonObject;
+import com.smartprogrammingbaddies.item.ItemId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.stereotype.Component;
+
+/**
+ * The InventoryTotals class keeps the number of units each storage center holds of every
+ * item type. Each center has one {@link AtomicLongArray} with a counter per
+ * {@link ItemId.ItemType} and a version counter, so updates are lock-free and reads never
+ * touch the database. Totals are updated by the same code that changes item quantities and
+ * are periodically reconciled against the database to repair any drift.
+ */
+@Component
+public class InventoryTotals {
+  private static final ItemId.ItemType[] TYPES = ItemId.ItemType.values();
+  private static final int VERSION = TYPES.length;
+
+  private final Map<Integer, AtomicLongArray> centers = new ConcurrentHashMap<>();
+  private final LongAdder corrections = new LongAdder();
+
+  /**
+   * Changes the number of units a storage center holds of an item type.
+   *
+   * @param centerId the ID of the storage center
+   * @param type the type of the item
+   * @param delta the change in units
+   */
+  public void add(int centerId, ItemId.ItemType type, long delta) {
+    AtomicLongArray counters = counters(centerId);
+    counters.addAndGet(type.ordinal(), delta);
+    counters.incrementAndGet(VERSION);
+  }
+
+  /**
+   * Changes the number of units a storage center holds of an item's type.
+   *
+   * @param centerId the ID of the storage center
+   * @param itemId the type and name of the item
+   * @param delta the change in units
+   */
+  public void add(int centerId, ItemId itemId, long delta) {
+    add(centerId, ItemId.ItemType.valueOf(itemId.getType()), delta);
+  }
+
+  /**
+   * Gets the number of units a storage center holds of an item type.
+   *
+   * @param centerId the ID of the storage center
+   * @param type the type of the item
+   * @return the number of units held
+   */
+  public long get(int centerId, ItemId.ItemType type) {
+    AtomicLongArray counters = centers.get(centerId);
+    return counters == null ? 0 : counters.get(type.ordinal());
+  }
+
+  /**
+   * Converts a storage center's totals into json format.
+   *
+   * @param centerId the ID of the storage center
+   * @return a json object with the units held of every item type
+   */
+  public JsonObject toJson(int centerId) {
+    JsonObject json = new JsonObject();
+    long total = 0;
+    for (ItemId.ItemType type : TYPES) {
+      long units = get(centerId, type);
+      json.addProperty(type.name(), units);
+      total += units;
+    }
+    json.addProperty("total", total);
+    return json;
+  }
+
+  /**
+   * Forgets a storage center's totals.
+   *
+   * @param centerId the ID of the storage center
+   */
+  public void remove(int centerId) {
+    centers.remove(centerId);
+  }
+
+  /**
+   * Takes a snapshot of every center's counters, to be passed to
+   * {@link #reconcile(Map, Map)} once the totals have been read from the database.
+   *
+   * @return a copy of every center's counters, keyed by center ID
+   */
+  public Map<Integer, long[]> snapshot() {
+    Map<Integer, long[]> snapshot = new HashMap<>();
+    centers.forEach((centerId, counters) -> {
+      long[] copy = new long[counters.length()];
+      copy[VERSION] = counters.get(VERSION);
+      for (int i = 0; i < VERSION; i++) {
+        copy[i] = counters.get(i);
+      }
+      snapshot.put(centerId, copy);
+    });
+    return snapshot;
+  }
+
+  /**
+   * Repairs totals that differ from the database. Centers that were updated since the
+   * snapshot was taken are left alone, since the database read may not include those
+   * updates. They are checked again on the next run.
+   *
+   * @param before the snapshot taken before the database was read
+   * @param actual the totals read from the database, keyed by center ID, with a counter
+   *     per item type
+   * @return the number of centers whose totals were repaired
+   */
+  public int reconcile(Map<Integer, long[]> before, Map<Integer, long[]> actual) {
+    int repaired = 0;
+    for (Map.Entry<Integer, long[]> entry : actual.entrySet()) {
+      if (!before.containsKey(entry.getKey()) && centers.containsKey(entry.getKey())) {
+        continue;
+      }
+
+      if (repair(entry.getKey(), before.get(entry.getKey()), entry.getValue())) {
+        repaired++;
+      }
+    }
+
+    for (Map.Entry<Integer, long[]> entry : before.entrySet()) {
+      if (!actual.containsKey(entry.getKey())
+          && repair(entry.getKey(), entry.getValue(), new long[VERSION])) {
+        repaired++;
+      }
+    }
+
+    corrections.add(repaired);
+    return repaired;
+  }
+
+  /**
+   * Gets the number of times a center's totals were repaired by reconciliation.
+   *
+   * @return the number of repairs
+   */
+  public long getCorrectionCount() {
+    return corrections.sum();
+  }
+
+  private boolean repair(int centerId, long[] before, long[] actual) {
+    AtomicLongArray counters = counters(centerId);
+    long version = before == null ? 0 : before[VERSION];
+    if (counters.get(VERSION) != version) {
+      return false;
+    }
+
+    boolean drifted = false;
+    for (int i = 0; i < VERSION; i++) {
+      long seen = before == null ? 0 : before[i];
+      if (seen != actual[i]) {
+        counters.addAndGet(i, actual[i] - seen);
+        drifted = true;
+      }
+    }
+    return drifted;
+  }
+
+  private AtomicLongArray counters(int centerId) {
+    return centers.computeIfAbsent(centerId, id -> new AtomicLongArray(VERSION + 1));
+  }
+}
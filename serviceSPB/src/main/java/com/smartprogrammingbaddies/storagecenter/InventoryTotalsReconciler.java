@@ -0,0 +1,61 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import com.smartprogrammingbaddies.item.ItemId;
+import com.smartprogrammingbaddies.item.ItemRepository;
+import com.smartprogrammingbaddies.item.ItemTypeTotal;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * The InventoryTotalsReconciler class loads the per-center inventory totals at startup and
+ * then periodically compares them with the database, repairing any that have drifted. The
+ * database is read with a single grouped query. Inventory changes are held on their write
+ * lanes while the totals are read and repaired, so a change that commits in between is not
+ * lost from the totals or counted twice.
+ */
+@Component
+public class InventoryTotalsReconciler implements ApplicationRunner {
+  @Autowired
+  private InventoryTotals inventoryTotals;
+
+  @Autowired
+  private ItemRepository itemRepository;
+
+  @Autowired
+  private CenterWriteLanes writeLanes;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    reconcile();
+  }
+
+  /**
+   * Compares the totals with the database on the configured schedule.
+   */
+  @Scheduled(fixedDelayString = "${inventory.totals.reconcile-ms:600000}",
+      initialDelayString = "${inventory.totals.reconcile-ms:600000}")
+  public void reconcile() {
+    try {
+      int repaired = writeLanes.callExclusive(() -> {
+        Map<Integer, long[]> before = inventoryTotals.snapshot();
+        Map<Integer, long[]> actual = new HashMap<>();
+        int types = ItemId.ItemType.values().length;
+        for (ItemTypeTotal total : itemRepository.sumQuantitiesByCenterAndType()) {
+          actual.computeIfAbsent(total.getStorageCenterId(), id -> new long[types])
+              [total.getType().ordinal()] = total.getQuantity();
+        }
+        return inventoryTotals.reconcile(before, actual);
+      });
+      if (repaired > 0) {
+        System.out.println("Repaired inventory totals of " + repaired + " storage centers.");
+      }
+    } catch (Exception e) {
+      System.err.println("Failed to reconcile inventory totals: " + e.getMessage());
+    }
+  }
+}
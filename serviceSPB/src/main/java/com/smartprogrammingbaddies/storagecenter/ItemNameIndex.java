@@ -0,0 +1,115 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * The ItemNameIndex class suggests item names as they are typed, so the same product is
+ * checked in under one spelling instead of "Apple", "apples" and "APPLE". Names are matched
+ * by prefix after normalizing, and each normalized name is suggested with the spelling it
+ * was first stored under. One table holds every name, and each storage center has a table
+ * of its own names that shares the same strings. Names are added as items are checked in
+ * and the tables are filled from the database at startup. Names stay suggested after their
+ * items run out, since they are still the spelling to reuse.
+ */
+@Component
+public class ItemNameIndex {
+  /**
+   * The largest number of names returned by one search.
+   */
+  public static final int MAX_RESULTS = 50;
+
+  private volatile PrefixTable allNames = new PrefixTable();
+  private volatile Map<Integer, PrefixTable> centerNames = new ConcurrentHashMap<>();
+
+  /**
+   * Adds the name of an item held by a storage center.
+   *
+   * @param centerId the ID of the storage center
+   * @param name the name of the item
+   */
+  public void add(int centerId, String name) {
+    String key = AvailabilityIndex.normalize(name);
+    Map.Entry<String, String> stored = allNames.add(key, name.equals(key) ? key : name);
+    centerNames.computeIfAbsent(centerId, id -> new PrefixTable())
+        .add(stored.getKey(), stored.getValue());
+  }
+
+  /**
+   * Suggests the names starting with a prefix, in alphabetical order.
+   *
+   * @param centerId the ID of the storage center to search, or null to search every name
+   * @param prefix the start of the name, matched after normalizing
+   * @param limit the largest number of names to return
+   * @return the suggested names
+   * @throws IllegalArgumentException if the prefix is blank or the limit is not positive
+   */
+  public List<String> suggest(Integer centerId, String prefix, int limit) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0.");
+    }
+
+    String normalized = AvailabilityIndex.normalize(prefix);
+    PrefixTable table = centerId == null ? allNames : centerNames.get(centerId);
+    if (table == null) {
+      return List.of();
+    }
+    return table.findByPrefix(normalized, Math.min(limit, MAX_RESULTS));
+  }
+
+  /**
+   * Forgets the names held by a storage center. The names are still suggested when
+   * searching every name.
+   *
+   * @param centerId the ID of the storage center
+   */
+  public void remove(int centerId) {
+    centerNames.remove(centerId);
+  }
+
+  /**
+   * Replaces the contents of the index.
+   *
+   * @param stock the items held by each storage center
+   */
+  public void rebuild(Iterable<AvailabilityIndex.Stock> stock) {
+    TreeMap<String, String> all = new TreeMap<>();
+    Map<Integer, List<String>> byCenter = new HashMap<>();
+    for (AvailabilityIndex.Stock row : stock) {
+      String key = AvailabilityIndex.normalize(row.getName());
+      String existing = all.putIfAbsent(key, row.getName().equals(key) ? key : row.getName());
+      byCenter.computeIfAbsent(row.getCenterId(), id -> new ArrayList<>())
+          .add(existing == null ? key : all.ceilingKey(key));
+    }
+
+    String[] keys = all.keySet().toArray(new String[0]);
+    String[] names = all.values().toArray(new String[0]);
+    Map<Integer, PrefixTable> rebuilt = new ConcurrentHashMap<>();
+    for (Map.Entry<Integer, List<String>> center : byCenter.entrySet()) {
+      String[] centerKeys = center.getValue().stream().distinct().sorted()
+          .toArray(String[]::new);
+      String[] centerValues = new String[centerKeys.length];
+      for (int i = 0; i < centerKeys.length; i++) {
+        centerValues[i] = all.get(centerKeys[i]);
+      }
+      rebuilt.put(center.getKey(), new PrefixTable(centerKeys, centerValues));
+    }
+
+    allNames = new PrefixTable(keys, names);
+    centerNames = rebuilt;
+  }
+
+  /**
+   * Gets the number of distinct names in the index.
+   *
+   * @return the number of names
+   */
+  public int size() {
+    return allNames.size();
+  }
+}
@@ -0,0 +1,16 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+/**
+ * Thrown when a conditional update names a version of an item or storage center that is no
+ * longer current.
+ */
+public class PreconditionFailedException extends RuntimeException {
+  /**
+   * Constructs a new PreconditionFailedException.
+   *
+   * @param message the detail message
+   */
+  public PreconditionFailedException(String message) {
+    super(message);
+  }
+}
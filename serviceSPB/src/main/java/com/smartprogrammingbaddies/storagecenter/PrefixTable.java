@@ -0,0 +1,188 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The PrefixTable class is a sorted table of names that can be searched by prefix. Each
+ * name is stored under its normalized key. Most names sit in two parallel sorted arrays,
+ * which take a few bytes per name beyond the strings themselves. Names added since the
+ * arrays were built go into a small sorted map and are merged into new arrays once the map
+ * grows past a fraction of the arrays. Searches never lock and read at most the names they
+ * return from each part.
+ */
+final class PrefixTable {
+  /**
+   * The smallest number of recently added names merged into the arrays at once.
+   */
+  static final int MIN_MERGE_SIZE = 256;
+
+  private volatile Sorted sorted;
+  private final ConcurrentSkipListMap<String, String> recent = new ConcurrentSkipListMap<>();
+  private int recentCount;
+
+  /**
+   * Constructs an empty PrefixTable.
+   */
+  PrefixTable() {
+    this(new String[0], new String[0]);
+  }
+
+  /**
+   * Constructs a PrefixTable from names already sorted by key.
+   *
+   * @param keys the normalized keys, sorted and without duplicates
+   * @param names the name stored under each key
+   */
+  PrefixTable(String[] keys, String[] names) {
+    this.sorted = new Sorted(keys, names);
+  }
+
+  /**
+   * Finds the key and name stored for a key.
+   *
+   * @param key the normalized key
+   * @return the stored key and name, or null if the key is not in the table
+   */
+  Map.Entry<String, String> find(String key) {
+    Map.Entry<String, String> entry = recent.ceilingEntry(key);
+    if (entry != null && entry.getKey().equals(key)) {
+      return entry;
+    }
+
+    Sorted current = sorted;
+    int index = Arrays.binarySearch(current.keys, key);
+    return index >= 0 ? Map.entry(current.keys[index], current.names[index]) : null;
+  }
+
+  /**
+   * Adds a name under its key unless the key is already in the table.
+   *
+   * @param key the normalized key
+   * @param name the name to store
+   * @return the key and name stored in the table, which are the existing ones if the key
+   *     was already there
+   */
+  Map.Entry<String, String> add(String key, String name) {
+    Map.Entry<String, String> existing = find(key);
+    if (existing != null) {
+      return existing;
+    }
+
+    synchronized (this) {
+      existing = find(key);
+      if (existing != null) {
+        return existing;
+      }
+
+      recent.put(key, name);
+      recentCount++;
+      if (recentCount >= Math.max(MIN_MERGE_SIZE, sorted.keys.length / 8)) {
+        merge();
+      }
+      return Map.entry(key, name);
+    }
+  }
+
+  /**
+   * Finds the names whose keys start with a prefix, in key order.
+   *
+   * @param prefix the normalized prefix
+   * @param limit the largest number of names to return
+   * @return the matching names
+   */
+  List<String> findByPrefix(String prefix, int limit) {
+    // Recent names are read before the arrays: a name merged away from the map is always
+    // in the arrays read afterwards.
+    List<Map.Entry<String, String>> fromRecent = new ArrayList<>();
+    for (Map.Entry<String, String> entry : recent.tailMap(prefix).entrySet()) {
+      if (fromRecent.size() == limit || !entry.getKey().startsWith(prefix)) {
+        break;
+      }
+      fromRecent.add(entry);
+    }
+
+    Sorted current = sorted;
+    String[] currentKeys = current.keys;
+    int index = Arrays.binarySearch(currentKeys, prefix);
+    index = index >= 0 ? index : -index - 1;
+
+    List<String> result = new ArrayList<>();
+    int next = 0;
+    while (result.size() < limit) {
+      boolean fromArrays = index < currentKeys.length && currentKeys[index].startsWith(prefix);
+      if (!fromArrays && next == fromRecent.size()) {
+        break;
+      }
+
+      int order = !fromArrays ? 1 : next == fromRecent.size() ? -1
+          : currentKeys[index].compareTo(fromRecent.get(next).getKey());
+      if (order <= 0) {
+        result.add(current.names[index]);
+        index++;
+        next += order == 0 ? 1 : 0;
+      } else {
+        result.add(fromRecent.get(next).getValue());
+        next++;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Gets the number of names in the table.
+   *
+   * @return the number of names
+   */
+  synchronized int size() {
+    return sorted.keys.length + recentCount;
+  }
+
+  /**
+   * Merges the recently added names into new sorted arrays.
+   */
+  private void merge() {
+    String[] oldKeys = sorted.keys;
+    String[] oldNames = sorted.names;
+    List<Map.Entry<String, String>> added = new ArrayList<>(recent.entrySet());
+    String[] newKeys = new String[oldKeys.length + added.size()];
+    String[] newNames = new String[newKeys.length];
+
+    int index = 0;
+    int next = 0;
+    for (int i = 0; i < newKeys.length; i++) {
+      if (next == added.size()
+          || index < oldKeys.length && oldKeys[index].compareTo(added.get(next).getKey()) < 0) {
+        newKeys[i] = oldKeys[index];
+        newNames[i] = oldNames[index];
+        index++;
+      } else {
+        newKeys[i] = added.get(next).getKey();
+        newNames[i] = added.get(next).getValue();
+        next++;
+      }
+    }
+
+    sorted = new Sorted(newKeys, newNames);
+    for (Map.Entry<String, String> entry : added) {
+      recent.remove(entry.getKey());
+    }
+    recentCount = 0;
+  }
+
+  /**
+   * The sorted arrays, replaced together so searches always see matching keys and names.
+   */
+  private static final class Sorted {
+    private final String[] keys;
+    private final String[] names;
+
+    private Sorted(String[] keys, String[] names) {
+      this.keys = keys;
+      this.names = names;
+    }
+  }
+}
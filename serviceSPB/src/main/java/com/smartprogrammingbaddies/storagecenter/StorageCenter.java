@@ -17,6 +17,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.MapKeyColumn;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.Version;
 import java.time.DayOfWeek;
 import java.util.EnumMap;
 import java.util.HashSet;
@@ -49,6 +50,8 @@ public class StorageCenter {
   private Set<Item> items;
   @OneToMany(mappedBy = "storageCenter", cascade = CascadeType.ALL, orphanRemoval = true)
   private Set<Transaction> transactions;
+  @Version
+  private long version;
 
   /**
    * Constructs a new StorageCenter where donated items can be tracked.
@@ -97,6 +100,15 @@ public class StorageCenter {
     this.id = id;
   }
 
+  /**
+   * Gets the version of the storage center, which changes every time it is updated.
+   *
+   * @return the version of the storage center
+   */
+  public long getVersion() {
+    return version;
+  }
+
   /**
    * Lists all items in the storage.
    *
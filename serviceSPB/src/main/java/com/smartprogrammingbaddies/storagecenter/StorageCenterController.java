@@ -1,28 +1,59 @@
 package com.smartprogrammingbaddies.storagecenter;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import com.smartprogrammingbaddies.auth.AdminKeys;
+import com.smartprogrammingbaddies.auth.AuthPrincipal;
 import com.smartprogrammingbaddies.item.Item;
 import com.smartprogrammingbaddies.item.ItemId;
 import com.smartprogrammingbaddies.item.ItemRepository;
+import com.smartprogrammingbaddies.logger.RollupTotal;
 import com.smartprogrammingbaddies.logger.Transaction;
+import com.smartprogrammingbaddies.logger.TransactionArchive;
+import com.smartprogrammingbaddies.logger.TransactionHistory;
+import com.smartprogrammingbaddies.logger.TransactionLog;
 import com.smartprogrammingbaddies.logger.TransactionRepository;
+import com.smartprogrammingbaddies.logger.TransactionRollup;
+import com.smartprogrammingbaddies.logger.TransactionRollupBackfill;
+import com.smartprogrammingbaddies.logger.TransactionRollupRepository;
+import com.smartprogrammingbaddies.utils.CursorPage;
+import com.smartprogrammingbaddies.utils.EntityTag;
+import com.smartprogrammingbaddies.utils.ExportWriter;
+import com.smartprogrammingbaddies.utils.RetryPolicy;
 import com.smartprogrammingbaddies.utils.TimeSlot;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * The StorageCenterController API Class used to manage
@@ -36,6 +67,38 @@ public class StorageCenterController {
   ItemRepository itemRepository;
   @Autowired
   TransactionRepository transactionRepository;
+  @Autowired
+  TransactionHistory transactionHistory;
+  @Autowired
+  TransactionArchive transactionArchive;
+  @Autowired
+  TransactionLog transactionLog;
+  @Autowired
+  TransactionRollupRepository transactionRollupRepository;
+  @Autowired
+  TransactionRollupBackfill transactionRollupBackfill;
+  @Autowired
+  InventoryService inventoryService;
+  @Autowired
+  ExportService exportService;
+  @Autowired
+  ExpirySweeper expirySweeper;
+  @Autowired
+  ExpiryIndex expiryIndex;
+  @Autowired
+  InventoryTotals inventoryTotals;
+  @Autowired
+  AvailabilityIndex availabilityIndex;
+  @Autowired
+  ItemNameIndex itemNameIndex;
+  @Autowired
+  RetryPolicy retryPolicy;
+  @Autowired
+  CenterWriteLanes writeLanes;
+  @Autowired
+  CheckInCoalescer checkInCoalescer;
+  @Autowired
+  AdminKeys adminKeys;
 
   /**
    * Enrolls a storage center into the database.
@@ -67,7 +130,8 @@ public class StorageCenterController {
    *
    * @param storageCenterId A {@code String} representing the storage center's ID.
    *
-   * @return A {@code ResponseEntity} The info of Storage Center and a HTTP 200 response or,
+   * @return A {@code ResponseEntity} The info of Storage Center with its version as the ETag
+   *     and a HTTP 200 response or,
    *     HTTP 500 reponse if an error occurred or,
    *     HTTP 404 response if the storage center ID was not found.
    */
@@ -76,7 +140,9 @@ public class StorageCenterController {
         @RequestParam("storageCenterId") int storageCenterId) {
     try {
       StorageCenter center = storageCenterRepository.findById(storageCenterId).orElseThrow();
-      return ResponseEntity.ok(center.toJson().toString());
+      return ResponseEntity.ok()
+          .eTag(EntityTag.of(center.getVersion()))
+          .body(center.toJson().toString());
 
     } catch (NoSuchElementException e) {
       return handleNotFoundException("Storage Center", storageCenterId);
@@ -100,7 +166,16 @@ public class StorageCenterController {
           @RequestParam("storageCenterId") int storageCenterId) {
     try {
       storageCenterRepository.findById(storageCenterId).orElseThrow();
-      storageCenterRepository.deleteById(storageCenterId);
+      writeLanes.call(storageCenterId, () -> {
+        storageCenterRepository.deleteById(storageCenterId);
+        transactionRollupRepository.deleteByCenter(storageCenterId);
+        inventoryTotals.remove(storageCenterId);
+        expiryIndex.remove(storageCenterId);
+        availabilityIndex.remove(storageCenterId);
+        itemNameIndex.remove(storageCenterId);
+        return null;
+      });
+      transactionArchive.remove(storageCenterId);
       String message = "Storage Center with ID: " + storageCenterId + " was deleted successfully";
       return ResponseEntity.ok(message);
 
@@ -116,27 +191,21 @@ public class StorageCenterController {
   *
   * @param storageCenterId A {@code String} representing the storage center's ID.
   * @param name A {@code String} representing the storage center's name.
+  * @param ifMatch A {@code String} representing the ETag the storage center must match, if any.
   * @return A {@code ResponseEntity} A message if the Storage Center's name was
   *     successfully updated and a HTTP 200 response or,
   *     HTTP 500 reponse if an error occurred or,
   *     HTTP 400 response any parameter is incorrectly formatted.
-  *     HTTP 404 response if the storage center ID is not found
+  *     HTTP 404 response if the storage center ID is not found or,
+  *     HTTP 412 response if the storage center does not match the ETag.
   */
   @PatchMapping("/updateCenterName")
   public ResponseEntity<?> updateStorageCenterName(
         @RequestParam("storageCenterId") int storageCenterId,
-        @RequestParam("name") String name) {
-    try {
-      StorageCenter center = storageCenterRepository.findById(storageCenterId).orElseThrow();
-      center.changeName(name);
-      storageCenterRepository.save(center);
-      return ResponseEntity.ok("Storage Center's name updated");
-
-    } catch (NoSuchElementException e) {
-      return handleNotFoundException("Storage Center", storageCenterId);
-    } catch (Exception e) {
-      return handleException(e);
-    }
+        @RequestParam("name") String name,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    return updateCenter(storageCenterId, ifMatch, center -> center.changeName(name),
+        "Storage Center's name updated");
   }
 
   /**
@@ -144,27 +213,21 @@ public class StorageCenterController {
   *
   * @param storageCenterId A {@code String} representing the storage center's ID.
   * @param description A {@code String} representing the storage center's description.
+  * @param ifMatch A {@code String} representing the ETag the storage center must match, if any.
   * @return A {@code ResponseEntity} A message if the Storage Center's description was
   *     successfully updated and a HTTP 200 response or,
   *     HTTP 500 reponse if an error occurred or,
   *     HTTP 400 response any parameter is incorrectly formatted.
-  *     HTTP 404 response if the storage center ID is not found
+  *     HTTP 404 response if the storage center ID is not found or,
+  *     HTTP 412 response if the storage center does not match the ETag.
   */
   @PatchMapping("/updateCenterDescription")
   public ResponseEntity<?> updateStorageCenterDescription(
         @RequestParam("storageCenterId") int storageCenterId,
-        @RequestParam("description") String description) {
-    try {
-      StorageCenter center = storageCenterRepository.findById(storageCenterId).orElseThrow();
-      center.changeDescription(description);
-      storageCenterRepository.save(center);
-      return ResponseEntity.ok("Storage Center's description updated");
-
-    } catch (NoSuchElementException e) {
-      return handleNotFoundException("Storage Center", storageCenterId);
-    } catch (Exception e) {
-      return handleException(e);
-    }
+        @RequestParam("description") String description,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    return updateCenter(storageCenterId, ifMatch,
+        center -> center.changeDescription(description), "Storage Center's description updated");
   }
 
   /**
@@ -175,35 +238,35 @@ public class StorageCenterController {
   * @param day A {@code String} representing the day of the week.
   * @param open A {@code String} representing the opening time in HH:MM format.
   * @param close A {@code String} representing the closing time in HH:MM format.
+  * @param ifMatch A {@code String} representing the ETag the storage center must match, if any.
   * @return A {@code ResponseEntity} A message if the Storage Center's operating hours was
   *     successfully updated and a HTTP 200 response or,
   *     HTTP 500 reponse if an error occurred or,
   *     HTTP 400 response if the storage center ID, day, open, or close is incorrectly formatted, or
-  *     HTTP 404 response if the storage center ID is not found.
+  *     HTTP 404 response if the storage center ID is not found or,
+  *     HTTP 412 response if the storage center does not match the ETag.
   */
   @PatchMapping("/updateCenterHours")
   public ResponseEntity<?> updateCenterHours(
         @RequestParam("storageCenterId") int storageCenterId,
         @RequestParam("day") int day,
         @RequestParam("open") String open,
-        @RequestParam("close") String close) {
+        @RequestParam("close") String close,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    TimeSlot hours;
     try {
-      StorageCenter center = storageCenterRepository.findById(storageCenterId).orElseThrow();
-      TimeSlot hours = new TimeSlot(open, close);
-      center.updateDayHours(hours, day);
-      storageCenterRepository.save(center);
-      return ResponseEntity.ok("Storage Center's operating hours updated");
-
-    } catch (NoSuchElementException e) {
-      return handleNotFoundException("Storage Center", storageCenterId);
+      hours = new TimeSlot(open, close);
     } catch (Exception e) {
       return handleException(e);
     }
+    return updateCenter(storageCenterId, ifMatch, center -> center.updateDayHours(hours, day),
+        "Storage Center's operating hours updated");
   }
 
   /**
   * Adds an item to the storage center. The type must be FOOD, CLOTHES, or TOILETRIES.
-  * The quantity must be a positive integer.
+  * The quantity must be a positive integer. Check-ins without an If-Match header may be
+  * written together with other check-ins of the same item that arrive at the same time.
   *
   * @param storageCenterId A {@code String} representing the storage center's ID.
   * @param type A {@code String} representing the item's type.
@@ -211,11 +274,14 @@ public class StorageCenterController {
   * @param quantity A {@code int} representing the item's quantity.
   * @param expirationDate A {@code String} representing the item's expiration date
   *     in the yyyy-MM-dd format.
+  * @param ifMatch A {@code String} representing the ETag the item must match, if any.
   * @return A {@code ResponseEntity} A message if the item was
-  *     successfully added to the storage center
+  *     successfully added to the storage center with the item's version as the ETag
   *     and a HTTP 200 response or,  HTTP 500 reponse if an error occurred or,
   *     HTTP 400 response if the storage center ID, type, quantity,
-  *     or expiration date is incorrectly formatted.
+  *     or expiration date is incorrectly formatted or,
+  *     HTTP 412 response if the item does not match the ETag or,
+  *     HTTP 503 response if the storage center has too many changes waiting.
    */
   @PatchMapping("/checkInItems")
   public ResponseEntity<?> checkInItems(
@@ -224,27 +290,102 @@ public class StorageCenterController {
         @RequestParam("name") String name,
         @RequestParam("quantity") int quantity,
         @RequestParam("expirationDate") @DateTimeFormat(pattern = "yyyy-MM-dd")
-        String expirationDate) {
+        String expirationDate,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
     try {
-      StorageCenter center = storageCenterRepository.findById(storageCenterId).orElseThrow();
       ItemId itemId = new ItemId(type, name);
-      Optional<Item> item = itemRepository.findById(itemId);
-      if (item.isPresent()) {
-        Item foundItem = item.get();
-        foundItem.incrementQuantity(quantity);
-        itemRepository.save(foundItem);
-        Transaction transaction = new Transaction(center, foundItem, quantity, "Check In");
-        transactionRepository.save(transaction);
-        return ResponseEntity.ok("Item quantity updated successfully");
+      Long version = EntityTag.parseIfMatch(ifMatch);
+      InventoryService.Change change = version == null
+          ? checkInCoalescer.checkIn(storageCenterId, itemId, quantity, expirationDate)
+          : write(storageCenterId, () ->
+              inventoryService.checkIn(storageCenterId, itemId, quantity, expirationDate, version));
+      String message = change.getResult() == InventoryService.Result.UPDATED
+          ? "Item quantity updated successfully" : "Item added to storage center successfully";
+      return withItemEntityTag(change).body(message);
 
+    } catch (NoSuchElementException e) {
+      return handleNotFoundException("Storage Center", storageCenterId);
+    } catch (Exception e) {
+      return handleException(e);
+    }
+  }
+
+  /**
+  * Checks in every line of a donation manifest. The manifest is a JSON array of objects with
+  * type, name, quantity and expirationDate properties, or CSV rows in that order when sent as
+  * {@code text/csv}. Lines for the same item are merged, and lines that cannot be read are
+  * reported without stopping the rest of the manifest.
+  *
+  * @param storageCenterId A {@code String} representing the storage center's ID.
+  * @param contentType A {@code String} representing the format of the manifest.
+  * @param manifest A {@code String} containing the manifest lines.
+  * @return A {@code ResponseEntity} The result of each manifest line and a HTTP 200 response or,
+  *     HTTP 500 reponse if an error occurred or,
+  *     HTTP 400 response if the manifest cannot be read or is too large, or
+  *     HTTP 404 response if the storage center ID is not found or,
+  *     HTTP 503 response if the storage center has too many changes waiting.
+  */
+  @PatchMapping("/bulkCheckInItems")
+  public ResponseEntity<?> bulkCheckInItems(
+        @RequestParam("storageCenterId") int storageCenterId,
+        @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+        @RequestBody String manifest) {
+    try {
+      InventoryManifest parsed = parseManifest(contentType, manifest);
+      Map<Integer, InventoryService.Result> results =
+          write(storageCenterId, () -> inventoryService.bulkCheckIn(storageCenterId, parsed));
+      return ResponseEntity.ok(manifestResultsToJson(parsed, results).toString());
+
+    } catch (NoSuchElementException e) {
+      return handleNotFoundException("Storage Center", storageCenterId);
+    } catch (Exception e) {
+      return handleException(e);
+    }
+  }
+
+  /**
+  * Checks out every line of a distribution order as one unit, in the same JSON or CSV format
+  * accepted by bulkCheckInItems. If any line cannot be read, or asks for more than the storage
+  * center holds, nothing is checked out.
+  *
+  * @param storageCenterId A {@code String} representing the storage center's ID.
+  * @param contentType A {@code String} representing the format of the order.
+  * @param order A {@code String} containing the order lines.
+  * @return A {@code ResponseEntity} The result of each order line and a HTTP 200 response or,
+  *     HTTP 500 reponse if an error occurred or,
+  *     HTTP 400 response with the failing lines if the order cannot be read or any line is
+  *     short, or HTTP 404 response if the storage center ID is not found or,
+  *     HTTP 503 response if the storage center has too many changes waiting.
+  */
+  @PatchMapping("/bulkCheckOutItems")
+  public ResponseEntity<?> bulkCheckOutItems(
+        @RequestParam("storageCenterId") int storageCenterId,
+        @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+        @RequestBody String order) {
+    try {
+      InventoryManifest parsed = parseManifest(contentType, order);
+      if (!parsed.isValid()) {
+        return ResponseEntity.badRequest().body(manifestResultsToJson(parsed, Map.of()).toString());
       }
 
-      Item newItem = new Item(itemId, quantity, center, expirationDate);
-      itemRepository.save(newItem);
-      Transaction transaction = new Transaction(center, newItem, quantity, "Check In");
-      transactionRepository.save(transaction);
-      return ResponseEntity.ok("Item added to storage center successfully");
+      Map<Integer, InventoryService.Result> results =
+          write(storageCenterId, () -> inventoryService.bulkCheckOut(storageCenterId, parsed));
+      return ResponseEntity.ok(manifestResultsToJson(parsed, results).toString());
+
+    } catch (InsufficientInventoryException e) {
+      JsonArray lines = new JsonArray();
+      e.getAvailable().forEach((number, available) -> {
+        JsonObject lineJson = new JsonObject();
+        lineJson.addProperty("line", number);
+        lineJson.addProperty("status", "SHORT");
+        lineJson.addProperty("available", available);
+        lines.add(lineJson);
+      });
 
+      JsonObject json = new JsonObject();
+      json.addProperty("error", e.getMessage());
+      json.add("results", lines);
+      return ResponseEntity.badRequest().body(json.toString());
     } catch (NoSuchElementException e) {
       return handleNotFoundException("Storage Center", storageCenterId);
     } catch (Exception e) {
@@ -259,42 +400,34 @@ public class StorageCenterController {
   * @param type A {@code String} representing the item's type.
   * @param name A {@code String} representing the item's name.
   * @param quantity A {@code int} representing the item's quantity.
+  * @param ifMatch A {@code String} representing the ETag the item must match, if any.
   * @return A {@code ResponseEntity} A message if the item was
-  *     successfully removed from the storage center and a HTTP 200 response or,
+  *     successfully removed from the storage center with the item's version as the ETag if any
+  *     is left and a HTTP 200 response or,
   *     HTTP 500 reponse if an error occurred or,
-  *     HTTP 400 response if the storage center ID, type, or name is incorrectly formatted.
+  *     HTTP 400 response if the storage center ID, type, or name is incorrectly formatted or,
+  *     HTTP 412 response if the item does not match the ETag or,
+  *     HTTP 503 response if the storage center has too many changes waiting.
   */
   @PatchMapping("/checkOutItems")
   public ResponseEntity<?> checkOutItems(
         @RequestParam("storageCenterId") int storageCenterId,
         @RequestParam("type") String type,
         @RequestParam("name") String name,
-        @RequestParam("quantity") int quantity) {
+        @RequestParam("quantity") int quantity,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
     try {
-      StorageCenter center = storageCenterRepository.findById(storageCenterId).orElseThrow();
       ItemId itemId = new ItemId(type, name);
-      Optional<Item> searchedItem = itemRepository.findById(itemId);
-      if (searchedItem.isEmpty()) {
+      Long version = EntityTag.parseIfMatch(ifMatch);
+      InventoryService.Change change = write(storageCenterId, () ->
+          inventoryService.checkOut(storageCenterId, itemId, quantity, version));
+      if (change.getResult() == InventoryService.Result.NOT_FOUND) {
         String message = "The item was not found in the storage center";
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(message);
       }
 
-      Item item = searchedItem.get();
-      item.decrementQuantity(quantity);
-      Transaction transaction;
-      if (item.getQuantity() == 0) {
-        itemRepository.delete(item);
-        String action = "Removed from inventory";
-        transaction = new Transaction(center, item, quantity, action);
-      } else {
-        itemRepository.save(item);
-        String action = "Check Out";
-        transaction = new Transaction(center, item, quantity, action);
-      }
-
-      transactionRepository.save(transaction);
       String message = "Items removed from storage center successfully";
-      return ResponseEntity.ok(message);
+      return withItemEntityTag(change).body(message);
 
     } catch (NoSuchElementException e) {
       return handleNotFoundException("Storage Center", storageCenterId);
@@ -316,8 +449,40 @@ public class StorageCenterController {
   public ResponseEntity<?> listExpiredItems(
         @RequestParam("storageCenterId") int storageCenterId) {
     try {
-      StorageCenter storage = storageCenterRepository.findById(storageCenterId).orElseThrow();
-      return ResponseEntity.ok(storage.getExpiredItems());
+      storageCenterRepository.findById(storageCenterId).orElseThrow();
+      return ResponseEntity.ok(
+          itemRepository.findExpiredByCenter(storageCenterId, LocalDate.now()));
+
+    } catch (NoSuchElementException e) {
+      return handleNotFoundException("Storage Center", storageCenterId);
+    } catch (Exception e) {
+      return handleException(e);
+    }
+  }
+
+  /**
+   * List items in the storage center that expire within the given number of days,
+   * soonest first. Served from the in-memory expiry index.
+   *
+   * @param storageCenterId A {@code String} representing the storage center's ID.
+   * @param days A {@code int} representing how many days ahead to look, starting today.
+   * @return A {@code ResponseEntity} The list of expiring items if the storage center was
+   *     successfully found and a HTTP 200 response or,
+   *     HTTP 500 reponse if an error occurred or,
+   *     HTTP 400 response if the number of days is negative or,
+   *     HTTP 404 response if the storage center ID is not found.
+   */
+  @GetMapping("/listExpiringItems")
+  public ResponseEntity<?> listExpiringItems(
+        @RequestParam("storageCenterId") int storageCenterId,
+        @RequestParam(value = "days", defaultValue = "7") int days) {
+    try {
+      if (days < 0) {
+        throw new IllegalArgumentException("Days must be greater than or equal to 0.");
+      }
+
+      storageCenterRepository.findById(storageCenterId).orElseThrow();
+      return ResponseEntity.ok(expiryIndex.expiringWithin(storageCenterId, days));
 
     } catch (NoSuchElementException e) {
       return handleNotFoundException("Storage Center", storageCenterId);
@@ -330,20 +495,71 @@ public class StorageCenterController {
    * Removes expired items from inventory.
    *
    * @param storageCenterId A {@code String} representing the storage center's ID.
-   * @return A {@code ResponseEntity} A message if the expired items were removed
+   * @return A {@code ResponseEntity} The list of removed items if the expired items were removed
    *     successfully and a HTTP 200 response or,
    *     HTTP 500 reponse if an error occurred or,
-   *     HTTP 404 response if the storage center ID is not found.
+   *     HTTP 404 response if the storage center ID is not found or,
+   *     HTTP 503 response if the storage center has too many changes waiting.
    */
   @PatchMapping("/removeExpiredItems")
   public ResponseEntity<?> removeExpiredItems(
         @RequestParam("storageCenterId") int storageCenterId) {
     try {
-      StorageCenter center = storageCenterRepository.findById(storageCenterId).orElseThrow();
-      Set<Item> expiredItems = center.getItems();
-      center.removeExpiredItems();
-      storageCenterRepository.save(center);
-      return ResponseEntity.ok(expiredItems);
+      return ResponseEntity.ok(
+          write(storageCenterId, () -> inventoryService.removeExpired(storageCenterId)));
+
+    } catch (NoSuchElementException e) {
+      return handleNotFoundException("Storage Center", storageCenterId);
+    } catch (Exception e) {
+      return handleException(e);
+    }
+  }
+
+  /**
+   * Gets the metrics of the last background sweep of expired items run by this instance.
+   * Only admins may read them.
+   *
+   * @param principal The verified caller of the request, or null if it had no API key.
+   * @return A {@code ResponseEntity} The centers scanned, items removed, centers that
+   *     failed and duration of the last sweep and a HTTP 200 response or,
+   *     HTTP 403 response if the caller is not an admin or,
+   *     HTTP 404 response if this instance has not swept yet.
+   */
+  @GetMapping("/expirySweepStats")
+  public ResponseEntity<?> expirySweepStats(
+        @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false)
+        AuthPrincipal principal) {
+    if (!adminKeys.isAdmin(principal)) {
+      return handleForbidden();
+    }
+
+    ExpirySweeper.Report report = expirySweeper.getLastReport();
+    if (report == null) {
+      JsonObject message = new JsonObject();
+      message.addProperty("error", "No expiry sweep has run on this instance");
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(message.toString());
+    }
+    return ResponseEntity.ok(report.toJson().toString());
+  }
+
+  /**
+   * Get the number of units the storage center holds of each item type. Served from
+   * in-memory totals, without reading the inventory.
+   *
+   * @param storageCenterId A {@code String} representing the storage center's ID.
+   * @return A {@code ResponseEntity} The units held of every item type and in total if the
+   *     storage center was successfully found and a HTTP 200 response or,
+   *     HTTP 500 reponse if an error occurred or,
+   *     404 response if the storage center ID is not found.
+   */
+  @GetMapping("/inventorySummary")
+  public ResponseEntity<?> inventorySummary(
+        @RequestParam("storageCenterId") int storageCenterId) {
+    try {
+      if (!storageCenterRepository.existsById(storageCenterId)) {
+        throw new NoSuchElementException();
+      }
+      return ResponseEntity.ok(inventoryTotals.toJson(storageCenterId).toString());
 
     } catch (NoSuchElementException e) {
       return handleNotFoundException("Storage Center", storageCenterId);
@@ -353,20 +569,114 @@ public class StorageCenterController {
   }
 
   /**
-   * Get the storage center's inventory.
+   * Find the storage centers holding the most of an item. Names are matched ignoring case
+   * and extra whitespace, and the search is served from an in-memory index without reading
+   * any inventory.
+   *
+   * @param name A {@code String} representing the item's name.
+   * @param type A {@code String} representing the item's type, or nothing to search every type.
+   * @param limit A {@code int} representing the largest number of centers to return, at most
+   *     100.
+   * @return A {@code ResponseEntity} The storage center IDs and quantities held, most first,
+   *     and a HTTP 200 response or,
+   *     HTTP 500 reponse if an error occurred or,
+   *     HTTP 400 response if the name, type, or limit is invalid.
+   */
+  @GetMapping("/findAvailability")
+  public ResponseEntity<?> findAvailability(
+        @RequestParam("name") String name,
+        @RequestParam(value = "type", required = false) String type,
+        @RequestParam(value = "limit", defaultValue = "10") int limit) {
+    try {
+      ItemId.ItemType itemType = null;
+      if (type != null) {
+        itemType = ItemId.ItemType.fromString(type);
+        if (itemType == null) {
+          throw new IllegalArgumentException("Type must be a listed item type.");
+        }
+      }
+
+      JsonObject json = new JsonObject();
+      json.add("centers", AvailabilityIndex.toJson(
+          availabilityIndex.findTop(itemType, name, limit)));
+      return ResponseEntity.ok(json.toString());
+
+    } catch (Exception e) {
+      return handleException(e);
+    }
+  }
+
+  /**
+   * Suggest item names starting with what has been typed so far, so staff reuse the
+   * spelling already stored. Prefixes are matched ignoring case and extra whitespace, and
+   * suggestions are served from an in-memory index without reading any inventory.
+   *
+   * @param prefix A {@code String} representing the start of the item's name.
+   * @param storageCenterId A {@code Integer} representing the storage center whose item
+   *     names are suggested, or nothing to suggest every storage center's names.
+   * @param limit A {@code int} representing the largest number of names to return, at most
+   *     50.
+   * @return A {@code ResponseEntity} The suggested names in alphabetical order and a HTTP 200
+   *     response or,
+   *     HTTP 500 reponse if an error occurred or,
+   *     HTTP 400 response if the prefix or limit is invalid.
+   */
+  @GetMapping("/suggestItemNames")
+  public ResponseEntity<?> suggestItemNames(
+        @RequestParam("prefix") String prefix,
+        @RequestParam(value = "storageCenterId", required = false) Integer storageCenterId,
+        @RequestParam(value = "limit", defaultValue = "10") int limit) {
+    try {
+      JsonArray names = new JsonArray();
+      itemNameIndex.suggest(storageCenterId, prefix, limit).forEach(names::add);
+      JsonObject json = new JsonObject();
+      json.add("names", names);
+      return ResponseEntity.ok(json.toString());
+
+    } catch (Exception e) {
+      return handleException(e);
+    }
+  }
+
+  /**
+   * Get one page of the storage center's inventory, ordered by item name and type.
    *
    * @param storageCenterId A {@code String} representing the storage center's ID.
-   * @return A {@code ResponseEntity} The list of inventory if the storage center was successfully
-   *     found and a HTTP 200 response or,
+   * @param cursor A {@code String} representing the cursor returned with the previous page,
+   *     or nothing for the first page.
+   * @param limit A {@code int} representing the page size, capped at 500.
+   * @return A {@code ResponseEntity} The page of inventory and the cursor of the next page if
+   *     the storage center was successfully found and a HTTP 200 response or,
    *     HTTP 500 reponse if an error occurred or,
+   *     HTTP 400 response if the cursor or limit is invalid or,
    *     404 response if the storage center ID is not found.
    */
   @GetMapping("/listInventory")
   public ResponseEntity<?> listInventory(
-        @RequestParam("storageCenterId") int storageCenterId) {
+        @RequestParam("storageCenterId") int storageCenterId,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "limit", defaultValue = "100") int limit) {
     try {
-      StorageCenter storage = storageCenterRepository.findById(storageCenterId).orElseThrow();
-      return ResponseEntity.ok(storage.getItems());
+      storageCenterRepository.findById(storageCenterId).orElseThrow();
+      Pageable page = PageRequest.ofSize(CursorPage.checkPageSize(limit));
+      List<Item> items;
+      if (cursor == null || cursor.isBlank()) {
+        items = itemRepository.findPageByCenter(storageCenterId, page);
+      } else {
+        String[] key = CursorPage.decodeCursor(cursor).split(":", 2);
+        ItemId.ItemType type = ItemId.ItemType.fromString(key[0]);
+        if (key.length != 2 || type == null) {
+          throw new IllegalArgumentException("Cursor is not valid.");
+        }
+        items = itemRepository.findPageByCenterAfter(storageCenterId, key[1], type, page);
+      }
+
+      String nextCursor = null;
+      if (items.size() == page.getPageSize()) {
+        Item last = items.get(items.size() - 1);
+        nextCursor = CursorPage.encodeCursor(last.getType() + ":" + last.getName());
+      }
+      return ResponseEntity.ok(new CursorPage<>(items, nextCursor));
 
     } catch (NoSuchElementException e) {
       return handleNotFoundException("Storage Center", storageCenterId);
@@ -376,20 +686,39 @@ public class StorageCenterController {
   }
 
   /**
-   * Get the storage center's transactions.
+   * Get one page of the storage center's transactions, oldest first.
    *
    * @param storageCenterId A {@code String} representing the storage center's ID.
-   * @return A {@code ResponseEntity} The list of transactions if the storage center was
-   *     successfully found and a HTTP 200 response or,
+   * @param cursor A {@code String} representing the cursor returned with the previous page,
+   *     or nothing for the first page.
+   * @param limit A {@code int} representing the page size, capped at 500.
+   * @return A {@code ResponseEntity} The page of transactions and the cursor of the next page
+   *     if the storage center was successfully found and a HTTP 200 response or,
    *     HTTP 500 reponse if an error occurred or,
+   *     HTTP 400 response if the cursor or limit is invalid or,
    *     404 response if the storage center ID is not found.
    */
   @GetMapping("/listTransactions")
   public ResponseEntity<?> listTransactions(
-        @RequestParam("storageCenterId") int storageCenterId) {
+        @RequestParam("storageCenterId") int storageCenterId,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "limit", defaultValue = "100") int limit) {
     try {
-      StorageCenter storage = storageCenterRepository.findById(storageCenterId).orElseThrow();
-      return ResponseEntity.ok(storage.getTransactions());
+      storageCenterRepository.findById(storageCenterId).orElseThrow();
+      Pageable page = PageRequest.ofSize(CursorPage.checkPageSize(limit));
+      int afterId = 0;
+      if (cursor != null && !cursor.isBlank()) {
+        afterId = Integer.parseInt(CursorPage.decodeCursor(cursor));
+      }
+
+      List<Transaction> transactions =
+          transactionRepository.findPageByCenter(storageCenterId, afterId, page);
+      String nextCursor = null;
+      if (transactions.size() == page.getPageSize()) {
+        int lastId = transactions.get(transactions.size() - 1).getDatabaseId();
+        nextCursor = CursorPage.encodeCursor(Integer.toString(lastId));
+      }
+      return ResponseEntity.ok(new CursorPage<>(transactions, nextCursor));
 
     } catch (NoSuchElementException e) {
       return handleNotFoundException("Storage Center", storageCenterId);
@@ -398,9 +727,404 @@ public class StorageCenterController {
     }
   }
 
+  /**
+   * Search the storage center's transactions within a range of dates, oldest first,
+   * optionally keeping only one action, item type or item name. Days moved to the
+   * transaction archive are read from the archive. Later days read the matching IDs of each
+   * page from an index on the storage center and time and then load only those
+   * transactions.
+   *
+   * @param storageCenterId A {@code String} representing the storage center's ID.
+   * @param from A {@code String} representing the first date to include, or nothing for no
+   *     lower bound.
+   * @param to A {@code String} representing the last date to include, or nothing for no
+   *     upper bound.
+   * @param action A {@code String} representing the action to keep, such as Check Out.
+   * @param type A {@code String} representing the item type to keep.
+   * @param name A {@code String} representing the item name to keep.
+   * @param cursor A {@code String} representing the cursor returned with the previous page,
+   *     or nothing for the first page.
+   * @param limit A {@code int} representing the page size, capped at 500.
+   * @return A {@code ResponseEntity} The page of transactions and the cursor of the next page
+   *     if the storage center was successfully found and a HTTP 200 response or,
+   *     HTTP 500 reponse if an error occurred or,
+   *     HTTP 400 response if a date, the type, the cursor or the limit is invalid or,
+   *     404 response if the storage center ID is not found.
+   */
+  @GetMapping("/searchTransactions")
+  public ResponseEntity<?> searchTransactions(
+        @RequestParam("storageCenterId") int storageCenterId,
+        @RequestParam(value = "from", required = false) String from,
+        @RequestParam(value = "to", required = false) String to,
+        @RequestParam(value = "action", required = false) String action,
+        @RequestParam(value = "type", required = false) String type,
+        @RequestParam(value = "name", required = false) String name,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "limit", defaultValue = "100") int limit) {
+    try {
+      LocalDate fromDate = from == null ? LocalDate.EPOCH : LocalDate.parse(from);
+      LocalDate toDate = to == null ? LocalDate.of(9999, 12, 31) : LocalDate.parse(to);
+      if (fromDate.isAfter(toDate)) {
+        throw new IllegalArgumentException("From must not be after to.");
+      }
+      if (type != null && ItemId.ItemType.fromString(type) == null) {
+        throw new IllegalArgumentException("Type must be a listed item type.");
+      }
+      StorageCenter center = storageCenterRepository.findById(storageCenterId).orElseThrow();
+      int pageSize = CursorPage.checkPageSize(limit);
+
+      LocalDate afterDate = fromDate.minusDays(1);
+      LocalTime afterTime = LocalTime.MIN;
+      int afterId = 0;
+      if (cursor != null && !cursor.isBlank()) {
+        String[] position = CursorPage.decodeCursor(cursor).split("\\|");
+        if (position.length != 3) {
+          throw new IllegalArgumentException("Cursor is invalid.");
+        }
+        afterDate = LocalDate.parse(position[0]);
+        afterTime = LocalTime.parse(position[1]);
+        afterId = Integer.parseInt(position[2]);
+      }
+
+      List<Transaction> transactions = transactionHistory.search(center, fromDate, toDate,
+          afterDate, afterTime, afterId, blankToNull(action), type, blankToNull(name), pageSize);
+      String nextCursor = null;
+      if (transactions.size() == pageSize) {
+        Transaction last = transactions.get(transactions.size() - 1);
+        nextCursor = CursorPage.encodeCursor(last.getDate() + "|" + last.getTimestamp() + "|"
+            + last.getDatabaseId());
+      }
+      return ResponseEntity.ok(new CursorPage<>(transactions, nextCursor));
+
+    } catch (NoSuchElementException e) {
+      return handleNotFoundException("Storage Center", storageCenterId);
+    } catch (Exception e) {
+      return handleException(e);
+    }
+  }
+
+  /**
+   * Reports the number of transactions and units moved by the storage center within a range
+   * of days, for each item type and action. Served from daily rollups kept up to date as
+   * transactions are written, without reading the transactions themselves.
+   *
+   * @param storageCenterId A {@code String} representing the storage center's ID.
+   * @param from A {@code String} representing the first date to include, or nothing for the
+   *     first day of this month.
+   * @param to A {@code String} representing the last date to include, or nothing for today.
+   * @param daily A {@code boolean} representing whether to also return each day's rollups.
+   * @return A {@code ResponseEntity} The totals for the range, and each day's rollups if
+   *     asked for, if the storage center was successfully found and a HTTP 200 response or,
+   *     HTTP 500 reponse if an error occurred or,
+   *     HTTP 400 response if a date is invalid or,
+   *     404 response if the storage center ID is not found.
+   */
+  @GetMapping("/transactionReport")
+  public ResponseEntity<?> transactionReport(
+        @RequestParam("storageCenterId") int storageCenterId,
+        @RequestParam(value = "from", required = false) String from,
+        @RequestParam(value = "to", required = false) String to,
+        @RequestParam(value = "daily", defaultValue = "false") boolean daily) {
+    try {
+      LocalDate today = LocalDate.now();
+      LocalDate fromDate = from == null ? today.withDayOfMonth(1) : LocalDate.parse(from);
+      LocalDate toDate = to == null ? today : LocalDate.parse(to);
+      if (fromDate.isAfter(toDate)) {
+        throw new IllegalArgumentException("From must not be after to.");
+      }
+      if (!storageCenterRepository.existsById(storageCenterId)) {
+        throw new NoSuchElementException();
+      }
+
+      JsonObject report = new JsonObject();
+      report.addProperty("storageCenterId", storageCenterId);
+      report.addProperty("from", fromDate.toString());
+      report.addProperty("to", toDate.toString());
+      JsonArray totals = new JsonArray();
+      for (RollupTotal total : transactionRollupRepository.sumByCenterAndDates(storageCenterId,
+          fromDate, toDate)) {
+        totals.add(rollupToJson(null, total.getItemType(), total.getAction(),
+            total.getTransactionCount(), total.getTotalQuantity()));
+      }
+      report.add("totals", totals);
+      if (daily) {
+        JsonArray days = new JsonArray();
+        for (TransactionRollup rollup : transactionRollupRepository.findByCenterAndDates(
+            storageCenterId, fromDate, toDate)) {
+          days.add(rollupToJson(rollup.getId().getDate(), rollup.getId().getItemType(),
+              rollup.getId().getAction(), rollup.getTransactionCount(),
+              rollup.getTotalQuantity()));
+        }
+        report.add("days", days);
+      }
+      return ResponseEntity.ok(report.toString());
+
+    } catch (NoSuchElementException e) {
+      return handleNotFoundException("Storage Center", storageCenterId);
+    } catch (Exception e) {
+      return handleException(e);
+    }
+  }
+
+  /**
+   * Rebuilds the daily transaction rollups of every storage center from the transactions,
+   * in parallel chunks. Today is never rebuilt, since its rollups are still being updated.
+   * Only admins may rebuild rollups.
+   *
+   * @param from A {@code String} representing the first date to rebuild.
+   * @param to A {@code String} representing the last date to rebuild, or nothing for
+   *     yesterday.
+   * @param principal The verified caller of the request, or null if it had no API key.
+   * @return A {@code ResponseEntity} The chunks rebuilt, rollups written, chunks that failed
+   *     and duration of the rebuild and a HTTP 200 response or,
+   *     HTTP 500 reponse if an error occurred or,
+   *     HTTP 403 response if the caller is not an admin or,
+   *     HTTP 400 response if a date is invalid or the range ends before it starts.
+   */
+  @PostMapping("/rebuildTransactionRollups")
+  public ResponseEntity<?> rebuildTransactionRollups(
+        @RequestParam("from") String from,
+        @RequestParam(value = "to", required = false) String to,
+        @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false)
+        AuthPrincipal principal) {
+    if (!adminKeys.isAdmin(principal)) {
+      return handleForbidden();
+    }
+
+    try {
+      LocalDate toDate = to == null ? LocalDate.now().minusDays(1) : LocalDate.parse(to);
+      TransactionRollupBackfill.Report report =
+          transactionRollupBackfill.backfill(LocalDate.parse(from), toDate);
+      return ResponseEntity.ok(report.toJson().toString());
+
+    } catch (Exception e) {
+      return handleException(e);
+    }
+  }
+
+  /**
+   * Moves every transaction older than the retention window from the database to the
+   * transaction archive. Runs on a schedule as well. Only admins may start it.
+   *
+   * @param principal The verified caller of the request, or null if it had no API key.
+   * @return A {@code ResponseEntity} The centers scanned, days and transactions archived,
+   *     centers that failed and duration of the run and a HTTP 200 response or,
+   *     HTTP 500 reponse if an error occurred or,
+   *     HTTP 403 response if the caller is not an admin or,
+   *     HTTP 409 response if archiving is turned off or another instance is archiving.
+   */
+  @PostMapping("/archiveTransactions")
+  public ResponseEntity<?> archiveTransactions(
+        @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false)
+        AuthPrincipal principal) {
+    if (!adminKeys.isAdmin(principal)) {
+      return handleForbidden();
+    }
+
+    if (!transactionHistory.isArchiving()) {
+      JsonObject message = new JsonObject();
+      message.addProperty("error", "Transaction archiving is turned off");
+      return ResponseEntity.status(HttpStatus.CONFLICT).body(message.toString());
+    }
+
+    try {
+      TransactionHistory.Report report = transactionHistory.archive();
+      if (report == null) {
+        JsonObject message = new JsonObject();
+        message.addProperty("error", "Transactions are already being archived");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(message.toString());
+      }
+      return ResponseEntity.ok(report.toJson().toString());
+
+    } catch (Exception e) {
+      return handleException(e);
+    }
+  }
+
+  /**
+   * Streams the storage center's whole inventory, ordered by item name and type.
+   *
+   * @param storageCenterId A {@code String} representing the storage center's ID.
+   * @param format A {@code String} representing the export format, ndjson or csv.
+   * @return A {@code ResponseEntity} The inventory written row by row if the storage center
+   *     was successfully found and a HTTP 200 response or,
+   *     HTTP 500 reponse if an error occurred or,
+   *     HTTP 400 response if the format is invalid or,
+   *     404 response if the storage center ID is not found.
+   */
+  @GetMapping("/exportInventory")
+  public ResponseEntity<StreamingResponseBody> exportInventory(
+        @RequestParam("storageCenterId") int storageCenterId,
+        @RequestParam(value = "format", defaultValue = "ndjson") String format) {
+    try {
+      ExportWriter.Format exportFormat = ExportWriter.Format.fromString(format);
+      storageCenterRepository.findById(storageCenterId).orElseThrow();
+      return exportResponse("inventory-" + storageCenterId, exportFormat,
+          exportService.exportInventory(storageCenterId, exportFormat));
+
+    } catch (NoSuchElementException e) {
+      return streamError(handleNotFoundException("Storage Center", storageCenterId));
+    } catch (Exception e) {
+      return streamError(handleException(e));
+    }
+  }
+
+  /**
+   * Streams the storage center's whole transaction history, oldest first.
+   *
+   * @param storageCenterId A {@code String} representing the storage center's ID.
+   * @param format A {@code String} representing the export format, ndjson or csv.
+   * @return A {@code ResponseEntity} The transactions written row by row if the storage
+   *     center was successfully found and a HTTP 200 response or,
+   *     HTTP 500 reponse if an error occurred or,
+   *     HTTP 400 response if the format is invalid or,
+   *     404 response if the storage center ID is not found.
+   */
+  @GetMapping("/exportTransactions")
+  public ResponseEntity<StreamingResponseBody> exportTransactions(
+        @RequestParam("storageCenterId") int storageCenterId,
+        @RequestParam(value = "format", defaultValue = "ndjson") String format) {
+    try {
+      ExportWriter.Format exportFormat = ExportWriter.Format.fromString(format);
+      storageCenterRepository.findById(storageCenterId).orElseThrow();
+      return exportResponse("transactions-" + storageCenterId, exportFormat,
+          exportService.exportTransactions(storageCenterId, exportFormat));
+
+    } catch (NoSuchElementException e) {
+      return streamError(handleNotFoundException("Storage Center", storageCenterId));
+    } catch (Exception e) {
+      return streamError(handleException(e));
+    }
+  }
+
+  private JsonObject rollupToJson(LocalDate date, String itemType, String action,
+      long transactionCount, long totalQuantity) {
+    JsonObject json = new JsonObject();
+    if (date != null) {
+      json.addProperty("date", date.toString());
+    }
+    json.addProperty("itemType", itemType);
+    json.addProperty("action", action);
+    json.addProperty("transactionCount", transactionCount);
+    json.addProperty("totalQuantity", totalQuantity);
+    return json;
+  }
+
+  private InventoryManifest parseManifest(String contentType, String body) {
+    boolean isCsv = contentType != null && contentType.toLowerCase().contains("csv");
+    return isCsv ? InventoryManifest.fromCsv(body) : InventoryManifest.fromJson(body);
+  }
+
+  private JsonObject manifestResultsToJson(InventoryManifest manifest,
+      Map<Integer, InventoryService.Result> results) {
+    JsonArray lines = new JsonArray();
+    for (InventoryManifest.Line line : manifest.getLines()) {
+      JsonObject lineJson = new JsonObject();
+      lineJson.addProperty("line", line.getNumber());
+      if (line.isValid()) {
+        InventoryService.Result result = results.get(line.getNumber());
+        lineJson.addProperty("status", result == null ? "SKIPPED" : result.toString());
+      } else {
+        lineJson.addProperty("status", "ERROR");
+        lineJson.addProperty("error", line.getError());
+      }
+      lines.add(lineJson);
+    }
+
+    JsonObject json = new JsonObject();
+    json.addProperty("applied", results.size());
+    json.addProperty("failed", manifest.getLines().size() - results.size());
+    json.add("results", lines);
+    return json;
+  }
+
+  /**
+   * Applies a change to a storage center, retrying if another request updated it first.
+   */
+  private ResponseEntity<?> updateCenter(int storageCenterId, String ifMatch,
+      Consumer<StorageCenter> change, String message) {
+    try {
+      Long version = EntityTag.parseIfMatch(ifMatch);
+      StorageCenter saved = retryPolicy.call(() -> {
+        StorageCenter center = storageCenterRepository.findById(storageCenterId).orElseThrow();
+        if (version != null && center.getVersion() != version) {
+          throw new PreconditionFailedException(
+              "Storage Center is not at version " + version + ".");
+        }
+        change.accept(center);
+        return storageCenterRepository.save(center);
+      });
+      return ResponseEntity.ok().eTag(EntityTag.of(saved.getVersion())).body(message);
+
+    } catch (NoSuchElementException e) {
+      return handleNotFoundException("Storage Center", storageCenterId);
+    } catch (Exception e) {
+      return handleException(e);
+    }
+  }
+
+  /**
+   * Runs an inventory change on the storage center's write lane, retrying it there if it
+   * loses a race with another application instance, then waits off the lane for its
+   * transactions to be saved when the transaction log asks for that.
+   */
+  private <T> T write(int storageCenterId, Callable<T> change) throws Exception {
+    AtomicReference<CompletableFuture<Void>> saved = new AtomicReference<>();
+    T result = writeLanes.call(storageCenterId, () -> {
+      try {
+        return retryPolicy.call(change);
+      } finally {
+        saved.set(transactionLog.takeUnsaved());
+      }
+    });
+    transactionLog.awaitSaved(saved.get());
+    return result;
+  }
+
+  private ResponseEntity.BodyBuilder withItemEntityTag(InventoryService.Change change) {
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (change.getVersion() != null) {
+      response.eTag(EntityTag.of(change.getVersion()));
+    }
+    return response;
+  }
+
+  private ResponseEntity<StreamingResponseBody> exportResponse(String fileName,
+      ExportWriter.Format format, StreamingResponseBody body) {
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(format.getMediaType()))
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"" + fileName + "." + format.getExtension() + "\"")
+        .body(body);
+  }
+
+  private static String blankToNull(String value) {
+    return value == null || value.isBlank() ? null : value;
+  }
+
+  private ResponseEntity<StreamingResponseBody> streamError(ResponseEntity<?> error) {
+    byte[] body = String.valueOf(error.getBody()).getBytes(StandardCharsets.UTF_8);
+    return ResponseEntity.status(error.getStatusCode()).body(out -> out.write(body));
+  }
+
   private ResponseEntity<?> handleException(Exception e) {
     JsonObject json = new JsonObject();
     json.addProperty("error", e.getMessage());
+    if (e instanceof PreconditionFailedException) {
+      return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(json.toString());
+    }
+
+    if (e instanceof RejectedExecutionException) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, "1")
+          .body(json.toString());
+    }
+
+    if (e instanceof ConcurrencyFailureException) {
+      json.addProperty("error", "The update conflicted with another update. Try again.");
+      return ResponseEntity.status(HttpStatus.CONFLICT).body(json.toString());
+    }
+
     boolean isBadRequest = e instanceof IllegalArgumentException
         || e instanceof NumberFormatException
         || e instanceof ParseException
@@ -419,4 +1143,16 @@ public class StorageCenterController {
     message.addProperty("error", entityName + " with ID: " + entityId + " was not found");
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(message.toString());
   }
+
+  /**
+   * Handles a caller that is not allowed to use an admin endpoint.
+   *
+   * @return A {@code ResponseEntity} with a message indicating an admin API key is required
+   *     and a HTTP 403 status code.
+   */
+  private ResponseEntity<?> handleForbidden() {
+    JsonObject message = new JsonObject();
+    message.addProperty("error", "Admin API key required");
+    return ResponseEntity.status(HttpStatus.FORBIDDEN).body(message.toString());
+  }
 }
\ No newline at end of file
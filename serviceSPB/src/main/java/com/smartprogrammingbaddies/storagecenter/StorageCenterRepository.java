@@ -1,11 +1,15 @@
 package com.smartprogrammingbaddies.storagecenter;
 
-import org.springframework.data.repository.CrudRepository;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 /**
 * The StorageCenterRepository interface is used to store and manage goods such
 * as foods, toiletries, or clothes. It provides methods to add, remove, and list items in the
 * storage.
 */
-public interface StorageCenterRepository extends CrudRepository<StorageCenter, Integer> {
+public interface StorageCenterRepository extends JpaRepository<StorageCenter, Integer> {
+  @Query("SELECT c.id FROM StorageCenter c ORDER BY c.id")
+  List<Integer> findAllIds();
 }
@@ -0,0 +1,91 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import java.time.Instant;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * A named lease held by one application instance until it expires. Background jobs take
+ * the lease before running so that only one instance runs each job at a time. New leases
+ * are always inserted, so two instances creating the same lease cannot both succeed.
+ */
+@Entity
+public class SweepLease implements Persistable<String> {
+  @Id
+  @Column(name = "lease_name")
+  private String name;
+  @Column(nullable = false)
+  private String owner;
+  @Column(name = "expires_at", nullable = false)
+  private Instant expiresAt;
+  @Transient
+  private boolean isNew = true;
+
+  /**
+   * Constructs a new lease.
+   *
+   * @param name the name of the job the lease is for
+   * @param owner the instance holding the lease
+   * @param expiresAt when the lease expires
+   * @throws IllegalArgumentException if any argument is null or blank
+   */
+  public SweepLease(String name, String owner, Instant expiresAt) {
+    if (name == null || name.isBlank() || owner == null || owner.isBlank()) {
+      throw new IllegalArgumentException("Lease name and owner must not be null or blank.");
+    }
+
+    if (expiresAt == null) {
+      throw new IllegalArgumentException("Lease expiration must not be null.");
+    }
+
+    this.name = name;
+    this.owner = owner;
+    this.expiresAt = expiresAt;
+  }
+
+  /**
+   * Empty constructor needed for JPA.
+   */
+  public SweepLease() {
+    // Empty constructor needed for JPA
+  }
+
+  @Override
+  public String getId() {
+    return name;
+  }
+
+  @Override
+  public boolean isNew() {
+    return isNew;
+  }
+
+  @PostLoad
+  @PostPersist
+  private void markNotNew() {
+    isNew = false;
+  }
+
+  /**
+   * Gets the instance holding the lease.
+   *
+   * @return the owner of the lease
+   */
+  public String getOwner() {
+    return owner;
+  }
+
+  /**
+   * Gets when the lease expires.
+   *
+   * @return the expiration time of the lease
+   */
+  public Instant getExpiresAt() {
+    return expiresAt;
+  }
+}
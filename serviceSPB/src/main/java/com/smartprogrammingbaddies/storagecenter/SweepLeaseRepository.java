@@ -0,0 +1,27 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import java.time.Instant;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * The SweepLeaseRepository interface stores the leases held by background jobs. A lease is
+ * taken over with a single conditional UPDATE, so only one instance can win an expired lease.
+ */
+public interface SweepLeaseRepository extends CrudRepository<SweepLease, String> {
+  @Transactional
+  @Modifying
+  @Query("UPDATE SweepLease l SET l.owner = :owner, l.expiresAt = :until "
+      + "WHERE l.name = :name AND (l.expiresAt < :now OR l.owner = :owner)")
+  int takeOver(@Param("name") String name, @Param("owner") String owner,
+      @Param("now") Instant now, @Param("until") Instant until);
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE SweepLease l SET l.expiresAt = :now WHERE l.name = :name AND l.owner = :owner")
+  int release(@Param("name") String name, @Param("owner") String owner,
+      @Param("now") Instant now);
+}
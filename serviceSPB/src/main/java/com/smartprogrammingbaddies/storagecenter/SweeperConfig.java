@@ -0,0 +1,62 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import java.time.Duration;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * This class contains the SweeperConfig class, which creates the background expired
+ * inventory sweeper. Sweeps are only scheduled outside of tests.
+ */
+@Configuration
+public class SweeperConfig {
+  @Autowired
+  private InventoryService inventoryService;
+
+  @Autowired
+  private StorageCenterRepository storageCenterRepository;
+
+  @Autowired
+  private SweepLeaseRepository sweepLeaseRepository;
+
+  @Autowired
+  private CenterWriteLanes centerWriteLanes;
+
+  @Value("${inventory.sweeper.threads:4}")
+  private int threads;
+
+  @Value("${inventory.sweeper.batch-size:200}")
+  private int batchSize;
+
+  @Value("${inventory.sweeper.lease-seconds:900}")
+  private long leaseSeconds;
+
+  @Value("${GAE_INSTANCE:}")
+  private String instanceId;
+
+  /**
+   * Creates the expired inventory sweeper.
+   *
+   * @return the expiry sweeper
+   */
+  @Bean
+  public ExpirySweeper expirySweeper() {
+    String owner = instanceId.isBlank() ? UUID.randomUUID().toString() : instanceId;
+    return new ExpirySweeper(inventoryService, storageCenterRepository, sweepLeaseRepository,
+        centerWriteLanes, threads, batchSize, Duration.ofSeconds(leaseSeconds), owner);
+  }
+
+  /**
+   * Turns on scheduled sweeps.
+   */
+  @Configuration
+  @EnableScheduling
+  @Profile("!test")
+  static class SchedulingConfig {
+  }
+}
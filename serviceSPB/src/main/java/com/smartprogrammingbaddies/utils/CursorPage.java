@@ -0,0 +1,95 @@
+package com.smartprogrammingbaddies.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * The CursorPage class holds one page of a keyset-paginated listing, along with the opaque
+ * cursor that continues the listing after the last row of the page.
+ *
+ * @param <T> the type of the rows in the page
+ */
+public class CursorPage<T> {
+  /**
+   * The number of rows returned when no page size is given.
+   */
+  public static final int DEFAULT_PAGE_SIZE = 100;
+
+  /**
+   * The largest number of rows a single page may hold.
+   */
+  public static final int MAX_PAGE_SIZE = 500;
+
+  private final List<T> items;
+  private final String nextCursor;
+
+  /**
+   * Constructs a page of rows.
+   *
+   * @param items the rows of the page
+   * @param nextCursor the cursor of the next page, or null if this is the last page
+   */
+  public CursorPage(List<T> items, String nextCursor) {
+    this.items = items;
+    this.nextCursor = nextCursor;
+  }
+
+  /**
+   * Gets the rows of the page.
+   *
+   * @return the rows of the page
+   */
+  public List<T> getItems() {
+    return items;
+  }
+
+  /**
+   * Gets the cursor that continues the listing after this page.
+   *
+   * @return the cursor of the next page, or null if this is the last page
+   */
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  /**
+   * Checks a requested page size and caps it at the maximum page size.
+   *
+   * @param pageSize the requested page size
+   * @return the page size to use
+   * @throws IllegalArgumentException if the page size is not positive
+   */
+  public static int checkPageSize(int pageSize) {
+    if (pageSize <= 0) {
+      throw new IllegalArgumentException("Page size must be greater than 0.");
+    }
+    return Math.min(pageSize, MAX_PAGE_SIZE);
+  }
+
+  /**
+   * Encodes the key of the last row of a page as an opaque cursor.
+   *
+   * @param key the key of the last row
+   * @return the cursor
+   */
+  public static String encodeCursor(String key) {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(key.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes a cursor back into the key of the row it continues after.
+   *
+   * @param cursor the cursor
+   * @return the key of the row
+   * @throws IllegalArgumentException if the cursor was not created by {@link #encodeCursor}
+   */
+  public static String decodeCursor(String cursor) {
+    try {
+      return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Cursor is not valid.");
+    }
+  }
+}
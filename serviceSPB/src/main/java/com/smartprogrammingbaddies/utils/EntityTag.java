@@ -0,0 +1,48 @@
+package com.smartprogrammingbaddies.utils;
+
+/**
+ * The EntityTag class converts entity versions to and from HTTP entity tags, so clients can make
+ * conditional updates with the {@code If-Match} header.
+ */
+public final class EntityTag {
+  private EntityTag() {
+    // Static helpers only
+  }
+
+  /**
+   * Creates the entity tag of a version.
+   *
+   * @param version the version of the entity
+   * @return the quoted entity tag
+   */
+  public static String of(long version) {
+    return "\"" + version + "\"";
+  }
+
+  /**
+   * Reads the version required by an {@code If-Match} header.
+   *
+   * @param ifMatch the value of the header, which may be missing
+   * @return the required version, or null if the header is missing or matches any version
+   * @throws IllegalArgumentException if the header is not an entity tag from this service
+   */
+  public static Long parseIfMatch(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+      return null;
+    }
+
+    String tag = ifMatch.trim();
+    if (tag.startsWith("W/")) {
+      tag = tag.substring(2);
+    }
+    if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+      tag = tag.substring(1, tag.length() - 1);
+    }
+
+    try {
+      return Long.parseLong(tag);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("If-Match must be an ETag returned by this service.");
+    }
+  }
+}
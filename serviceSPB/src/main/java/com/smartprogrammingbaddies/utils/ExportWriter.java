@@ -0,0 +1,147 @@
+package com.smartprogrammingbaddies.utils;
+
+import com.google.gson.JsonObject;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The ExportWriter class writes rows to an output stream one at a time, as either
+ * newline-delimited JSON or CSV, so exports never hold more than a single row in memory.
+ */
+public class ExportWriter {
+  /**
+   * The formats rows can be exported in.
+   */
+  public enum Format {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    Format(String mediaType, String extension) {
+      this.mediaType = mediaType;
+      this.extension = extension;
+    }
+
+    /**
+     * Gets the media type of the format.
+     *
+     * @return the media type
+     */
+    public String getMediaType() {
+      return mediaType;
+    }
+
+    /**
+     * Gets the file extension of the format.
+     *
+     * @return the file extension
+     */
+    public String getExtension() {
+      return extension;
+    }
+
+    /**
+     * Converts a string to a Format, ignoring case.
+     *
+     * @param format the string to convert
+     * @return the Format that corresponds to the string
+     * @throws IllegalArgumentException if the string is not a listed format
+     */
+    public static Format fromString(String format) {
+      for (Format value : values()) {
+        if (value.name().equalsIgnoreCase(format)) {
+          return value;
+        }
+      }
+      throw new IllegalArgumentException("Format must be ndjson or csv.");
+    }
+  }
+
+  private final BufferedWriter writer;
+  private final Format format;
+  private final String[] columns;
+
+  /**
+   * Constructs a writer for rows with the given columns. CSV exports start with a header row.
+   *
+   * @param out the stream to write to
+   * @param format the format to write rows in
+   * @param columns the names of the columns of every row
+   * @throws IOException if the header cannot be written
+   */
+  public ExportWriter(OutputStream out, Format format, String... columns) throws IOException {
+    this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    this.format = format;
+    this.columns = columns;
+    if (format == Format.CSV) {
+      writeCsv(columns);
+    }
+  }
+
+  /**
+   * Writes a single row.
+   *
+   * @param values the values of the row, in column order
+   * @throws IOException if the row cannot be written
+   * @throws IllegalArgumentException if the number of values does not match the columns
+   */
+  public void write(Object... values) throws IOException {
+    if (values.length != columns.length) {
+      throw new IllegalArgumentException("Row must have a value for every column.");
+    }
+
+    if (format == Format.CSV) {
+      String[] text = new String[values.length];
+      for (int i = 0; i < values.length; i++) {
+        text[i] = values[i] == null ? "" : values[i].toString();
+      }
+      writeCsv(text);
+      return;
+    }
+
+    JsonObject json = new JsonObject();
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] instanceof Number) {
+        json.addProperty(columns[i], (Number) values[i]);
+      } else {
+        json.addProperty(columns[i], values[i] == null ? null : values[i].toString());
+      }
+    }
+    writer.write(json.toString());
+    writer.write('\n');
+  }
+
+  /**
+   * Sends every buffered row to the underlying stream.
+   *
+   * @throws IOException if the rows cannot be written
+   */
+  public void flush() throws IOException {
+    writer.flush();
+  }
+
+  private void writeCsv(String[] fields) throws IOException {
+    for (int i = 0; i < fields.length; i++) {
+      if (i > 0) {
+        writer.write(',');
+      }
+
+      String field = fields[i];
+      boolean needsQuotes = field.indexOf(',') >= 0 || field.indexOf('"') >= 0
+          || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0;
+      if (needsQuotes) {
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+      } else {
+        writer.write(field);
+      }
+    }
+    writer.write('\n');
+  }
+}
@@ -0,0 +1,110 @@
+package com.smartprogrammingbaddies.utils;
+
+import java.sql.SQLException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+/**
+ * The RetryPolicy class runs an action again when it loses a race with another writer, such
+ * as an optimistic locking failure, a deadlock, or an insert that found its key inserted by
+ * someone else in the meantime. Attempts are bounded, and each wait is a random time up to an
+ * exponentially growing limit, so writers that collided once do not collide again in lockstep.
+ */
+public class RetryPolicy {
+  private static final String UNIQUE_VIOLATION_STATE = "23505";
+  private static final int MYSQL_DUPLICATE_KEY = 1062;
+
+  private final int maxAttempts;
+  private final long baseDelayMillis;
+  private final long maxDelayMillis;
+
+  private final LongAdder retries = new LongAdder();
+
+  /**
+   * Constructs a new RetryPolicy.
+   *
+   * @param maxAttempts the number of times an action is tried before giving up
+   * @param baseDelayMillis the longest wait before the first retry
+   * @param maxDelayMillis the longest wait before any retry
+   * @throws IllegalArgumentException if the attempts are not positive or a delay is invalid
+   */
+  public RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+    if (maxAttempts <= 0) {
+      throw new IllegalArgumentException("Max attempts must be greater than 0.");
+    }
+
+    if (baseDelayMillis < 0 || maxDelayMillis < baseDelayMillis) {
+      throw new IllegalArgumentException("Delays must be positive and the max at least the base.");
+    }
+
+    this.maxAttempts = maxAttempts;
+    this.baseDelayMillis = baseDelayMillis;
+    this.maxDelayMillis = maxDelayMillis;
+  }
+
+  /**
+   * Runs an action, trying it again if it fails because of a concurrent write.
+   *
+   * @param <T> the type of the action's result
+   * @param action the action to run, which must start its own database transaction
+   * @return the result of the action
+   * @throws ConcurrencyFailureException if every attempt lost a race
+   * @throws DataIntegrityViolationException if every attempt lost a race to insert a key, or
+   *     the action broke any other constraint
+   * @throws Exception if the action fails for any other reason
+   */
+  public <T> T call(Callable<T> action) throws Exception {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return action.call();
+      } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+        if (attempt >= maxAttempts || !isLostRace(e)) {
+          throw e;
+        }
+        retries.increment();
+        Thread.sleep(delay(attempt));
+      }
+    }
+  }
+
+  /**
+   * Checks if a failure means the action lost a race with another writer. Besides
+   * concurrency failures, this is a unique key violation: the row the action inserted was
+   * inserted by another writer first, so the next attempt finds and updates it.
+   *
+   * @param failure the failure of the action
+   * @return true if the action should be tried again, false otherwise
+   */
+  static boolean isLostRace(Exception failure) {
+    if (failure instanceof ConcurrencyFailureException
+        || failure instanceof DuplicateKeyException) {
+      return true;
+    }
+
+    for (Throwable cause = failure.getCause(); cause != null; cause = cause.getCause()) {
+      if (cause instanceof SQLException sqlException) {
+        return UNIQUE_VIOLATION_STATE.equals(sqlException.getSQLState())
+            || sqlException.getErrorCode() == MYSQL_DUPLICATE_KEY;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Gets the number of times an action was retried.
+   *
+   * @return the number of retries
+   */
+  public long getRetryCount() {
+    return retries.sum();
+  }
+
+  private long delay(int attempt) {
+    long limit = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 20));
+    return limit <= 0 ? 0 : ThreadLocalRandom.current().nextLong(limit + 1);
+  }
+}
@@ -1,6 +1,6 @@
 package com.smartprogrammingbaddies.volunteer;
 
-import com.smartprogrammingbaddies.auth.AuthController;
+import com.smartprogrammingbaddies.auth.AuthPrincipal;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -8,6 +8,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -18,31 +19,24 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 public class VolunteerController {
 
-  @Autowired
-  private AuthController auth;
-
   @Autowired
   VolunteerRepository volunteerRepository;
 
   /**
     * Enrolls a volunteer into the database.
     *
-    * @param apiKey A {@code String} representing the API key.
+    * @param principal The authenticated caller, resolved from the apiKey parameter.
     * @param name A {@code String} representing the volunteer's name.
     * @return A {@code ResponseEntity} A message if Volunteer was successfully enrolled
   and a HTTP 200 response or, HTTP 404 response if API Key was not found.
     */
   @PatchMapping("/enrollVolunteer")
-  public ResponseEntity<?> enrollVolunteer(@RequestParam("apiKey") String apiKey,
-                                            @RequestParam("name") String name,
-                                            @RequestParam("role") String role,
-                                            @RequestBody Map<String, String> schedule) {
+  public ResponseEntity<?> enrollVolunteer(
+      @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
+      @RequestParam("name") String name,
+      @RequestParam("role") String role,
+      @RequestBody Map<String, String> schedule) {
     try {
-      boolean validApiKey = auth.verifyApiKey(apiKey).getStatusCode() == HttpStatus.OK;
-      if (!validApiKey) {
-        return new ResponseEntity<>("Invalid API key.", HttpStatus.FORBIDDEN);
-      }
-
       String dateSignUp = String.valueOf(System.currentTimeMillis());
       Volunteer volunteer = new Volunteer(name, role, dateSignUp, schedule);
 
@@ -57,20 +51,16 @@ public class VolunteerController {
   /**
     * Remove a volunteer from the database.
     *
-    * @param apiKey A {@code String} representing the API key.
+    * @param principal The authenticated caller, resolved from the apiKey parameter.
     * @param volunteerId A {@code String} representing the volunteer ID.
     * @return A {@code ResponseEntity} A message if Volunteer was successfully removed
   and a HTTP 200 response or, HTTP 404 response if API Key was not found.
     */
   @DeleteMapping("/removeVolunteer")
-  public ResponseEntity<?> removeVolunteer(@RequestParam("apiKey") String apiKey,
-                                            @RequestParam("volunteerId") int volunteerId) {
+  public ResponseEntity<?> removeVolunteer(
+      @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
+      @RequestParam("volunteerId") int volunteerId) {
     try {
-      boolean validApiKey = auth.verifyApiKey(apiKey).getStatusCode() == HttpStatus.OK;
-      if (!validApiKey) {
-        return new ResponseEntity<>("Invalid API key.", HttpStatus.FORBIDDEN);
-      }
-
       if (!volunteerRepository.existsById(volunteerId)) {
         return new ResponseEntity<>("Volunteer not found.", HttpStatus.NOT_FOUND);
       }
@@ -87,21 +77,17 @@ public class VolunteerController {
   /**
     * Update schedule of volunteer.
     *
-    * @param apiKey A {@code String} representing the API key.
+    * @param principal The authenticated caller, resolved from the apiKey parameter.
     * @param volunteerId A {@code String} representing the volunteer ID.
     * @return A {@code ResponseEntity} A message if Volunteer was successfully removed
   and a HTTP 200 response or, HTTP 404 response if API Key was not found.
     */
   @PatchMapping("/updateSchedule")
-  public ResponseEntity<?> updateSchedule(@RequestParam("apiKey") String apiKey,
-                                          @RequestParam("volunteerId") int volunteerId,
-                                          @RequestBody Map<String, String> newSchedule) {
+  public ResponseEntity<?> updateSchedule(
+      @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
+      @RequestParam("volunteerId") int volunteerId,
+      @RequestBody Map<String, String> newSchedule) {
     try {
-      boolean validApiKey = auth.verifyApiKey(apiKey).getStatusCode() == HttpStatus.OK;
-      if (!validApiKey) {
-        return new ResponseEntity<>("Invalid API key.", HttpStatus.FORBIDDEN);
-      }
-
       Volunteer volunteer = volunteerRepository.findById(volunteerId)
                 .orElseThrow(() -> new IllegalArgumentException("Volunteer not found."));
 
@@ -118,21 +104,17 @@ public class VolunteerController {
   /**
     * Update role of volunteer.
     *
-    * @param apiKey A {@code String} representing the API key.
+    * @param principal The authenticated caller, resolved from the apiKey parameter.
     * @param volunteerId A {@code String} representing the volunteer ID.
     * @return A {@code ResponseEntity} A message if Volunteer was successfully removed
   and a HTTP 200 response or, HTTP 404 reponse if API Key was not found.
     */
   @PatchMapping("/updateRole")
-  public ResponseEntity<?> updateRole(@RequestParam("apiKey") String apiKey,
-                                      @RequestParam("volunteerId") int volunteerId,
-                                      @RequestParam("role") String newRole) {
+  public ResponseEntity<?> updateRole(
+      @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
+      @RequestParam("volunteerId") int volunteerId,
+      @RequestParam("role") String newRole) {
     try {
-      boolean validApiKey = auth.verifyApiKey(apiKey).getStatusCode() == HttpStatus.OK;
-      if (!validApiKey) {
-        return new ResponseEntity<>("Invalid API key.", HttpStatus.FORBIDDEN);
-      }
-
       Volunteer volunteer = volunteerRepository.findById(volunteerId)
               .orElseThrow(() -> new IllegalArgumentException("Volunteer not found."));
 
@@ -148,21 +130,17 @@ public class VolunteerController {
   /**
     * Update name of volunteer.
     *
-    * @param apiKey A {@code String} representing the API key.
+    * @param principal The authenticated caller, resolved from the apiKey parameter.
     * @param volunteerId A {@code String} representing the volunteer ID.
     * @return A {@code ResponseEntity} A message if Volunteer was successfully removed
   and a HTTP 200 response or, HTTP 404 reponse if API Key was not found.
     */
   @PatchMapping("/updateName")
-  public ResponseEntity<?> updateName(@RequestParam("apiKey") String apiKey,
-                                      @RequestParam("volunteerId") int volunteerId,
-                                      @RequestParam("name") String newName) {
+  public ResponseEntity<?> updateName(
+      @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
+      @RequestParam("volunteerId") int volunteerId,
+      @RequestParam("name") String newName) {
     try {
-      boolean validApiKey = auth.verifyApiKey(apiKey).getStatusCode() == HttpStatus.OK;
-      if (!validApiKey) {
-        return new ResponseEntity<>("Invalid API key.", HttpStatus.FORBIDDEN);
-      }
-
       Volunteer volunteer = volunteerRepository.findById(volunteerId)
               .orElseThrow(() -> new IllegalArgumentException("Volunteer not found."));
 
@@ -178,20 +156,16 @@ public class VolunteerController {
   /**
     * Get volunteer info.
     *
-    * @param apiKey A {@code String} representing the API key.
+    * @param principal The authenticated caller, resolved from the apiKey parameter.
     * @param volunteerId A {@code String} representing the volunteer ID.
     * @return A {@code ResponseEntity} A message if Volunteer was successfully removed
   and a HTTP 200 response or, HTTP 404 reponse if API Key was not found.
     */
   @GetMapping("/getVolunteerInfo")
-  public ResponseEntity<?> getVolunteerInfo(@RequestParam("apiKey") String apiKey,
-                                            @RequestParam("volunteerId") int volunteerId) {
+  public ResponseEntity<?> getVolunteerInfo(
+      @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
+      @RequestParam("volunteerId") int volunteerId) {
     try {
-      boolean validApiKey = auth.verifyApiKey(apiKey).getStatusCode() == HttpStatus.OK;
-      if (!validApiKey) {
-        return new ResponseEntity<>("Invalid API key.", HttpStatus.FORBIDDEN);
-      }
-
       Volunteer volunteer = volunteerRepository.findById(volunteerId)
               .orElseThrow(() -> new IllegalArgumentException("Volunteer not found."));
 
@@ -1,13 +1,18 @@
 package com.smartprogrammingbaddies;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.smartprogrammingbaddies.auth.ApiKey;
+import com.smartprogrammingbaddies.auth.ApiKeyCache;
 import com.smartprogrammingbaddies.auth.ApiKeyRepository;
 import com.smartprogrammingbaddies.auth.AuthController;
+import com.smartprogrammingbaddies.client.ClientRepository;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +20,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
@@ -26,13 +32,21 @@ import org.springframework.test.web.servlet.ResultActions;
  */
 @ActiveProfiles("test")
 @WebMvcTest(AuthController.class)
+@TestPropertySource(properties = "auth.admin-keys=" + AuthTest.ADMIN_KEY)
 public class AuthTest {
+  static final String ADMIN_KEY = "3f2c1e9a-7b4d-4c8e-9a1f-0d6b5e2c7a91";
+
   @Autowired
   private MockMvc mockMvc;
 
+  @Autowired
+  private ApiKeyCache apiKeyCache;
+
   @MockBean
   private ApiKeyRepository apiKeyRepository;
   @MockBean
+  private ClientRepository clientRepository;
+  @MockBean
   private ApiKey apiKey;
   private String key;
 
@@ -43,6 +57,7 @@ public class AuthTest {
    */
   @BeforeEach
   public void setUp() throws Exception {
+    apiKeyCache.clear();
     key = UUID.randomUUID().toString();
     apiKey = new ApiKey(key);
     when(apiKeyRepository.existsByApiKey(key)).thenReturn(true);
@@ -99,4 +114,38 @@ public class AuthTest {
     ResultActions result = mockMvc.perform(get("/verifyApiKey").param("apiKey", badKey));
     result.andExpect(status().isInternalServerError());
   }
+
+  /**
+   * Tests that repeated verifications of the same key are served from the cache.
+   */
+  @Test
+  public void verifyApiKeyCachedTest() throws Exception {
+    final long misses = apiKeyCache.getMissCount();
+    final long hits = apiKeyCache.getHitCount();
+    mockMvc.perform(get("/verifyApiKey").param("apiKey", key)).andExpect(status().isOk());
+    mockMvc.perform(get("/verifyApiKey").param("apiKey", key)).andExpect(status().isOk());
+    verify(apiKeyRepository, times(1)).existsByApiKey(key);
+    assertEquals(misses + 1, apiKeyCache.getMissCount());
+    assertEquals(hits + 1, apiKeyCache.getHitCount());
+  }
+
+  /**
+   * Tests the cache statistics endpoint with an admin API key.
+   */
+  @Test
+  public void apiKeyCacheStatsTest() throws Exception {
+    when(apiKeyRepository.existsByApiKey(ADMIN_KEY)).thenReturn(true);
+    ResultActions result = mockMvc.perform(get("/apiKeyCacheStats").param("apiKey", ADMIN_KEY));
+    result.andExpect(status().isOk());
+  }
+
+  /**
+   * Tests that the cache statistics endpoint refuses callers that are not admins.
+   */
+  @Test
+  public void apiKeyCacheStatsNotAdminTest() throws Exception {
+    mockMvc.perform(get("/apiKeyCacheStats")).andExpect(status().isForbidden());
+    mockMvc.perform(get("/apiKeyCacheStats").param("apiKey", key))
+        .andExpect(status().isForbidden());
+  }
 }
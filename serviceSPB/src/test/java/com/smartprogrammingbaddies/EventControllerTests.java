@@ -6,8 +6,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.smartprogrammingbaddies.auth.ApiKeyRepository;
-import com.smartprogrammingbaddies.auth.AuthController;
 import com.smartprogrammingbaddies.client.Client;
+import com.smartprogrammingbaddies.client.ClientRepository;
 import com.smartprogrammingbaddies.event.Event;
 import com.smartprogrammingbaddies.event.EventController;
 import com.smartprogrammingbaddies.event.EventRepository;
@@ -29,8 +29,6 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 
 /**
@@ -46,13 +44,13 @@ public class EventControllerTests {
   private String badApiKey = TestUtils.badApiKey;
   private static String eventId = "0";
 
-  @MockBean
-  private AuthController auth;
   @MockBean
   private OrganizationRepository organizationRepository;
   @MockBean
   private ApiKeyRepository apiKeyRepository;
   @MockBean
+  private ClientRepository clientRepository;
+  @MockBean
   private StorageCenterRepository storageCenterRepository;
   @MockBean
   private EventRepository eventRepository;
@@ -66,13 +64,9 @@ public class EventControllerTests {
   public void setUp() {
     Mockito.when(eventRepository.findById(Integer.valueOf(eventId))).thenReturn(
         Optional.of(new Event()));
-    ResponseEntity<?> validKeyResponse = new ResponseEntity<>("Valid API Key",
-        HttpStatus.OK);
-    ResponseEntity<?> invalidKeyResponse = new ResponseEntity<>("Invalid API key.",
-        HttpStatus.FORBIDDEN);
 
-    Mockito.when(auth.verifyApiKey(apiKey)).thenReturn((ResponseEntity) validKeyResponse);
-    Mockito.when(auth.verifyApiKey(badApiKey)).thenReturn((ResponseEntity) invalidKeyResponse);
+    Mockito.when(apiKeyRepository.existsByApiKey(apiKey)).thenReturn(true);
+    Mockito.when(apiKeyRepository.existsByApiKey(badApiKey)).thenReturn(false);
 
     StorageCenter mockStorage = new StorageCenter("Mock Storage", "A mock storage for testing");
     Set<String> mockSchedule = new HashSet<>();
@@ -128,7 +122,7 @@ public class EventControllerTests {
         .param("storageCenterId", "0")
         .param("organizationId", "0")
         .contentType("application/json"))
-        .andExpect(status().isUnauthorized());
+        .andExpect(status().isForbidden());
   }
 
   @Test
@@ -189,7 +183,7 @@ public class EventControllerTests {
         .param("eventId", "2")
         .param("volunteerId", "1")
         .contentType("application/json"))
-        .andExpect(status().isUnauthorized());
+        .andExpect(status().isForbidden());
 
     Mockito.when(eventRepository.findById(2)).thenReturn(Optional.empty());
 
@@ -224,7 +218,7 @@ public class EventControllerTests {
     mockMvc.perform(get("/listEvents")
         .param("apiKey", badApiKey)
         .contentType("application/json"))
-        .andExpect(status().isNotFound());
+        .andExpect(status().isForbidden());
   }
 
   @Test
@@ -238,7 +232,7 @@ public class EventControllerTests {
     mockMvc.perform(get("/retrieveEvent")
         .param("apiKey", badApiKey)
         .param("eventId", eventId))
-        .andExpect(status().isUnauthorized());
+        .andExpect(status().isForbidden());
   }
 
   @Test
@@ -312,7 +306,7 @@ public class EventControllerTests {
     mockMvc.perform(delete("/removeEvent")
         .param("apiKey", badApiKey)
         .param("eventId", eventId))
-        .andExpect(status().isUnauthorized());
+        .andExpect(status().isForbidden());
 
     mockMvc.perform(delete("/removeEvent")
         .param("apiKey", apiKey)
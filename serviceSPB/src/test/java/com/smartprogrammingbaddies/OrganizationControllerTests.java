@@ -8,6 +8,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.smartprogrammingbaddies.auth.ApiKeyRepository;
 import com.smartprogrammingbaddies.client.Client;
 import com.smartprogrammingbaddies.client.ClientRepository;
 import com.smartprogrammingbaddies.event.Event;
@@ -45,6 +46,9 @@ public class OrganizationControllerTests {
   @MockBean
   private ClientRepository clientRepository;
 
+  @MockBean
+  private ApiKeyRepository apiKeyRepository;
+
   @MockBean
   private EventRepository eventRepository;
 
@@ -87,6 +91,7 @@ public class OrganizationControllerTests {
     when(clientRepository.save(any(Client.class))).thenReturn(client);
     when(clientRepository.findByApiKey("test")).thenReturn(client);
     when(clientRepository.findByApiKey("invalid")).thenReturn(null);
+    when(apiKeyRepository.existsByApiKey("test")).thenReturn(true);
     when(organizationRepository.save(organization)).thenReturn(organization);
     when(organizationRepository.findById(0)).thenReturn(Optional.of(organization));
     when(organizationRepository.findById(1)).thenReturn(Optional.empty());
@@ -189,12 +194,12 @@ public class OrganizationControllerTests {
     result = mockMvc.perform(get("/getOrganization")
           .param("orgId", "0")
           .param("apiKey", ""));
-    result.andExpect(status().isBadRequest());
+    result.andExpect(status().isForbidden());
 
     result = mockMvc.perform(get("/getOrganization")
           .param("orgId", "0")
           .param("apiKey", "invalid"));
-    result.andExpect(status().isBadRequest());
+    result.andExpect(status().isForbidden());
   }
 
   /**
@@ -227,12 +232,12 @@ public class OrganizationControllerTests {
     result = mockMvc.perform(patch("/changeSubscriptionStatus")
           .param("orgId", "0")
           .param("apiKey", " "));
-    result.andExpect(status().isBadRequest());
+    result.andExpect(status().isForbidden());
 
     result = mockMvc.perform(patch("/changeSubscriptionStatus")
           .param("orgId", "0")
           .param("apiKey", "invalid"));
-    result.andExpect(status().isBadRequest());
+    result.andExpect(status().isForbidden());
   }
 
   /**
@@ -260,12 +265,12 @@ public class OrganizationControllerTests {
     result = mockMvc.perform(delete("/deleteOrganization")
           .param("orgId", "0")
           .param("apiKey", " "));
-    result.andExpect(status().isBadRequest());
+    result.andExpect(status().isForbidden());
 
     result = mockMvc.perform(delete("/deleteOrganization")
           .param("orgId", "0")
           .param("apiKey", "invalid"));
-    result.andExpect(status().isBadRequest());
+    result.andExpect(status().isForbidden());
   }
 
   /**
@@ -306,13 +311,13 @@ public class OrganizationControllerTests {
           .param("orgId", "0")
           .param("apiKey", " ")
           .param("eventId", "0"));
-    result.andExpect(status().isBadRequest());
+    result.andExpect(status().isForbidden());
 
     result = mockMvc.perform(post("/registerEvent")
           .param("orgId", "0")
           .param("apiKey", "invalid")
           .param("eventId", "0"));
-    result.andExpect(status().isBadRequest());
+    result.andExpect(status().isForbidden());
 
     result = mockMvc.perform(post("/registerEvent")
           .param("orgId", "0")
@@ -358,13 +363,13 @@ public class OrganizationControllerTests {
           .param("orgId", "0")
           .param("apiKey", " ")
           .param("eventId", "0"));
-    result.andExpect(status().isBadRequest());
+    result.andExpect(status().isForbidden());
 
     result = mockMvc.perform(delete("/unregisterEvent")
           .param("orgId", "0")
           .param("apiKey", "invalid")
           .param("eventId", "0"));
-    result.andExpect(status().isBadRequest());
+    result.andExpect(status().isForbidden());
 
     result = mockMvc.perform(delete("/unregisterEvent")
           .param("orgId", "0")
@@ -397,12 +402,12 @@ public class OrganizationControllerTests {
     result = mockMvc.perform(get("/listOrganizationEvents")
           .param("orgId", "0")
           .param("apiKey", " "));
-    result.andExpect(status().isBadRequest());
+    result.andExpect(status().isForbidden());
 
     result = mockMvc.perform(get("/listOrganizationEvents")
           .param("orgId", "0")
           .param("apiKey", "invalid"));
-    result.andExpect(status().isBadRequest());
+    result.andExpect(status().isForbidden());
   }
 
   /**
@@ -432,13 +437,13 @@ public class OrganizationControllerTests {
           .param("orgId", "0")
           .param("apiKey", " ")
           .param("storageId", "0"));
-    result.andExpect(status().isBadRequest());
+    result.andExpect(status().isForbidden());
 
     result = mockMvc.perform(post("/linkStorageCenter")
           .param("orgId", "0")
           .param("apiKey", "invalid")
           .param("storageId", "0"));
-    result.andExpect(status().isBadRequest());
+    result.andExpect(status().isForbidden());
 
     result = mockMvc.perform(post("/linkStorageCenter")
           .param("orgId", "0")
@@ -471,12 +476,12 @@ public class OrganizationControllerTests {
     result = mockMvc.perform(get("/getStorageCenter")
           .param("orgId", "0")
           .param("apiKey", " "));
-    result.andExpect(status().isBadRequest());
+    result.andExpect(status().isForbidden());
 
     result = mockMvc.perform(get("/getStorageCenter")
           .param("orgId", "0")
           .param("apiKey", "invalid"));
-    result.andExpect(status().isBadRequest());
+    result.andExpect(status().isForbidden());
   }
 
   /**
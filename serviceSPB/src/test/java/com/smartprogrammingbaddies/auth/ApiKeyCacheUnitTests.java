@@ -0,0 +1,123 @@
+package com.smartprogrammingbaddies.auth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.smartprogrammingbaddies.client.ClientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the ApiKeyCache class.
+ */
+public class ApiKeyCacheUnitTests {
+  private ApiKeyRepository apiKeyRepository;
+  private ApiKeyLookup lookup;
+  private ApiKeyCache cache;
+
+  /**
+   * Sets up a small cache backed by a mocked repository.
+   */
+  @BeforeEach
+  public void setUp() {
+    apiKeyRepository = mock(ApiKeyRepository.class);
+    when(apiKeyRepository.existsByApiKey("valid")).thenReturn(true);
+    when(apiKeyRepository.existsByApiKey("invalid")).thenReturn(false);
+    lookup = new ApiKeyLookup(apiKeyRepository, mock(ClientRepository.class),
+        ApiKeyLookup.StorageMode.STRING);
+    cache = new ApiKeyCache(lookup, 10, 60, 60);
+  }
+
+  /**
+   * Tests that valid keys are only read from the database once.
+   */
+  @Test
+  public void testValidKeyCached() {
+    assertTrue(cache.isValid("valid"));
+    assertTrue(cache.isValid("valid"));
+    verify(apiKeyRepository, times(1)).existsByApiKey("valid");
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+  }
+
+  /**
+   * Tests that invalid keys are negatively cached.
+   */
+  @Test
+  public void testInvalidKeyCached() {
+    assertFalse(cache.isValid("invalid"));
+    assertFalse(cache.isValid("invalid"));
+    verify(apiKeyRepository, times(1)).existsByApiKey("invalid");
+  }
+
+  /**
+   * Tests that blank keys never reach the database.
+   */
+  @Test
+  public void testBlankKey() {
+    assertFalse(cache.isValid(null));
+    assertFalse(cache.isValid(" "));
+    assertEquals(0, cache.getMissCount());
+  }
+
+  /**
+   * Tests that marking and invalidating keys take effect immediately.
+   */
+  @Test
+  public void testMarkValidAndInvalidate() {
+    assertFalse(cache.isValid("invalid"));
+    cache.markValid("invalid");
+    assertTrue(cache.isValid("invalid"));
+
+    cache.invalidate("valid");
+    assertTrue(cache.isValid("valid"));
+    when(apiKeyRepository.existsByApiKey("valid")).thenReturn(false);
+    cache.invalidate("valid");
+    assertFalse(cache.isValid("valid"));
+  }
+
+  /**
+   * Tests that a key invalidated while it is being looked up is not cached as valid.
+   */
+  @Test
+  public void testInvalidateDuringLookup() {
+    when(apiKeyRepository.existsByApiKey("removed")).thenAnswer(invocation -> {
+      cache.invalidate("removed");
+      return true;
+    });
+    assertTrue(cache.isValid("removed"));
+    assertEquals(0, cache.size());
+
+    when(apiKeyRepository.existsByApiKey("removed")).thenReturn(false);
+    assertFalse(cache.isValid("removed"));
+  }
+
+  /**
+   * Tests that the cache never grows past its bound.
+   */
+  @Test
+  public void testEviction() {
+    for (int i = 0; i < 25; i++) {
+      cache.isValid("key-" + i);
+    }
+    assertTrue(cache.size() <= 10);
+    assertTrue(cache.getEvictionCount() > 0);
+  }
+
+  /**
+   * Tests that the cache rejects invalid limits.
+   */
+  @Test
+  public void testInvalidLimits() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new ApiKeyCache(lookup, 0, 60, 60));
+    assertThrows(IllegalArgumentException.class,
+        () -> new ApiKeyCache(lookup, 10, 0, 60));
+  }
+}
@@ -0,0 +1,84 @@
+package com.smartprogrammingbaddies.auth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.smartprogrammingbaddies.client.Client;
+import com.smartprogrammingbaddies.client.ClientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Unit tests for the ApiKeyInterceptor and AuthPrincipal classes.
+ */
+public class ApiKeyInterceptorUnitTests {
+  private ClientRepository clientRepository;
+  private ApiKeyInterceptor interceptor;
+  private MockHttpServletRequest request;
+  private MockHttpServletResponse response;
+
+  /**
+   * Sets up an interceptor backed by mocked repositories.
+   */
+  @BeforeEach
+  public void setUp() {
+    ApiKeyRepository apiKeyRepository = mock(ApiKeyRepository.class);
+    when(apiKeyRepository.existsByApiKey("valid")).thenReturn(true);
+    clientRepository = mock(ClientRepository.class);
+    ApiKeyLookup lookup = new ApiKeyLookup(apiKeyRepository, clientRepository,
+        ApiKeyLookup.StorageMode.STRING);
+    ApiKeyCache cache = new ApiKeyCache(lookup, 10, 60, 60);
+    interceptor = new ApiKeyInterceptor(cache, lookup);
+    request = new MockHttpServletRequest();
+    response = new MockHttpServletResponse();
+  }
+
+  /**
+   * Tests that requests without an API key pass through untouched.
+   */
+  @Test
+  public void testNoApiKey() throws Exception {
+    assertTrue(interceptor.preHandle(request, response, null));
+    assertNull(request.getAttribute(AuthPrincipal.ATTRIBUTE));
+  }
+
+  /**
+   * Tests that invalid API keys are rejected before the controller runs.
+   */
+  @Test
+  public void testInvalidApiKey() throws Exception {
+    request.setParameter("apiKey", "invalid");
+    assertFalse(interceptor.preHandle(request, response, null));
+    assertEquals(403, response.getStatus());
+    assertNull(request.getAttribute(AuthPrincipal.ATTRIBUTE));
+  }
+
+  /**
+   * Tests that valid API keys resolve to a lazily loaded principal.
+   */
+  @Test
+  public void testValidApiKey() throws Exception {
+    Client client = new Client("valid");
+    when(clientRepository.findByApiKey("valid")).thenReturn(client);
+    request.setParameter("apiKey", "valid");
+    assertTrue(interceptor.preHandle(request, response, null));
+    verify(clientRepository, never()).findByApiKey("valid");
+
+    AuthPrincipal principal = (AuthPrincipal) request.getAttribute(AuthPrincipal.ATTRIBUTE);
+    assertEquals("valid", principal.getApiKey());
+    assertSame(client, principal.getClient());
+    assertSame(client, principal.getClient());
+    assertNull(principal.getOrganization());
+    verify(clientRepository, times(1)).findByApiKey("valid");
+  }
+}
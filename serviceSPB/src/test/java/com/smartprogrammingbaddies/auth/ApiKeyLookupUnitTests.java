@@ -0,0 +1,138 @@
+package com.smartprogrammingbaddies.auth;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.smartprogrammingbaddies.client.Client;
+import com.smartprogrammingbaddies.client.ClientRepository;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the ApiKeyCodec and ApiKeyLookup classes.
+ */
+public class ApiKeyLookupUnitTests {
+  private ApiKeyRepository apiKeyRepository;
+  private ClientRepository clientRepository;
+  private String key;
+
+  /**
+   * Sets up the mocked repositories.
+   */
+  @BeforeEach
+  public void setUp() {
+    apiKeyRepository = mock(ApiKeyRepository.class);
+    clientRepository = mock(ClientRepository.class);
+    key = UUID.randomUUID().toString();
+  }
+
+  /**
+   * Tests that keys round trip through their binary form.
+   */
+  @Test
+  public void testCodecRoundTrip() {
+    byte[] bytes = ApiKeyCodec.toBytes(key);
+    assertEquals(ApiKeyCodec.KEY_BYTES, bytes.length);
+    assertEquals(key, ApiKeyCodec.fromBytes(bytes));
+    assertArrayEquals(bytes, ApiKeyCodec.toBytes(ApiKeyCodec.fromBytes(bytes)));
+  }
+
+  /**
+   * Tests that non canonical keys have no binary form.
+   */
+  @Test
+  public void testCodecInvalidKeys() {
+    assertNull(ApiKeyCodec.toBytes(null));
+    assertNull(ApiKeyCodec.toBytes("test-service-key"));
+    assertNull(ApiKeyCodec.toBytes(key.toUpperCase()));
+    assertThrows(IllegalArgumentException.class, () -> ApiKeyCodec.fromBytes(new byte[4]));
+  }
+
+  /**
+   * Tests that the binary mode probes the binary column.
+   */
+  @Test
+  public void testBinaryLookup() {
+    ApiKeyLookup lookup = new ApiKeyLookup(apiKeyRepository, clientRepository,
+        ApiKeyLookup.StorageMode.BINARY);
+    Client client = new Client(key);
+    when(apiKeyRepository.existsByApiKeyBin(any())).thenReturn(true);
+    when(clientRepository.findByApiKeyBin(any())).thenReturn(client);
+
+    assertTrue(lookup.exists(key));
+    assertSame(client, lookup.findClient(key));
+    verify(apiKeyRepository, never()).existsByApiKey(key);
+    verify(clientRepository, never()).findByApiKey(key);
+  }
+
+  /**
+   * Tests that the binary mode falls back to the string column until migrated.
+   */
+  @Test
+  public void testBinaryLookupBeforeMigration() {
+    ApiKeyLookup lookup = new ApiKeyLookup(apiKeyRepository, clientRepository,
+        ApiKeyLookup.StorageMode.BINARY);
+    when(apiKeyRepository.existsByApiKeyBinIsNull()).thenReturn(true);
+    when(apiKeyRepository.existsByApiKey(key)).thenReturn(true);
+    assertTrue(lookup.exists(key));
+    assertFalse(lookup.isMigrated());
+
+    when(apiKeyRepository.existsByApiKeyBinIsNull()).thenReturn(false);
+    assertFalse(lookup.exists(key));
+    assertTrue(lookup.isMigrated());
+  }
+
+  /**
+   * Tests that the binary mode rejects keys that are not UUIDs.
+   */
+  @Test
+  public void testBinaryRejectsNonUuidKeys() {
+    ApiKeyLookup lookup = new ApiKeyLookup(apiKeyRepository, clientRepository,
+        ApiKeyLookup.StorageMode.BINARY);
+    when(apiKeyRepository.existsByApiKeyBinIsNull()).thenReturn(true);
+    when(apiKeyRepository.existsByApiKey("test-service-key")).thenReturn(true);
+
+    assertFalse(lookup.exists("test-service-key"));
+    assertTrue(lookup.findApiKey("test-service-key").isEmpty());
+    assertNull(lookup.findClient("test-service-key"));
+    assertThrows(IllegalArgumentException.class, () -> lookup.newApiKey("test-service-key"));
+    assertThrows(IllegalArgumentException.class, () -> lookup.newClient("test-service-key"));
+  }
+
+  /**
+   * Tests that the binary mode stores new keys in binary form only.
+   */
+  @Test
+  public void testBinaryNewEntries() {
+    ApiKeyLookup lookup = new ApiKeyLookup(apiKeyRepository, clientRepository,
+        ApiKeyLookup.StorageMode.BINARY);
+    ApiKey apiKey = lookup.newApiKey(key);
+    Client client = lookup.newClient(key);
+
+    assertTrue(apiKey.encodeApiKey());
+    assertTrue(client.encodeApiKey());
+    assertEquals(key, apiKey.getApiKey());
+    assertEquals(key, client.getApiKey());
+  }
+
+  /**
+   * Tests that new entities carry their binary key.
+   */
+  @Test
+  public void testEntitiesEncodeKeys() {
+    assertTrue(new ApiKey(key).encodeApiKey());
+    assertFalse(new ApiKey("test-service-key").encodeApiKey());
+    assertTrue(new Client(key).encodeApiKey());
+  }
+}
@@ -0,0 +1,98 @@
+package com.smartprogrammingbaddies.auth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.smartprogrammingbaddies.client.ClientRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the ApiKeyPool class.
+ */
+public class ApiKeyPoolUnitTests {
+  private ApiKeyRepository apiKeyRepository;
+  private ApiKeyLookup lookup;
+  private ApiKeyPool pool;
+
+  /**
+   * Sets up a small pool backed by a mocked repository.
+   */
+  @BeforeEach
+  public void setUp() {
+    apiKeyRepository = mock(ApiKeyRepository.class);
+    lookup = new ApiKeyLookup(apiKeyRepository, mock(ClientRepository.class),
+        ApiKeyLookup.StorageMode.STRING);
+    pool = new ApiKeyPool(lookup, 8, 2);
+  }
+
+  /**
+   * Stops the pool's refill thread.
+   */
+  @AfterEach
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  /**
+   * Tests that a refill fills the pool to its capacity.
+   */
+  @Test
+  public void testRefill() {
+    pool.refill();
+    assertEquals(8, pool.available());
+    assertNotNull(pool.take());
+  }
+
+  /**
+   * Tests that taking more keys than are pooled still returns unique keys.
+   */
+  @Test
+  public void testTakeMoreThanAvailable() {
+    pool.refill();
+    List<String> keys = pool.take(20);
+    assertEquals(20, keys.size());
+    assertEquals(20, new HashSet<>(keys).size());
+  }
+
+  /**
+   * Tests that keys already in the database are never handed out.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testExistingKeysDiscarded() {
+    List<String> rejected = new ArrayList<>();
+    when(apiKeyRepository.findExistingApiKeys(anyCollection())).thenAnswer(invocation -> {
+      Collection<String> batch = invocation.getArgument(0);
+      if (rejected.isEmpty()) {
+        rejected.add(batch.iterator().next());
+        return List.of(rejected.get(0));
+      }
+      return List.of();
+    });
+
+    List<String> keys = pool.take(5);
+    assertEquals(5, keys.size());
+    assertFalse(keys.contains(rejected.get(0)));
+  }
+
+  /**
+   * Tests that the pool rejects invalid arguments.
+   */
+  @Test
+  public void testInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new ApiKeyPool(lookup, 0, 0));
+    assertThrows(IllegalArgumentException.class, () -> new ApiKeyPool(lookup, 4, 5));
+    assertThrows(IllegalArgumentException.class, () -> pool.take(0));
+  }
+}
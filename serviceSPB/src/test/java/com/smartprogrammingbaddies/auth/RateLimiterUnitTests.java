@@ -0,0 +1,103 @@
+package com.smartprogrammingbaddies.auth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Unit tests for the RateLimiter and RateLimitInterceptor classes.
+ */
+public class RateLimiterUnitTests {
+  private static final long SECOND = 1_000_000_000L;
+  private RateLimiter limiter;
+
+  /**
+   * Sets up a limiter with a default budget and a tighter /listInventory budget.
+   */
+  @BeforeEach
+  public void setUp() {
+    limiter = new RateLimiter(new RateLimiter.Budget(3, 1),
+        RateLimiter.parseBudgets("/listInventory=1:1"), 100);
+  }
+
+  /**
+   * Tests that a burst up to the capacity is allowed and the next request waits.
+   */
+  @Test
+  public void testBurst() {
+    for (int i = 0; i < 3; i++) {
+      assertEquals(0, limiter.tryAcquire("key", "/getCenterInfo", 0));
+    }
+    assertEquals(SECOND, limiter.tryAcquire("key", "/getCenterInfo", 0));
+    assertEquals(0, limiter.tryAcquire("key", "/getCenterInfo", SECOND));
+    assertEquals(1, limiter.getRejectionCount());
+  }
+
+  /**
+   * Tests that endpoint budgets and API keys have separate buckets.
+   */
+  @Test
+  public void testSeparateBuckets() {
+    assertEquals(0, limiter.tryAcquire("key", "/listInventory", 0));
+    assertTrue(limiter.tryAcquire("key", "/listInventory", 0) > 0);
+    assertEquals(0, limiter.tryAcquire("key", "/getCenterInfo", 0));
+    assertEquals(0, limiter.tryAcquire("other", "/listInventory", 0));
+  }
+
+  /**
+   * Tests that refilled buckets are dropped once the limiter reaches its bound.
+   */
+  @Test
+  public void testIdleBucketsEvicted() {
+    RateLimiter small = new RateLimiter(new RateLimiter.Budget(1, 1), null, 2);
+    small.tryAcquire("a", "/x", 0);
+    small.tryAcquire("b", "/x", 0);
+    small.tryAcquire("c", "/x", 5 * SECOND);
+    assertEquals(1, small.size());
+  }
+
+  /**
+   * Tests that malformed budgets are rejected.
+   */
+  @Test
+  public void testInvalidBudgets() {
+    assertThrows(IllegalArgumentException.class, () -> new RateLimiter.Budget(0, 1));
+    assertThrows(IllegalArgumentException.class, () -> new RateLimiter.Budget(1, 0));
+    assertThrows(IllegalArgumentException.class, () -> RateLimiter.parseBudgets("/x=5"));
+    Map<String, RateLimiter.Budget> budgets = RateLimiter.parseBudgets(" /a=1:2 , /b=3:4 ");
+    assertEquals(2, budgets.size());
+  }
+
+  /**
+   * Tests that the interceptor answers over-budget requests with 429 and Retry-After.
+   */
+  @Test
+  public void testInterceptor() throws Exception {
+    RateLimitInterceptor interceptor = new RateLimitInterceptor(limiter);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/listInventory");
+    request.setAttribute(AuthPrincipal.ATTRIBUTE, new AuthPrincipal("key", () -> null));
+
+    assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    assertFalse(interceptor.preHandle(request, response, null));
+    assertEquals(429, response.getStatus());
+    assertEquals("1", response.getHeader("Retry-After"));
+
+    MockHttpServletRequest anonymous = new MockHttpServletRequest("GET", "/listInventory");
+    assertTrue(interceptor.preHandle(anonymous, new MockHttpServletResponse(), null));
+    response = new MockHttpServletResponse();
+    assertFalse(interceptor.preHandle(anonymous, response, null));
+    assertEquals(429, response.getStatus());
+
+    MockHttpServletRequest otherAddress = new MockHttpServletRequest("GET", "/listInventory");
+    otherAddress.setRemoteAddr("10.0.0.2");
+    assertTrue(interceptor.preHandle(otherAddress, new MockHttpServletResponse(), null));
+  }
+}
@@ -0,0 +1,58 @@
+package com.smartprogrammingbaddies.item;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the ItemKey class.
+ */
+public class ItemKeyUnitTests {
+  /**
+   * Tests that keys of the same item in the same storage center are equal.
+   */
+  @Test
+  public void equalsTest() {
+    ItemKey key = new ItemKey(1, new ItemId("FOOD", "Canned Beans"));
+    ItemKey same = new ItemKey(1, new ItemId("FOOD", "Canned Beans"));
+    assertEquals(key, same);
+    assertEquals(key.hashCode(), same.hashCode());
+    assertEquals(1, key.getCenterId());
+    assertEquals(new ItemId("FOOD", "Canned Beans"), key.getItemId());
+  }
+
+  /**
+   * Tests that the same item in different storage centers has different keys.
+   */
+  @Test
+  public void differentCentersTest() {
+    ItemId beans = new ItemId("FOOD", "Canned Beans");
+    assertNotEquals(new ItemKey(1, beans), new ItemKey(2, beans));
+    assertNotEquals(new ItemKey(1, beans), null);
+  }
+
+  /**
+   * Tests that a key must name an item.
+   */
+  @Test
+  public void nullItemIdTest() {
+    assertThrows(IllegalArgumentException.class, () -> new ItemKey(1, null));
+  }
+
+  /**
+   * Tests that only a primary key in the generated column order counts as migrated.
+   */
+  @Test
+  public void migratedKeyOrderTest() {
+    List<String> columns = ItemKeyMigration.KEY_COLUMNS;
+    assertTrue(ItemKeyMigration.isKeyedBy(List.of("STORAGE_CENTER_ID", "NAME", "TYPE"), columns));
+    assertFalse(ItemKeyMigration.isKeyedBy(List.of("storage_center_id", "type", "name"),
+        columns));
+    assertFalse(ItemKeyMigration.isKeyedBy(List.of("type", "name"), columns));
+  }
+}
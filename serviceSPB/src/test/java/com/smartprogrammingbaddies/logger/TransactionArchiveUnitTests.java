@@ -0,0 +1,130 @@
+package com.smartprogrammingbaddies.logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.smartprogrammingbaddies.storagecenter.StorageCenter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the TransactionArchive class.
+ */
+public class TransactionArchiveUnitTests {
+  private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+  @TempDir
+  Path directory;
+
+  private StorageCenter center;
+
+  /**
+   * Sets up a storage center for the archived transactions.
+   */
+  @BeforeEach
+  public void setUp() {
+    center = new StorageCenter("Test Center", "Test");
+    ReflectionTestUtils.setField(center, "id", 7);
+  }
+
+  /**
+   * Tests that a day is read back in (time, ID) order with its original contents.
+   */
+  @Test
+  public void testWriteAndRead() throws Exception {
+    TransactionArchive archive = new TransactionArchive(directory);
+    assertEquals(2, archive.write(center, DAY, List.of(newTransaction(5, "Rice", 9),
+        newTransaction(3, "Beans", 10))));
+
+    List<Transaction> transactions = archive.read(center, DAY);
+    assertEquals(List.of("Rice", "Beans"), names(transactions));
+    Transaction rice = transactions.get(0);
+    assertEquals(5, rice.getDatabaseId());
+    assertEquals(7, rice.getStorageCenter());
+    assertEquals(DAY, rice.getDate());
+    assertEquals(LocalTime.of(9, 0), rice.getTimestamp());
+    assertEquals("FOOD", rice.getItemType());
+    assertEquals(2, rice.getQuantity());
+    assertEquals("Check Out", rice.getAction());
+    assertTrue(Files.exists(directory.resolve("7").resolve("2024-03-01.ndjson.gz")));
+    assertTrue(archive.read(center, DAY.plusDays(1)).isEmpty());
+  }
+
+  /**
+   * Tests that writing a day again keeps the transactions already archived for it.
+   */
+  @Test
+  public void testWriteMergesDay() throws Exception {
+    TransactionArchive archive = new TransactionArchive(directory);
+    archive.write(center, DAY, List.of(newTransaction(1, "Rice", 9),
+        newTransaction(2, "Beans", 11)));
+
+    assertEquals(3, archive.write(center, DAY, List.of(newTransaction(2, "Beans", 11),
+        newTransaction(8, "Pasta", 10))));
+    assertEquals(List.of("Rice", "Pasta", "Beans"), names(archive.read(center, DAY)));
+  }
+
+  /**
+   * Tests that only days within the range are listed, oldest first.
+   */
+  @Test
+  public void testFindDays() throws Exception {
+    TransactionArchive archive = new TransactionArchive(directory);
+    for (int day : new int[] {20, 1, 10}) {
+      archive.write(center, DAY.withDayOfMonth(day), List.of(newTransaction(day, "Rice", 9)));
+    }
+
+    assertEquals(List.of(DAY, DAY.withDayOfMonth(10)),
+        archive.findDays(7, DAY, DAY.withDayOfMonth(15)));
+    assertTrue(archive.findDays(8, DAY, DAY.withDayOfMonth(31)).isEmpty());
+  }
+
+  /**
+   * Tests that the archived through day survives a restart and only moves forward.
+   */
+  @Test
+  public void testArchivedThrough() throws Exception {
+    TransactionArchive archive = new TransactionArchive(directory);
+    assertNull(archive.getArchivedThrough(7));
+
+    archive.setArchivedThrough(7, DAY);
+    archive.setArchivedThrough(7, DAY.minusDays(5));
+    assertEquals(DAY, archive.getArchivedThrough(7));
+    assertEquals(DAY, new TransactionArchive(directory).getArchivedThrough(7));
+  }
+
+  /**
+   * Tests that removing a storage center deletes its archive.
+   */
+  @Test
+  public void testRemove() throws Exception {
+    TransactionArchive archive = new TransactionArchive(directory);
+    archive.write(center, DAY, List.of(newTransaction(1, "Rice", 9)));
+    archive.setArchivedThrough(7, DAY);
+
+    archive.remove(7);
+    archive.remove(8);
+    assertNull(archive.getArchivedThrough(7));
+    assertTrue(archive.read(center, DAY).isEmpty());
+    assertFalse(Files.exists(directory.resolve("7")));
+  }
+
+  private Transaction newTransaction(int id, String name, int hour) {
+    return new Transaction(center, id, DAY, LocalTime.of(hour, 0), "FOOD", name, 2,
+        "Check Out");
+  }
+
+  private static List<String> names(List<Transaction> transactions) {
+    return transactions.stream().map(Transaction::getItemName).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,182 @@
+package com.smartprogrammingbaddies.logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.smartprogrammingbaddies.storagecenter.StorageCenter;
+import com.smartprogrammingbaddies.storagecenter.StorageCenterRepository;
+import com.smartprogrammingbaddies.storagecenter.SweepLeaseRepository;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the TransactionHistory class.
+ */
+public class TransactionHistoryUnitTests {
+  @TempDir
+  Path directory;
+
+  private TransactionRepository transactionRepository;
+  private StorageCenterRepository storageCenterRepository;
+  private SweepLeaseRepository leaseRepository;
+  private TransactionArchive archive;
+  private TransactionHistory history;
+  private StorageCenter center;
+  private LocalDate cutoff;
+
+  /**
+   * Sets up a history keeping 30 days in mocked repositories, deleting two rows at a time.
+   */
+  @BeforeEach
+  public void setUp() throws Exception {
+    transactionRepository = mock(TransactionRepository.class);
+    storageCenterRepository = mock(StorageCenterRepository.class);
+    archive = new TransactionArchive(directory);
+    leaseRepository = mock(SweepLeaseRepository.class);
+    history = new TransactionHistory(transactionRepository, storageCenterRepository,
+        leaseRepository, archive, 30, 2, Duration.ofMinutes(5), "instance-a");
+    when(leaseRepository.takeOver(eq(TransactionHistory.LEASE_NAME), eq("instance-a"),
+        any(Instant.class), any(Instant.class))).thenReturn(1);
+    center = new StorageCenter("Test Center", "Test");
+    ReflectionTestUtils.setField(center, "id", 7);
+    when(storageCenterRepository.findAllIds()).thenReturn(List.of(7));
+    when(storageCenterRepository.findById(7)).thenReturn(Optional.of(center));
+    cutoff = LocalDate.now().minusDays(30);
+  }
+
+  /**
+   * Tests that old days are written to the archive and then deleted in batches.
+   */
+  @Test
+  public void testArchive() {
+    LocalDate day = cutoff.minusDays(3);
+    when(transactionRepository.findDaysBefore(7, cutoff)).thenReturn(List.of(day));
+    List<TransactionSummary> rows = List.of(summary(1, day, "Rice"), summary(2, day, "Beans"));
+    List<TransactionSummary> lastRows = List.of(summary(3, day, "Pasta"));
+    when(transactionRepository.findSummariesByCenterAndDate(eq(7), eq(day), eq(0),
+        any(Pageable.class))).thenReturn(rows);
+    when(transactionRepository.findSummariesByCenterAndDate(eq(7), eq(day), eq(2),
+        any(Pageable.class))).thenReturn(lastRows);
+
+    TransactionHistory.Report report = history.archive();
+
+    assertEquals(1, report.getDaysArchived());
+    assertEquals(3, report.getTransactionsArchived());
+    assertEquals(0, report.getCentersFailed());
+    verify(transactionRepository).deleteAllByIds(List.of(1, 2));
+    verify(transactionRepository).deleteAllByIds(List.of(3));
+    assertEquals(cutoff.minusDays(1), archive.getArchivedThrough(7));
+    verify(leaseRepository).release(eq(TransactionHistory.LEASE_NAME), eq("instance-a"),
+        any(Instant.class));
+  }
+
+  /**
+   * Tests that nothing is archived while another instance holds the lease.
+   */
+  @Test
+  public void testArchiveLeaseHeld() {
+    when(leaseRepository.takeOver(any(), any(), any(), any())).thenReturn(0);
+    when(leaseRepository.existsById(TransactionHistory.LEASE_NAME)).thenReturn(true);
+
+    assertNull(history.archive());
+    verify(storageCenterRepository, never()).findAllIds();
+    verify(leaseRepository, never()).release(any(), any(), any());
+  }
+
+  /**
+   * Tests that a day that cannot be read stops its storage center before anything of that
+   * day is deleted.
+   */
+  @Test
+  public void testArchiveFailure() {
+    LocalDate day = cutoff.minusDays(3);
+    when(transactionRepository.findDaysBefore(7, cutoff)).thenReturn(List.of(day));
+    when(transactionRepository.findSummariesByCenterAndDate(anyInt(), any(), anyInt(),
+        any(Pageable.class))).thenThrow(new IllegalStateException("Database down"));
+
+    assertEquals(1, history.archive().getCentersFailed());
+    verify(transactionRepository, never()).deleteAllByIds(any());
+    assertNull(archive.getArchivedThrough(7));
+    assertThrows(IllegalStateException.class, () -> new TransactionHistory(
+        transactionRepository, storageCenterRepository, leaseRepository, archive, 0, 2,
+        Duration.ofMinutes(5), "instance-a").archive());
+    assertThrows(IllegalArgumentException.class, () -> new TransactionHistory(
+        transactionRepository, storageCenterRepository, leaseRepository, archive, 30, 2,
+        Duration.ZERO, "instance-a"));
+  }
+
+  /**
+   * Tests that searches read archived days from the archive and continue in the database.
+   */
+  @Test
+  public void testSearch() throws Exception {
+    LocalDate archivedDay = cutoff.minusDays(3);
+    archive.write(center, archivedDay, List.of(
+        new Transaction(center, 1, archivedDay, LocalTime.NOON, "FOOD", "Rice", 2, "Check Out"),
+        new Transaction(center, 2, archivedDay, LocalTime.NOON, "FOOD", "Beans", 1, "Check In"),
+        new Transaction(center, 3, archivedDay, LocalTime.NOON, "FOOD", "Pasta", 4, "Check Out")));
+    archive.setArchivedThrough(7, cutoff.minusDays(1));
+    Transaction recent = new Transaction(center, "FOOD", "Rice", 5, "Check Out");
+    when(transactionRepository.findIdsMatching(eq(7), eq(cutoff), eq(LocalDate.now()),
+        eq(cutoff.minusDays(1)), eq(LocalTime.MIN), eq(0), eq("Check Out"), isNull(),
+        isNull(), argThat((Pageable page) -> page.getPageSize() == 2))).thenReturn(List.of(9));
+    when(transactionRepository.findAllByIdOrdered(List.of(9))).thenReturn(List.of(recent));
+
+    List<Transaction> first = history.search(center, LocalDate.EPOCH, LocalDate.now(),
+        LocalDate.EPOCH.minusDays(1), LocalTime.MIN, 0, "Check Out", null, null, 2);
+    assertEquals(2, first.size());
+    assertEquals("Pasta", first.get(1).getItemName());
+
+    List<Transaction> second = history.search(center, LocalDate.EPOCH, LocalDate.now(),
+        archivedDay, LocalTime.NOON, 3, "Check Out", null, null, 2);
+    assertEquals(List.of(recent), second);
+  }
+
+  /**
+   * Tests that searches of days that were never archived only read the database.
+   */
+  @Test
+  public void testSearchWithoutArchive() throws Exception {
+    LocalDate today = LocalDate.now();
+    when(transactionRepository.findIdsMatching(eq(7), eq(today), eq(today),
+        eq(today.minusDays(1)), eq(LocalTime.MIN), eq(0), isNull(), isNull(), eq("Rice"),
+        any(Pageable.class))).thenReturn(List.of());
+
+    assertTrue(history.search(center, today, today, today.minusDays(1), LocalTime.MIN, 0,
+        null, null, "Rice", 10).isEmpty());
+    verify(transactionRepository, never()).findAllByIdOrdered(any());
+  }
+
+  private static TransactionSummary summary(int id, LocalDate date, String name) {
+    TransactionSummary summary = mock(TransactionSummary.class);
+    when(summary.getId()).thenReturn(id);
+    when(summary.getDate()).thenReturn(date);
+    when(summary.getTimestamp()).thenReturn(LocalTime.NOON);
+    when(summary.getItemType()).thenReturn("FOOD");
+    when(summary.getItemName()).thenReturn(name);
+    when(summary.getQuantity()).thenReturn(1);
+    when(summary.getAction()).thenReturn("Check In");
+    return summary;
+  }
+}
@@ -0,0 +1,156 @@
+package com.smartprogrammingbaddies.logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.smartprogrammingbaddies.storagecenter.StorageCenter;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the TransactionJournal class.
+ */
+public class TransactionJournalUnitTests {
+  @TempDir
+  Path directory;
+
+  private StorageCenter center;
+
+  /**
+   * Sets up a storage center for the journaled transactions.
+   */
+  @BeforeEach
+  public void setUp() {
+    center = new StorageCenter("Test Center", "Test");
+    ReflectionTestUtils.setField(center, "id", 7);
+  }
+
+  /**
+   * Tests that records are read back in order with their original contents, across
+   * segments, until they are acknowledged.
+   */
+  @Test
+  public void testAppendAndRead() throws Exception {
+    TransactionJournal journal = new TransactionJournal(directory, 128, 10, false);
+    journal.append(List.of(newTransaction("Rice"), newTransaction("Beans")));
+    journal.append(List.of(newTransaction("Pasta")));
+
+    List<TransactionJournal.Entry> entries = journal.read(10);
+    assertEquals(List.of("Rice", "Beans", "Pasta"), names(entries));
+    assertEquals(7, entries.get(0).getStorageCenterId());
+    assertTrue(entries.get(0).getPosition() < entries.get(1).getPosition());
+    assertTrue(entries.get(1).getPosition() < entries.get(2).getPosition());
+    assertEquals(2, journal.getSegmentCount());
+    assertEquals(names(entries), names(journal.read(10)));
+
+    Transaction rebuilt = entries.get(2).toTransaction(center);
+    assertEquals("Pasta", rebuilt.getItemName());
+    assertEquals(LocalDate.of(2030, 1, 2), rebuilt.getDate());
+    assertEquals(LocalTime.of(9, 30), rebuilt.getTimestamp());
+    assertEquals(entries.get(2).getPosition(), rebuilt.getJournalPosition());
+    assertEquals(journal.getJournalId(), rebuilt.getJournalId());
+  }
+
+  /**
+   * Tests that acknowledged records are not read again and their segments are deleted.
+   */
+  @Test
+  public void testAcknowledge() throws Exception {
+    TransactionJournal journal = new TransactionJournal(directory, 128, 3, false);
+    journal.append(List.of(newTransaction("Rice"), newTransaction("Beans")));
+    journal.append(List.of(newTransaction("Pasta"), newTransaction("Soup")));
+    assertEquals(2, journal.getSegmentCount());
+
+    List<TransactionJournal.Entry> entries = journal.read(1);
+    journal.acknowledge(entries.get(0));
+    assertEquals(List.of("Beans", "Pasta", "Soup"), names(journal.read(10)));
+
+    journal.acknowledge(journal.read(2).get(1));
+    assertEquals(List.of("Soup"), names(journal.read(10)));
+    assertEquals(1, journal.getSegmentCount());
+    assertEquals(1, Files.list(directory)
+        .filter(file -> file.getFileName().toString().endsWith(".log")).count());
+    assertFalse(journal.isFull());
+  }
+
+  /**
+   * Tests that records not acknowledged before a restart are read again, and that a torn
+   * record ends its segment.
+   */
+  @Test
+  public void testRecovery() throws Exception {
+    TransactionJournal journal = new TransactionJournal(directory, 4096, 10, true);
+    journal.append(List.of(newTransaction("Rice"), newTransaction("Beans"),
+        newTransaction("Pasta")));
+    List<TransactionJournal.Entry> entries = journal.read(10);
+    journal.acknowledge(entries.get(0));
+    journal.close();
+
+    Path segment = Files.list(directory).sorted().collect(Collectors.toList()).get(0);
+    try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+      // Corrupt the last record's payload, as if the crash tore it.
+      long last = entries.get(2).getPosition() & 0xFFFFFFFFL;
+      file.seek(last + Integer.BYTES + 2);
+      file.write(0x5A);
+    }
+
+    TransactionJournal reopened = new TransactionJournal(directory, 4096, 10, false);
+    reopened.append(List.of(newTransaction("Soup")));
+    assertEquals(List.of("Rice", "Beans", "Soup"), names(reopened.read(10)));
+    assertEquals(journal.getJournalId(), reopened.getJournalId());
+  }
+
+  /**
+   * Tests that a journal opened on a directory without segments gets a new ID, since its
+   * positions start over.
+   */
+  @Test
+  public void testNewJournalId(@TempDir Path otherDirectory) throws Exception {
+    TransactionJournal journal = new TransactionJournal(directory, 4096, 10, false);
+    journal.append(List.of(newTransaction("Rice")));
+    TransactionJournal other = new TransactionJournal(otherDirectory, 4096, 10, false);
+    other.append(List.of(newTransaction("Rice")));
+
+    assertEquals(journal.read(1).get(0).getPosition(), other.read(1).get(0).getPosition());
+    assertNotEquals(journal.getJournalId(), other.getJournalId());
+  }
+
+  /**
+   * Tests that the journal reports when it is full and rejects records too large for a
+   * segment.
+   */
+  @Test
+  public void testLimits() throws Exception {
+    TransactionJournal journal = new TransactionJournal(directory, 128, 2, false);
+    assertFalse(journal.isFull());
+    journal.append(List.of(newTransaction("Rice"), newTransaction("Beans"),
+        newTransaction("Pasta")));
+    assertTrue(journal.isFull());
+    assertThrows(IllegalArgumentException.class,
+        () -> journal.append(List.of(newTransaction("Rice".repeat(40)))));
+    assertThrows(IllegalArgumentException.class,
+        () -> new TransactionJournal(directory, 0, 2, false));
+  }
+
+  private Transaction newTransaction(String name) {
+    return new Transaction(center, "FOOD", name, 2, "Check In", LocalDate.of(2030, 1, 2),
+        LocalTime.of(9, 30), null, 0);
+  }
+
+  private static List<String> names(List<TransactionJournal.Entry> entries) {
+    return entries.stream().map(TransactionJournal.Entry::getItemName)
+        .collect(Collectors.toList());
+  }
+}
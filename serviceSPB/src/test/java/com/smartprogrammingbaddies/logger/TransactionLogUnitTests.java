@@ -0,0 +1,351 @@
+package com.smartprogrammingbaddies.logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.smartprogrammingbaddies.storagecenter.StorageCenter;
+import com.smartprogrammingbaddies.storagecenter.StorageCenterRepository;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for the TransactionLog class.
+ */
+public class TransactionLogUnitTests {
+  private TransactionRepository repository;
+  private StorageCenter center;
+  private TransactionLog log;
+
+  @TempDir
+  Path directory;
+
+  /**
+   * Sets up a mocked repository.
+   */
+  @BeforeEach
+  public void setUp() {
+    repository = mock(TransactionRepository.class);
+    center = new StorageCenter("Test Center", "Test");
+  }
+
+  /**
+   * Closes the log after each test.
+   */
+  @AfterEach
+  public void tearDown() {
+    if (log != null) {
+      log.close();
+    }
+  }
+
+  /**
+   * Tests that a synchronous log saves transactions right away.
+   */
+  @Test
+  public void testSync() {
+    log = new TransactionLog(repository, TransactionLog.Durability.SYNC, 10, 10, 0, 0);
+    Transaction transaction = newTransaction("Rice");
+    log.record(transaction);
+    log.recordAll(List.of(transaction));
+
+    verify(repository).save(transaction);
+    verify(repository).saveAll(List.of(transaction));
+  }
+
+  /**
+   * Tests that queued transactions are saved together once a batch fills.
+   */
+  @Test
+  public void testAsyncWritesFullBatches() {
+    log = new TransactionLog(repository, TransactionLog.Durability.ASYNC, 100, 3, 60000, 0);
+    log.record(newTransaction("Rice"));
+    log.recordAll(List.of(newTransaction("Beans"), newTransaction("Pasta")));
+
+    verify(repository, timeout(5000)).saveAll(argThat((List<Transaction> batch) ->
+        batch.size() == 3));
+    verify(repository, never()).save(any());
+  }
+
+  /**
+   * Tests that a group commit can wait until its batch is saved, which happens once the
+   * flush time passes.
+   */
+  @Test
+  public void testGroupCommitWaitsForFlush() {
+    log = new TransactionLog(repository, TransactionLog.Durability.GROUP_COMMIT, 100, 50, 20,
+        0);
+    log.record(newTransaction("Rice"));
+    log.awaitSaved(log.takeUnsaved());
+
+    verify(repository).saveAll(anyList());
+    assertEquals(1, log.getWrittenCount());
+    assertEquals(0, log.getQueuedCount());
+  }
+
+  /**
+   * Tests that a group commit does not wait for its batch when it commits, so its storage
+   * center's write lane is free, and that its save is taken on the thread that committed it.
+   */
+  @Test
+  public void testGroupCommitWaitsAfterCommit() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+      release.await();
+      return invocation.getArgument(0);
+    });
+    log = new TransactionLog(repository, TransactionLog.Durability.GROUP_COMMIT, 100, 50, 0,
+        0);
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      log.record(newTransaction("Rice"));
+      TransactionSynchronizationManager.getSynchronizations().get(0)
+          .afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    CompletableFuture<Void> saved = log.takeUnsaved();
+    assertFalse(saved.isDone());
+    assertTrue(log.takeUnsaved().isDone());
+    release.countDown();
+    log.awaitSaved(saved);
+    assertTrue(saved.isDone());
+    assertEquals(1, log.getWrittenCount());
+  }
+
+  /**
+   * Tests that changes are rejected once the queue stays full.
+   */
+  @Test
+  public void testFullQueueRejects() throws Exception {
+    CountDownLatch saving = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+      saving.countDown();
+      release.await();
+      return invocation.getArgument(0);
+    });
+    log = new TransactionLog(repository, TransactionLog.Durability.ASYNC, 2, 1, 0, 10);
+
+    log.record(newTransaction("Rice"));
+    saving.await();
+    log.record(newTransaction("Beans"));
+    assertThrows(RejectedExecutionException.class, () -> log.record(newTransaction("Pasta")));
+
+    release.countDown();
+    log.close();
+    assertEquals(2, log.getWrittenCount());
+  }
+
+  /**
+   * Tests that transactions are only queued once the change commits.
+   */
+  @Test
+  public void testQueuedAfterCommit() {
+    log = new TransactionLog(repository, TransactionLog.Durability.ASYNC, 10, 10, 0, 0);
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      log.record(newTransaction("Rice"));
+      log.record(newTransaction("Beans"));
+      List<TransactionSynchronization> changes =
+          TransactionSynchronizationManager.getSynchronizations();
+      assertEquals(2, log.getQueuedCount());
+
+      changes.get(0).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+      assertEquals(1, log.getQueuedCount());
+      changes.get(1).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    log.close();
+    verify(repository).saveAll(argThat((List<Transaction> batch) ->
+        batch.size() == 1 && "Beans".equals(batch.get(0).getItemName())));
+    assertEquals(1, log.getWrittenCount());
+  }
+
+  /**
+   * Tests that closing saves everything queued, and that a failed batch is retried one
+   * change at a time.
+   */
+  @Test
+  public void testCloseWritesQueuedChanges() {
+    when(repository.saveAll(argThat((List<Transaction> batch) -> batch.stream()
+        .anyMatch(transaction -> "Bad".equals(transaction.getItemName())))))
+        .thenThrow(new IllegalStateException("Rejected row"));
+    log = new TransactionLog(repository, TransactionLog.Durability.ASYNC, 100, 100, 60000, 0);
+    log.record(newTransaction("Rice"));
+    log.record(newTransaction("Bad"));
+    log.record(newTransaction("Beans"));
+    log.close();
+
+    assertEquals(2, log.getWrittenCount());
+    assertEquals(1, log.getFailedCount());
+    assertEquals(0, log.getQueuedCount());
+    assertThrows(IllegalStateException.class, () -> log.record(newTransaction("Pasta")));
+  }
+
+  /**
+   * Tests that a batch that fails while the database is briefly down is saved once it
+   * comes back, instead of being dropped.
+   */
+  @Test
+  public void testFailedBatchIsRetried() {
+    when(repository.saveAll(anyList()))
+        .thenThrow(new IllegalStateException("Database down"))
+        .thenThrow(new IllegalStateException("Database down"))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    log = new TransactionLog(repository, TransactionLog.Durability.ASYNC, 100, 100, 60000, 0);
+    log.record(newTransaction("Rice"));
+    log.record(newTransaction("Beans"));
+    log.close();
+
+    verify(repository, times(3)).saveAll(argThat((List<Transaction> batch) ->
+        batch.size() == 2));
+    assertEquals(2, log.getWrittenCount());
+    assertEquals(0, log.getFailedCount());
+  }
+
+  /**
+   * Tests that the background thread keeps saving, and gives back the queue space, after a
+   * batch fails in a way it does not expect.
+   */
+  @Test
+  public void testFlusherSurvivesUnexpectedFailure() {
+    Transaction broken = mock(Transaction.class);
+    when(broken.getAction()).thenThrow(new IllegalStateException("No session"));
+    when(repository.saveAll(argThat((List<Transaction> batch) -> batch.contains(broken))))
+        .thenThrow(new IllegalStateException("Rejected row"));
+    log = new TransactionLog(repository, TransactionLog.Durability.ASYNC, 1, 1, 0, 60000);
+    log.record(broken);
+    log.record(newTransaction("Rice"));
+
+    verify(repository, timeout(10000)).saveAll(argThat((List<Transaction> batch) ->
+        batch.size() == 1 && "Rice".equals(batch.get(0).getItemName())));
+    log.close();
+    assertEquals(1, log.getWrittenCount());
+    assertEquals(1, log.getFailedCount());
+  }
+
+  /**
+   * Tests that journaled transactions are saved in batches and acknowledged, and that
+   * transactions an earlier run already saved are skipped.
+   */
+  @Test
+  public void testJournalSavesEachTransactionOnce() throws Exception {
+    StorageCenterRepository centers = mock(StorageCenterRepository.class);
+    when(centers.findById(anyInt())).thenReturn(Optional.of(center));
+    TransactionJournal journal = new TransactionJournal(directory, 4096, 4, false);
+    journal.append(List.of(newTransaction("Rice"), newTransaction("Beans")));
+    long savedBeforeCrash = journal.read(1).get(0).getPosition();
+    when(repository.findLastJournalPosition(eq(journal.getJournalId()), anyLong(), anyLong()))
+        .thenReturn(savedBeforeCrash).thenReturn(null);
+
+    log = new TransactionLog(repository, centers, journal, null,
+        TransactionLog.Durability.JOURNAL, 10, 10, 10, 0);
+    verify(repository, timeout(5000)).saveAll(argThat((List<Transaction> batch) ->
+        batch.size() == 1 && "Beans".equals(batch.get(0).getItemName())
+            && batch.get(0).getJournalPosition() > savedBeforeCrash));
+
+    log.record(newTransaction("Pasta"));
+    log.close();
+    verify(repository).saveAll(argThat((List<Transaction> batch) ->
+        batch.size() == 1 && "Pasta".equals(batch.get(0).getItemName())));
+    assertEquals(2, log.getWrittenCount());
+    assertTrue(journal.read(10).isEmpty());
+  }
+
+  /**
+   * Tests that a journal started on an empty directory, as on a new instance, saves its
+   * transactions even though an earlier journal already saved rows at the same positions.
+   */
+  @Test
+  public void testJournalRestartedOnEmptyDirectory(@TempDir Path newDirectory)
+      throws Exception {
+    StorageCenterRepository centers = mock(StorageCenterRepository.class);
+    when(centers.findById(anyInt())).thenReturn(Optional.of(center));
+    TransactionJournal journal = new TransactionJournal(directory, 4096, 4, false);
+    log = new TransactionLog(repository, centers, journal, null,
+        TransactionLog.Durability.JOURNAL, 10, 10, 10, 0);
+    log.record(newTransaction("Rice"));
+    log.close();
+    // Both journals start at the first offset of their first segment.
+    long shipped = 1L << 32;
+    verify(repository).saveAll(argThat((List<Transaction> batch) ->
+        batch.size() == 1 && batch.get(0).getJournalPosition() == shipped));
+    when(repository.findLastJournalPosition(eq(journal.getJournalId()), anyLong(), anyLong()))
+        .thenReturn(Long.MAX_VALUE);
+
+    TransactionJournal restarted = new TransactionJournal(newDirectory, 4096, 4, false);
+    log = new TransactionLog(repository, centers, restarted, null,
+        TransactionLog.Durability.JOURNAL, 10, 10, 10, 0);
+    log.record(newTransaction("Beans"));
+    log.close();
+
+    verify(repository).saveAll(argThat((List<Transaction> batch) ->
+        batch.size() == 1 && "Beans".equals(batch.get(0).getItemName())
+            && batch.get(0).getJournalPosition() == shipped
+            && restarted.getJournalId().equals(batch.get(0).getJournalId())));
+    assertEquals(1, log.getWrittenCount());
+  }
+
+  /**
+   * Tests that journaled transactions stay in the journal while they cannot be saved.
+   */
+  @Test
+  public void testJournalKeepsUnsavedTransactions() throws Exception {
+    StorageCenterRepository centers = mock(StorageCenterRepository.class);
+    when(centers.findById(anyInt())).thenReturn(Optional.of(center));
+    when(repository.saveAll(anyList())).thenThrow(new IllegalStateException("Database down"));
+    TransactionJournal journal = new TransactionJournal(directory, 4096, 4, false);
+
+    log = new TransactionLog(repository, centers, journal, null,
+        TransactionLog.Durability.JOURNAL, 10, 10, 10, 0);
+    log.recordAll(List.of(newTransaction("Rice"), newTransaction("Beans")));
+    log.close();
+
+    assertEquals(0, log.getWrittenCount());
+    assertEquals(2, journal.read(10).size());
+    assertThrows(IllegalArgumentException.class, () -> new TransactionLog(repository, null,
+        null, null, TransactionLog.Durability.JOURNAL, 10, 10, 0, 0));
+  }
+
+  /**
+   * Tests the constructor with invalid settings.
+   */
+  @Test
+  public void testInvalidSettings() {
+    assertThrows(IllegalArgumentException.class, () -> new TransactionLog(repository,
+        TransactionLog.Durability.ASYNC, 0, 10, 0, 0));
+    assertThrows(IllegalArgumentException.class, () -> new TransactionLog(repository,
+        TransactionLog.Durability.ASYNC, 10, 10, -1, 0));
+  }
+
+  private Transaction newTransaction(String name) {
+    return new Transaction(center, "FOOD", name, 1, "Check In");
+  }
+}
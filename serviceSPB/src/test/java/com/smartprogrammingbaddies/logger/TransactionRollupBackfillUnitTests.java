@@ -0,0 +1,132 @@
+package com.smartprogrammingbaddies.logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.smartprogrammingbaddies.storagecenter.StorageCenterRepository;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Unit tests for the TransactionRollupBackfill class.
+ */
+public class TransactionRollupBackfillUnitTests {
+  private TransactionRepository transactionRepository;
+  private TransactionRollupRepository rollupRepository;
+  private StorageCenterRepository storageCenterRepository;
+  private TransactionRollupBackfill backfill;
+
+  /**
+   * Sets up a backfill of two storage centers in chunks of two days, with mocked
+   * repositories and a template that runs each chunk right away.
+   */
+  @BeforeEach
+  public void setUp() {
+    transactionRepository = mock(TransactionRepository.class);
+    rollupRepository = mock(TransactionRollupRepository.class);
+    storageCenterRepository = mock(StorageCenterRepository.class);
+    TransactionTemplate template = mock(TransactionTemplate.class);
+    when(template.execute(any())).thenAnswer(invocation ->
+        invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    when(storageCenterRepository.findAllIds()).thenReturn(List.of(1, 2));
+    backfill = new TransactionRollupBackfill(transactionRepository, rollupRepository,
+        storageCenterRepository, null, template, 2, 2);
+  }
+
+  /**
+   * Tests that each chunk's rollups are replaced with totals of its transactions.
+   */
+  @Test
+  public void testBackfill() throws Exception {
+    LocalDate from = LocalDate.of(2024, 1, 1);
+    TransactionDayTotal total = mock(TransactionDayTotal.class);
+    when(total.getDate()).thenReturn(from);
+    when(total.getItemType()).thenReturn("FOOD");
+    when(total.getAction()).thenReturn("Check In");
+    when(total.getTransactionCount()).thenReturn(3L);
+    when(total.getTotalQuantity()).thenReturn(9L);
+    when(transactionRepository.sumByCenterAndDay(1, from, from.plusDays(1)))
+        .thenReturn(List.of(total));
+
+    TransactionRollupBackfill.Report report = backfill.backfill(from, from.plusDays(4));
+
+    assertEquals(6, report.getChunks());
+    assertEquals(1, report.getRollupsWritten());
+    assertEquals(0, report.getChunksFailed());
+    verify(rollupRepository).deleteByCenterAndDates(1, from, from.plusDays(1));
+    verify(rollupRepository).deleteByCenterAndDates(2, from.plusDays(4), from.plusDays(4));
+    verify(rollupRepository).saveAll(argThat((List<TransactionRollup> rollups) ->
+        rollups.size() == 1 && rollups.get(0).getId().equals(
+            new RollupKey(1, from, "FOOD", "Check In"))
+            && rollups.get(0).getTotalQuantity() == 9));
+  }
+
+  /**
+   * Tests that a failed chunk is counted without stopping the others.
+   */
+  @Test
+  public void testFailedChunk() throws Exception {
+    LocalDate from = LocalDate.of(2024, 1, 1);
+    when(transactionRepository.sumByCenterAndDay(eq(2), any(), any()))
+        .thenThrow(new IllegalStateException("Database down"));
+
+    TransactionRollupBackfill.Report report = backfill.backfill(from, from.plusDays(1));
+
+    assertEquals(2, report.getChunks());
+    assertEquals(1, report.getChunksFailed());
+    verify(rollupRepository).deleteByCenterAndDates(1, from, from.plusDays(1));
+  }
+
+  /**
+   * Tests that days moved to the transaction archive are not rebuilt.
+   */
+  @Test
+  public void testSkipsArchivedDays() throws Exception {
+    LocalDate from = LocalDate.of(2024, 1, 1);
+    TransactionArchive archive = mock(TransactionArchive.class);
+    when(archive.getArchivedThrough(1)).thenReturn(from.plusDays(2));
+    TransactionTemplate template = mock(TransactionTemplate.class);
+    when(template.execute(any())).thenAnswer(invocation ->
+        invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    backfill = new TransactionRollupBackfill(transactionRepository, rollupRepository,
+        storageCenterRepository, archive, template, 2, 2);
+
+    TransactionRollupBackfill.Report report = backfill.backfill(from, from.plusDays(4));
+
+    assertEquals(4, report.getChunks());
+    verify(rollupRepository).deleteByCenterAndDates(1, from.plusDays(3), from.plusDays(4));
+    verify(rollupRepository).deleteByCenterAndDates(2, from, from.plusDays(1));
+    verify(rollupRepository, never()).deleteByCenterAndDates(1, from, from.plusDays(1));
+  }
+
+  /**
+   * Tests that today is never rebuilt, and that ranges with nothing before today are
+   * rejected.
+   */
+  @Test
+  public void testNeverRebuildsToday() throws Exception {
+    LocalDate yesterday = LocalDate.now().minusDays(1);
+    backfill.backfill(yesterday, LocalDate.now().plusDays(3));
+
+    verify(rollupRepository).deleteByCenterAndDates(1, yesterday, yesterday);
+    verify(rollupRepository, never()).deleteByCenterAndDates(anyInt(),
+        eq(LocalDate.now()), any());
+    assertThrows(IllegalArgumentException.class,
+        () -> backfill.backfill(LocalDate.now(), LocalDate.now()));
+    assertThrows(IllegalArgumentException.class,
+        () -> new TransactionRollupBackfill(transactionRepository, rollupRepository,
+            storageCenterRepository, null, mock(TransactionTemplate.class), 0, 1));
+  }
+}
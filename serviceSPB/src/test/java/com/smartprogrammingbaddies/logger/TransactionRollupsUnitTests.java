@@ -0,0 +1,92 @@
+package com.smartprogrammingbaddies.logger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.smartprogrammingbaddies.storagecenter.StorageCenter;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the TransactionRollups class.
+ */
+public class TransactionRollupsUnitTests {
+  private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+  private TransactionRepository transactionRepository;
+  private TransactionRollupRepository rollupRepository;
+  private TransactionRollups rollups;
+  private StorageCenter center;
+
+  /**
+   * Sets up the rollups with mocked repositories.
+   */
+  @BeforeEach
+  public void setUp() {
+    transactionRepository = mock(TransactionRepository.class);
+    rollupRepository = mock(TransactionRollupRepository.class);
+    rollups = new TransactionRollups();
+    ReflectionTestUtils.setField(rollups, "transactionRepository", transactionRepository);
+    ReflectionTestUtils.setField(rollups, "rollupRepository", rollupRepository);
+    center = new StorageCenter("Test Center", "Test");
+    ReflectionTestUtils.setField(center, "id", 7);
+  }
+
+  /**
+   * Tests that transactions of the same rollup are added up before the rollup is updated.
+   */
+  @Test
+  public void testAddsUpTransactionsOfOneRollup() {
+    when(rollupRepository.addToRollup(any(RollupKey.class), eq(2L), eq(5L))).thenReturn(1);
+    when(rollupRepository.addToRollup(any(RollupKey.class), eq(1L), eq(4L))).thenReturn(1);
+
+    rollups.add(List.of(newTransaction("Rice", 2, "Check In"),
+        newTransaction("Beans", 3, "Check In"), newTransaction("Rice", 4, "Check Out")));
+
+    verify(rollupRepository).addToRollup(new RollupKey(7, DAY, "FOOD", "Check In"), 2, 5);
+    verify(rollupRepository).addToRollup(new RollupKey(7, DAY, "FOOD", "Check Out"), 1, 4);
+    verify(rollupRepository, never()).save(any(TransactionRollup.class));
+  }
+
+  /**
+   * Tests that a rollup is created by the first transaction it counts.
+   */
+  @Test
+  public void testCreatesMissingRollup() {
+    RollupKey key = new RollupKey(7, DAY, "FOOD", "Check In");
+    when(rollupRepository.addToRollup(key, 1, 2)).thenReturn(0);
+
+    rollups.add(List.of(newTransaction("Rice", 2, "Check In")));
+
+    verify(rollupRepository).save(argThat(rollup ->
+        rollup.getId().equals(key) && rollup.getTransactionCount() == 1
+            && rollup.getTotalQuantity() == 2));
+  }
+
+  /**
+   * Tests that saving transactions also adds them to their rollups.
+   */
+  @Test
+  public void testSaveAll() {
+    List<Transaction> transactions = List.of(newTransaction("Rice", 2, "Check In"));
+    when(rollupRepository.addToRollup(any(RollupKey.class), eq(1L), eq(2L))).thenReturn(1);
+
+    rollups.saveAll(transactions);
+
+    verify(transactionRepository).saveAll(transactions);
+    verify(rollupRepository).addToRollup(new RollupKey(7, DAY, "FOOD", "Check In"), 1, 2);
+  }
+
+  private Transaction newTransaction(String name, int quantity, String action) {
+    return new Transaction(center, "FOOD", name, quantity, action, DAY, LocalTime.NOON, null, 0);
+  }
+}
@@ -2,6 +2,8 @@ package com.smartprogrammingbaddies.logger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import com.smartprogrammingbaddies.item.Item;
 import com.smartprogrammingbaddies.item.ItemId;
@@ -44,6 +46,19 @@ public class TransactionUnitTests {
     assertEquals("Check Out", testTransaction.getAction());
   }
 
+  /**
+   * Tests that the storage center's ID is read when the transaction is made, so it can be
+   * read later without the storage center.
+   */
+  @Test
+  public void testStorageCenterIdKept() {
+    StorageCenter center = mock(StorageCenter.class);
+    when(center.getDatabaseId()).thenReturn(7);
+    testTransaction = new Transaction(center, testItem, 10, "Check Out");
+    when(center.getDatabaseId()).thenThrow(new IllegalStateException("No session"));
+    assertEquals(7, testTransaction.getStorageCenter());
+  }
+
   /**
    * Tests the Transaction constructor with invalid values.
    */
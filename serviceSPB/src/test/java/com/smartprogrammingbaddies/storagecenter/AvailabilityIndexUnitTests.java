@@ -0,0 +1,84 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.smartprogrammingbaddies.item.ItemId;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the AvailabilityIndex class.
+ */
+public class AvailabilityIndexUnitTests {
+  private AvailabilityIndex index;
+  private ItemId diapers;
+
+  /**
+   * Sets up an empty index.
+   */
+  @BeforeEach
+  public void setUp() {
+    index = new AvailabilityIndex();
+    diapers = new ItemId("TOILETRIES", "Diapers");
+  }
+
+  /**
+   * Tests that the centers holding the most are returned first, limited in number.
+   */
+  @Test
+  public void testFindTop() {
+    for (int center = 1; center <= 1000; center++) {
+      index.add(center, diapers, center % 50);
+    }
+    index.add(7, new ItemId("TOILETRIES", "  diapers "), 100);
+
+    List<Map.Entry<Integer, Long>> top = index.findTop(ItemId.ItemType.TOILETRIES,
+        "DIAPERS", 3);
+    assertEquals(List.of(Map.entry(7, 107L), Map.entry(49, 49L), Map.entry(99, 49L)), top);
+    assertTrue(index.findTop(ItemId.ItemType.FOOD, "Diapers", 3).isEmpty());
+    assertEquals(AvailabilityIndex.MAX_RESULTS,
+        index.findTop(ItemId.ItemType.TOILETRIES, "Diapers", 5000).size());
+  }
+
+  /**
+   * Tests that centers drop out once they hold none, and that searching every type adds
+   * the quantities of each type together.
+   */
+  @Test
+  public void testCheckOutAndAllTypes() {
+    index.add(1, diapers, 5);
+    index.add(2, diapers, 3);
+    index.add(2, new ItemId("CLOTHING", "Diapers"), 4);
+    index.add(1, diapers, -5);
+
+    assertEquals(List.of(Map.entry(2, 3L)),
+        index.findTop(ItemId.ItemType.TOILETRIES, "Diapers", 10));
+    assertEquals(List.of(Map.entry(2, 7L)), index.findTop(null, "diapers", 10));
+
+    index.remove(2);
+    assertTrue(index.findTop(null, "diapers", 10).isEmpty());
+    assertEquals(0, index.size());
+  }
+
+  /**
+   * Tests that rebuilding replaces the contents of the index.
+   */
+  @Test
+  public void testRebuild() {
+    index.add(1, diapers, 5);
+    index.rebuild(List.of(new AvailabilityIndex.Stock(3, "TOILETRIES", "Diapers", 8),
+        new AvailabilityIndex.Stock(4, "FOOD", "Rice", 2)));
+
+    assertEquals(List.of(Map.entry(3, 8L)),
+        index.findTop(ItemId.ItemType.TOILETRIES, "Diapers", 10));
+    assertEquals(2, index.size());
+    assertThrows(IllegalArgumentException.class,
+        () -> index.findTop(ItemId.ItemType.FOOD, " ", 10));
+    assertThrows(IllegalArgumentException.class,
+        () -> index.findTop(ItemId.ItemType.FOOD, "Rice", 0));
+  }
+}
@@ -0,0 +1,174 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the CenterWriteLanes class.
+ */
+public class CenterWriteLanesUnitTests {
+  private CenterWriteLanes lanes;
+  private ExecutorService callers;
+
+  /**
+   * Sets up two lanes with small queues.
+   */
+  @BeforeEach
+  public void setUp() {
+    lanes = new CenterWriteLanes(2, 2);
+    callers = Executors.newFixedThreadPool(8);
+  }
+
+  /**
+   * Stops the lanes and caller threads.
+   */
+  @AfterEach
+  public void tearDown() throws InterruptedException {
+    callers.shutdownNow();
+    lanes.shutdown();
+  }
+
+  /**
+   * Tests that changes to the same center never overlap.
+   */
+  @Test
+  public void testCenterChangesDoNotOverlap() throws Exception {
+    lanes = new CenterWriteLanes(2, 64);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger overlaps = new AtomicInteger();
+    List<Future<Integer>> futures = new ArrayList<>();
+    for (int i = 0; i < 32; i++) {
+      futures.add(callers.submit(() -> lanes.call(1, () -> {
+        if (running.incrementAndGet() > 1) {
+          overlaps.incrementAndGet();
+        }
+        Thread.sleep(1);
+        running.decrementAndGet();
+        return 1;
+      })));
+    }
+
+    int total = 0;
+    for (Future<Integer> future : futures) {
+      total += future.get(10, TimeUnit.SECONDS);
+    }
+    assertEquals(32, total);
+    assertEquals(0, overlaps.get());
+  }
+
+  /**
+   * Tests that centers are spread across lanes.
+   */
+  @Test
+  public void testCentersSpreadAcrossLanes() {
+    assertNotEquals(lanes.laneOf(1), lanes.laneOf(2));
+    assertEquals(lanes.laneOf(1), lanes.laneOf(3));
+    assertTrue(lanes.laneOf(-7) >= 0);
+  }
+
+  /**
+   * Tests that changes are rejected once a lane's queue is full, and that other lanes still
+   * accept changes.
+   */
+  @Test
+  public void testFullLaneRejects() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    final Future<Integer> running = callers.submit(() -> lanes.call(1, () -> {
+      started.countDown();
+      release.await();
+      return 1;
+    }));
+    started.await();
+    List<Future<Integer>> queued = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      queued.add(callers.submit(() -> lanes.call(3, () -> 1)));
+    }
+    while (lanes.getQueuedCount(1) < 2) {
+      Thread.sleep(1);
+    }
+
+    assertThrows(RejectedExecutionException.class, () -> lanes.call(1, () -> 1));
+    assertEquals(1, lanes.getRejectedCount());
+    assertEquals(2, lanes.call(2, () -> 2));
+
+    release.countDown();
+    assertEquals(1, running.get(10, TimeUnit.SECONDS));
+    for (Future<Integer> future : queued) {
+      assertEquals(1, future.get(10, TimeUnit.SECONDS));
+    }
+  }
+
+  /**
+   * Tests that an exclusive task waits for running changes, and that changes submitted
+   * meanwhile wait for the task.
+   */
+  @Test
+  public void testExclusiveTaskHoldsChanges() throws Exception {
+    CountDownLatch changeStarted = new CountDownLatch(1);
+    CountDownLatch releaseChange = new CountDownLatch(1);
+    List<String> order = new ArrayList<>();
+    List<Future<Object>> calls = new ArrayList<>();
+    calls.add(callers.submit(() -> lanes.call(1, () -> {
+      changeStarted.countDown();
+      releaseChange.await(5, TimeUnit.SECONDS);
+      synchronized (order) {
+        order.add("running change");
+      }
+      return null;
+    })));
+    assertTrue(changeStarted.await(5, TimeUnit.SECONDS));
+
+    CountDownLatch taskStarted = new CountDownLatch(1);
+    calls.add(callers.submit(() -> lanes.callExclusive(() -> {
+      taskStarted.countDown();
+      Thread.sleep(50);
+      synchronized (order) {
+        order.add("task");
+      }
+      return null;
+    })));
+    releaseChange.countDown();
+    assertTrue(taskStarted.await(5, TimeUnit.SECONDS));
+    calls.add(callers.submit(() -> lanes.call(2, () -> {
+      synchronized (order) {
+        order.add("later change");
+      }
+      return null;
+    })));
+
+    for (Future<Object> call : calls) {
+      call.get(5, TimeUnit.SECONDS);
+    }
+    assertEquals(List.of("running change", "task", "later change"), order);
+  }
+
+  /**
+   * Tests that failures are thrown to the caller unwrapped, and that a change made from
+   * inside a lane runs right away.
+   */
+  @Test
+  public void testFailuresAndNestedChanges() throws Exception {
+    assertThrows(IllegalArgumentException.class, () -> lanes.call(1, () -> {
+      throw new IllegalArgumentException("bad quantity");
+    }));
+    assertEquals(5, lanes.call(1, () -> lanes.call(3, () -> 5)));
+    assertThrows(IllegalArgumentException.class, () -> new CenterWriteLanes(0, 1));
+    assertThrows(IllegalArgumentException.class, () -> new CenterWriteLanes(1, 0));
+  }
+}
@@ -0,0 +1,161 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.smartprogrammingbaddies.item.ItemId;
+import com.smartprogrammingbaddies.logger.TransactionLog;
+import com.smartprogrammingbaddies.utils.RetryPolicy;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the CheckInCoalescer class.
+ */
+public class CheckInCoalescerUnitTests {
+  private InventoryService inventoryService;
+  private CenterWriteLanes writeLanes;
+  private ExecutorService callers;
+  private ItemId beans;
+
+  /**
+   * Sets up a mocked inventory service and real write lanes.
+   */
+  @BeforeEach
+  public void setUp() throws ParseException {
+    inventoryService = mock(InventoryService.class);
+    writeLanes = new CenterWriteLanes(2, 64);
+    callers = Executors.newFixedThreadPool(8);
+    beans = new ItemId("FOOD", "Canned Beans");
+  }
+
+  /**
+   * Stops the lanes and caller threads.
+   */
+  @AfterEach
+  public void tearDown() throws InterruptedException {
+    callers.shutdownNow();
+    writeLanes.shutdown();
+  }
+
+  /**
+   * Tests that check-ins of the same item within the window are written together, and that
+   * only the first caller is told the item was added.
+   */
+  @Test
+  public void testBurstIsMerged() throws Exception {
+    when(inventoryService.checkInMerged(eq(1), eq(beans), anyList(), anyString()))
+        .thenReturn(new InventoryService.Change(InventoryService.Result.ADDED, 0L));
+    CheckInCoalescer coalescer = coalescer(200);
+
+    List<Future<InventoryService.Change>> futures = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      futures.add(callers.submit(() -> coalescer.checkIn(1, beans, 5, "2024-01-01")));
+    }
+
+    int added = 0;
+    for (Future<InventoryService.Change> future : futures) {
+      InventoryService.Change change = future.get(10, TimeUnit.SECONDS);
+      if (change.getResult() == InventoryService.Result.ADDED) {
+        added++;
+      }
+      assertEquals(0L, change.getVersion());
+    }
+    assertEquals(1, added);
+    assertEquals(8, coalescer.getCheckInCount());
+    assertEquals(1, coalescer.getWriteCount());
+    verify(inventoryService).checkInMerged(eq(1), eq(beans),
+        eq(List.of(5, 5, 5, 5, 5, 5, 5, 5)), eq("2024-01-01"));
+  }
+
+  /**
+   * Tests that a failed merged write is replayed one check-in at a time.
+   */
+  @Test
+  public void testFailedMergeIsReplayed() throws Exception {
+    when(inventoryService.checkInMerged(eq(1), eq(beans), anyList(), anyString()))
+        .thenThrow(new ParseException("bad date", 0));
+    when(inventoryService.checkIn(eq(1), eq(beans), anyInt(), eq("bad"), isNull()))
+        .thenThrow(new ParseException("bad date", 0));
+    when(inventoryService.checkIn(eq(1), eq(beans), anyInt(), eq("2024-01-01"), isNull()))
+        .thenReturn(new InventoryService.Change(InventoryService.Result.ADDED, 0L));
+    CheckInCoalescer coalescer = coalescer(200);
+
+    Future<InventoryService.Change> bad =
+        callers.submit(() -> coalescer.checkIn(1, beans, 5, "bad"));
+    Thread.sleep(20);
+    Future<InventoryService.Change> good =
+        callers.submit(() -> coalescer.checkIn(1, beans, 5, "2024-01-01"));
+
+    Exception e = assertThrows(Exception.class, () -> bad.get(10, TimeUnit.SECONDS));
+    assertEquals(ParseException.class, e.getCause().getClass());
+    assertEquals(InventoryService.Result.ADDED,
+        good.get(10, TimeUnit.SECONDS).getResult());
+  }
+
+  /**
+   * Tests that an error in a merged write reaches every caller in the batch as it is.
+   */
+  @Test
+  public void testErrorReachesEveryCaller() throws Exception {
+    when(inventoryService.checkInMerged(eq(1), eq(beans), anyList(), anyString()))
+        .thenThrow(new OutOfMemoryError("no room"));
+    CheckInCoalescer coalescer = coalescer(200);
+
+    List<Future<InventoryService.Change>> futures = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      futures.add(callers.submit(() -> coalescer.checkIn(1, beans, 5, "2024-01-01")));
+    }
+
+    for (Future<InventoryService.Change> future : futures) {
+      ExecutionException e = assertThrows(ExecutionException.class,
+          () -> future.get(10, TimeUnit.SECONDS));
+      assertEquals(OutOfMemoryError.class, e.getCause().getClass());
+    }
+  }
+
+  /**
+   * Tests that every check-in is written on its own when there is no window.
+   */
+  @Test
+  public void testNoWindow() throws Exception {
+    when(inventoryService.checkIn(eq(1), eq(beans), eq(5), anyString(), isNull()))
+        .thenReturn(new InventoryService.Change(InventoryService.Result.UPDATED, 3L));
+    CheckInCoalescer coalescer = coalescer(0);
+
+    assertEquals(3L, coalescer.checkIn(1, beans, 5, "2024-01-01").getVersion());
+    assertEquals(3L, coalescer.checkIn(1, beans, 5, "2024-01-01").getVersion());
+    verify(inventoryService, times(2)).checkIn(eq(1), eq(beans), eq(5), anyString(), isNull());
+    verify(inventoryService, never()).checkInMerged(anyInt(), any(), anyList(), any());
+    assertThrows(IllegalArgumentException.class,
+        () -> coalescer.checkIn(1, beans, 0, "2024-01-01"));
+    assertThrows(IllegalArgumentException.class,
+        () -> new CheckInCoalescer(inventoryService, writeLanes, new RetryPolicy(1, 0, 0),
+            mock(TransactionLog.class), -1));
+  }
+
+  private CheckInCoalescer coalescer(long windowMillis) {
+    return new CheckInCoalescer(inventoryService, writeLanes, new RetryPolicy(2, 0, 0),
+        mock(TransactionLog.class), windowMillis);
+  }
+}
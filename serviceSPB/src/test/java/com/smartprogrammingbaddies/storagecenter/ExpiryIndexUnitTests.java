@@ -0,0 +1,191 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.smartprogrammingbaddies.item.ItemId;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the ExpiryIndex class.
+ */
+public class ExpiryIndexUnitTests {
+  private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+  private final ItemId beans = new ItemId("FOOD", "Canned Beans");
+  private final ItemId corn = new ItemId("FOOD", "Canned Corn");
+  private final ItemId soap = new ItemId("TOILETRIES", "Soap");
+  private DayClock clock;
+  private List<ExpiryIndex.ExpiringItem> alerts;
+  private ExpiryIndex index;
+
+  /**
+   * Sets up an index with an eight day horizon and a three day alert window.
+   */
+  @BeforeEach
+  public void setUp() {
+    clock = new DayClock(START);
+    alerts = new ArrayList<>();
+    index = new ExpiryIndex(8, 3, clock, alerts::add);
+  }
+
+  /**
+   * Tests that only the center's items inside the window are listed, soonest first.
+   */
+  @Test
+  public void testExpiringWithin() {
+    index.add(1, beans, START.plusDays(5), 10);
+    index.add(1, corn, START.plusDays(2), 4);
+    index.add(2, soap, START.plusDays(1), 1);
+    index.add(1, soap, START.plusDays(20), 3);
+
+    List<ExpiryIndex.ExpiringItem> items = index.expiringWithin(1, 5);
+    assertEquals(2, items.size());
+    assertEquals("Canned Corn", items.get(0).getName());
+    assertEquals("Canned Beans", items.get(1).getName());
+    assertEquals(3, index.expiringWithin(1, 30).size());
+  }
+
+  /**
+   * Tests that removing a storage center drops its items, including those past the horizon,
+   * and keeps every other center's items.
+   */
+  @Test
+  public void testRemoveCenter() {
+    index.add(1, beans, START.plusDays(2), 10);
+    index.add(1, soap, START.plusDays(20), 3);
+    index.add(2, beans, START.plusDays(2), 5);
+
+    index.remove(1);
+    assertTrue(index.expiringWithin(1, 30).isEmpty());
+    assertEquals(1, index.expiringWithin(2, 30).size());
+    assertEquals(1, index.size());
+    index.remove(3);
+    assertEquals(1, index.size());
+  }
+
+  /**
+   * Tests that quantity changes are reflected and empty items are dropped.
+   */
+  @Test
+  public void testAdjustAndRemove() {
+    index.add(1, beans, START.plusDays(5), 10);
+    index.adjust(1, beans, -4);
+    assertEquals(6, index.expiringWithin(1, 5).get(0).getQuantity());
+
+    index.adjust(1, beans, -6);
+    assertTrue(index.expiringWithin(1, 5).isEmpty());
+
+    index.add(1, corn, START.plusDays(20), 3);
+    index.remove(1, corn);
+    assertEquals(0, index.size());
+  }
+
+  /**
+   * Tests that items checked in close to their expiration date raise an alert at once.
+   */
+  @Test
+  public void testAlertOnAdd() {
+    index.add(1, beans, START.plusDays(3), 10);
+    index.add(1, corn, START.plusDays(4), 10);
+    assertEquals(1, alerts.size());
+    assertEquals("Canned Beans", alerts.get(0).getName());
+  }
+
+  /**
+   * Tests that items raise an alert when the window reaches them, including items that
+   * were beyond the horizon when they were added.
+   */
+  @Test
+  public void testAlertOnAdvance() {
+    index.add(1, beans, START.plusDays(5), 10);
+    index.add(1, corn, START.plusDays(12), 10);
+    assertTrue(alerts.isEmpty());
+
+    clock.setDay(START.plusDays(2));
+    index.tick();
+    assertEquals(1, alerts.size());
+    assertEquals("Canned Beans", alerts.get(0).getName());
+
+    clock.setDay(START.plusDays(9));
+    index.tick();
+    assertEquals(2, alerts.size());
+    assertEquals("Canned Corn", alerts.get(1).getName());
+    assertEquals(1, index.expiringWithin(1, 3).size());
+  }
+
+  /**
+   * Tests that expired items leave the window but can still be removed.
+   */
+  @Test
+  public void testExpiredItemsLeaveWindow() {
+    index.add(1, beans, START.plusDays(1), 10);
+    clock.setDay(START.plusDays(2));
+    assertTrue(index.expiringWithin(1, 7).isEmpty());
+    assertEquals(1, index.size());
+
+    index.remove(1, beans);
+    assertEquals(0, index.size());
+  }
+
+  /**
+   * Tests that a rebuild replaces the contents of the index without sending alerts.
+   */
+  @Test
+  public void testRebuild() {
+    index.add(1, beans, START.plusDays(5), 10);
+    index.rebuild(List.of(new ExpiryIndex.ExpiringItem(2, corn, START.plusDays(1), 4)));
+    assertTrue(alerts.isEmpty());
+    assertTrue(index.expiringWithin(1, 7).isEmpty());
+    assertEquals(1, index.expiringWithin(2, 7).size());
+  }
+
+  /**
+   * Tests that invalid settings are rejected.
+   */
+  @Test
+  public void testInvalidSettings() {
+    assertThrows(IllegalArgumentException.class, () -> new ExpiryIndex(0, 0, clock, alerts::add));
+    assertThrows(IllegalArgumentException.class, () -> new ExpiryIndex(4, 4, clock, alerts::add));
+    assertThrows(IllegalArgumentException.class, () -> index.expiringWithin(1, -1));
+  }
+
+  /**
+   * A clock that can be moved from one day to another.
+   */
+  private static final class DayClock extends Clock {
+    private Instant instant;
+
+    private DayClock(LocalDate day) {
+      setDay(day);
+    }
+
+    private void setDay(LocalDate day) {
+      instant = day.atStartOfDay().toInstant(ZoneOffset.UTC);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the ExpirySweeper class.
+ */
+public class ExpirySweeperUnitTests {
+  private InventoryService inventoryService;
+  private StorageCenterRepository storageCenterRepository;
+  private SweepLeaseRepository leaseRepository;
+  private CenterWriteLanes writeLanes;
+  private ExpirySweeper sweeper;
+
+  /**
+   * Sets up a sweeper with small batches backed by mocked repositories.
+   */
+  @BeforeEach
+  public void setUp() {
+    inventoryService = mock(InventoryService.class);
+    storageCenterRepository = mock(StorageCenterRepository.class);
+    leaseRepository = mock(SweepLeaseRepository.class);
+    writeLanes = new CenterWriteLanes(2, 16);
+    sweeper = new ExpirySweeper(inventoryService, storageCenterRepository, leaseRepository,
+        writeLanes, 2, 10, Duration.ofMinutes(5), "instance-a");
+    when(leaseRepository.takeOver(eq(ExpirySweeper.LEASE_NAME), eq("instance-a"),
+        any(Instant.class), any(Instant.class))).thenReturn(1);
+  }
+
+  /**
+   * Tests that every center is swept in batches until a batch comes back short.
+   */
+  @Test
+  public void testSweepRemovesInBatches() throws Exception {
+    when(storageCenterRepository.findAllIds()).thenReturn(List.of(1, 2, 3));
+    when(inventoryService.removeExpiredBatch(eq(1), any(LocalDate.class), eq(10)))
+        .thenReturn(10, 10, 4);
+    when(inventoryService.removeExpiredBatch(eq(2), any(LocalDate.class), eq(10)))
+        .thenReturn(0);
+    when(inventoryService.removeExpiredBatch(eq(3), any(LocalDate.class), eq(10)))
+        .thenThrow(new NoSuchElementException());
+
+    ExpirySweeper.Report report = sweeper.sweep();
+    assertEquals(3, report.getCentersScanned());
+    assertEquals(24, report.getItemsRemoved());
+    assertEquals(0, report.getCentersFailed());
+    assertSame(report, sweeper.getLastReport());
+    verify(inventoryService, times(3)).removeExpiredBatch(eq(1), any(LocalDate.class), eq(10));
+    verify(leaseRepository).release(eq(ExpirySweeper.LEASE_NAME), eq("instance-a"),
+        any(Instant.class));
+  }
+
+  /**
+   * Tests that a failing center is counted without stopping the others.
+   */
+  @Test
+  public void testSweepCountsFailedCenters() throws Exception {
+    when(storageCenterRepository.findAllIds()).thenReturn(List.of(1, 2));
+    when(inventoryService.removeExpiredBatch(eq(1), any(LocalDate.class), anyInt()))
+        .thenThrow(new RuntimeException("database unavailable"));
+    when(inventoryService.removeExpiredBatch(eq(2), any(LocalDate.class), anyInt()))
+        .thenReturn(3);
+
+    ExpirySweeper.Report report = sweeper.sweep();
+    assertEquals(3, report.getItemsRemoved());
+    assertEquals(1, report.getCentersFailed());
+  }
+
+  /**
+   * Tests that nothing is swept while another instance holds the lease.
+   */
+  @Test
+  public void testSweepSkippedWhileLeaseHeld() throws Exception {
+    when(leaseRepository.takeOver(any(), any(), any(), any())).thenReturn(0);
+    when(leaseRepository.existsById(ExpirySweeper.LEASE_NAME)).thenReturn(true);
+
+    assertNull(sweeper.sweep());
+    verify(storageCenterRepository, never()).findAllIds();
+    verify(leaseRepository, never()).release(any(), any(), any());
+  }
+
+  /**
+   * Tests that the first sweep creates the lease.
+   */
+  @Test
+  public void testSweepCreatesLease() throws Exception {
+    when(leaseRepository.takeOver(any(), any(), any(), any())).thenReturn(0);
+    when(storageCenterRepository.findAllIds()).thenReturn(List.of());
+
+    ExpirySweeper.Report report = sweeper.sweep();
+    assertEquals(0, report.getCentersScanned());
+    verify(leaseRepository).save(any(SweepLease.class));
+  }
+
+  /**
+   * Tests that invalid settings are rejected.
+   */
+  @Test
+  public void testInvalidSettings() {
+    assertThrows(IllegalArgumentException.class, () -> new ExpirySweeper(inventoryService,
+        storageCenterRepository, leaseRepository, writeLanes, 0, 10, Duration.ofMinutes(5), "a"));
+    assertThrows(IllegalArgumentException.class, () -> new ExpirySweeper(inventoryService,
+        storageCenterRepository, leaseRepository, writeLanes, 2, 0, Duration.ofMinutes(5), "a"));
+    assertThrows(IllegalArgumentException.class, () -> new ExpirySweeper(inventoryService,
+        storageCenterRepository, leaseRepository, writeLanes, 2, 10, Duration.ZERO, "a"));
+  }
+}
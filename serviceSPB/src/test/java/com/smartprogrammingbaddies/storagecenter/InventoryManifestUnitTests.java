@@ -0,0 +1,101 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.smartprogrammingbaddies.item.ItemId;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the InventoryManifest class.
+ */
+public class InventoryManifestUnitTests {
+  /**
+   * Tests reading a JSON manifest with a valid and an invalid line.
+   */
+  @Test
+  public void testFromJson() {
+    String body = "[{\"type\": \"FOOD\", \"name\": \"Rice\", \"quantity\": 5, "
+        + "\"expirationDate\": \"2030-01-01\"}, "
+        + "{\"type\": \"FOOD\", \"name\": \"Beans\", \"quantity\": -1}]";
+    List<InventoryManifest.Line> lines = InventoryManifest.fromJson(body).getLines();
+    assertEquals(2, lines.size());
+    assertTrue(lines.get(0).isValid());
+    assertEquals(new ItemId("FOOD", "Rice"), lines.get(0).getItemId());
+    assertEquals(5, lines.get(0).getQuantity());
+    assertEquals("2030-01-01", lines.get(0).getExpirationDate());
+    assertFalse(lines.get(1).isValid());
+    assertEquals(2, lines.get(1).getNumber());
+  }
+
+  /**
+   * Tests reading a CSV manifest with a header, quoted names and a missing date.
+   */
+  @Test
+  public void testFromCsv() {
+    String body = "type,name,quantity,expirationDate\n"
+        + "FOOD,\"Beans, Black\",3,2030-01-01\r\n"
+        + "CLOTHING,Socks,2\n"
+        + "\n"
+        + "TOYS,Ball,1,\n"
+        + "FOOD,Rice,abc,\n";
+    List<InventoryManifest.Line> lines = InventoryManifest.fromCsv(body).getLines();
+    assertEquals(4, lines.size());
+    assertEquals("Beans, Black", lines.get(0).getItemId().getName());
+    assertTrue(lines.get(1).isValid());
+    assertNull(lines.get(1).getExpirationDate());
+    assertFalse(lines.get(2).isValid());
+    assertEquals("Quantity must be a whole number.", lines.get(3).getError());
+  }
+
+  /**
+   * Tests that the lines of an item whose quantities overflow when merged are invalid,
+   * while other items' lines are kept.
+   */
+  @Test
+  public void testOverflowingItem() {
+    String body = "FOOD,Rice,2000000000\n"
+        + "FOOD,Beans,3\n"
+        + "FOOD,Rice,2000000000\n";
+    List<InventoryManifest.Line> lines = InventoryManifest.fromCsv(body).getLines();
+    assertFalse(lines.get(0).isValid());
+    assertEquals(1, lines.get(0).getNumber());
+    assertTrue(lines.get(1).isValid());
+    assertFalse(lines.get(2).isValid());
+    assertEquals("Total quantity of the item must not be more than 2147483647.",
+        lines.get(2).getError());
+  }
+
+  /**
+   * Tests that unreadable or empty manifests are rejected.
+   */
+  @Test
+  public void testInvalidManifest() {
+    assertThrows(IllegalArgumentException.class, () -> InventoryManifest.fromJson("{}"));
+    assertThrows(IllegalArgumentException.class, () -> InventoryManifest.fromJson("[1, 2"));
+    assertThrows(IllegalArgumentException.class, () -> InventoryManifest.fromJson("[]"));
+    assertThrows(IllegalArgumentException.class, () -> InventoryManifest.fromCsv(""));
+  }
+
+  /**
+   * Tests that a large manifest can be read, and one over the limit is rejected.
+   */
+  @Test
+  public void testManifestSize() {
+    StringBuilder body = new StringBuilder();
+    for (int i = 0; i < 10000; i++) {
+      body.append("FOOD,Item ").append(i % 100).append(",1,2030-01-01\n");
+    }
+    assertEquals(10000, InventoryManifest.fromCsv(body.toString()).getLines().size());
+
+    for (int i = 0; i < InventoryManifest.MAX_LINES; i++) {
+      body.append("FOOD,Rice,1\n");
+    }
+    assertThrows(IllegalArgumentException.class,
+        () -> InventoryManifest.fromCsv(body.toString()));
+  }
+}
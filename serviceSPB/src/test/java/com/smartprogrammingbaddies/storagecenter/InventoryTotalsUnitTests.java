@@ -0,0 +1,81 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.smartprogrammingbaddies.item.ItemId;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the InventoryTotals class.
+ */
+public class InventoryTotalsUnitTests {
+  private InventoryTotals totals;
+
+  /**
+   * Sets up empty totals.
+   */
+  @BeforeEach
+  public void setUp() {
+    totals = new InventoryTotals();
+  }
+
+  /**
+   * Tests that units are counted per center and item type.
+   */
+  @Test
+  public void testAdd() {
+    totals.add(1, new ItemId("FOOD", "Canned Beans"), 10);
+    totals.add(1, new ItemId("FOOD", "Rice"), 5);
+    totals.add(1, ItemId.ItemType.CLOTHING, 2);
+    totals.add(2, ItemId.ItemType.FOOD, 7);
+    totals.add(1, ItemId.ItemType.FOOD, -3);
+
+    assertEquals(12, totals.get(1, ItemId.ItemType.FOOD));
+    assertEquals(2, totals.get(1, ItemId.ItemType.CLOTHING));
+    assertEquals(0, totals.get(1, ItemId.ItemType.TOILETRIES));
+    assertEquals(14, totals.toJson(1).get("total").getAsLong());
+  }
+
+  /**
+   * Tests that drifted totals are repaired, including centers missing on either side.
+   */
+  @Test
+  public void testReconcileRepairsDrift() {
+    totals.add(1, ItemId.ItemType.FOOD, 10);
+    totals.add(3, ItemId.ItemType.TOILETRIES, 4);
+    Map<Integer, long[]> before = totals.snapshot();
+
+    int repaired = totals.reconcile(before, Map.of(
+        1, new long[] {8, 0, 0},
+        2, new long[] {0, 0, 6}));
+    assertEquals(3, repaired);
+    assertEquals(8, totals.get(1, ItemId.ItemType.FOOD));
+    assertEquals(6, totals.get(2, ItemId.ItemType.CLOTHING));
+    assertEquals(0, totals.get(3, ItemId.ItemType.TOILETRIES));
+    assertEquals(3, totals.getCorrectionCount());
+  }
+
+  /**
+   * Tests that centers updated while the database was read are left alone.
+   */
+  @Test
+  public void testReconcileSkipsConcurrentUpdates() {
+    totals.add(1, ItemId.ItemType.FOOD, 10);
+    Map<Integer, long[]> before = totals.snapshot();
+    totals.add(1, ItemId.ItemType.FOOD, 5);
+
+    assertEquals(0, totals.reconcile(before, Map.of(1, new long[] {10, 0, 0})));
+    assertEquals(15, totals.get(1, ItemId.ItemType.FOOD));
+  }
+
+  /**
+   * Tests that matching totals are not counted as repairs.
+   */
+  @Test
+  public void testReconcileNoDrift() {
+    totals.add(1, ItemId.ItemType.FOOD, 10);
+    assertEquals(0, totals.reconcile(totals.snapshot(), Map.of(1, new long[] {10, 0, 0})));
+  }
+}
@@ -0,0 +1,102 @@
+package com.smartprogrammingbaddies.storagecenter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the ItemNameIndex and PrefixTable classes.
+ */
+public class ItemNameIndexUnitTests {
+  private ItemNameIndex index;
+
+  /**
+   * Sets up an index holding a few names.
+   */
+  @BeforeEach
+  public void setUp() {
+    index = new ItemNameIndex();
+    index.add(1, "Apple");
+    index.add(1, "apples");
+    index.add(2, "APPLE");
+    index.add(2, "Apricot Jam");
+    index.add(2, "Bread");
+  }
+
+  /**
+   * Tests that names are suggested by prefix with the spelling they were first stored under.
+   */
+  @Test
+  public void testSuggest() {
+    assertEquals(List.of("Apple", "apples", "Apricot Jam"), index.suggest(null, "AP", 10));
+    assertEquals(List.of("Apple", "apples"), index.suggest(null, "  appl ", 10));
+    assertEquals(List.of("Apple"), index.suggest(null, "ap", 1));
+    assertEquals(List.of("Apricot Jam"), index.suggest(null, "apricot   j", 10));
+    assertTrue(index.suggest(null, "cereal", 10).isEmpty());
+    assertEquals(4, index.size());
+  }
+
+  /**
+   * Tests that each storage center is only suggested its own names.
+   */
+  @Test
+  public void testSuggestForCenter() {
+    assertEquals(List.of("Apple", "apples"), index.suggest(1, "ap", 10));
+    assertEquals(List.of("Apple", "Apricot Jam"), index.suggest(2, "ap", 10));
+    assertTrue(index.suggest(3, "ap", 10).isEmpty());
+
+    index.remove(2);
+    assertTrue(index.suggest(2, "ap", 10).isEmpty());
+    assertEquals(List.of("Bread"), index.suggest(null, "b", 10));
+  }
+
+  /**
+   * Tests that rebuilding replaces the contents of the index and names added afterwards
+   * are found.
+   */
+  @Test
+  public void testRebuild() {
+    index.rebuild(List.of(new AvailabilityIndex.Stock(4, "FOOD", "Rice", 2),
+        new AvailabilityIndex.Stock(5, "FOOD", "RICE", 3),
+        new AvailabilityIndex.Stock(5, "FOOD", "rice cakes", 1)));
+    index.add(4, "Raisins");
+
+    assertEquals(List.of("Raisins", "Rice", "rice cakes"), index.suggest(null, "r", 10));
+    assertEquals(List.of("Rice", "rice cakes"), index.suggest(5, "ri", 10));
+    assertEquals(List.of("Raisins", "Rice"), index.suggest(4, "r", 10));
+    assertTrue(index.suggest(1, "ap", 10).isEmpty());
+    assertThrows(IllegalArgumentException.class, () -> index.suggest(null, " ", 10));
+    assertThrows(IllegalArgumentException.class, () -> index.suggest(null, "r", 0));
+  }
+
+  /**
+   * Tests that names added after the table was built are merged into it in order and
+   * found before and after the merge.
+   */
+  @Test
+  public void testPrefixTableMerge() {
+    PrefixTable table = new PrefixTable(new String[] {"b000", "b002"},
+        new String[] {"B000", "B002"});
+    List<String> expected = new ArrayList<>(List.of("B000", "B002"));
+    for (int i = 1; i < PrefixTable.MIN_MERGE_SIZE * 2; i += 2) {
+      String key = String.format("b%03d", i);
+      table.add(key, key.toUpperCase());
+      expected.add(key.toUpperCase());
+      if (i == 1) {
+        assertEquals(List.of("B000", "B001", "B002"), table.findByPrefix("b00", 10));
+      }
+    }
+    expected.sort(null);
+
+    assertEquals(expected, table.findByPrefix("b", 1000));
+    assertEquals(List.of("B011", "B013"), table.findByPrefix("b01", 2));
+    assertEquals(PrefixTable.MIN_MERGE_SIZE + 2, table.size());
+    assertSame(table.find("b001").getValue(), table.add("b001", "other").getValue());
+  }
+}
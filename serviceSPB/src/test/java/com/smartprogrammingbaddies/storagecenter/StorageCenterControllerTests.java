@@ -1,27 +1,69 @@
 package com.smartprogrammingbaddies.storagecenter;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.intThat;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.google.gson.JsonObject;
+import com.smartprogrammingbaddies.auth.ApiKeyRepository;
+import com.smartprogrammingbaddies.client.ClientRepository;
 import com.smartprogrammingbaddies.item.Item;
 import com.smartprogrammingbaddies.item.ItemId;
+import com.smartprogrammingbaddies.item.ItemKey;
 import com.smartprogrammingbaddies.item.ItemRepository;
+import com.smartprogrammingbaddies.item.ItemSummary;
+import com.smartprogrammingbaddies.logger.ArchiveConfig;
+import com.smartprogrammingbaddies.logger.RollupKey;
+import com.smartprogrammingbaddies.logger.RollupTotal;
 import com.smartprogrammingbaddies.logger.Transaction;
+import com.smartprogrammingbaddies.logger.TransactionLogConfig;
 import com.smartprogrammingbaddies.logger.TransactionRepository;
+import com.smartprogrammingbaddies.logger.TransactionRollup;
+import com.smartprogrammingbaddies.logger.TransactionRollupBackfill;
+import com.smartprogrammingbaddies.logger.TransactionRollupRepository;
+import com.smartprogrammingbaddies.logger.TransactionRollups;
+import com.smartprogrammingbaddies.logger.TransactionSummary;
+import com.smartprogrammingbaddies.utils.CursorPage;
 import java.text.ParseException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
 /**
@@ -29,10 +71,22 @@ import org.springframework.test.web.servlet.ResultActions;
  */
 @ActiveProfiles("test")
 @WebMvcTest(StorageCenterController.class)
+@Import({InventoryService.class, ExportService.class, InventoryTotals.class,
+    AvailabilityIndex.class, ItemNameIndex.class, InventoryConfig.class,
+    TransactionLogConfig.class, TransactionRollups.class, ArchiveConfig.class})
+@TestPropertySource(properties = "auth.admin-keys=" + StorageCenterControllerTests.ADMIN_KEY)
 public class StorageCenterControllerTests {
+  static final String ADMIN_KEY = "8d0e6f2a-4c1b-4e7d-b3a9-5f6c2d1e0a47";
+
   @Autowired
   private MockMvc mockMvc;
 
+  @Autowired
+  private InventoryTotals inventoryTotals;
+
+  @Autowired
+  private AvailabilityIndex availabilityIndex;
+
   @MockBean
   private StorageCenterRepository storageCenterRepository;
 
@@ -42,6 +96,27 @@ public class StorageCenterControllerTests {
   @MockBean
   private TransactionRepository transactionRepository;
 
+  @MockBean
+  private TransactionRollupRepository transactionRollupRepository;
+
+  @MockBean
+  private TransactionRollupBackfill transactionRollupBackfill;
+
+  @MockBean
+  private ApiKeyRepository apiKeyRepository;
+
+  @MockBean
+  private ClientRepository clientRepository;
+
+  @MockBean
+  private SweepLeaseRepository sweepLeaseRepository;
+
+  @MockBean
+  private ExpirySweeper expirySweeper;
+
+  @MockBean
+  private ExpiryIndex expiryIndex;
+
   @MockBean
   private Item item;
 
@@ -61,14 +136,24 @@ public class StorageCenterControllerTests {
     StorageCenter testCenter = new StorageCenter("CUFP", "Food Pantry");
     when(storageCenterRepository.save(any(StorageCenter.class))).thenReturn(testCenter);
     when(storageCenterRepository.findById(1)).thenReturn(Optional.of(testCenter));
+    when(storageCenterRepository.existsById(1)).thenReturn(true);
+    when(storageCenterRepository.getReferenceById(1)).thenReturn(testCenter);
+    when(apiKeyRepository.existsByApiKey(ADMIN_KEY)).thenReturn(true);
 
     ItemId itemId = new ItemId("FOOD", "Canned Beans");
+    ItemKey key = new ItemKey(1, itemId);
     Item testItem = new Item(itemId, 10, testCenter, "2024-01-01");
     when(itemRepository.save(any(Item.class))).thenReturn(testItem);
-    when(itemRepository.findById(itemId)).thenReturn(Optional.of(testItem));
-
-    ItemId itemId2 = new ItemId("FOOD", "Canned Corn");
-    when(itemRepository.findById(itemId2)).thenReturn(Optional.empty());
+    when(itemRepository.findById(key)).thenReturn(Optional.of(testItem));
+    when(itemRepository.addQuantity(eq(key), anyInt())).thenReturn(1);
+    when(itemRepository.removeQuantity(eq(key), intThat(q -> q <= 10))).thenReturn(1);
+    when(itemRepository.findVersion(key)).thenReturn(Optional.of(0L));
+    when(itemRepository.deleteIfEmpty(key)).thenReturn(0);
+    when(itemRepository.findAllByCenterAndNameForUpdate(eq(1), anyCollection()))
+        .thenReturn(List.of(testItem));
+
+    ItemKey key2 = new ItemKey(1, new ItemId("FOOD", "Canned Corn"));
+    when(itemRepository.findById(key2)).thenReturn(Optional.empty());
   }
 
   /**
@@ -134,6 +219,8 @@ public class StorageCenterControllerTests {
     ResultActions result = mockMvc.perform(delete("/deleteCenter")
               .param("storageCenterId", "1"));
     result.andExpect(status().isOk());
+    verify(expiryIndex).remove(1);
+    verify(transactionRollupRepository).deleteByCenter(1);
   }
 
   /**
@@ -397,6 +484,126 @@ public class StorageCenterControllerTests {
     result.andExpect(status().isBadRequest());
   }
 
+  /**
+   * Test the bulkCheckInItems function with a JSON manifest.
+   */
+  @Test
+  public void testBulkCheckInItemsJson() throws Exception {
+    String manifest = "[{\"type\": \"FOOD\", \"name\": \"Canned Beans\", \"quantity\": 2},"
+        + "{\"type\": \"FOOD\", \"name\": \"Canned Corn\", \"quantity\": 3},"
+        + "{\"type\": \"FOOD\", \"name\": \"Canned Beans\", \"quantity\": 4},"
+        + "{\"type\": \"FOOD\", \"name\": \"\", \"quantity\": 1}]";
+    ResultActions result = mockMvc.perform(patch("/bulkCheckInItems")
+              .param("storageCenterId", "1")
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(manifest));
+    result.andExpect(status().isOk())
+        .andExpect(jsonPath("$.applied").value(3))
+        .andExpect(jsonPath("$.failed").value(1))
+        .andExpect(jsonPath("$.results[0].status").value("UPDATED"))
+        .andExpect(jsonPath("$.results[1].status").value("ADDED"))
+        .andExpect(jsonPath("$.results[3].status").value("ERROR"));
+    verify(itemRepository, times(1)).findAllByCenterAndNameForUpdate(eq(1), anyCollection());
+    verify(transactionRepository, times(1)).saveAll(anyCollection());
+  }
+
+  /**
+   * Test the bulkCheckInItems function with a CSV manifest.
+   */
+  @Test
+  public void testBulkCheckInItemsCsv() throws Exception {
+    ResultActions result = mockMvc.perform(patch("/bulkCheckInItems")
+              .param("storageCenterId", "1")
+              .contentType("text/csv")
+              .content("type,name,quantity,expirationDate\nFOOD,Canned Corn,3,2030-01-01\n"));
+    result.andExpect(status().isOk())
+        .andExpect(jsonPath("$.results[0].status").value("ADDED"));
+  }
+
+  /**
+   * Test the bulkCheckInItems function with an invalid id or manifest.
+   */
+  @Test
+  public void testBulkCheckInItemsInvalid() throws Exception {
+    ResultActions result = mockMvc.perform(patch("/bulkCheckInItems")
+              .param("storageCenterId", "2")
+              .contentType("text/csv")
+              .content("FOOD,Canned Corn,3\n"));
+    result.andExpect(status().isNotFound());
+
+    result = mockMvc.perform(patch("/bulkCheckInItems")
+              .param("storageCenterId", "1")
+              .contentType(MediaType.APPLICATION_JSON)
+              .content("{}"));
+    result.andExpect(status().isBadRequest());
+  }
+
+  /**
+   * Test the bulkCheckOutItems function, merging lines for the same item.
+   */
+  @Test
+  public void testBulkCheckOutItems() throws Exception {
+    ResultActions result = mockMvc.perform(patch("/bulkCheckOutItems")
+              .param("storageCenterId", "1")
+              .contentType("text/csv")
+              .content("FOOD,Canned Beans,4\nFOOD,Canned Beans,6\n"));
+    result.andExpect(status().isOk())
+        .andExpect(jsonPath("$.applied").value(2))
+        .andExpect(jsonPath("$.results[1].status").value("REMOVED"));
+    verify(itemRepository, times(1)).deleteAll(anyCollection());
+    verify(transactionRepository).saveAll(
+        argThat((Iterable<Transaction> t) -> t.iterator().next().getQuantity() == 10));
+  }
+
+  /**
+   * Test that bulkCheckOutItems writes nothing if any line is short.
+   */
+  @Test
+  public void testBulkCheckOutItemsShort() throws Exception {
+    ResultActions result = mockMvc.perform(patch("/bulkCheckOutItems")
+              .param("storageCenterId", "1")
+              .contentType("text/csv")
+              .content("FOOD,Canned Beans,5\nFOOD,Canned Corn,1\nFOOD,Canned Beans,6\n"));
+    result.andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.results[0].line").value(1))
+        .andExpect(jsonPath("$.results[0].available").value(10))
+        .andExpect(jsonPath("$.results[1].line").value(2))
+        .andExpect(jsonPath("$.results[1].available").value(0));
+    verify(itemRepository, never()).deleteAll(anyCollection());
+    verify(transactionRepository, never()).saveAll(anyCollection());
+  }
+
+  /**
+   * Test that bulkCheckOutItems rejects lines for one item that add up to more than a
+   * quantity can hold, instead of letting the total wrap past the shortage check.
+   */
+  @Test
+  public void testBulkCheckOutItemsOverflow() throws Exception {
+    ResultActions result = mockMvc.perform(patch("/bulkCheckOutItems")
+              .param("storageCenterId", "1")
+              .contentType("text/csv")
+              .content("FOOD,Canned Beans,2000000000\nFOOD,Canned Beans,2000000000\n"));
+    result.andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.results[0].status").value("ERROR"))
+        .andExpect(jsonPath("$.results[1].status").value("ERROR"));
+    verify(itemRepository, never()).deleteAll(anyCollection());
+    verify(transactionRepository, never()).saveAll(anyCollection());
+  }
+
+  /**
+   * Test that bulkCheckOutItems rejects orders with unreadable lines.
+   */
+  @Test
+  public void testBulkCheckOutItemsInvalidLine() throws Exception {
+    ResultActions result = mockMvc.perform(patch("/bulkCheckOutItems")
+              .param("storageCenterId", "1")
+              .contentType("text/csv")
+              .content("FOOD,Canned Beans,5\nFOOD,Canned Beans,0\n"));
+    result.andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.results[1].status").value("ERROR"));
+    verify(itemRepository, never()).findAllByCenterAndNameForUpdate(anyInt(), anyCollection());
+  }
+
   /**
    * Test the checkOutItems function when the item is not found.
    */
@@ -436,6 +643,154 @@ public class StorageCenterControllerTests {
     result.andExpect(status().isOk());
   }
 
+  /**
+   * Test the checkOutItems function when the last of an item is checked out.
+   */
+  @Test
+  public void testCheckOutItemsItemRemoved() throws Exception {
+    when(itemRepository.deleteIfEmpty(any(ItemKey.class))).thenReturn(1);
+    ResultActions result = mockMvc.perform(patch("/checkOutItems")
+              .param("storageCenterId", "1")
+              .param("type", "FOOD")
+              .param("name", "Canned Beans")
+              .param("quantity", "10"));
+    result.andExpect(status().isOk());
+    verify(transactionRepository).save(
+        argThat((Transaction t) -> "Removed from inventory".equals(t.getAction())));
+  }
+
+  /**
+   * Test that checking items in and out never loads the storage center or item entities.
+   */
+  @Test
+  public void testCheckInAndOutUseAtomicUpdates() throws Exception {
+    mockMvc.perform(patch("/checkInItems")
+              .param("storageCenterId", "1")
+              .param("type", "FOOD")
+              .param("name", "Canned Beans")
+              .param("quantity", "10")
+              .param("expirationDate", "2024-01-01"))
+        .andExpect(status().isOk());
+    mockMvc.perform(patch("/checkOutItems")
+              .param("storageCenterId", "1")
+              .param("type", "FOOD")
+              .param("name", "Canned Beans")
+              .param("quantity", "5"))
+        .andExpect(status().isOk());
+
+    verify(storageCenterRepository, never()).findById(1);
+    verify(itemRepository, never()).findById(any(ItemKey.class));
+    verify(itemRepository, never()).save(any(Item.class));
+  }
+
+  /**
+   * Test that an item held by one storage center is created anew when checked in at another.
+   */
+  @Test
+  public void testCheckInItemsIsScopedToCenter() throws Exception {
+    StorageCenter otherCenter = new StorageCenter("CUGS", "Grad Pantry");
+    when(storageCenterRepository.existsById(3)).thenReturn(true);
+    when(storageCenterRepository.getReferenceById(3)).thenReturn(otherCenter);
+    mockMvc.perform(patch("/checkInItems")
+              .param("storageCenterId", "3")
+              .param("type", "FOOD")
+              .param("name", "Canned Beans")
+              .param("quantity", "4")
+              .param("expirationDate", "2024-01-01"))
+        .andExpect(status().isOk())
+        .andExpect(content().string("Item added to storage center successfully"));
+
+    ItemId beans = new ItemId("FOOD", "Canned Beans");
+    verify(itemRepository).addQuantity(new ItemKey(3, beans), 4);
+    verify(itemRepository, never()).addQuantity(eq(new ItemKey(1, beans)), anyInt());
+    verify(itemRepository).save(argThat((Item item) -> item.getQuantity() == 4));
+  }
+
+  /**
+   * Test that checking in and out with a matching If-Match header returns the next version.
+   */
+  @Test
+  public void testCheckInAndOutIfMatch() throws Exception {
+    when(itemRepository.addQuantityIfVersion(any(ItemKey.class), eq(10), eq(3L))).thenReturn(1);
+    when(itemRepository.removeQuantityIfVersion(any(ItemKey.class), eq(5), eq(4L)))
+        .thenReturn(1);
+    mockMvc.perform(patch("/checkInItems")
+              .param("storageCenterId", "1")
+              .param("type", "FOOD")
+              .param("name", "Canned Beans")
+              .param("quantity", "10")
+              .param("expirationDate", "2024-01-01")
+              .header(HttpHeaders.IF_MATCH, "\"3\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    mockMvc.perform(patch("/checkOutItems")
+              .param("storageCenterId", "1")
+              .param("type", "FOOD")
+              .param("name", "Canned Beans")
+              .param("quantity", "5")
+              .header(HttpHeaders.IF_MATCH, "\"4\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"5\""));
+  }
+
+  /**
+   * Test that checking out with a stale If-Match header is rejected.
+   */
+  @Test
+  public void testCheckOutItemsStaleIfMatch() throws Exception {
+    when(itemRepository.findVersion(any(ItemKey.class))).thenReturn(Optional.of(2L));
+    mockMvc.perform(patch("/checkOutItems")
+              .param("storageCenterId", "1")
+              .param("type", "FOOD")
+              .param("name", "Canned Beans")
+              .param("quantity", "5")
+              .header(HttpHeaders.IF_MATCH, "\"1\""))
+        .andExpect(status().isPreconditionFailed());
+  }
+
+  /**
+   * Test that an item update which keeps losing optimistic locking races is reported as a
+   * conflict after the retries run out.
+   */
+  @Test
+  public void testCheckInItemsConflict() throws Exception {
+    when(itemRepository.addQuantity(any(ItemKey.class), anyInt()))
+        .thenThrow(new ObjectOptimisticLockingFailureException(Item.class, 1));
+    mockMvc.perform(patch("/checkInItems")
+              .param("storageCenterId", "1")
+              .param("type", "FOOD")
+              .param("name", "Canned Beans")
+              .param("quantity", "10")
+              .param("expirationDate", "2024-01-01"))
+        .andExpect(status().isConflict());
+    verify(itemRepository, times(4)).addQuantity(any(ItemKey.class), anyInt());
+  }
+
+  /**
+   * Test that storage center updates check the If-Match header against the center's version.
+   */
+  @Test
+  public void testUpdateCenterNameIfMatch() throws Exception {
+    mockMvc.perform(get("/getCenterInfo").param("storageCenterId", "1"))
+        .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+    mockMvc.perform(patch("/updateCenterName")
+              .param("storageCenterId", "1")
+              .param("name", "CUGSFP")
+              .header(HttpHeaders.IF_MATCH, "\"7\""))
+        .andExpect(status().isPreconditionFailed());
+    mockMvc.perform(patch("/updateCenterName")
+              .param("storageCenterId", "1")
+              .param("name", "CUGSFP")
+              .header(HttpHeaders.IF_MATCH, "W/\"0\""))
+        .andExpect(status().isOk())
+        .andExpect(header().exists(HttpHeaders.ETAG));
+    mockMvc.perform(patch("/updateCenterName")
+              .param("storageCenterId", "1")
+              .param("name", "CUGSFP")
+              .header(HttpHeaders.IF_MATCH, "not-an-etag"))
+        .andExpect(status().isBadRequest());
+  }
+
   /**
    * Test the checkOutItems function with an invalid id.
    */
@@ -533,6 +888,49 @@ public class StorageCenterControllerTests {
     result.andExpect(status().isOk());
   }
 
+  /**
+   * Test that listInventory pages through the inventory with a cursor.
+   */
+  @Test
+  public void testListInventoryPaged() throws Exception {
+    ItemKey beans = new ItemKey(1, new ItemId("FOOD", "Canned Beans"));
+    Item item = itemRepository.findById(beans).orElseThrow();
+    when(itemRepository.findPageByCenter(eq(1), any(Pageable.class))).thenReturn(List.of(item));
+    ResultActions result = mockMvc.perform(get("/listInventory")
+              .param("storageCenterId", "1")
+              .param("limit", "1"));
+    result.andExpect(status().isOk())
+        .andExpect(jsonPath("$.items[0].name").value("Canned Beans"))
+        .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+
+    String cursor = CursorPage.encodeCursor("FOOD:Canned Beans");
+    result = mockMvc.perform(get("/listInventory")
+              .param("storageCenterId", "1")
+              .param("limit", "1")
+              .param("cursor", cursor));
+    result.andExpect(status().isOk())
+        .andExpect(jsonPath("$.items").isEmpty())
+        .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    verify(itemRepository).findPageByCenterAfter(eq(1), eq("Canned Beans"),
+        eq(ItemId.ItemType.FOOD), any(Pageable.class));
+  }
+
+  /**
+   * Test the listInventory function with an invalid cursor or limit.
+   */
+  @Test
+  public void testListInventoryInvalidPage() throws Exception {
+    ResultActions result = mockMvc.perform(get("/listInventory")
+              .param("storageCenterId", "1")
+              .param("cursor", CursorPage.encodeCursor("Canned Beans")));
+    result.andExpect(status().isBadRequest());
+
+    result = mockMvc.perform(get("/listInventory")
+              .param("storageCenterId", "1")
+              .param("limit", "0"));
+    result.andExpect(status().isBadRequest());
+  }
+
   /**
    * Test the listInventory function with an invalid id.
    */
@@ -583,6 +981,152 @@ public class StorageCenterControllerTests {
     result.andExpect(status().isNotFound());
   }
 
+  /**
+   * Test the listExpiringItems function.
+   */
+  @Test
+  public void testListExpiringItems() throws Exception {
+    ResultActions result = mockMvc.perform(get("/listExpiringItems")
+            .param("storageCenterId", "1")
+            .param("days", "3"));
+    result.andExpect(status().isOk());
+    verify(expiryIndex).expiringWithin(1, 3);
+  }
+
+  /**
+   * Test that checking in more of an item updates the expiry index.
+   */
+  @Test
+  public void testCheckInItemsUpdatesExpiryIndex() throws Exception {
+    ResultActions result = mockMvc.perform(patch("/checkInItems")
+            .param("storageCenterId", "1")
+            .param("type", "FOOD")
+            .param("name", "Canned Beans")
+            .param("quantity", "5")
+            .param("expirationDate", "2024-01-01"));
+    result.andExpect(status().isOk());
+    verify(expiryIndex).adjust(1, new ItemId("FOOD", "Canned Beans"), 5);
+  }
+
+  /**
+   * Test that inventorySummary reports the units checked in, by item type.
+   */
+  @Test
+  public void testInventorySummary() throws Exception {
+    inventoryTotals.remove(1);
+    mockMvc.perform(patch("/checkInItems")
+            .param("storageCenterId", "1")
+            .param("type", "FOOD")
+            .param("name", "Canned Beans")
+            .param("quantity", "5")
+            .param("expirationDate", "2024-01-01"))
+        .andExpect(status().isOk());
+    ResultActions result = mockMvc.perform(get("/inventorySummary")
+            .param("storageCenterId", "1"));
+    result.andExpect(status().isOk())
+        .andExpect(jsonPath("$.FOOD").value(5))
+        .andExpect(jsonPath("$.CLOTHING").value(0))
+        .andExpect(jsonPath("$.total").value(5));
+  }
+
+  /**
+   * Test that findAvailability reports the centers holding an item, matching its name
+   * loosely.
+   */
+  @Test
+  public void testFindAvailability() throws Exception {
+    availabilityIndex.remove(1);
+    mockMvc.perform(patch("/checkInItems")
+            .param("storageCenterId", "1")
+            .param("type", "TOILETRIES")
+            .param("name", "Baby Diapers")
+            .param("quantity", "12")
+            .param("expirationDate", "2030-01-01"))
+        .andExpect(status().isOk());
+    ResultActions result = mockMvc.perform(get("/findAvailability")
+            .param("name", "  baby   DIAPERS ")
+            .param("type", "TOILETRIES"));
+    result.andExpect(status().isOk())
+        .andExpect(jsonPath("$.centers[0].storageCenterId").value(1))
+        .andExpect(jsonPath("$.centers[0].quantity").value(12));
+
+    mockMvc.perform(get("/findAvailability").param("name", "Baby Diapers").param("type", "FOOD"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.centers").isEmpty());
+  }
+
+  /**
+   * Test that suggestItemNames suggests the spelling of names already checked in.
+   */
+  @Test
+  public void testSuggestItemNames() throws Exception {
+    mockMvc.perform(patch("/checkInItems")
+            .param("storageCenterId", "1")
+            .param("type", "FOOD")
+            .param("name", "Peanut Butter")
+            .param("quantity", "4")
+            .param("expirationDate", "2030-01-01"))
+        .andExpect(status().isOk());
+
+    mockMvc.perform(get("/suggestItemNames").param("prefix", "PEANUT  b"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.names[0]").value("Peanut Butter"));
+    mockMvc.perform(get("/suggestItemNames").param("prefix", "peanut")
+            .param("storageCenterId", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.names[0]").value("Peanut Butter"));
+    mockMvc.perform(get("/suggestItemNames").param("prefix", "peanut")
+            .param("storageCenterId", "3"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.names").isEmpty());
+    mockMvc.perform(get("/suggestItemNames").param("prefix", " "))
+        .andExpect(status().isBadRequest());
+  }
+
+  /**
+   * Test the findAvailability function with an invalid type, name, or limit.
+   */
+  @Test
+  public void testFindAvailabilityInvalid() throws Exception {
+    mockMvc.perform(get("/findAvailability").param("name", "Diapers").param("type", "TOYS"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/findAvailability").param("name", " "))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/findAvailability").param("name", "Diapers").param("limit", "0"))
+        .andExpect(status().isBadRequest());
+  }
+
+  /**
+   * Test the inventorySummary function with an invalid id.
+   */
+  @Test
+  public void testInventorySummaryInvalidId() throws Exception {
+    ResultActions result = mockMvc.perform(get("/inventorySummary")
+            .param("storageCenterId", "2"));
+    result.andExpect(status().isNotFound());
+  }
+
+  /**
+   * Test the listExpiringItems function with a negative number of days.
+   */
+  @Test
+  public void testListExpiringItemsNegativeDays() throws Exception {
+    ResultActions result = mockMvc.perform(get("/listExpiringItems")
+            .param("storageCenterId", "1")
+            .param("days", "-1"));
+    result.andExpect(status().isBadRequest());
+  }
+
+  /**
+   * Test the listExpiringItems function with an invalid id.
+   */
+  @Test
+  public void testListExpiringItemsInvalidId() throws Exception {
+    ResultActions result = mockMvc.perform(get("/listExpiringItems")
+            .param("storageCenterId", "2"));
+    result.andExpect(status().isNotFound());
+  }
+
   /**
    * Test the removeExpiredItems function.
    */
@@ -593,6 +1137,24 @@ public class StorageCenterControllerTests {
     result.andExpect(status().isOk());
   }
 
+  /**
+   * Test that removeExpiredItems logs every removed item and deletes them in one statement.
+   */
+  @Test
+  public void testRemoveExpiredItemsBulk() throws Exception {
+    when(itemRepository.findExpiredByCenterForUpdate(eq(1), any(LocalDate.class)))
+        .thenReturn(List.of(new Item(new ItemId("FOOD", "Canned Beans"), 10,
+            new StorageCenter("CUFP", "Food Pantry"), "2024-01-01")));
+    ResultActions result = mockMvc.perform(patch("/removeExpiredItems")
+            .param("storageCenterId", "1"));
+    result.andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].name").value("Canned Beans"));
+    verify(transactionRepository).saveAll(argThat((List<Transaction> transactions) ->
+        transactions.size() == 1
+            && "Remove Expired Item".equals(transactions.get(0).getAction())));
+    verify(itemRepository).deleteExpiredByCenter(eq(1), any(LocalDate.class));
+  }
+
   /**
    * Test the removeExpiredItems function with an invalid id.
    */
@@ -603,6 +1165,26 @@ public class StorageCenterControllerTests {
     result.andExpect(status().isNotFound());
   }
 
+  /**
+   * Test the expirySweepStats function before any sweep has run.
+   */
+  @Test
+  public void testExpirySweepStatsNoSweep() throws Exception {
+    ResultActions result = mockMvc.perform(get("/expirySweepStats").param("apiKey", ADMIN_KEY));
+    result.andExpect(status().isNotFound());
+  }
+
+  /**
+   * Test that expirySweepStats refuses callers that are not admins.
+   */
+  @Test
+  public void testExpirySweepStatsNotAdmin() throws Exception {
+    mockMvc.perform(get("/expirySweepStats"))
+        .andExpect(status().isForbidden())
+        .andExpect(jsonPath("$.error").value("Admin API key required"));
+    verify(expirySweeper, never()).getLastReport();
+  }
+
   /**
    * Tests the listTransactions method.
    */
@@ -613,6 +1195,20 @@ public class StorageCenterControllerTests {
     result.andExpect(status().isOk());
   }
 
+  /**
+   * Test that listTransactions continues after the transaction in the cursor.
+   */
+  @Test
+  public void testListTransactionsPaged() throws Exception {
+    ResultActions result = mockMvc.perform(get("/listTransactions")
+            .param("storageCenterId", "1")
+            .param("cursor", CursorPage.encodeCursor("42"))
+            .param("limit", "1000"));
+    result.andExpect(status().isOk());
+    verify(transactionRepository).findPageByCenter(eq(1), eq(42),
+        argThat((Pageable p) -> p.getPageSize() == CursorPage.MAX_PAGE_SIZE));
+  }
+
   /**
    * Test the listTransactions function with an invalid id.
    */
@@ -634,6 +1230,274 @@ public class StorageCenterControllerTests {
     result.andExpect(status().isInternalServerError());
   }
 
+  /**
+   * Test that searchTransactions passes its filters to the index query, loads only the
+   * matching transactions and continues after the last one.
+   */
+  @Test
+  public void testSearchTransactions() throws Exception {
+    StorageCenter center = new StorageCenter("Test Center", "Test");
+    ReflectionTestUtils.setField(center, "id", 1);
+    when(storageCenterRepository.findById(1)).thenReturn(Optional.of(center));
+    Transaction first = new Transaction(center, "FOOD", "Rice", 2, "Check Out");
+    Transaction second = new Transaction(center, "FOOD", "Beans", 3, "Check Out");
+    ReflectionTestUtils.setField(first, "id", 5);
+    ReflectionTestUtils.setField(second, "id", 9);
+    ReflectionTestUtils.setField(second, "date", LocalDate.of(2024, 1, 3));
+    ReflectionTestUtils.setField(second, "timestamp", LocalTime.of(9, 30));
+    when(transactionRepository.findIdsMatching(eq(1), eq(LocalDate.of(2024, 1, 1)),
+        eq(LocalDate.of(2024, 1, 7)), eq(LocalDate.of(2023, 12, 31)), eq(LocalTime.MIN),
+        eq(0), eq("Check Out"), eq("FOOD"), isNull(),
+        argThat((Pageable p) -> p.getPageSize() == 2))).thenReturn(List.of(5, 9));
+    when(transactionRepository.findAllByIdOrdered(List.of(5, 9)))
+        .thenReturn(List.of(first, second));
+
+    ResultActions result = mockMvc.perform(get("/searchTransactions")
+            .param("storageCenterId", "1")
+            .param("from", "2024-01-01")
+            .param("to", "2024-01-07")
+            .param("action", "Check Out")
+            .param("type", "FOOD")
+            .param("limit", "2"));
+    result.andExpect(status().isOk())
+        .andExpect(jsonPath("$.items.length()").value(2))
+        .andExpect(jsonPath("$.items[1].itemName").value("Beans"))
+        .andExpect(jsonPath("$.nextCursor").value(
+            CursorPage.encodeCursor("2024-01-03|09:30|9")));
+
+    mockMvc.perform(get("/searchTransactions")
+            .param("storageCenterId", "1")
+            .param("name", "Beans")
+            .param("cursor", CursorPage.encodeCursor("2024-01-03|09:30|9")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items").isEmpty())
+        .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    verify(transactionRepository).findIdsMatching(eq(1), eq(LocalDate.EPOCH),
+        eq(LocalDate.of(9999, 12, 31)), eq(LocalDate.of(2024, 1, 3)), eq(LocalTime.of(9, 30)),
+        eq(9), isNull(), isNull(), eq("Beans"), any(Pageable.class));
+  }
+
+  /**
+   * Test the searchTransactions function with invalid filters and an unknown center.
+   */
+  @Test
+  public void testSearchTransactionsInvalid() throws Exception {
+    mockMvc.perform(get("/searchTransactions").param("storageCenterId", "1")
+            .param("from", "2024-02-01").param("to", "2024-01-01"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/searchTransactions").param("storageCenterId", "1")
+            .param("from", "yesterday"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/searchTransactions").param("storageCenterId", "1")
+            .param("type", "TOYS"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/searchTransactions").param("storageCenterId", "1")
+            .param("cursor", CursorPage.encodeCursor("42")))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/searchTransactions").param("storageCenterId", "2"))
+        .andExpect(status().isNotFound());
+  }
+
+  /**
+   * Test the transactionReport function with and without each day's rollups.
+   */
+  @Test
+  public void testTransactionReport() throws Exception {
+    LocalDate from = LocalDate.of(2024, 1, 1);
+    LocalDate to = LocalDate.of(2024, 1, 31);
+    RollupTotal total = mock(RollupTotal.class);
+    when(total.getItemType()).thenReturn("FOOD");
+    when(total.getAction()).thenReturn("Check Out");
+    when(total.getTransactionCount()).thenReturn(4L);
+    when(total.getTotalQuantity()).thenReturn(12L);
+    when(transactionRollupRepository.sumByCenterAndDates(1, from, to))
+        .thenReturn(List.of(total));
+    when(transactionRollupRepository.findByCenterAndDates(1, from, to)).thenReturn(List.of(
+        new TransactionRollup(new RollupKey(1, LocalDate.of(2024, 1, 5), "FOOD", "Check Out"),
+            4, 12)));
+
+    mockMvc.perform(get("/transactionReport").param("storageCenterId", "1")
+            .param("from", "2024-01-01").param("to", "2024-01-31"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totals[0].action").value("Check Out"))
+        .andExpect(jsonPath("$.totals[0].transactionCount").value(4))
+        .andExpect(jsonPath("$.totals[0].totalQuantity").value(12))
+        .andExpect(jsonPath("$.days").doesNotExist());
+    mockMvc.perform(get("/transactionReport").param("storageCenterId", "1")
+            .param("from", "2024-01-01").param("to", "2024-01-31").param("daily", "true"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.days[0].date").value("2024-01-05"))
+        .andExpect(jsonPath("$.days[0].totalQuantity").value(12));
+    verify(transactionRepository, never()).sumByCenterAndDay(anyInt(), any(), any());
+  }
+
+  /**
+   * Test the transactionReport function with invalid dates and an unknown center.
+   */
+  @Test
+  public void testTransactionReportInvalid() throws Exception {
+    mockMvc.perform(get("/transactionReport").param("storageCenterId", "1")
+            .param("from", "2024-02-01").param("to", "2024-01-01"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/transactionReport").param("storageCenterId", "1")
+            .param("to", "today"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/transactionReport").param("storageCenterId", "2"))
+        .andExpect(status().isNotFound());
+  }
+
+  /**
+   * Test the rebuildTransactionRollups function.
+   */
+  @Test
+  public void testRebuildTransactionRollups() throws Exception {
+    TransactionRollupBackfill.Report report = mock(TransactionRollupBackfill.Report.class);
+    JsonObject json = new JsonObject();
+    json.addProperty("rollupsWritten", 7);
+    when(report.toJson()).thenReturn(json);
+    when(transactionRollupBackfill.backfill(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)))
+        .thenReturn(report);
+    when(transactionRollupBackfill.backfill(LocalDate.of(2099, 1, 1), LocalDate.of(2024, 1, 31)))
+        .thenThrow(new IllegalArgumentException("From must not be after to or yesterday."));
+
+    mockMvc.perform(post("/rebuildTransactionRollups").param("from", "2024-01-01")
+            .param("to", "2024-01-31").param("apiKey", ADMIN_KEY))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.rollupsWritten").value(7));
+    mockMvc.perform(post("/rebuildTransactionRollups").param("from", "2099-01-01")
+            .param("to", "2024-01-31").param("apiKey", ADMIN_KEY))
+        .andExpect(status().isBadRequest());
+  }
+
+  /**
+   * Test that rebuildTransactionRollups refuses callers that are not admins.
+   */
+  @Test
+  public void testRebuildTransactionRollupsNotAdmin() throws Exception {
+    mockMvc.perform(post("/rebuildTransactionRollups").param("from", "2024-01-01"))
+        .andExpect(status().isForbidden());
+    verify(transactionRollupBackfill, never()).backfill(any(), any());
+  }
+
+  /**
+   * Test the archiveTransactions function while archiving is turned off.
+   */
+  @Test
+  public void testArchiveTransactionsTurnedOff() throws Exception {
+    mockMvc.perform(post("/archiveTransactions").param("apiKey", ADMIN_KEY))
+        .andExpect(status().isConflict())
+        .andExpect(jsonPath("$.error").value("Transaction archiving is turned off"));
+    verify(transactionRepository, never()).deleteAllByIds(any());
+  }
+
+  /**
+   * Test that archiveTransactions refuses callers that are not admins.
+   */
+  @Test
+  public void testArchiveTransactionsNotAdmin() throws Exception {
+    mockMvc.perform(post("/archiveTransactions"))
+        .andExpect(status().isForbidden())
+        .andExpect(jsonPath("$.error").value("Admin API key required"));
+    verify(transactionRepository, never()).deleteAllByIds(any());
+  }
+
+  /**
+   * Tests that exportInventory writes every row as NDJSON.
+   */
+  @Test
+  public void testExportInventory() throws Exception {
+    ItemSummary row = mock(ItemSummary.class);
+    when(row.getType()).thenReturn(ItemId.ItemType.FOOD);
+    when(row.getName()).thenReturn("Canned Beans");
+    when(row.getQuantity()).thenReturn(10);
+    when(itemRepository.findSummariesByCenterAfter(eq(1), eq(""), eq(ItemId.ItemType.FOOD),
+        any(Pageable.class))).thenReturn(List.of(row));
+
+    MvcResult result = mockMvc.perform(get("/exportInventory")
+            .param("storageCenterId", "1"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/x-ndjson"))
+        .andExpect(content().string(
+            "{\"type\":\"FOOD\",\"name\":\"Canned Beans\",\"quantity\":10,"
+            + "\"expirationDate\":null}\n"));
+  }
+
+  /**
+   * Tests that exportTransactions writes a CSV header followed by every row.
+   */
+  @Test
+  public void testExportTransactionsCsv() throws Exception {
+    TransactionSummary row = mock(TransactionSummary.class);
+    when(row.getId()).thenReturn(7);
+    when(row.getItemType()).thenReturn("FOOD");
+    when(row.getItemName()).thenReturn("Beans, Black");
+    when(row.getQuantity()).thenReturn(3);
+    when(row.getAction()).thenReturn("CHECK_IN");
+    when(transactionRepository.findSummariesByCenter(eq(1), eq(0), any(Pageable.class)))
+        .thenReturn(List.of(row));
+
+    MvcResult result = mockMvc.perform(get("/exportTransactions")
+            .param("storageCenterId", "1")
+            .param("format", "csv"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("text/csv"))
+        .andExpect(content().string("id,date,timestamp,itemType,itemName,quantity,action\n"
+            + "7,,,FOOD,\"Beans, Black\",3,CHECK_IN\n"));
+  }
+
+  /**
+   * Test the exportTransactions function with an unknown format.
+   */
+  @Test
+  public void testExportTransactionsInvalidFormat() throws Exception {
+    ResultActions result = mockMvc.perform(get("/exportTransactions")
+            .param("storageCenterId", "1")
+            .param("format", "xml"));
+    result.andExpect(status().isBadRequest());
+  }
+
+  /**
+   * Test the exportInventory function with an invalid id.
+   */
+  @Test
+  public void testExportInventoryInvalidId() throws Exception {
+    ResultActions result = mockMvc.perform(get("/exportInventory")
+            .param("storageCenterId", "2"));
+    result.andExpect(status().isNotFound());
+  }
+
+  /**
+   * Tests that requests without an API key are rate limited by client address.
+   */
+  @Test
+  public void testExportInventoryRateLimitedWithoutApiKey() throws Exception {
+    int status = 0;
+    for (int i = 0; i < 10 && status != 429; i++) {
+      status = mockMvc.perform(get("/exportInventory")
+              .param("storageCenterId", "2")
+              .with(request -> {
+                request.setRemoteAddr("10.0.0.42");
+                return request;
+              }))
+          .andReturn().getResponse().getStatus();
+    }
+    assertEquals(429, status);
+
+    mockMvc.perform(get("/exportInventory")
+            .param("storageCenterId", "2")
+            .with(request -> {
+              request.setRemoteAddr("10.0.0.43");
+              return request;
+            }))
+        .andExpect(status().isNotFound());
+  }
+
   /**
    * Test the listExpiredItems function with internal server error.
    */
@@ -650,7 +1514,7 @@ public class StorageCenterControllerTests {
    */
   @Test
   public void testRemoveExpiredItemsServerFail() throws Exception {
-    when(storageCenterRepository.findById(1)).thenThrow(new RuntimeException());
+    when(storageCenterRepository.existsById(1)).thenThrow(new RuntimeException());
     ResultActions result = mockMvc.perform(patch("/removeExpiredItems")
               .param("storageCenterId", "1"));
     result.andExpect(status().isInternalServerError());
@@ -723,7 +1587,7 @@ public class StorageCenterControllerTests {
    */
   @Test
   public void testCheckInItemsServerFail() throws Exception {
-    when(storageCenterRepository.findById(1)).thenThrow(new RuntimeException());
+    when(storageCenterRepository.existsById(1)).thenThrow(new RuntimeException());
     ResultActions result = mockMvc.perform(patch("/checkInItems")
               .param("storageCenterId", "1")
               .param("type", "FOOD")
@@ -738,7 +1602,7 @@ public class StorageCenterControllerTests {
    */
   @Test
   public void testCheckOutItemsServerFail() throws Exception {
-    when(storageCenterRepository.findById(1)).thenThrow(new RuntimeException());
+    when(storageCenterRepository.existsById(1)).thenThrow(new RuntimeException());
     ResultActions result = mockMvc.perform(patch("/checkOutItems")
               .param("storageCenterId", "1")
               .param("type", "FOOD")
@@ -0,0 +1,38 @@
+package com.smartprogrammingbaddies.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the CursorPage class.
+ */
+public class CursorPageUnitTests {
+  /**
+   * Tests that cursors decode back to the key they were created from.
+   */
+  @Test
+  public void testCursorRoundTrip() {
+    String key = "FOOD:Beans, Black / 10oz";
+    assertEquals(key, CursorPage.decodeCursor(CursorPage.encodeCursor(key)));
+  }
+
+  /**
+   * Tests that malformed cursors are rejected.
+   */
+  @Test
+  public void testInvalidCursor() {
+    assertThrows(IllegalArgumentException.class, () -> CursorPage.decodeCursor("not*base64"));
+  }
+
+  /**
+   * Tests that page sizes are capped and must be positive.
+   */
+  @Test
+  public void testCheckPageSize() {
+    assertEquals(10, CursorPage.checkPageSize(10));
+    assertEquals(CursorPage.MAX_PAGE_SIZE, CursorPage.checkPageSize(10000));
+    assertThrows(IllegalArgumentException.class, () -> CursorPage.checkPageSize(0));
+  }
+}
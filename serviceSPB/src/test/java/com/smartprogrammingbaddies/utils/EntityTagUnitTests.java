@@ -0,0 +1,41 @@
+package com.smartprogrammingbaddies.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the ETag class.
+ */
+public class EntityTagUnitTests {
+  /**
+   * Tests that entity tags parse back to the version they were created from.
+   */
+  @Test
+  public void testRoundTrip() {
+    assertEquals("\"42\"", EntityTag.of(42));
+    assertEquals(42L, EntityTag.parseIfMatch(EntityTag.of(42)));
+    assertEquals(42L, EntityTag.parseIfMatch("W/\"42\""));
+  }
+
+  /**
+   * Tests that a missing or wildcard header matches any version.
+   */
+  @Test
+  public void testAnyVersion() {
+    assertNull(EntityTag.parseIfMatch(null));
+    assertNull(EntityTag.parseIfMatch(" "));
+    assertNull(EntityTag.parseIfMatch("*"));
+  }
+
+  /**
+   * Tests that headers which are not entity tags from this service are rejected.
+   */
+  @Test
+  public void testInvalidIfMatch() {
+    assertThrows(IllegalArgumentException.class, () -> EntityTag.parseIfMatch("\"abc\""));
+    assertThrows(IllegalArgumentException.class, () -> EntityTag.parseIfMatch("\"1\", \"2\""));
+  }
+}
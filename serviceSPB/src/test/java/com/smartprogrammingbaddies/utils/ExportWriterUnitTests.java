@@ -0,0 +1,50 @@
+package com.smartprogrammingbaddies.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the ExportWriter class.
+ */
+public class ExportWriterUnitTests {
+  /**
+   * Tests that NDJSON rows are written one object per line.
+   */
+  @Test
+  public void testWriteNdjson() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ExportWriter writer = new ExportWriter(out, ExportWriter.Format.NDJSON, "name", "quantity");
+    writer.write("Canned Beans", 10);
+    writer.write("Rice", 2);
+    writer.flush();
+    assertEquals("{\"name\":\"Canned Beans\",\"quantity\":10}\n"
+        + "{\"name\":\"Rice\",\"quantity\":2}\n", out.toString(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Tests that CSV exports start with a header and quote fields that need it.
+   */
+  @Test
+  public void testWriteCsv() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ExportWriter writer = new ExportWriter(out, ExportWriter.Format.CSV, "name", "note");
+    writer.write("Beans, Black", "12 \"oz\"");
+    writer.write("Rice", null);
+    writer.flush();
+    assertEquals("name,note\n\"Beans, Black\",\"12 \"\"oz\"\"\"\nRice,\n",
+        out.toString(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Tests that formats are parsed ignoring case and unknown formats are rejected.
+   */
+  @Test
+  public void testFormatFromString() {
+    assertEquals(ExportWriter.Format.CSV, ExportWriter.Format.fromString("CsV"));
+    assertThrows(IllegalArgumentException.class, () -> ExportWriter.Format.fromString("xml"));
+  }
+}
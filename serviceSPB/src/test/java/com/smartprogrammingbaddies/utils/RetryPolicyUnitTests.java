@@ -0,0 +1,94 @@
+package com.smartprogrammingbaddies.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Unit tests for the RetryPolicy class.
+ */
+public class RetryPolicyUnitTests {
+  /**
+   * Tests that an action which loses a race is retried until it succeeds.
+   */
+  @Test
+  public void testRetriesUntilSuccess() throws Exception {
+    RetryPolicy policy = new RetryPolicy(3, 1, 2);
+    AtomicInteger calls = new AtomicInteger();
+    String result = policy.call(() -> {
+      if (calls.incrementAndGet() < 3) {
+        throw new ConcurrencyFailureException("lost race");
+      }
+      return "done";
+    });
+    assertEquals("done", result);
+    assertEquals(3, calls.get());
+    assertEquals(2, policy.getRetryCount());
+  }
+
+  /**
+   * Tests that the last failure is thrown once the attempts run out.
+   */
+  @Test
+  public void testGivesUpAfterMaxAttempts() {
+    RetryPolicy policy = new RetryPolicy(2, 0, 0);
+    AtomicInteger calls = new AtomicInteger();
+    assertThrows(ConcurrencyFailureException.class, () -> policy.call(() -> {
+      calls.incrementAndGet();
+      throw new ConcurrencyFailureException("lost race");
+    }));
+    assertEquals(2, calls.get());
+  }
+
+  /**
+   * Tests that other failures are not retried.
+   */
+  @Test
+  public void testOtherFailuresNotRetried() {
+    RetryPolicy policy = new RetryPolicy(5, 0, 0);
+    AtomicInteger calls = new AtomicInteger();
+    assertThrows(IllegalArgumentException.class, () -> policy.call(() -> {
+      calls.incrementAndGet();
+      throw new IllegalArgumentException("bad input");
+    }));
+    assertEquals(1, calls.get());
+    assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(0, 0, 0));
+    assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(1, 10, 5));
+  }
+
+  /**
+   * Tests that an insert which lost a race to a duplicate key is retried, and that other
+   * constraint violations are not.
+   */
+  @Test
+  public void testDuplicateKeyRetried() throws Exception {
+    RetryPolicy policy = new RetryPolicy(3, 0, 0);
+    AtomicInteger calls = new AtomicInteger();
+    String result = policy.call(() -> {
+      if (calls.incrementAndGet() == 1) {
+        throw new DataIntegrityViolationException("duplicate",
+            new SQLException("Duplicate entry", "23000", 1062));
+      }
+      if (calls.get() == 2) {
+        throw new DataIntegrityViolationException("duplicate",
+            new RuntimeException(new SQLException("Unique index violation", "23505")));
+      }
+      return "done";
+    });
+    assertEquals("done", result);
+    assertEquals(3, calls.get());
+
+    calls.set(0);
+    assertThrows(DataIntegrityViolationException.class, () -> policy.call(() -> {
+      calls.incrementAndGet();
+      throw new DataIntegrityViolationException("foreign key",
+          new SQLException("Referential integrity violation", "23506"));
+    }));
+    assertEquals(1, calls.get());
+  }
+}